@@ -4,12 +4,20 @@ import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import org.example.quizzapp.service.MetricsRegistry;
+import org.example.quizzapp.service.QuizFlightEvents;
 
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 public class QuizApplication extends Application {
 
+    private static final long METRICS_SNAPSHOT_SECONDS = 60;
+    private static final MetricsRegistry.Histogram SCENE_SWITCH_TIME = MetricsRegistry.getInstance()
+        .timer("quiz_scene_switch_seconds", "Time to load and show a screen");
+
     private static Stage primaryStage;
 
     @Override
@@ -27,6 +35,19 @@ public class QuizApplication extends Application {
         stage.setMinWidth(600);
         stage.setMinHeight(400);
         stage.show();
+
+        MetricsRegistry.getInstance().startSnapshots(
+            MetricsRegistry.DEFAULT_SNAPSHOT_FILE, METRICS_SNAPSHOT_SECONDS, TimeUnit.SECONDS);
+
+        // -Dquizapp.jfr=quiz.jfr records a Flight Recorder profile with the quiz events until exit
+        String recordingFile = System.getProperty("quizapp.jfr");
+        if (recordingFile != null && !recordingFile.isBlank()) {
+            try {
+                QuizFlightEvents.startRecording(Paths.get(recordingFile));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Warning: Could not start flight recording: " + e.getMessage());
+            }
+        }
     }
 
     /**
@@ -46,6 +67,10 @@ public class QuizApplication extends Application {
      * @throws IOException If FXML file cannot be loaded
      */
     public static void switchScene(String fxmlPath, String title) throws IOException {
+        long start = System.nanoTime();
+        QuizFlightEvents.SceneSwitch event = new QuizFlightEvents.SceneSwitch();
+        event.begin();
+
         // Try to load resource with absolute path first
         URL resourceUrl = QuizApplication.class.getResource("/org/example/quizzapp/" + fxmlPath);
         if (resourceUrl == null) {
@@ -63,5 +88,12 @@ public class QuizApplication extends Application {
 
         primaryStage.setScene(scene);
         primaryStage.setTitle(title);
+        SCENE_SWITCH_TIME.observeSince(start);
+        
+        if (event.shouldCommit()) {
+            event.fxml = fxmlPath;
+            event.title = title;
+            event.commit();
+        }
     }
 }
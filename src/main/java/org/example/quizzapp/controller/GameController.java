@@ -11,7 +11,13 @@ import org.example.quizzapp.QuizApplication;
 import org.example.quizzapp.model.Question;
 import org.example.quizzapp.model.RadioGroupQuestion;
 import org.example.quizzapp.model.BooleanQuestion;
+import org.example.quizzapp.service.DeadlineScheduler;
 import org.example.quizzapp.service.GameManager;
+import org.example.quizzapp.service.QuestionTimer;
+import org.example.quizzapp.service.ReviewStore;
+import org.example.quizzapp.service.SessionEventLog;
+import org.example.quizzapp.service.SequentialOrder;
+import org.example.quizzapp.service.SpacedRepetitionOrder;
 
 import java.io.IOException;
 
@@ -57,10 +63,14 @@ public class GameController {
     @FXML
     private Label timerLabel;
     
+    private static final long TIMER_REFRESH_MILLIS = 200;
+    
     private final GameManager gameManager = GameManager.getInstance();
+    private final ReviewStore reviewStore = new ReviewStore();
     private ToggleGroup answerToggleGroup;
+    private final QuestionTimer questionTimer = new QuestionTimer(
+        gameManager, DeadlineScheduler.getInstance(), Platform::runLater, this::handleTimeUp);
     private Timeline timer;
-    private int timeRemaining;
     private Object currentAnswer;
     
     /**
@@ -77,6 +87,11 @@ public class GameController {
         
         // Set up submit button state
         submitAnswerButton.setDisable(true);
+        
+        // A session recovered after a crash already has its player
+        if (!gameManager.getPlayerName().isEmpty()) {
+            showGameSection();
+        }
     }
     
     /**
@@ -95,13 +110,31 @@ public class GameController {
         // Set player name in GameManager
         gameManager.setPlayerName(playerName);
         
-        // Hide name input and show game section
+        // Practice follows the player's review schedule unless another order was chosen
+        if (gameManager.isPracticeMode() && gameManager.getQuestionOrder() instanceof SequentialOrder) {
+            try {
+                gameManager.setQuestionOrder(new SpacedRepetitionOrder(
+                    reviewStore.load(playerName), gameManager.getCurrentQuiz().getTitle()));
+            } catch (IOException e) {
+                System.err.println("Error loading review schedule: " + e.getMessage());
+            }
+        }
+        
+        // Record the session so it survives a crash
+        gameManager.startRecording(SessionEventLog.getInstance());
+        
+        showGameSection();
+    }
+    
+    /**
+     * Hides the name input and shows the current question.
+     */
+    private void showGameSection() {
         nameInputSection.setVisible(false);
         nameInputSection.setManaged(false);
         gameSection.setVisible(true);
         gameSection.setManaged(true);
         
-        // Display first question
         displayCurrentQuestion();
     }
     
@@ -185,41 +218,43 @@ public class GameController {
     }
     
     /**
-     * Starts the countdown timer for the current question.
+     * Starts the countdown for the current question.
+     * The deadline itself is enforced by the question timer; the timeline only redraws it.
      */
     private void startTimer() {
-        if (timer != null) {
-            timer.stop();
+        // After a timeout the question timer has already armed the next question
+        if (!questionTimer.isRunning()) {
+            questionTimer.start();
         }
         
-        timeRemaining = gameManager.getCurrentTimeLimit();
+        if (timer == null) {
+            timer = new Timeline(new KeyFrame(Duration.millis(TIMER_REFRESH_MILLIS), e -> updateTimerDisplay()));
+            timer.setCycleCount(Timeline.INDEFINITE);
+        }
         updateTimerDisplay();
-        
-        timer = new Timeline(new KeyFrame(Duration.seconds(1), e -> {
-            timeRemaining--;
-            updateTimerDisplay();
-            
-            if (timeRemaining <= 0) {
-                timer.stop();
-                handleTimeUp();
-            }
-        }));
-        
-        timer.setCycleCount(Timeline.INDEFINITE);
         timer.play();
     }
     
     /**
-     * Updates the timer display.
+     * Updates the timer display from the running deadline.
      */
     private void updateTimerDisplay() {
-        int totalTime = gameManager.getCurrentTimeLimit();
-        double progress = totalTime > 0 ? (double) timeRemaining / totalTime : 0;
+        long remainingMillis = questionTimer.getRemainingMillis();
+        int totalTime = questionTimer.getLimitSeconds();
+        double progress = totalTime > 0 ? remainingMillis / (totalTime * 1000.0) : 0;
         
-        Platform.runLater(() -> {
-            timerProgressBar.setProgress(progress);
-            timerLabel.setText(String.format("Time: %d seconds", timeRemaining));
-        });
+        timerProgressBar.setProgress(progress);
+        timerLabel.setText(String.format("Time: %d seconds", (remainingMillis + 999) / 1000));
+    }
+    
+    /**
+     * Stops the countdown and its display.
+     */
+    private void stopTimer() {
+        questionTimer.cancel();
+        if (timer != null) {
+            timer.stop();
+        }
     }
     
     /**
@@ -233,12 +268,14 @@ public class GameController {
     }
     
     /**
-     * Handles time running out.
+     * Handles time running out, after the question timer recorded the null answer.
      */
-    private void handleTimeUp() {
-        // Submit null answer (incorrect)
-        gameManager.submitAnswer(null);
-        nextQuestion();
+    private void handleTimeUp(boolean hasNext) {
+        if (hasNext) {
+            displayCurrentQuestion();
+        } else {
+            finishQuiz();
+        }
     }
     
     /**
@@ -247,9 +284,7 @@ public class GameController {
     @FXML
     private void handleSubmitAnswer() {
         if (currentAnswer != null) {
-            if (timer != null) {
-                timer.stop();
-            }
+            stopTimer();
             gameManager.submitAnswer(currentAnswer);
             nextQuestion();
         }
@@ -270,9 +305,8 @@ public class GameController {
      * Finishes the quiz and navigates to results.
      */
     private void finishQuiz() {
-        if (timer != null) {
-            timer.stop();
-        }
+        stopTimer();
+        gameManager.finishRecording();
         
         try {
             QuizApplication.switchScene("view/results-view.fxml", "Quiz Application - Results");
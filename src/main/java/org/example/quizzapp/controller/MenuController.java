@@ -1,16 +1,30 @@
 package org.example.quizzapp.controller;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
 import javafx.stage.FileChooser;
 import org.example.quizzapp.QuizApplication;
 import org.example.quizzapp.model.Quiz;
+import org.example.quizzapp.service.AdaptiveOrder;
+import org.example.quizzapp.service.GameManager;
+import org.example.quizzapp.service.QuestionOrder;
+import org.example.quizzapp.service.QuizFileWatcher;
 import org.example.quizzapp.service.QuizService;
+import org.example.quizzapp.service.ReviewStore;
+import org.example.quizzapp.service.SessionEventLog;
+import org.example.quizzapp.service.SequentialOrder;
+import org.example.quizzapp.service.SessionRecovery;
+import org.example.quizzapp.service.SpacedRepetitionOrder;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Controller for the main menu screen.
@@ -36,8 +50,12 @@ public class MenuController {
     @FXML
     private Label quizInfoLabel;
     
+    private static boolean recoveryChecked = false;
+    
     private Quiz loadedQuiz;
     private final QuizService quizService = new QuizService();
+    private final QuizFileWatcher quizWatcher = QuizFileWatcher.getInstance();
+    private final ReviewStore reviewStore = new ReviewStore();
     
     /**
      * Initializes the menu screen.
@@ -46,6 +64,123 @@ public class MenuController {
     private void initialize() {
         disableStartButtons();
         quizInfoLabel.setText("No quiz loaded");
+        
+        // Pick up quiz edits made while the app is running
+        quizWatcher.setOnQuizReloaded((path, quiz) -> {
+            GameManager.getInstance().offerReloadedQuiz(quiz);
+            Platform.runLater(() -> handleQuizReloaded(path, quiz));
+        });
+        try {
+            quizWatcher.watchResults(quizService.getResultsDirectory());
+        } catch (IOException e) {
+            System.err.println("Warning: Could not watch results directory: " + e.getMessage());
+        }
+        
+        // Once per run, offer to continue a quiz that was cut short by a crash
+        if (!recoveryChecked) {
+            recoveryChecked = true;
+            Platform.runLater(this::offerInterruptedSession);
+        }
+    }
+    
+    /**
+     * Offers to resume the most recent session that was neither finished nor left.
+     * Older interrupted sessions are closed as abandoned.
+     */
+    private void offerInterruptedSession() {
+        SessionEventLog log = SessionEventLog.getInstance();
+        if (log == null) {
+            return;
+        }
+        List<SessionRecovery.RecordedSession> interrupted;
+        try {
+            interrupted = SessionRecovery.findInterrupted(log.getFile());
+        } catch (IOException e) {
+            System.err.println("Warning: Could not read session log: " + e.getMessage());
+            return;
+        }
+        if (interrupted.isEmpty()) {
+            return;
+        }
+        
+        for (SessionRecovery.RecordedSession older : interrupted.subList(1, interrupted.size())) {
+            abandon(log, older);
+        }
+        SessionRecovery.RecordedSession latest = interrupted.get(0);
+        
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Resume Quiz");
+        confirm.setHeaderText("A quiz was interrupted");
+        confirm.setContentText(String.format("Continue %s's quiz? %d answer(s) were recorded.",
+            latest.getStart().playerName(), latest.getAnswers().size()));
+        Optional<ButtonType> choice = confirm.showAndWait();
+        if (choice.isPresent() && choice.get() == ButtonType.OK) {
+            resumeSession(latest, log);
+        } else {
+            abandon(log, latest);
+        }
+    }
+    
+    /**
+     * Sets up the interrupted session's quiz and mode again and replays its answers.
+     */
+    private void resumeSession(SessionRecovery.RecordedSession session, SessionEventLog log) {
+        SessionEventLog.SessionStart start = session.getStart();
+        try {
+            loadedQuiz = quizService.loadQuiz(new File(start.quizFile()));
+            watchLoadedQuiz();
+            enableStartButtons();
+            quizInfoLabel.setText(String.format("Loaded: %s (%d questions)", 
+                loadedQuiz.getTitle(), loadedQuiz.getTotalQuestions()));
+            
+            GameManager gameManager = GameManager.getInstance();
+            gameManager.loadQuiz(loadedQuiz, start.sampling());
+            gameManager.setPracticeMode(start.practice());
+            gameManager.setQuestionOrder(questionOrderFor(start, gameManager.getCurrentQuiz()));
+            gameManager.resumeRecording(session, log);
+            
+            QuizApplication.switchScene("view/game-view.fxml", "Quiz Application - Game");
+        } catch (Exception e) {
+            abandon(log, session);
+            showAlert(Alert.AlertType.ERROR, "Error", 
+                "Failed to resume quiz", 
+                "Error: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Builds the question order the session was played in, so its answers replay in the same order.
+     */
+    private QuestionOrder questionOrderFor(SessionEventLog.SessionStart start, Quiz quiz) throws IOException {
+        SessionEventLog.OrderKind kind = start.order();
+        if (kind == null) {
+            // Logged before the order was recorded, when practice always used these defaults
+            kind = !start.practice() ? SessionEventLog.OrderKind.SEQUENTIAL
+                : AdaptiveOrder.isCalibrated(loadedQuiz) ? SessionEventLog.OrderKind.ADAPTIVE
+                : SessionEventLog.OrderKind.SPACED_REPETITION;
+        }
+        return switch (kind) {
+            case ADAPTIVE -> new AdaptiveOrder();
+            case SPACED_REPETITION -> new SpacedRepetitionOrder(reviewStore.load(start.playerName()), quiz.getTitle());
+            case SEQUENTIAL -> new SequentialOrder();
+        };
+    }
+    
+    private void abandon(SessionEventLog log, SessionRecovery.RecordedSession session) {
+        log.append(SessionEventLog.Event.of(session.getSessionId(), SessionEventLog.Type.ABANDONED,
+            session.getAnswers().size(), null));
+    }
+    
+    /**
+     * Replaces the loaded quiz after its file changed on disk.
+     */
+    private void handleQuizReloaded(Path path, Quiz quiz) {
+        if (loadedQuiz != null && path.equals(loadedQuiz.getSourceFile())) {
+            loadedQuiz = quiz;
+            quizInfoLabel.setText(String.format("Reloaded: %s (%d questions)", 
+                loadedQuiz.getTitle(), loadedQuiz.getTotalQuestions()));
+        }
     }
     
     /**
@@ -80,6 +215,7 @@ public class MenuController {
         if (selectedFile != null) {
             try {
                 loadedQuiz = quizService.loadQuiz(selectedFile);
+                watchLoadedQuiz();
                 
                 // Update UI
                 enableStartButtons();
@@ -100,6 +236,17 @@ public class MenuController {
         }
     }
     
+    /**
+     * Starts watching the loaded quiz file for changes.
+     */
+    private void watchLoadedQuiz() {
+        try {
+            quizWatcher.watchQuiz(loadedQuiz.getSourceFile());
+        } catch (IOException e) {
+            System.err.println("Warning: Could not watch quiz file: " + e.getMessage());
+        }
+    }
+    
     /**
      * Handles starting the quiz in normal mode with timer and score saving.
      */
@@ -124,13 +271,17 @@ public class MenuController {
     private void startQuiz(boolean practiceMode) {
         if (loadedQuiz != null) {
             try {
-                org.example.quizzapp.service.GameManager gameManager = 
-                    org.example.quizzapp.service.GameManager.getInstance();
+                GameManager gameManager = GameManager.getInstance();
                 
                 // Load quiz and set mode
                 gameManager.loadQuiz(loadedQuiz);
                 gameManager.setPracticeMode(practiceMode);
                 
+                // Practice on a calibrated bank adapts to the player instead of replaying it
+                if (practiceMode && AdaptiveOrder.isCalibrated(loadedQuiz)) {
+                    gameManager.setQuestionOrder(new AdaptiveOrder());
+                }
+                
                 // Switch to game view
                 QuizApplication.switchScene("view/game-view.fxml", "Quiz Application - Game");
             } catch (IOException e) {
@@ -1,22 +1,31 @@
 package org.example.quizzapp.controller;
 
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.FileChooser;
 import org.example.quizzapp.QuizApplication;
 import org.example.quizzapp.model.PlayerResult;
+import org.example.quizzapp.model.Quiz;
 import org.example.quizzapp.model.QuizResult;
+import org.example.quizzapp.service.CompletionEvaluator;
 import org.example.quizzapp.service.CsvExporter;
 import org.example.quizzapp.service.GameManager;
+import org.example.quizzapp.service.GlobalLeaderboard;
+import org.example.quizzapp.service.MessageTemplate;
+import org.example.quizzapp.service.PagedResultList;
 import org.example.quizzapp.service.QuizService;
+import org.example.quizzapp.service.ResultVariables;
+import org.example.quizzapp.service.ReviewStore;
+import org.example.quizzapp.service.SpacedRepetitionOrder;
+import org.example.quizzapp.service.WindowedLeaderboard;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Paths;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 /**
  * Controller for the results screen.
@@ -45,19 +54,33 @@ public class ResultsController {
     @FXML
     private TableColumn<PlayerResult, String> dateColumn;
     
+    @FXML
+    private ComboBox<WindowedLeaderboard.Period> periodSelector;
+    
+    @FXML
+    private TextField playerFilterField;
+    
     @FXML
     private Button exportButton;
     
     @FXML
     private Button backToMenuButton;
     
+    @FXML
+    private Button exportSeasonButton;
+    
     @FXML
     private Button playAgainButton;
     
+    private static final DateTimeFormatter DATE_COLUMN_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    
     private final GameManager gameManager = GameManager.getInstance();
     private final QuizService quizService = new QuizService();
     private final CsvExporter csvExporter = new CsvExporter();
+    private final ReviewStore reviewStore = new ReviewStore();
     private QuizResult currentQuizResult;
+    private WindowedLeaderboard leaderboard;
+    private boolean updatingTable;
     
     /**
      * Initializes the results screen.
@@ -94,12 +117,56 @@ public class ResultsController {
         // Show date only (yyyy-MM-dd) per example
         dateColumn.setCellValueFactory(cellData -> {
             PlayerResult result = cellData.getValue();
-            if (result.getDate() != null) {
-                String formattedDate = result.getDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+            if (result != null && result.getDate() != null) {
+                String formattedDate = result.getDate().format(DATE_COLUMN_FORMAT);
                 return new javafx.beans.property.SimpleStringProperty(formattedDate);
             }
             return new javafx.beans.property.SimpleStringProperty("N/A");
         });
+        
+        // Every period is kept ranked, so switching only swaps the table items
+        periodSelector.getItems().setAll(WindowedLeaderboard.Period.values());
+        periodSelector.setValue(WindowedLeaderboard.Period.ALL_TIME);
+        periodSelector.valueProperty().addListener((obs, oldPeriod, newPeriod) -> showResults());
+        playerFilterField.textProperty().addListener((obs, oldText, newText) -> showResults());
+        
+        // Sorting is done by the leaderboard, the table only shows the rows in view
+        resultsTable.setSortPolicy(table -> {
+            showResults();
+            return true;
+        });
+    }
+    
+    /**
+     * Shows the selected period, sort order and filter in the results table.
+     * The table gets a paged view, so only the visible rows are read from the leaderboard.
+     */
+    private void showResults() {
+        if (leaderboard == null || periodSelector.getValue() == null || updatingTable) {
+            return;
+        }
+        
+        WindowedLeaderboard.SortKey sortKey = WindowedLeaderboard.SortKey.RANK;
+        boolean descending = false;
+        if (!resultsTable.getSortOrder().isEmpty()) {
+            TableColumn<PlayerResult, ?> column = resultsTable.getSortOrder().get(0);
+            if (column == playerNameColumn) {
+                sortKey = WindowedLeaderboard.SortKey.PLAYER;
+            } else if (column == scoreColumn) {
+                sortKey = WindowedLeaderboard.SortKey.SCORE;
+            } else if (column == dateColumn) {
+                sortKey = WindowedLeaderboard.SortKey.DATE;
+            }
+            descending = column.getSortType() == TableColumn.SortType.DESCENDING;
+        }
+        
+        updatingTable = true;
+        try {
+            resultsTable.setItems(new PagedResultList(leaderboard.query(
+                periodSelector.getValue(), sortKey, descending, playerFilterField.getText())));
+        } finally {
+            updatingTable = false;
+        }
     }
     
     /**
@@ -123,6 +190,13 @@ public class ResultsController {
             } catch (IOException e) {
                 System.err.println("Error saving result: " + e.getMessage());
             }
+        } else if (gameManager.getQuestionOrder() instanceof SpacedRepetitionOrder reviewOrder) {
+            // Practice results stay off the leaderboard but update the review schedule
+            try {
+                reviewStore.save(currentResult.getPlayerName(), reviewOrder.getScheduler());
+            } catch (IOException e) {
+                System.err.println("Error saving review schedule: " + e.getMessage());
+            }
         }
         
         // Set quiz name with mode indicator
@@ -130,9 +204,10 @@ public class ResultsController {
         String modeIndicator = gameManager.isPracticeMode() ? " (Practice Mode)" : "";
         titleLabel.setText(String.format("Quiz name: %s%s", quizTitle, modeIndicator));
 
-        // Display completion message: prefer completedHtml if provided
-        String completionMessage = (gameManager.getCurrentQuiz().getCompletedHtml() != null && !gameManager.getCurrentQuiz().getCompletedHtml().isBlank())
-                ? processCompletionMessage(gameManager.getCurrentQuiz().getCompletedHtml(), currentResult)
+        // Display completion message: first matching condition, then completedHtml, then a default
+        MessageTemplate completionTemplate = selectCompletionTemplate(currentResult);
+        String completionMessage = completionTemplate != null
+                ? completionTemplate.render(ResultVariables.of(currentResult, gameManager.getCurrentQuiz()))
                 : generateCompletionMessage(currentResult);
         completionMessageLabel.setText(completionMessage);
         
@@ -150,16 +225,15 @@ public class ResultsController {
     }
     
     /**
-     * Processes the completion message by replacing template variables and removing HTML tags.
+     * Picks the precompiled completion message for a result: the first completedHtmlOnCondition
+     * whose expression holds, otherwise completedHtml.
+     *
+     * @return The message template, or null if the quiz defines none for this result
      */
-    private String processCompletionMessage(String htmlMessage, PlayerResult result) {
-        // Replace template variables with actual values
-        String processed = htmlMessage
-                .replace("{correctAnswers}", String.valueOf(result.getCorrectQuestions()))
-                .replace("{questionCount}", String.valueOf(result.getTotalQuestions()));
-        
-        // Remove HTML tags
-        return processed.replaceAll("<[^>]*>", "").trim();
+    private MessageTemplate selectCompletionTemplate(PlayerResult result) {
+        Quiz quiz = gameManager.getCurrentQuiz();
+        // Conditions the evaluator cannot compile were dropped when the quiz was loaded
+        return CompletionEvaluator.forQuiz(quiz).selectTemplate(ResultVariables.of(result, quiz));
     }
     
     /**
@@ -190,22 +264,9 @@ public class ResultsController {
             String quizTitle = gameManager.getCurrentQuiz().getTitle();
             System.out.println("Loading results for quiz: " + quizTitle);
 
-            currentQuizResult = quizService.loadResults(quizTitle);
-            System.out.println("Loaded quiz result: " + currentQuizResult);
-            System.out.println("Number of results: " + currentQuizResult.getResults().size());
-
-            ObservableList<PlayerResult> results = FXCollections.observableArrayList(
-                currentQuizResult.getResultsSortedByScore()
-            );
-            System.out.println("Setting " + results.size() + " results to table");
-
-            // Debug: print each result
-            for (PlayerResult result : results) {
-                System.out.println("Result: " + result.getPlayerName() + " - " + result.getScoreString() + " - " + result.getDate());
-            }
-
-            resultsTable.setItems(results);
-            System.out.println("Table items set. Table has " + resultsTable.getItems().size() + " items");
+            leaderboard = quizService.getLeaderboard(quizTitle);
+            showResults();
+            System.out.println("Table has " + resultsTable.getItems().size() + " results");
             
             if (gameManager.isPracticeMode()) {
                 System.out.println("Practice mode: Results are not saved to leaderboard");
@@ -262,13 +323,17 @@ public class ResultsController {
             return;
         }
         
-        if (currentQuizResult == null || currentQuizResult.getResults().isEmpty()) {
-            showAlert(Alert.AlertType.WARNING, "No Data", 
-                "No results to export", "There are no quiz results to export.");
-            return;
-        }
-        
         try {
+            // The full results, archived ones included, are only read when they are exported
+            if (gameManager.getCurrentQuiz() != null) {
+                currentQuizResult = quizService.loadResultHistory(gameManager.getCurrentQuiz().getTitle());
+            }
+            if (currentQuizResult == null || currentQuizResult.getResultCount() == 0) {
+                showAlert(Alert.AlertType.WARNING, "No Data", 
+                    "No results to export", "There are no quiz results to export.");
+                return;
+            }
+            
             String fileName = generateDefaultFileName();
             File file = showExportFileDialog(fileName);
             
@@ -286,6 +351,34 @@ public class ResultsController {
         }
     }
     
+    /**
+     * Handles exporting the overall ranking across all quizzes to CSV.
+     */
+    @FXML
+    private void handleExportSeason() {
+        try {
+            List<GlobalLeaderboard.Standing> standings = quizService.getGlobalLeaderboard().getStandings(Integer.MAX_VALUE);
+            if (standings.isEmpty()) {
+                showAlert(Alert.AlertType.WARNING, "No Data", 
+                    "No results to export", "No quiz has any saved results yet.");
+                return;
+            }
+            
+            File file = showExportFileDialog("season-ranking-" + java.time.LocalDate.now() + ".csv");
+            if (file != null) {
+                csvExporter.exportStandingsToCsv(standings, file.toPath());
+                showAlert(Alert.AlertType.INFORMATION, "Success", 
+                    "Export successful", "Season ranking exported to: " + file.getAbsolutePath());
+            }
+        } catch (IllegalArgumentException e) {
+            showAlert(Alert.AlertType.ERROR, "Invalid File", 
+                "Invalid file selection", e.getMessage());
+        } catch (IOException e) {
+            showAlert(Alert.AlertType.ERROR, "Export Error", 
+                "Failed to export season ranking", "Error: " + e.getMessage());
+        }
+    }
+    
     /**
      * Shows file chooser dialog for CSV export.
      *
@@ -2,6 +2,7 @@ package org.example.quizzapp.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -65,8 +66,13 @@ public class Page {
         this.timeLimit = timeLimit;
     }
     
+    /**
+     * Gets a read-only view of the questions on this page.
+     * 
+     * @return Unmodifiable list of questions
+     */
     public List<Question> getElements() {
-        return elements != null ? new ArrayList<>(elements) : new ArrayList<>();
+        return elements != null ? Collections.unmodifiableList(elements) : Collections.emptyList();
     }
     
     public void setElements(List<Question> elements) {
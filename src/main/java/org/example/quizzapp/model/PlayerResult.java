@@ -5,15 +5,25 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSetter;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
 /**
  * Represents the result of a single player's quiz attempt.
  * Contains player information, score, and completion timestamp.
+ * The timestamp is kept as seconds of local date-time rather than as date objects,
+ * and the derived score fields in results files are computed when written, so an
+ * instance is only a few dozen bytes. {@link ResultTable} creates one, as a copy of the row,
+ * each time a row is read.
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class PlayerResult {
     
+    /**
+     * Format of the date in results files.
+     */
+    public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    
     @JsonProperty("playerName")
     private String playerName;
     
@@ -23,46 +33,39 @@ public class PlayerResult {
     @JsonProperty("correctQuestions")
     private int correctQuestions;
     
+    // Local date-time in whole seconds, as if it were UTC
     @JsonIgnore
-    private LocalDateTime date;
-
-    @JsonProperty("date")
-    private String dateString;
-
-    // Additional fields that may be present in JSON but are computed
-    @JsonProperty("score")
-    private Double jsonScore; // This will be ignored, we compute it
-
-    @JsonProperty("scoreString")
-    private String jsonScoreString; // This will be ignored, we compute it
+    private long epochSecond;
     
     /**
      * Default constructor for JSON deserialization.
      */
     public PlayerResult() {
-        this.date = LocalDateTime.now();
-        this.dateString = this.date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
+        this.epochSecond = toEpochSecond(LocalDateTime.now());
     }
     
     /**
      * Constructor with parameters.
-     * 
+     *
      * @param playerName Name of the player
      * @param totalQuestions Total number of questions in the quiz
      * @param correctQuestions Number of questions answered correctly
      * @param date Date and time when the quiz was completed
      */
     public PlayerResult(String playerName, int totalQuestions, int correctQuestions, LocalDateTime date) {
+        this(playerName, totalQuestions, correctQuestions, toEpochSecond(date));
+    }
+    
+    PlayerResult(String playerName, int totalQuestions, int correctQuestions, long epochSecond) {
         this.playerName = playerName;
         this.totalQuestions = totalQuestions;
         this.correctQuestions = correctQuestions;
-        this.date = date;
-        this.dateString = date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
+        this.epochSecond = epochSecond;
     }
     
     /**
      * Calculates the score as a percentage.
-     * 
+     *
      * @return Score percentage (0.0 to 100.0)
      */
     public double getScore() {
@@ -81,7 +84,7 @@ public class PlayerResult {
     
     /**
      * Gets the score as a formatted string.
-     * 
+     *
      * @return Score string in format "X/Y (Z%)"
      */
     public String getScoreString() {
@@ -114,34 +117,48 @@ public class PlayerResult {
         this.correctQuestions = correctQuestions;
     }
     
+    @JsonIgnore
     public LocalDateTime getDate() {
-        return date;
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
     }
     
     public void setDate(LocalDateTime date) {
-        this.date = date;
-        this.dateString = date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
+        this.epochSecond = toEpochSecond(date);
     }
-
+    
+    /**
+     * Gets the completion time in whole seconds of local date-time.
+     *
+     * @return Seconds since 1970-01-01T00:00:00, ignoring time zones
+     */
+    @JsonIgnore
+    public long getEpochSecond() {
+        return epochSecond;
+    }
+    
+    @JsonProperty("date")
     public String getDateString() {
-        return dateString;
+        return getDate().format(DATE_FORMAT);
     }
-
+    
     @JsonSetter("date")
     public void setDateString(String dateString) {
-        this.dateString = dateString;
         if (dateString != null && !dateString.isEmpty()) {
             try {
-                this.date = LocalDateTime.parse(dateString, DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
+                this.epochSecond = toEpochSecond(LocalDateTime.parse(dateString, DATE_FORMAT));
             } catch (Exception e) {
                 System.err.println("Error parsing date string: " + dateString + " - " + e.getMessage());
-                this.date = LocalDateTime.now(); // fallback
+                this.epochSecond = toEpochSecond(LocalDateTime.now()); // fallback
             }
         } else {
-            this.date = LocalDateTime.now(); // fallback for null/empty
+            this.epochSecond = toEpochSecond(LocalDateTime.now()); // fallback for null/empty
         }
     }
     
+    static long toEpochSecond(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC);
+    }
+    
     @Override
     public String toString() {
         return "PlayerResult{" +
@@ -149,7 +166,7 @@ public class PlayerResult {
                 ", totalQuestions=" + totalQuestions +
                 ", correctQuestions=" + correctQuestions +
                 ", score=" + getScore() + "%" +
-                ", date=" + date +
+                ", date=" + getDate() +
                 '}';
     }
 }
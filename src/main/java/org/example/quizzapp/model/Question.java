@@ -3,6 +3,8 @@ package org.example.quizzapp.model;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Abstract base class for all question types in the quiz.
@@ -31,6 +33,15 @@ public abstract class Question {
     @JsonProperty("isRequired")
     protected boolean isRequired;
     
+    @JsonProperty("tags")
+    protected List<String> tags;
+    
+    @JsonProperty("difficulty")
+    protected Double difficulty;
+    
+    @JsonProperty("discrimination")
+    protected Double discrimination;
+    
     /**
      * Default constructor for JSON deserialization.
      */
@@ -101,6 +112,41 @@ public abstract class Question {
         isRequired = required;
     }
     
+    public List<String> getTags() {
+        return tags != null ? new ArrayList<>(tags) : new ArrayList<>();
+    }
+    
+    public void setTags(List<String> tags) {
+        this.tags = tags != null ? new ArrayList<>(tags) : null;
+    }
+    
+    /**
+     * Gets the optional difficulty rating of this question.
+     * 
+     * @return The difficulty, or null if the quiz does not rate it
+     */
+    public Double getDifficulty() {
+        return difficulty;
+    }
+    
+    public void setDifficulty(Double difficulty) {
+        this.difficulty = difficulty;
+    }
+    
+    /**
+     * Gets the optional discrimination of this question, i.e. how sharply it
+     * separates players below and above its difficulty (IRT "a" parameter).
+     * 
+     * @return The discrimination, or null if the quiz does not rate it
+     */
+    public Double getDiscrimination() {
+        return discrimination;
+    }
+    
+    public void setDiscrimination(Double discrimination) {
+        this.discrimination = discrimination;
+    }
+    
     @Override
     public String toString() {
         return "Question{" +
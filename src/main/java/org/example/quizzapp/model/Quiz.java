@@ -1,7 +1,10 @@
 package org.example.quizzapp.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -25,6 +28,9 @@ public class Quiz {
     @JsonProperty("completedHtmlOnCondition")
     private List<CompletedHtmlCondition> completedHtmlOnCondition;
     
+    @JsonIgnore
+    private Path sourceFile;
+    
     /**
      * Default constructor for JSON deserialization.
      */
@@ -87,6 +93,8 @@ public class Quiz {
         if (page != null) {
             if (pages == null) {
                 pages = new ArrayList<>();
+            } else if (!(pages instanceof ArrayList)) {
+                pages = new ArrayList<>(pages);
             }
             pages.add(page);
         }
@@ -110,14 +118,30 @@ public class Quiz {
         this.description = description;
     }
     
+    /**
+     * Gets a read-only view of the pages. The view is not a copy, so callers
+     * can iterate large or lazily loaded quizzes without duplicating them.
+     * 
+     * @return Unmodifiable list of pages
+     */
     public List<Page> getPages() {
-        return pages != null ? new ArrayList<>(pages) : new ArrayList<>();
+        return pages != null ? Collections.unmodifiableList(pages) : Collections.emptyList();
     }
     
     public void setPages(List<Page> pages) {
         this.pages = pages != null ? new ArrayList<>(pages) : new ArrayList<>();
     }
     
+    /**
+     * Backs this quiz by a read-only page list that loads pages on access,
+     * such as a compiled bundle or a paged JSON source. The list is kept as-is instead of copied.
+     * 
+     * @param lazyPages The read-only page list
+     */
+    public void setLazyPages(List<Page> lazyPages) {
+        this.pages = lazyPages;
+    }
+    
     public String getCompletedHtml() {
         return completedHtml;
     }
@@ -136,6 +160,19 @@ public class Quiz {
                                        new ArrayList<>(completedHtmlOnCondition) : new ArrayList<>();
     }
     
+    /**
+     * Gets the file this quiz was loaded from.
+     * 
+     * @return The source file path, or null if the quiz was built in memory
+     */
+    public Path getSourceFile() {
+        return sourceFile;
+    }
+    
+    public void setSourceFile(Path sourceFile) {
+        this.sourceFile = sourceFile;
+    }
+    
     @Override
     public String toString() {
         return "Quiz{" +
@@ -1,8 +1,8 @@
 package org.example.quizzapp.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -18,8 +18,9 @@ public class QuizResult {
     @JsonProperty("name")
     private String name;
     
-    @JsonProperty("results")
-    private List<PlayerResult> results;
+    // Results are stored column by column; PlayerResult objects are created when read
+    @JsonIgnore
+    private final ResultTable results = new ResultTable();
     
     @JsonProperty("numericId")
     private String numericId;
@@ -28,7 +29,6 @@ public class QuizResult {
      * Default constructor for JSON deserialization.
      */
     public QuizResult() {
-        this.results = new ArrayList<>();
     }
     
     /**
@@ -45,7 +45,9 @@ public class QuizResult {
     }
     
     /**
-     * Generates a numeric ID from the quiz ID using hash code.
+     * Generates a numeric ID from the quiz ID.
+     * Hex quiz IDs are hashes already, so their first 60 bits are used as is;
+     * other IDs, from older results files, fall back to a 6-digit hash code.
      * 
      * @param quizId The quiz ID
      * @return A positive numeric ID
@@ -54,6 +56,9 @@ public class QuizResult {
         if (quizId == null || quizId.isEmpty()) {
             return "0";
         }
+        if (quizId.length() == 32 && quizId.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+            return Long.toString(Long.parseLong(quizId.substring(0, 15), 16));
+        }
         // Use absolute value of hash code to ensure positive number
         int hashCode = Math.abs(quizId.hashCode());
         // Convert to 6-digit padded number for consistency
@@ -67,9 +72,6 @@ public class QuizResult {
      */
     public void addResult(PlayerResult result) {
         if (result != null) {
-            if (results == null) {
-                results = new ArrayList<>();
-            }
             results.add(result);
         }
     }
@@ -80,7 +82,7 @@ public class QuizResult {
      * @return Number of player results
      */
     public int getResultCount() {
-        return results != null ? results.size() : 0;
+        return results.size();
     }
     
     /**
@@ -89,11 +91,7 @@ public class QuizResult {
      * @return List of results sorted by score descending
      */
     public List<PlayerResult> getResultsSortedByScore() {
-        if (results == null) {
-            return new ArrayList<>();
-        }
-        
-        List<PlayerResult> sorted = new ArrayList<>(results);
+        List<PlayerResult> sorted = results.toList();
         sorted.sort((r1, r2) -> {
             // Sort by score descending, then by date descending
             int scoreCompare = Double.compare(r2.getScore(), r1.getScore());
@@ -124,12 +122,29 @@ public class QuizResult {
         this.name = name;
     }
     
+    @JsonProperty("results")
     public List<PlayerResult> getResults() {
-        return results != null ? new ArrayList<>(results) : new ArrayList<>();
+        return results.toList();
     }
     
+    @JsonProperty("results")
     public void setResults(List<PlayerResult> results) {
-        this.results = results != null ? new ArrayList<>(results) : new ArrayList<>();
+        this.results.clear();
+        if (results != null) {
+            for (PlayerResult result : results) {
+                addResult(result);
+            }
+        }
+    }
+    
+    /**
+     * Gets the results column by column, without creating a PlayerResult per result.
+     * 
+     * @return The table backing this quiz's results
+     */
+    @JsonIgnore
+    public ResultTable getResultTable() {
+        return results;
     }
     
     public String getNumericId() {
@@ -148,7 +163,7 @@ public class QuizResult {
         return "QuizResult{" +
                 "quizId='" + quizId + '\'' +
                 ", name='" + name + '\'' +
-                ", results=" + (results != null ? results.size() : 0) + " results" +
+                ", results=" + results.size() + " results" +
                 '}';
     }
 }
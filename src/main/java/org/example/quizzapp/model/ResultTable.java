@@ -0,0 +1,161 @@
+package org.example.quizzapp.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented store of player results: one primitive array per field, and player names
+ * stored once in a dictionary and referenced by number. A row costs 20 bytes plus its share
+ * of the distinct names. {@link PlayerResult} objects are only created when a row is read.
+ */
+public class ResultTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int size;
+    private int[] totalQuestions = new int[INITIAL_CAPACITY];
+    private int[] correctQuestions = new int[INITIAL_CAPACITY];
+    private long[] epochSeconds = new long[INITIAL_CAPACITY];
+    private int[] nameIds = new int[INITIAL_CAPACITY];
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameIndex = new HashMap<>();
+
+    /**
+     * Appends a result.
+     *
+     * @param result The result to copy into the table
+     */
+    public void add(PlayerResult result) {
+        add(result.getPlayerName(), result.getTotalQuestions(), result.getCorrectQuestions(), result.getEpochSecond());
+    }
+
+    /**
+     * Appends a result.
+     *
+     * @param playerName Name of the player
+     * @param totalQuestions Total number of questions in the quiz
+     * @param correctQuestions Number of questions answered correctly
+     * @param date Date and time when the quiz was completed
+     */
+    public void add(String playerName, int totalQuestions, int correctQuestions, LocalDateTime date) {
+        add(playerName, totalQuestions, correctQuestions, PlayerResult.toEpochSecond(date));
+    }
+
+    /**
+     * Appends every row of another table.
+     *
+     * @param other The table to copy from
+     */
+    public void addAll(ResultTable other) {
+        for (int row = 0; row < other.size; row++) {
+            add(other.names.get(other.nameIds[row]), other.totalQuestions[row], other.correctQuestions[row],
+                other.epochSeconds[row]);
+        }
+    }
+
+    private void add(String playerName, int total, int correct, long epochSecond) {
+        if (size == totalQuestions.length) {
+            int capacity = size * 2;
+            totalQuestions = Arrays.copyOf(totalQuestions, capacity);
+            correctQuestions = Arrays.copyOf(correctQuestions, capacity);
+            epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+            nameIds = Arrays.copyOf(nameIds, capacity);
+        }
+        totalQuestions[size] = total;
+        correctQuestions[size] = correct;
+        epochSeconds[size] = epochSecond;
+        nameIds[size] = nameId(playerName);
+        size++;
+    }
+
+    /**
+     * Removes every row.
+     */
+    public void clear() {
+        size = 0;
+        names.clear();
+        nameIndex.clear();
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return The number of results
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of distinct player names.
+     *
+     * @return The size of the name dictionary
+     */
+    public int getDistinctNameCount() {
+        return names.size();
+    }
+
+    /**
+     * Reads a row. The returned object is a copy; changing it does not change the table.
+     *
+     * @param row Index of the row
+     * @return The result
+     */
+    public PlayerResult get(int row) {
+        checkRow(row);
+        return new PlayerResult(names.get(nameIds[row]), totalQuestions[row], correctQuestions[row], epochSeconds[row]);
+    }
+
+    public String getPlayerName(int row) {
+        checkRow(row);
+        return names.get(nameIds[row]);
+    }
+
+    public int getTotalQuestions(int row) {
+        checkRow(row);
+        return totalQuestions[row];
+    }
+
+    public int getCorrectQuestions(int row) {
+        checkRow(row);
+        return correctQuestions[row];
+    }
+
+    public long getEpochSecond(int row) {
+        checkRow(row);
+        return epochSeconds[row];
+    }
+
+    /**
+     * Reads every row.
+     *
+     * @return One result per row, in order
+     */
+    public List<PlayerResult> toList() {
+        List<PlayerResult> results = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            results.add(get(row));
+        }
+        return results;
+    }
+
+    private int nameId(String playerName) {
+        Integer id = nameIndex.get(playerName);
+        if (id == null) {
+            id = names.size();
+            names.add(playerName);
+            nameIndex.put(playerName, id);
+        }
+        return id;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+    }
+}
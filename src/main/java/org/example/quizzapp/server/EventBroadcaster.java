@@ -0,0 +1,176 @@
+package org.example.quizzapp.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans server-sent events out to every connection of a room.
+ * Each event is serialized to its SSE wire format once and the same byte array is
+ * queued on every connection. Connections drain their own queue, so a slow client
+ * never delays the others; a client that falls too far behind is disconnected.
+ */
+public class EventBroadcaster {
+
+    static final int MAX_PENDING_EVENTS = 256;
+    private static final long HEARTBEAT_SECONDS = 15;
+    private static final byte[] HEARTBEAT = ": ping\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END_OF_STREAM = new byte[0];
+
+    private final ObjectMapper objectMapper;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * One subscriber's stream of events.
+     */
+    public class Connection implements AutoCloseable {
+        private final BlockingQueue<byte[]> pending = new ArrayBlockingQueue<>(MAX_PENDING_EVENTS);
+        private volatile boolean open = true;
+
+        private Connection() {
+        }
+
+        private void offer(byte[] event) {
+            if (open && !pending.offer(event)) {
+                // Slow consumer: drop it rather than buffering without bound
+                close();
+            }
+        }
+
+        /**
+         * Takes the next encoded event, waiting up to a timeout.
+         *
+         * @param timeout Maximum time to wait
+         * @param unit Unit of the timeout
+         * @return The encoded event, or null if none arrived in time
+         * @throws InterruptedException If the waiting thread is interrupted
+         */
+        public byte[] poll(long timeout, TimeUnit unit) throws InterruptedException {
+            byte[] event = pending.poll(timeout, unit);
+            return event != END_OF_STREAM ? event : null;
+        }
+
+        /**
+         * Writes events to a stream until the connection or the stream is closed.
+         * Sends a comment line as heartbeat while idle so proxies keep the stream open.
+         *
+         * @param out The response stream
+         */
+        public void drainTo(OutputStream out) {
+            try {
+                while (true) {
+                    byte[] event = pending.poll(HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+                    if (event == END_OF_STREAM || (event == null && !open)) {
+                        break;
+                    }
+                    out.write(event != null ? event : HEARTBEAT);
+                    // Write whatever queued up meanwhile before flushing once
+                    while ((event = pending.poll()) != null && event != END_OF_STREAM) {
+                        out.write(event);
+                    }
+                    out.flush();
+                    if (event == END_OF_STREAM) {
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                // Client went away
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        public boolean isOpen() {
+            return open;
+        }
+
+        /**
+         * Stops accepting events. Events queued before closing are still written.
+         */
+        @Override
+        public void close() {
+            if (open) {
+                open = false;
+                connections.remove(this);
+                pending.offer(END_OF_STREAM);
+            }
+        }
+    }
+
+    public EventBroadcaster(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Registers a new subscriber.
+     *
+     * @return The connection to drain
+     */
+    public Connection subscribe() {
+        Connection connection = new Connection();
+        connections.add(connection);
+        return connection;
+    }
+
+    /**
+     * Sends an event to every open connection.
+     *
+     * @param event The event name
+     * @param data The event payload, serialized as JSON
+     * @return The encoded event that was queued
+     */
+    public byte[] broadcast(String event, Object data) {
+        byte[] encoded = encode(event, data);
+        for (Connection connection : connections) {
+            connection.offer(encoded);
+        }
+        return encoded;
+    }
+
+    /**
+     * Sends an event to a single connection.
+     *
+     * @param connection The receiving connection
+     * @param event The event name
+     * @param data The event payload, serialized as JSON
+     */
+    public void send(Connection connection, String event, Object data) {
+        connection.offer(encode(event, data));
+    }
+
+    /**
+     * Encodes an event in the server-sent events wire format.
+     */
+    byte[] encode(String event, Object data) {
+        try {
+            // Jackson writes JSON without raw newlines, so a single data line is enough
+            String json = objectMapper.writeValueAsString(data);
+            return ("event: " + event + "\ndata: " + json + "\n\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot encode event " + event, e);
+        }
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * Closes every connection.
+     */
+    public void closeAll() {
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package org.example.quizzapp.server;
+
+import org.example.quizzapp.model.BooleanQuestion;
+import org.example.quizzapp.model.Page;
+import org.example.quizzapp.model.Question;
+import org.example.quizzapp.model.Quiz;
+import org.example.quizzapp.model.RadioGroupQuestion;
+import org.example.quizzapp.service.QuestionOrder;
+import org.example.quizzapp.service.SequentialOrder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A host-driven quiz session shared by many players.
+ * The host opens each question; every participant receives the same {@code question} event,
+ * followed by a {@code countdown} event per second. When time runs out (or the host closes
+ * the question early) a {@code reveal} event with the correct answer and a {@code leaderboard}
+ * event are broadcast. After the last question a {@code finished} event carries the final standings.
+ * Joins are announced with a {@code participants} event carrying the new count, at most one per
+ * {@link #PARTICIPANTS_BROADCAST_MILLIS}, so a crowd joining at once does not flood every stream.
+ *
+ * <p>Answers are accepted concurrently from any number of threads; each participant can
+ * answer each question once. Players are ranked by correct answers, then by total answer time.
+ */
+public class LiveRoom {
+
+    public static final int LEADERBOARD_SIZE = 10;
+    public static final long PARTICIPANTS_BROADCAST_MILLIS = 250;
+
+    /**
+     * Stage of the room.
+     */
+    public enum Phase { LOBBY, QUESTION, REVEAL, FINISHED }
+
+    /**
+     * A participant's position on the leaderboard.
+     */
+    public record Standing(int rank, String name, int score, long answerMillis) { }
+
+    /**
+     * The question open for answers, published as one value so an answer never pairs
+     * a question with the number or start time of another.
+     */
+    private record OpenQuestion(int number, Question question, long startNanos) { }
+
+    private static class Participant {
+        final String id;
+        final String name;
+        final AtomicInteger score = new AtomicInteger();
+        final AtomicLong answerNanos = new AtomicLong();
+        final AtomicInteger lastAnswered = new AtomicInteger(-1);
+
+        Participant(String id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private final String code;
+    private final String hostToken = UUID.randomUUID().toString();
+    private final Quiz quiz;
+    private final QuestionOrder order = new SequentialOrder();
+    private final ScheduledExecutorService scheduler;
+    private final EventBroadcaster broadcaster;
+    private final Map<String, Participant> participants = new ConcurrentHashMap<>();
+    private final AtomicBoolean participantsPending = new AtomicBoolean();
+
+    private volatile Phase phase = Phase.LOBBY;
+    // Null while no question accepts answers
+    private volatile OpenQuestion openQuestion;
+    // Position of the last opened question; only used while holding the room's lock
+    private int questionNumber = -1;
+    private ScheduledFuture<?> countdown;
+    private volatile Runnable onFinished;
+
+    /**
+     * Creates a room.
+     *
+     * @param code The code players use to join
+     * @param quiz The quiz to play
+     * @param scheduler Scheduler for the per-second countdown
+     * @param broadcaster Broadcaster for the room's events
+     */
+    public LiveRoom(String code, Quiz quiz, ScheduledExecutorService scheduler, EventBroadcaster broadcaster) {
+        this.code = code;
+        this.quiz = quiz;
+        this.scheduler = scheduler;
+        this.broadcaster = broadcaster;
+        order.reset(quiz);
+    }
+
+    /**
+     * Adds a player to the room.
+     *
+     * @param name The player's display name
+     * @return The participant id used to answer
+     * @throws IllegalArgumentException If the name is empty
+     */
+    public String join(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("A name is required to join");
+        }
+        String id = UUID.randomUUID().toString();
+        participants.put(id, new Participant(id, name.trim()));
+        // The first join since the last announcement schedules one for every join until then
+        if (participantsPending.compareAndSet(false, true)) {
+            try {
+                scheduler.schedule(this::broadcastParticipants, PARTICIPANTS_BROADCAST_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // The server is stopping, so nobody is listening anymore
+            }
+        }
+        return id;
+    }
+
+    private void broadcastParticipants() {
+        // Cleared first, so a join from here on schedules the next announcement
+        participantsPending.set(false);
+        broadcaster.broadcast("participants", Map.of("participants", participants.size()));
+    }
+
+    /**
+     * Opens the next question, or finishes the room after the last one.
+     * Only the host calls this.
+     *
+     * @return true if a question was opened, false if the quiz is over
+     */
+    public synchronized boolean nextQuestion() {
+        if (phase == Phase.FINISHED) {
+            return false;
+        }
+        if (phase == Phase.QUESTION) {
+            closeQuestion();
+        }
+        if (questionNumber >= 0 && !order.advance()) {
+            finish();
+            return false;
+        }
+
+        Page page = order.getCurrentPage();
+        if (page == null || page.getQuestion() == null) {
+            finish();
+            return false;
+        }
+        questionNumber = order.getPosition();
+        openQuestion = new OpenQuestion(questionNumber, page.getQuestion(), System.nanoTime());
+        phase = Phase.QUESTION;
+
+        int timeLimit = Math.max(1, page.getTimeLimit());
+        broadcaster.broadcast("question", questionPayload(page.getQuestion(), timeLimit));
+
+        int number = questionNumber;
+        AtomicInteger remaining = new AtomicInteger(timeLimit);
+        countdown = scheduler.scheduleAtFixedRate(() -> tick(number, remaining), 1, 1, TimeUnit.SECONDS);
+        return true;
+    }
+
+    private void tick(int number, AtomicInteger remaining) {
+        int secondsLeft = remaining.decrementAndGet();
+        if (secondsLeft > 0) {
+            broadcaster.broadcast("countdown", Map.of("question", number + 1, "remaining", secondsLeft));
+            return;
+        }
+        synchronized (this) {
+            // A late tick for a question the host already closed must not close the next one
+            if (phase == Phase.QUESTION && questionNumber == number) {
+                closeQuestion();
+            }
+        }
+    }
+
+    /**
+     * Closes the open question, reveals its answer and broadcasts the leaderboard.
+     */
+    public synchronized void closeQuestion() {
+        if (phase != Phase.QUESTION) {
+            return;
+        }
+        if (countdown != null) {
+            countdown.cancel(false);
+        }
+        OpenQuestion closed = openQuestion;
+        openQuestion = null;
+        phase = Phase.REVEAL;
+        broadcaster.broadcast("reveal", Map.of(
+            "question", closed.number() + 1,
+            "correctAnswer", String.valueOf(closed.question().getCorrectAnswer())));
+        broadcaster.broadcast("leaderboard", leaderboardPayload(getLeaderboard(LEADERBOARD_SIZE)));
+    }
+
+    private void finish() {
+        phase = Phase.FINISHED;
+        openQuestion = null;
+        broadcaster.broadcast("finished", leaderboardPayload(getLeaderboard(LEADERBOARD_SIZE)));
+        broadcaster.closeAll();
+        Runnable callback = onFinished;
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    /**
+     * Records a participant's answer to the open question.
+     *
+     * @param participantId The participant
+     * @param answer The chosen answer (choice text, or true/false)
+     * @return true if the answer was accepted, false if no question is open,
+     *         the participant is unknown or already answered
+     */
+    public boolean submitAnswer(String participantId, Object answer) {
+        Participant participant = participants.get(participantId);
+        OpenQuestion open = openQuestion;
+        if (participant == null || open == null) {
+            return false;
+        }
+        int previous = participant.lastAnswered.get();
+        if (previous >= open.number() || !participant.lastAnswered.compareAndSet(previous, open.number())) {
+            return false;
+        }
+
+        participant.answerNanos.addAndGet(System.nanoTime() - open.startNanos());
+        if (answer != null && open.question().isCorrectAnswer(answer)) {
+            participant.score.incrementAndGet();
+        }
+        return true;
+    }
+
+    /**
+     * Gets the best participants.
+     *
+     * @param limit Maximum number of standings
+     * @return Standings, best first
+     */
+    public List<Standing> getLeaderboard(int limit) {
+        List<Participant> ranked = new ArrayList<>(participants.values());
+        ranked.sort(Comparator.comparingInt((Participant p) -> p.score.get()).reversed()
+            .thenComparingLong(p -> p.answerNanos.get()));
+
+        List<Standing> standings = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            Participant p = ranked.get(i);
+            standings.add(new Standing(i + 1, p.name, p.score.get(), p.answerNanos.get() / 1_000_000));
+        }
+        return standings;
+    }
+
+    private Map<String, Object> questionPayload(Question question, int timeLimit) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("question", questionNumber + 1);
+        payload.put("of", order.getLength());
+        payload.put("title", question.getTitle());
+        payload.put("type", question instanceof BooleanQuestion ? "boolean" : "radiogroup");
+        if (question instanceof RadioGroupQuestion radioGroup) {
+            // Everyone sees the same order, so shuffle once per question
+            payload.put("choices", radioGroup.getShuffledChoices());
+        } else if (question instanceof BooleanQuestion booleanQuestion) {
+            payload.put("choices", List.of(booleanQuestion.getLabelTrue(), booleanQuestion.getLabelFalse()));
+        }
+        payload.put("timeLimit", timeLimit);
+        payload.put("startedAt", System.currentTimeMillis());
+        return payload;
+    }
+
+    private Map<String, Object> leaderboardPayload(List<Standing> standings) {
+        return Map.of("participants", participants.size(), "standings", standings);
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getHostToken() {
+        return hostToken;
+    }
+
+    public Quiz getQuiz() {
+        return quiz;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public int getParticipantCount() {
+        return participants.size();
+    }
+
+    public EventBroadcaster getBroadcaster() {
+        return broadcaster;
+    }
+
+    /**
+     * Sets a callback run once the room has finished and closed its event streams.
+     *
+     * @param onFinished The callback, run on the thread that finished the room
+     */
+    public void setOnFinished(Runnable onFinished) {
+        this.onFinished = onFinished;
+    }
+}
@@ -0,0 +1,284 @@
+package org.example.quizzapp.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.quizzapp.model.Quiz;
+import org.example.quizzapp.service.MetricsRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local HTTP endpoint for live rooms.
+ * Every request runs on its own virtual thread, so an open event stream costs a parked
+ * virtual thread rather than a platform thread, and thousands of participants fit in one process.
+ * A finished room stays reachable for {@link #FINISHED_ROOM_GRACE_SECONDS}, so players can still
+ * fetch the final standings, and is then removed.
+ *
+ * <ul>
+ *   <li>{@code GET  /rooms/{code}/events} - server-sent event stream of the room</li>
+ *   <li>{@code POST /rooms/{code}/join} - body {@code {"name": "..."}}, returns the participant id</li>
+ *   <li>{@code POST /rooms/{code}/answer} - body {@code {"participant": "...", "answer": "..."}}</li>
+ *   <li>{@code POST /rooms/{code}/next?token=...} - host opens the next question</li>
+ *   <li>{@code GET  /rooms/{code}/leaderboard} - current standings</li>
+ *   <li>{@code GET  /metrics} - application metrics in the Prometheus text format</li>
+ * </ul>
+ */
+public class RoomServer {
+
+    private static final String CODE_ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    private static final int CODE_LENGTH = 6;
+    public static final long FINISHED_ROOM_GRACE_SECONDS = 300;
+
+    private final HttpServer server;
+    private final ExecutorService requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "live-room-countdown");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, LiveRoom> rooms = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final List<MetricsRegistry.Gauge> gauges = new ArrayList<>();
+
+    /**
+     * Creates a server bound to a local port.
+     *
+     * @param port The port, or 0 for any free port
+     * @throws IOException If the port cannot be bound
+     */
+    public RoomServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(requestExecutor);
+    }
+
+    /**
+     * Starts serving requests and reporting room gauges.
+     */
+    public void start() {
+        server.createContext("/rooms/", this::handle);
+        server.createContext("/metrics", this::handleMetrics);
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        gauges.add(metrics.gauge("quiz_live_rooms", "Open live rooms", rooms::size));
+        gauges.add(metrics.gauge("quiz_live_connections", "Open event streams across all rooms", () -> {
+            int connections = 0;
+            for (LiveRoom room : rooms.values()) {
+                connections += room.getBroadcaster().getConnectionCount();
+            }
+            return connections;
+        }));
+        server.start();
+    }
+
+    /**
+     * Stops the server, disconnects every participant and removes the room gauges.
+     */
+    public void stop() {
+        for (MetricsRegistry.Gauge gauge : gauges) {
+            MetricsRegistry.getInstance().unregister(gauge);
+        }
+        gauges.clear();
+        for (LiveRoom room : rooms.values()) {
+            room.getBroadcaster().closeAll();
+        }
+        rooms.clear();
+        server.stop(0);
+        scheduler.shutdownNow();
+        requestExecutor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Opens a new room for a quiz.
+     *
+     * @param quiz The quiz to play
+     * @return The room, whose code players use to join
+     */
+    public LiveRoom createRoom(Quiz quiz) {
+        while (true) {
+            String code = newCode();
+            LiveRoom room = new LiveRoom(code, quiz, scheduler, new EventBroadcaster(objectMapper));
+            if (rooms.putIfAbsent(code, room) == null) {
+                room.setOnFinished(() -> scheduler.schedule(() -> rooms.remove(code, room),
+                    FINISHED_ROOM_GRACE_SECONDS, TimeUnit.SECONDS));
+                return room;
+            }
+        }
+    }
+
+    public LiveRoom getRoom(String code) {
+        return code != null ? rooms.get(code.toUpperCase()) : null;
+    }
+
+    private String newCode() {
+        StringBuilder code = new StringBuilder(CODE_LENGTH);
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            code.append(CODE_ALPHABET.charAt(random.nextInt(CODE_ALPHABET.length())));
+        }
+        return code.toString();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String[] parts = exchange.getRequestURI().getPath().split("/");
+            // "", "rooms", code, action
+            if (parts.length != 4) {
+                sendJson(exchange, 404, Map.of("error", "Not found"));
+                return;
+            }
+            LiveRoom room = getRoom(parts[2]);
+            if (room == null) {
+                sendJson(exchange, 404, Map.of("error", "Unknown room " + parts[2]));
+                return;
+            }
+
+            String method = exchange.getRequestMethod();
+            switch (parts[3]) {
+                case "events" -> {
+                    if (requireMethod(exchange, method, "GET")) {
+                        streamEvents(exchange, room);
+                    }
+                }
+                case "join" -> {
+                    if (requireMethod(exchange, method, "POST")) {
+                        // A missing name must not become a player called "null"
+                        if (!(readBody(exchange).get("name") instanceof String name) || name.isBlank()) {
+                            sendJson(exchange, 400, Map.of("error", "A name is required to join"));
+                            return;
+                        }
+                        String id = room.join(name);
+                        sendJson(exchange, 200, Map.of("participant", id, "room", room.getCode()));
+                    }
+                }
+                case "answer" -> {
+                    if (requireMethod(exchange, method, "POST")) {
+                        Map<String, Object> body = readBody(exchange);
+                        boolean accepted = room.submitAnswer(String.valueOf(body.get("participant")), body.get("answer"));
+                        sendJson(exchange, accepted ? 200 : 409, Map.of("accepted", accepted));
+                    }
+                }
+                case "next" -> {
+                    if (requireMethod(exchange, method, "POST")) {
+                        if (!room.getHostToken().equals(queryParameters(exchange).get("token"))) {
+                            sendJson(exchange, 403, Map.of("error", "Only the host can advance the room"));
+                            return;
+                        }
+                        boolean opened = room.nextQuestion();
+                        sendJson(exchange, 200, Map.of("opened", opened, "phase", room.getPhase()));
+                    }
+                }
+                case "leaderboard" -> {
+                    if (requireMethod(exchange, method, "GET")) {
+                        sendJson(exchange, 200, room.getLeaderboard(LiveRoom.LEADERBOARD_SIZE));
+                    }
+                }
+                default -> sendJson(exchange, 404, Map.of("error", "Not found"));
+            }
+        } catch (IllegalArgumentException e) {
+            sendJson(exchange, 400, Map.of("error", e.getMessage()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body = MetricsRegistry.getInstance().scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private void streamEvents(HttpExchange exchange, LiveRoom room) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+
+        EventBroadcaster.Connection connection = room.getBroadcaster().subscribe();
+        // Tell the new subscriber where the room is, so late joiners are not left waiting
+        room.getBroadcaster().send(connection, "room", Map.of(
+            "room", room.getCode(),
+            "title", String.valueOf(room.getQuiz().getTitle()),
+            "phase", room.getPhase(),
+            "participants", room.getParticipantCount()));
+        if (room.getPhase() == LiveRoom.Phase.FINISHED) {
+            // Nothing more will be broadcast, so end the stream instead of sending heartbeats
+            connection.close();
+        }
+        try (OutputStream out = exchange.getResponseBody()) {
+            connection.drainTo(out);
+        }
+    }
+
+    private boolean requireMethod(HttpExchange exchange, String method, String expected) throws IOException {
+        if (!expected.equals(method)) {
+            exchange.getResponseHeaders().set("Allow", expected);
+            sendJson(exchange, 405, Map.of("error", "Use " + expected));
+            return false;
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readAllBytes();
+            if (body.length == 0) {
+                return Map.of();
+            }
+            try {
+                return objectMapper.readValue(body, Map.class);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Request body is not a JSON object");
+            }
+        }
+    }
+
+    private static Map<String, String> queryParameters(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, json.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json);
+        }
+    }
+}
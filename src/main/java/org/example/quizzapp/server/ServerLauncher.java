@@ -0,0 +1,42 @@
+package org.example.quizzapp.server;
+
+import org.example.quizzapp.model.Quiz;
+import org.example.quizzapp.service.MetricsRegistry;
+import org.example.quizzapp.service.QuizService;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command line entry point for hosting a live room.
+ * Usage: {@code ServerLauncher <quiz.json> [port]}
+ */
+public class ServerLauncher {
+
+    public static final int DEFAULT_PORT = 8080;
+    private static final long METRICS_SNAPSHOT_SECONDS = 60;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: ServerLauncher <quiz.json> [port]");
+            System.exit(1);
+        }
+
+        Quiz quiz = new QuizService().loadQuiz(new File(args[0]));
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+
+        RoomServer server = new RoomServer(port);
+        LiveRoom room = server.createRoom(quiz);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        server.start();
+        MetricsRegistry.getInstance().startSnapshots(
+            MetricsRegistry.DEFAULT_SNAPSHOT_FILE, METRICS_SNAPSHOT_SECONDS, TimeUnit.SECONDS);
+
+        String base = "http://localhost:" + server.getPort() + "/rooms/" + room.getCode();
+        System.out.println("Live room " + room.getCode() + " for \"" + quiz.getTitle() + "\"");
+        System.out.println("Events:  GET  " + base + "/events");
+        System.out.println("Join:    POST " + base + "/join");
+        System.out.println("Host:    POST " + base + "/next?token=" + room.getHostToken());
+        System.out.println("Metrics: GET  http://localhost:" + server.getPort() + "/metrics");
+    }
+}
@@ -0,0 +1,369 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.Page;
+import org.example.quizzapp.model.Question;
+import org.example.quizzapp.model.Quiz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Computerized adaptive testing over a calibrated question bank.
+ * Questions are modelled with the two-parameter logistic IRT model, using each question's
+ * difficulty (b) and discrimination (a). After every answer the player's ability is
+ * re-estimated (expected a posteriori over a grid with a standard normal prior) and the
+ * unused question with the highest Fisher information at that ability is asked next.
+ *
+ * <p>Selection uses an index instead of scanning the bank: questions are bucketed by
+ * discrimination and sorted by difficulty inside each bucket. Information peaks where
+ * difficulty equals ability, so each bucket only needs a binary search for the nearest
+ * unused difficulty, and buckets whose best possible information (a²/4) cannot beat the
+ * current best are skipped.
+ */
+public class AdaptiveOrder implements QuestionOrder {
+
+    public static final int DEFAULT_TEST_LENGTH = 20;
+
+    private static final double GRID_MIN = -4.0;
+    private static final double GRID_STEP = 0.1;
+    private static final int GRID_POINTS = 81;
+    private static final double BUCKET_WIDTH = 0.1;
+
+    private final int maxItems;
+    private final double targetStandardError;
+
+    private Quiz quiz;
+    private ItemIndex index;
+    private final double[] logPosterior = new double[GRID_POINTS];
+    private double ability;
+    private double standardError;
+    private int currentItem;
+    private int position;
+    private int length;
+
+    /**
+     * Creates an adaptive order with the default test length and no early stop.
+     */
+    public AdaptiveOrder() {
+        this(DEFAULT_TEST_LENGTH, 0);
+    }
+
+    /**
+     * Creates an adaptive order.
+     *
+     * @param maxItems Maximum number of questions per session
+     * @param targetStandardError Stop early once the ability estimate is this precise, 0 to disable
+     */
+    public AdaptiveOrder(int maxItems, double targetStandardError) {
+        if (maxItems <= 0) {
+            throw new IllegalArgumentException("Test length must be positive");
+        }
+        this.maxItems = maxItems;
+        this.targetStandardError = targetStandardError;
+    }
+
+    /**
+     * Checks whether a quiz carries the difficulty ratings adaptive testing needs.
+     *
+     * @param quiz The quiz to check
+     * @return true if its questions are rated
+     */
+    public static boolean isCalibrated(Quiz quiz) {
+        return quiz != null && quiz.getTotalQuestions() > 0
+            && quiz.getQuestion(0) != null && quiz.getQuestion(0).getDifficulty() != null;
+    }
+
+    @Override
+    public void reset(Quiz quiz) {
+        if (quiz != this.quiz || index == null) {
+            this.quiz = quiz;
+            this.index = quiz != null ? ItemIndex.build(quiz) : null;
+        } else {
+            index.clearUsed();
+        }
+
+        // Standard normal prior
+        for (int k = 0; k < GRID_POINTS; k++) {
+            double theta = theta(k);
+            logPosterior[k] = -0.5 * theta * theta;
+        }
+        ability = 0.0;
+        standardError = 1.0;
+        position = 0;
+        length = index != null ? Math.min(maxItems, index.size()) : 0;
+        currentItem = length > 0 ? index.take(ability) : -1;
+    }
+
+    @Override
+    public Page getCurrentPage() {
+        if (currentItem < 0 || position >= length) {
+            return null;
+        }
+        return quiz.getPage(currentItem);
+    }
+
+    @Override
+    public int getPosition() {
+        return position;
+    }
+
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public void recordAnswer(boolean correct) {
+        if (currentItem < 0) {
+            return;
+        }
+        double a = index.discrimination[currentItem];
+        double b = index.difficulty[currentItem];
+        for (int k = 0; k < GRID_POINTS; k++) {
+            double p = probability(a, b, theta(k));
+            logPosterior[k] += Math.log(correct ? p : 1.0 - p);
+        }
+        updateEstimate();
+    }
+
+    @Override
+    public boolean advance() {
+        position++;
+        boolean preciseEnough = targetStandardError > 0 && standardError <= targetStandardError;
+        if (position >= length || preciseEnough) {
+            // Shrink the session to what was actually asked when stopping early
+            length = Math.min(length, position);
+            currentItem = -1;
+            return false;
+        }
+        currentItem = index.take(ability);
+        return currentItem >= 0;
+    }
+
+    /**
+     * Recomputes the EAP ability estimate and its standard error from the posterior.
+     */
+    private void updateEstimate() {
+        double max = Double.NEGATIVE_INFINITY;
+        for (double value : logPosterior) {
+            max = Math.max(max, value);
+        }
+        double total = 0, mean = 0, meanSquare = 0;
+        for (int k = 0; k < GRID_POINTS; k++) {
+            double weight = Math.exp(logPosterior[k] - max);
+            double theta = theta(k);
+            total += weight;
+            mean += weight * theta;
+            meanSquare += weight * theta * theta;
+        }
+        mean /= total;
+        ability = mean;
+        standardError = Math.sqrt(Math.max(0, meanSquare / total - mean * mean));
+    }
+
+    /**
+     * Gets the current ability estimate on the logit scale.
+     *
+     * @return The estimated ability
+     */
+    public double getAbilityEstimate() {
+        return ability;
+    }
+
+    /**
+     * Gets the standard error of the current ability estimate.
+     *
+     * @return The standard error
+     */
+    public double getStandardError() {
+        return standardError;
+    }
+
+    private static double theta(int gridIndex) {
+        return GRID_MIN + gridIndex * GRID_STEP;
+    }
+
+    private static double probability(double a, double b, double theta) {
+        return 1.0 / (1.0 + Math.exp(-a * (theta - b)));
+    }
+
+    private static double information(double a, double b, double theta) {
+        double p = probability(a, b, theta);
+        return a * a * p * (1.0 - p);
+    }
+
+    /**
+     * Difficulty-sorted buckets of items grouped by discrimination, with
+     * union-find skip pointers so used items are jumped over in near-constant time.
+     */
+    static class ItemIndex {
+        final double[] difficulty;
+        final double[] discrimination;
+        private final Bucket[] buckets;
+        private final int[] bucketOf;
+        private final int[] slotOf;
+
+        private ItemIndex(double[] difficulty, double[] discrimination) {
+            this.difficulty = difficulty;
+            this.discrimination = discrimination;
+            this.bucketOf = new int[difficulty.length];
+            this.slotOf = new int[difficulty.length];
+
+            Map<Long, List<Integer>> groups = new TreeMap<>(Comparator.reverseOrder());
+            for (int item = 0; item < difficulty.length; item++) {
+                groups.computeIfAbsent(Math.round(discrimination[item] / BUCKET_WIDTH), key -> new ArrayList<>()).add(item);
+            }
+
+            buckets = new Bucket[groups.size()];
+            int bucketIndex = 0;
+            for (List<Integer> items : groups.values()) {
+                items.sort(Comparator.comparingDouble(item -> difficulty[item]));
+                Bucket bucket = new Bucket(items.size());
+                for (int slot = 0; slot < items.size(); slot++) {
+                    int item = items.get(slot);
+                    bucket.items[slot] = item;
+                    bucket.difficulties[slot] = difficulty[item];
+                    bucket.maxDiscrimination = Math.max(bucket.maxDiscrimination, discrimination[item]);
+                    slotOf[item] = slot;
+                }
+                buckets[bucketIndex++] = bucket;
+            }
+            // Highest attainable information first, for pruning
+            Arrays.sort(buckets, Comparator.comparingDouble((Bucket bucket) -> bucket.maxDiscrimination).reversed());
+            for (int b = 0; b < buckets.length; b++) {
+                for (int item : buckets[b].items) {
+                    bucketOf[item] = b;
+                }
+            }
+        }
+
+        /**
+         * Reads the IRT parameters of every question in a quiz.
+         * Unrated questions default to difficulty 0 and discrimination 1.
+         */
+        static ItemIndex build(Quiz quiz) {
+            int size = quiz.getTotalQuestions();
+            double[] difficulty = new double[size];
+            double[] discrimination = new double[size];
+            for (int item = 0; item < size; item++) {
+                Question question = quiz.getQuestion(item);
+                difficulty[item] = question != null && question.getDifficulty() != null ? question.getDifficulty() : 0.0;
+                discrimination[item] = question != null && question.getDiscrimination() != null
+                    ? Math.max(question.getDiscrimination(), 0.01) : 1.0;
+            }
+            return new ItemIndex(difficulty, discrimination);
+        }
+
+        static ItemIndex build(double[] difficulty, double[] discrimination) {
+            return new ItemIndex(difficulty, discrimination);
+        }
+
+        int size() {
+            return difficulty.length;
+        }
+
+        void clearUsed() {
+            for (Bucket bucket : buckets) {
+                bucket.clearUsed();
+            }
+        }
+
+        /**
+         * Picks the unused item with the highest information at an ability and marks it used.
+         *
+         * @param theta The ability estimate
+         * @return The item index, or -1 if every item is used
+         */
+        int take(double theta) {
+            int best = -1;
+            double bestInformation = -1;
+            for (Bucket bucket : buckets) {
+                double bound = bucket.maxDiscrimination * bucket.maxDiscrimination / 4.0;
+                if (bound <= bestInformation) {
+                    break;
+                }
+                int slot = bucket.nearestUnused(theta);
+                if (slot < 0) {
+                    continue;
+                }
+                int item = bucket.items[slot];
+                double information = information(discrimination[item], difficulty[item], theta);
+                if (information > bestInformation) {
+                    bestInformation = information;
+                    best = item;
+                }
+            }
+            if (best >= 0) {
+                buckets[bucketOf[best]].markUsed(slotOf[best]);
+            }
+            return best;
+        }
+    }
+
+    private static class Bucket {
+        final int[] items;
+        final double[] difficulties;
+        double maxDiscrimination;
+        // next[i]: first unused slot at or after i (size = sentinel); prev[i + 1]: last unused slot at or before i
+        private final int[] next;
+        private final int[] prev;
+
+        Bucket(int size) {
+            items = new int[size];
+            difficulties = new double[size];
+            next = new int[size + 1];
+            prev = new int[size + 1];
+            clearUsed();
+        }
+
+        void clearUsed() {
+            for (int i = 0; i <= items.length; i++) {
+                next[i] = i;
+                prev[i] = i;
+            }
+        }
+
+        void markUsed(int slot) {
+            next[slot] = slot + 1;
+            prev[slot + 1] = slot;
+        }
+
+        int nearestUnused(double theta) {
+            int insertion = Arrays.binarySearch(difficulties, theta);
+            if (insertion < 0) {
+                insertion = -insertion - 1;
+            }
+            int right = find(next, insertion);
+            int left = find(prev, insertion) - 1;
+            boolean hasRight = right < items.length;
+            boolean hasLeft = left >= 0;
+            if (!hasRight && !hasLeft) {
+                return -1;
+            }
+            if (!hasRight) {
+                return left;
+            }
+            if (!hasLeft) {
+                return right;
+            }
+            return theta - difficulties[left] <= difficulties[right] - theta ? left : right;
+        }
+
+        private static int find(int[] parent, int i) {
+            int root = i;
+            while (parent[root] != root) {
+                root = parent[root];
+            }
+            while (parent[i] != root) {
+                int following = parent[i];
+                parent[i] = root;
+                i = following;
+            }
+            return root;
+        }
+    }
+}
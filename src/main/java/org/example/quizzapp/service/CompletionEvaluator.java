@@ -0,0 +1,141 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.CompletedHtmlCondition;
+import org.example.quizzapp.model.Quiz;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Chooses the completion HTML of a quiz for a result.
+ * The expressions of {@code completedHtmlOnCondition} are compiled once per quiz and cached,
+ * so choosing a message for a result does no parsing. The first condition that holds wins.
+ * The messages themselves are precompiled into plain-text {@link MessageTemplate}s as well,
+ * with {@code completedHtml} as the fallback.
+ */
+public class CompletionEvaluator {
+
+    private static final Map<Quiz, CompletionEvaluator> cache = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final ExpressionCompiler.Condition[] conditions;
+    private final String[] html;
+    private final MessageTemplate[] templates;
+    private final MessageTemplate fallback;
+
+    private CompletionEvaluator(List<CompletedHtmlCondition> source, String completedHtml, String lenientFor) {
+        List<ExpressionCompiler.Condition> compiled = new ArrayList<>();
+        List<String> messages = new ArrayList<>();
+        for (CompletedHtmlCondition condition : source) {
+            if (condition == null || condition.getExpression() == null || condition.getExpression().isBlank()) {
+                continue;
+            }
+            try {
+                compiled.add(ExpressionCompiler.compile(condition.getExpression()));
+            } catch (IllegalArgumentException e) {
+                if (lenientFor == null) {
+                    throw e;
+                }
+                System.err.println("Warning: Ignoring completion condition \"" + condition.getExpression()
+                    + "\" of quiz " + lenientFor + ": " + e.getMessage());
+                continue;
+            }
+            messages.add(condition.getHtml());
+        }
+        this.conditions = compiled.toArray(new ExpressionCompiler.Condition[0]);
+        this.html = messages.toArray(new String[0]);
+        this.templates = new MessageTemplate[html.length];
+        for (int i = 0; i < html.length; i++) {
+            templates[i] = hasText(html[i]) ? MessageTemplate.compile(html[i], true) : null;
+        }
+        this.fallback = hasText(completedHtml) ? MessageTemplate.compile(completedHtml, true) : null;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    /**
+     * Compiles a list of conditions.
+     *
+     * @param conditions The conditions in priority order
+     * @return The evaluator
+     * @throws IllegalArgumentException If an expression is invalid
+     */
+    public static CompletionEvaluator compile(List<CompletedHtmlCondition> conditions) {
+        return compile(conditions, null);
+    }
+
+    /**
+     * Compiles a list of conditions and the default completion message.
+     *
+     * @param conditions The conditions in priority order
+     * @param completedHtml Message used when no condition holds, may be null
+     * @return The evaluator
+     * @throws IllegalArgumentException If an expression is invalid
+     */
+    public static CompletionEvaluator compile(List<CompletedHtmlCondition> conditions, String completedHtml) {
+        return new CompletionEvaluator(conditions != null ? conditions : List.of(), completedHtml, null);
+    }
+
+    /**
+     * Gets the compiled evaluator of a quiz, compiling it on first use.
+     * Quizzes may use SurveyJS expressions this compiler does not support; such conditions
+     * are logged and left out, so those results get {@code completedHtml} instead.
+     *
+     * @param quiz The quiz
+     * @return The evaluator
+     */
+    public static CompletionEvaluator forQuiz(Quiz quiz) {
+        CompletionEvaluator evaluator = cache.get(quiz);
+        if (evaluator == null) {
+            List<CompletedHtmlCondition> conditions = quiz.getCompletedHtmlOnCondition();
+            evaluator = new CompletionEvaluator(conditions != null ? conditions : List.of(), quiz.getCompletedHtml(),
+                "\"" + quiz.getTitle() + "\"");
+            cache.put(quiz, evaluator);
+        }
+        return evaluator;
+    }
+
+    /**
+     * Gets the HTML of the first condition that holds.
+     *
+     * @param variables The result variables
+     * @return The matching HTML, or null if no condition holds
+     */
+    public String selectHtml(ResultVariables variables) {
+        for (int i = 0; i < conditions.length; i++) {
+            if (conditions[i].test(variables)) {
+                return html[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the plain-text message template for a result: the first condition that holds
+     * and has a message, otherwise the template of {@code completedHtml}.
+     *
+     * @param variables The result variables
+     * @return The template, or null if the quiz has no message for this result
+     */
+    public MessageTemplate selectTemplate(ResultVariables variables) {
+        for (int i = 0; i < conditions.length; i++) {
+            if (templates[i] != null && conditions[i].test(variables)) {
+                return templates[i];
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Gets the number of compiled conditions.
+     *
+     * @return Number of conditions
+     */
+    public int size() {
+        return conditions.length;
+    }
+}
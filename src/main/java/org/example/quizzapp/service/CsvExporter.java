@@ -17,6 +17,12 @@ import java.util.List;
 public class CsvExporter {
     
     private static final String CSV_HEADER = "quizId;quizName;playerName;totalQuestions;correctQuestions;date";
+    private static final String STANDINGS_CSV_HEADER = "rank;playerName;quizzesPlayed;totalQuestions;correctQuestions;score";
+    
+    private static final MetricsRegistry.Histogram EXPORT_TIME = MetricsRegistry.getInstance()
+        .timer("quiz_csv_export_seconds", "Time to export a leaderboard to CSV");
+    private static final MetricsRegistry.Counter EXPORTED_ROWS = MetricsRegistry.getInstance()
+        .counter("quiz_csv_exported_rows_total", "Results written to CSV exports");
     
     /**
      * Exports quiz results to a CSV file.
@@ -36,8 +42,68 @@ public class CsvExporter {
         
         validateCsvFile(filePath);
         
+        long start = System.nanoTime();
+        QuizFlightEvents.CsvExport event = new QuizFlightEvents.CsvExport();
+        event.begin();
+        
         List<String> csvLines = generateCsvLines(quizResult);
         Files.write(filePath, csvLines);
+        EXPORT_TIME.observeSince(start);
+        EXPORTED_ROWS.add(csvLines.size() - 1);
+        
+        if (event.shouldCommit()) {
+            event.file = filePath.toString();
+            event.rows = csvLines.size() - 1;
+            event.bytesWritten = Files.size(filePath);
+            event.commit();
+        }
+    }
+    
+    /**
+     * Exports the overall ranking across all quizzes to a CSV file.
+     *
+     * @param standings The ranking, e.g. from {@link GlobalLeaderboard#getStandings(int)}
+     * @param filePath  The path where the CSV file should be saved
+     * @throws IOException If the file cannot be written
+     */
+    public void exportStandingsToCsv(List<GlobalLeaderboard.Standing> standings, Path filePath) throws IOException {
+        if (standings == null) {
+            throw new IllegalArgumentException("Standings cannot be null");
+        }
+        
+        if (filePath == null) {
+            throw new IllegalArgumentException("File path cannot be null");
+        }
+        
+        validateCsvFile(filePath);
+        
+        long start = System.nanoTime();
+        QuizFlightEvents.CsvExport event = new QuizFlightEvents.CsvExport();
+        event.begin();
+        
+        List<String> csvLines = new ArrayList<>(standings.size() + 1);
+        csvLines.add(STANDINGS_CSV_HEADER);
+        for (GlobalLeaderboard.Standing standing : standings) {
+            csvLines.add(String.format(
+                "%d;%s;%d;%d;%d;%d",
+                standing.rank(),
+                escapeAndFormatCsvValue(standing.playerName()),
+                standing.quizzesPlayed(),
+                standing.totalQuestions(),
+                standing.correctQuestions(),
+                Math.round(standing.getScore())
+            ));
+        }
+        Files.write(filePath, csvLines);
+        EXPORT_TIME.observeSince(start);
+        EXPORTED_ROWS.add(standings.size());
+        
+        if (event.shouldCommit()) {
+            event.file = filePath.toString();
+            event.rows = standings.size();
+            event.bytesWritten = Files.size(filePath);
+            event.commit();
+        }
     }
     
     /**
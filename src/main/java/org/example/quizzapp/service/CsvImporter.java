@@ -0,0 +1,339 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.PlayerResult;
+import org.example.quizzapp.model.ResultTable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Imports results from CSV files in the layout {@link CsvExporter} writes
+ * ({@code quizId;quizName;playerName;totalQuestions;correctQuestions;date}), e.g. to migrate
+ * from another system. The file is read in blocks of whole lines that are parsed in parallel on
+ * a fork/join pool, while the blocks are merged in file order. Rows are grouped by quiz name
+ * and added to the results store with one write per quiz. Only a few blocks and at most
+ * {@code maxBufferedRows} parsed rows are held at once; a larger file is written in several
+ * batches.
+ */
+public class CsvImporter {
+
+    public static final int DEFAULT_MAX_BUFFERED_ROWS = 1_000_000;
+    private static final int BLOCK_SIZE = 4 * 1024 * 1024;
+    private static final int FIELD_COUNT = 6;
+    private static final int MAX_ERRORS = 20;
+
+    private static final MetricsRegistry.Histogram IMPORT_TIME = MetricsRegistry.getInstance()
+        .timer("quiz_csv_import_seconds", "Time to import a CSV file of results");
+    private static final MetricsRegistry.Counter IMPORTED_ROWS = MetricsRegistry.getInstance()
+        .counter("quiz_csv_imported_rows_total", "Results read from CSV imports");
+
+    /**
+     * Outcome of an import.
+     *
+     * @param rows Results added
+     * @param rejected Lines that are not a valid result
+     * @param quizzes Number of quizzes the results went to
+     * @param writes Number of results file writes
+     * @param elapsedMillis Wall-clock time of the import
+     * @param errors The first few rejected lines and why
+     */
+    public record Report(long rows, long rejected, int quizzes, int writes, long elapsedMillis, List<String> errors) {
+
+        /**
+         * Gets the import throughput.
+         *
+         * @return Rows added per minute
+         */
+        public double getRowsPerMinute() {
+            return elapsedMillis == 0 ? 0.0 : rows * 60_000.0 / elapsedMillis;
+        }
+    }
+
+    private static final class Progress {
+        long rows;
+        long rejected;
+        long bufferedRows;
+        final Set<String> quizzes = new HashSet<>();
+        final List<String> errors = new ArrayList<>();
+    }
+
+    static final class ParsedBlock {
+        final Map<String, ResultTable> byQuiz = new LinkedHashMap<>();
+        long rejected;
+        final List<String> errors = new ArrayList<>();
+    }
+
+    private final QuizService quizService;
+    private final ForkJoinPool pool;
+    private final int maxBufferedRows;
+    private final int blockSize;
+
+    /**
+     * Creates an importer on the common fork/join pool.
+     *
+     * @param quizService The results store to import into
+     */
+    public CsvImporter(QuizService quizService) {
+        this(quizService, ForkJoinPool.commonPool(), DEFAULT_MAX_BUFFERED_ROWS);
+    }
+
+    /**
+     * Creates an importer.
+     *
+     * @param quizService The results store to import into
+     * @param pool The pool blocks are parsed on
+     * @param maxBufferedRows Parsed rows held before they are written
+     */
+    public CsvImporter(QuizService quizService, ForkJoinPool pool, int maxBufferedRows) {
+        this(quizService, pool, maxBufferedRows, BLOCK_SIZE);
+    }
+
+    CsvImporter(QuizService quizService, ForkJoinPool pool, int maxBufferedRows, int blockSize) {
+        if (maxBufferedRows < 1) {
+            throw new IllegalArgumentException("Maximum buffered rows must be at least 1");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be at least 1");
+        }
+        this.quizService = quizService;
+        this.pool = pool;
+        this.maxBufferedRows = maxBufferedRows;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Imports a CSV file. A header line is skipped; invalid lines are counted and skipped.
+     *
+     * @param csvFile The file to import
+     * @return What was imported
+     * @throws IOException If the file cannot be read or a results file cannot be written
+     */
+    public Report importCsv(Path csvFile) throws IOException {
+        long start = System.nanoTime();
+        Map<String, ResultTable> buffered = new LinkedHashMap<>();
+        Progress progress = new Progress();
+        int writes = 0;
+
+        int maxInFlight = Math.max(pool.getParallelism(), 1) * 2;
+        Deque<ForkJoinTask<ParsedBlock>> inFlight = new ArrayDeque<>();
+        try (InputStream in = Files.newInputStream(csvFile)) {
+            byte[] block = new byte[blockSize];
+            int filled = 0;
+            boolean firstBlock = true;
+            while (true) {
+                int read = in.readNBytes(block, filled, block.length - filled);
+                filled += read;
+                boolean eof = filled < block.length;
+                int end = eof ? filled : lastLineEnd(block, filled);
+                if (end < 0) {
+                    // A single line longer than the block
+                    block = Arrays.copyOf(block, block.length * 2);
+                    continue;
+                }
+                if (end > 0) {
+                    byte[] lines = Arrays.copyOfRange(block, 0, end);
+                    boolean skipHeader = firstBlock;
+                    inFlight.add(pool.submit(() -> parse(lines, skipHeader)));
+                    firstBlock = false;
+                }
+                System.arraycopy(block, end, block, 0, filled - end);
+                filled -= end;
+
+                while (inFlight.size() >= maxInFlight || (eof && !inFlight.isEmpty())) {
+                    merge(inFlight.removeFirst().join(), buffered, progress);
+                    if (progress.bufferedRows >= maxBufferedRows) {
+                        writes += flush(buffered);
+                        progress.bufferedRows = 0;
+                    }
+                }
+                if (eof) {
+                    break;
+                }
+            }
+        } finally {
+            for (ForkJoinTask<ParsedBlock> task : inFlight) {
+                task.cancel(true);
+            }
+        }
+        writes += flush(buffered);
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        IMPORT_TIME.observeSince(start);
+        IMPORTED_ROWS.add(progress.rows);
+        return new Report(progress.rows, progress.rejected, progress.quizzes.size(), writes, elapsedMillis,
+            List.copyOf(progress.errors));
+    }
+
+    private static void merge(ParsedBlock parsed, Map<String, ResultTable> buffered, Progress progress) {
+        for (Map.Entry<String, ResultTable> quiz : parsed.byQuiz.entrySet()) {
+            ResultTable rows = quiz.getValue();
+            buffered.computeIfAbsent(quiz.getKey(), key -> new ResultTable()).addAll(rows);
+            progress.quizzes.add(quiz.getKey());
+            progress.rows += rows.size();
+            progress.bufferedRows += rows.size();
+        }
+        progress.rejected += parsed.rejected;
+        for (String error : parsed.errors) {
+            if (progress.errors.size() < MAX_ERRORS) {
+                progress.errors.add(error);
+            }
+        }
+    }
+
+    private int flush(Map<String, ResultTable> buffered) throws IOException {
+        int writes = 0;
+        for (Map.Entry<String, ResultTable> quiz : buffered.entrySet()) {
+            quizService.appendResults(quiz.getKey(), quiz.getValue());
+            writes++;
+        }
+        buffered.clear();
+        return writes;
+    }
+
+    private static int lastLineEnd(byte[] block, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (block[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a block of whole lines.
+     */
+    static ParsedBlock parse(byte[] lines, boolean skipHeader) {
+        ParsedBlock parsed = new ParsedBlock();
+        String text = new String(lines, StandardCharsets.UTF_8);
+        String[] fields = new String[FIELD_COUNT];
+        int lineStart = 0;
+        boolean first = skipHeader;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = text.length();
+            }
+            int contentEnd = lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            String line = text.substring(lineStart, contentEnd);
+            lineStart = lineEnd + 1;
+
+            if (first) {
+                first = false;
+                if (line.startsWith("\uFEFF")) {
+                    line = line.substring(1);
+                }
+                if (line.startsWith("quizId;")) {
+                    continue;
+                }
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                splitFields(line, fields);
+                int total = Integer.parseInt(fields[3].trim());
+                int correct = Integer.parseInt(fields[4].trim());
+                if (total < 0 || correct < 0 || correct > total) {
+                    throw new IllegalArgumentException("invalid score " + correct + "/" + total);
+                }
+                LocalDateTime date = parseDate(fields[5].trim());
+                String title = fields[1].isBlank() ? fields[0].trim() : fields[1];
+                if (title.isBlank()) {
+                    throw new IllegalArgumentException("no quiz");
+                }
+                parsed.byQuiz.computeIfAbsent(title, key -> new ResultTable()).add(fields[2], total, correct, date);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                parsed.rejected++;
+                if (parsed.errors.size() < MAX_ERRORS) {
+                    String shown = line.length() > 80 ? line.substring(0, 80) + "..." : line;
+                    parsed.errors.add(e.getMessage() + ": " + shown);
+                }
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Splits a line at semicolons. Fields in double quotes may contain semicolons, and two
+     * double quotes inside them stand for one, as {@link CsvExporter} writes them.
+     */
+    private static void splitFields(String line, String[] fields) {
+        int field = 0;
+        int i = 0;
+        while (true) {
+            if (field == fields.length) {
+                throw new IllegalArgumentException("more than " + fields.length + " fields");
+            }
+            if (i < line.length() && line.charAt(i) == '"') {
+                StringBuilder value = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= line.length()) {
+                        throw new IllegalArgumentException("unterminated quote");
+                    }
+                    char c = line.charAt(i++);
+                    if (c == '"') {
+                        if (i < line.length() && line.charAt(i) == '"') {
+                            value.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        value.append(c);
+                    }
+                }
+                fields[field++] = value.toString();
+                if (i < line.length() && line.charAt(i) != ';') {
+                    throw new IllegalArgumentException("text after closing quote");
+                }
+            } else {
+                int end = line.indexOf(';', i);
+                if (end < 0) {
+                    end = line.length();
+                }
+                fields[field++] = line.substring(i, end);
+                i = end;
+            }
+            if (i >= line.length()) {
+                break;
+            }
+            i++; // the semicolon
+        }
+        if (field != fields.length) {
+            throw new IllegalArgumentException("expected " + fields.length + " fields but found " + field);
+        }
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        // yyyy-MM-ddTHH:mm:ss, as exported, without going through the formatter
+        if (value.length() == 19 && value.charAt(4) == '-' && value.charAt(7) == '-' && value.charAt(10) == 'T'
+                && value.charAt(13) == ':' && value.charAt(16) == ':') {
+            try {
+                return LocalDateTime.of(Integer.parseInt(value, 0, 4, 10), Integer.parseInt(value, 5, 7, 10),
+                    Integer.parseInt(value, 8, 10, 10), Integer.parseInt(value, 11, 13, 10),
+                    Integer.parseInt(value, 14, 16, 10), Integer.parseInt(value, 17, 19, 10));
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException("invalid date " + value);
+            }
+        }
+        return LocalDateTime.parse(value, PlayerResult.DATE_FORMAT);
+    }
+}
@@ -0,0 +1,268 @@
+package org.example.quizzapp.service;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared scheduler for question deadlines, implemented as a hashed timing wheel.
+ * A single daemon thread advances the wheel one bucket per tick and runs the tasks whose
+ * deadline has passed. Scheduling and cancelling are O(1): new deadlines are handed to the
+ * wheel thread through a lock-free queue, and each bucket is a doubly linked list.
+ * Deadlines use {@link System#nanoTime()}, so changing the wall clock does not affect them.
+ *
+ * <p>Tasks run on the wheel thread and must be short; hand longer work to another executor.
+ */
+public class DeadlineScheduler {
+
+    public static final long DEFAULT_TICK_MILLIS = 50;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static DeadlineScheduler instance;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startNanos;
+    private final Queue<Deadline> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Deadline> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick;
+
+    /**
+     * A scheduled task that can be cancelled.
+     */
+    public final class Deadline {
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final long deadlineNanos;
+        private final Runnable task;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private long remainingRounds;
+        private Bucket bucket;
+        private Deadline previous;
+        private Deadline next;
+
+        private Deadline(long deadlineNanos, Runnable task) {
+            this.deadlineNanos = deadlineNanos;
+            this.task = task;
+        }
+
+        /**
+         * Cancels the task if it has not run yet.
+         *
+         * @return true if this call cancelled it
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) {
+                return false;
+            }
+            // The wheel thread unlinks it from its bucket on the next tick
+            cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        /**
+         * Gets the time left until the deadline.
+         *
+         * @param unit The unit of the result
+         * @return Time left, 0 once the deadline has passed
+         */
+        public long getRemaining(TimeUnit unit) {
+            long remaining = deadlineNanos - (System.nanoTime() - startNanos);
+            return unit.convert(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+        }
+
+        private void expire() {
+            if (state.compareAndSet(WAITING, EXPIRED)) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Deadline task failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static final class Bucket {
+        private Deadline head;
+        private Deadline tail;
+
+        void add(Deadline deadline) {
+            deadline.bucket = this;
+            if (head == null) {
+                head = tail = deadline;
+            } else {
+                tail.next = deadline;
+                deadline.previous = tail;
+                tail = deadline;
+            }
+        }
+
+        void remove(Deadline deadline) {
+            Deadline next = deadline.next;
+            if (deadline.previous != null) {
+                deadline.previous.next = next;
+            }
+            if (next != null) {
+                next.previous = deadline.previous;
+            }
+            if (deadline == head) {
+                head = next;
+            }
+            if (deadline == tail) {
+                tail = deadline.previous;
+            }
+            deadline.previous = null;
+            deadline.next = null;
+            deadline.bucket = null;
+        }
+    }
+
+    /**
+     * Gets the shared scheduler used by every game session.
+     *
+     * @return The DeadlineScheduler instance
+     */
+    public static synchronized DeadlineScheduler getInstance() {
+        if (instance == null) {
+            instance = new DeadlineScheduler(DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_WHEEL_SIZE);
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a scheduler with its own wheel thread.
+     *
+     * @param tickDuration Duration of one tick, the resolution of deadlines
+     * @param unit Unit of the tick duration
+     * @param wheelSize Number of buckets, rounded up to a power of two
+     */
+    public DeadlineScheduler(long tickDuration, TimeUnit unit, int wheelSize) {
+        if (tickDuration <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, "deadline-scheduler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Runs a task once a delay has elapsed.
+     *
+     * @param delay The delay
+     * @param unit Unit of the delay
+     * @param task The task, run on the wheel thread
+     * @return A handle to cancel the task
+     */
+    public Deadline schedule(long delay, TimeUnit unit, Runnable task) {
+        if (!running) {
+            throw new IllegalStateException("Deadline scheduler is stopped");
+        }
+        long deadlineNanos = System.nanoTime() - startNanos + unit.toNanos(Math.max(0, delay));
+        Deadline deadline = new Deadline(deadlineNanos, task);
+        pending.incrementAndGet();
+        added.add(deadline);
+        return deadline;
+    }
+
+    /**
+     * Gets the number of tasks that have neither run nor been cancelled.
+     *
+     * @return Number of pending tasks
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the wheel thread. Pending tasks never run.
+     */
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long tickDeadline = tickNanos * (tick + 1);
+            long sleepNanos = tickDeadline - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            removeCancelled();
+            transferAdded();
+            expire(wheel[(int) (tick & mask)], tickDeadline);
+            tick++;
+        }
+    }
+
+    private void removeCancelled() {
+        Deadline deadline;
+        while ((deadline = cancelled.poll()) != null) {
+            if (deadline.bucket != null) {
+                deadline.bucket.remove(deadline);
+                pending.decrementAndGet();
+            }
+        }
+    }
+
+    private void transferAdded() {
+        Deadline deadline;
+        while ((deadline = added.poll()) != null) {
+            if (deadline.isCancelled()) {
+                pending.decrementAndGet();
+                continue;
+            }
+            long dueTick = Math.max(tick, (deadline.deadlineNanos + tickNanos - 1) / tickNanos - 1);
+            deadline.remainingRounds = (dueTick - tick) / wheel.length;
+            wheel[(int) (dueTick & mask)].add(deadline);
+        }
+    }
+
+    private void expire(Bucket bucket, long tickDeadline) {
+        Deadline deadline = bucket.head;
+        while (deadline != null) {
+            Deadline next = deadline.next;
+            if (deadline.remainingRounds <= 0 && deadline.deadlineNanos <= tickDeadline) {
+                bucket.remove(deadline);
+                pending.decrementAndGet();
+                deadline.expire();
+            } else {
+                deadline.remainingRounds--;
+            }
+            deadline = next;
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package org.example.quizzapp.service;
+
+import java.util.Locale;
+
+/**
+ * Compiles SurveyJS-style condition expressions such as
+ * {@code {correctAnswers} == {questionCount}} into a tree of small evaluators.
+ * Parsing, variable lookup and type checks happen once at compile time; evaluating
+ * the result only walks the tree over a {@link ResultVariables} instance.
+ *
+ * <p>Supported: numbers, quoted strings, {@code true}/{@code false}, {@code {variables}},
+ * parentheses, {@code + - * / %}, comparisons ({@code == = != <> < <= > >=}),
+ * {@code contains}/{@code notcontains} on text, and {@code and && or || not !}.
+ * Text comparisons ignore case.
+ */
+public class ExpressionCompiler {
+
+    /**
+     * A compiled boolean expression.
+     */
+    @FunctionalInterface
+    public interface Condition {
+        boolean test(ResultVariables variables);
+    }
+
+    private interface NumberNode {
+        double eval(ResultVariables variables);
+    }
+
+    private interface TextNode {
+        String eval(ResultVariables variables);
+    }
+
+    private enum Type { NUMBER, BOOLEAN, TEXT }
+
+    /**
+     * A compiled sub-expression together with its static type.
+     */
+    private record Operand(Type type, NumberNode number, Condition bool, TextNode text) {
+
+        static Operand number(NumberNode node) {
+            return new Operand(Type.NUMBER, node, null, null);
+        }
+
+        static Operand bool(Condition node) {
+            return new Operand(Type.BOOLEAN, null, node, null);
+        }
+
+        static Operand text(TextNode node) {
+            return new Operand(Type.TEXT, null, null, node);
+        }
+    }
+
+    private enum TokenType { NUMBER, STRING, VARIABLE, WORD, SYMBOL, LEFT_PAREN, RIGHT_PAREN, END }
+
+    private record Token(TokenType type, String text, int position) { }
+
+    private final String source;
+    private int position;
+    private Token current;
+
+    private ExpressionCompiler(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Compiles an expression.
+     *
+     * @param expression The expression text
+     * @return The compiled condition
+     * @throws IllegalArgumentException If the expression is empty, malformed or uses an unknown variable
+     */
+    public static Condition compile(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Expression cannot be empty");
+        }
+        ExpressionCompiler compiler = new ExpressionCompiler(expression);
+        compiler.advance();
+        Operand result = compiler.parseOr();
+        if (compiler.current.type() != TokenType.END) {
+            throw compiler.error("Unexpected '" + compiler.current.text() + "'");
+        }
+        return asBoolean(result);
+    }
+
+    // Grammar, lowest precedence first
+
+    private Operand parseOr() {
+        Operand left = parseAnd();
+        while (acceptWord("or") || acceptSymbol("||")) {
+            Condition first = asBoolean(left);
+            Condition second = asBoolean(parseAnd());
+            left = Operand.bool(variables -> first.test(variables) || second.test(variables));
+        }
+        return left;
+    }
+
+    private Operand parseAnd() {
+        Operand left = parseNot();
+        while (acceptWord("and") || acceptSymbol("&&")) {
+            Condition first = asBoolean(left);
+            Condition second = asBoolean(parseNot());
+            left = Operand.bool(variables -> first.test(variables) && second.test(variables));
+        }
+        return left;
+    }
+
+    private Operand parseNot() {
+        if (acceptWord("not") || acceptSymbol("!")) {
+            Condition operand = asBoolean(parseNot());
+            return Operand.bool(variables -> !operand.test(variables));
+        }
+        return parseComparison();
+    }
+
+    private Operand parseComparison() {
+        Operand left = parseAdditive();
+        Token operator = current;
+        if (operator.type() == TokenType.SYMBOL && isComparison(operator.text())) {
+            advance();
+            return compare(operator, left, parseAdditive());
+        }
+        if (operator.type() == TokenType.WORD
+                && (operator.text().equals("contains") || operator.text().equals("notcontains"))) {
+            advance();
+            TextNode haystack = asText(left);
+            TextNode needle = asText(parseAdditive());
+            boolean negate = operator.text().equals("notcontains");
+            return Operand.bool(variables -> negate != haystack.eval(variables).toLowerCase(Locale.ROOT)
+                .contains(needle.eval(variables).toLowerCase(Locale.ROOT)));
+        }
+        return left;
+    }
+
+    private Operand compare(Token operator, Operand left, Operand right) {
+        String op = operator.text();
+        boolean equality = op.equals("==") || op.equals("=") || op.equals("!=") || op.equals("<>");
+        boolean negate = op.equals("!=") || op.equals("<>");
+
+        if (equality && (left.type() == Type.TEXT || right.type() == Type.TEXT)) {
+            TextNode first = asText(left);
+            TextNode second = asText(right);
+            return Operand.bool(variables -> negate != first.eval(variables).equalsIgnoreCase(second.eval(variables)));
+        }
+        if (equality && left.type() == Type.BOOLEAN && right.type() == Type.BOOLEAN) {
+            Condition first = left.bool();
+            Condition second = right.bool();
+            return Operand.bool(variables -> negate != (first.test(variables) == second.test(variables)));
+        }
+
+        NumberNode first = asNumber(left, operator);
+        NumberNode second = asNumber(right, operator);
+        return Operand.bool(switch (op) {
+            case "==", "=" -> variables -> first.eval(variables) == second.eval(variables);
+            case "!=", "<>" -> variables -> first.eval(variables) != second.eval(variables);
+            case "<" -> variables -> first.eval(variables) < second.eval(variables);
+            case "<=" -> variables -> first.eval(variables) <= second.eval(variables);
+            case ">" -> variables -> first.eval(variables) > second.eval(variables);
+            default -> variables -> first.eval(variables) >= second.eval(variables);
+        });
+    }
+
+    private Operand parseAdditive() {
+        Operand left = parseMultiplicative();
+        while (current.type() == TokenType.SYMBOL && (current.text().equals("+") || current.text().equals("-"))) {
+            Token operator = current;
+            advance();
+            NumberNode first = asNumber(left, operator);
+            NumberNode second = asNumber(parseMultiplicative(), operator);
+            left = Operand.number(operator.text().equals("+")
+                ? variables -> first.eval(variables) + second.eval(variables)
+                : variables -> first.eval(variables) - second.eval(variables));
+        }
+        return left;
+    }
+
+    private Operand parseMultiplicative() {
+        Operand left = parseUnary();
+        while (current.type() == TokenType.SYMBOL
+                && (current.text().equals("*") || current.text().equals("/") || current.text().equals("%"))) {
+            Token operator = current;
+            advance();
+            NumberNode first = asNumber(left, operator);
+            NumberNode second = asNumber(parseUnary(), operator);
+            left = Operand.number(switch (operator.text()) {
+                case "*" -> variables -> first.eval(variables) * second.eval(variables);
+                case "/" -> variables -> first.eval(variables) / second.eval(variables);
+                default -> variables -> first.eval(variables) % second.eval(variables);
+            });
+        }
+        return left;
+    }
+
+    private Operand parseUnary() {
+        if (current.type() == TokenType.SYMBOL && current.text().equals("-")) {
+            Token operator = current;
+            advance();
+            NumberNode operand = asNumber(parseUnary(), operator);
+            return Operand.number(variables -> -operand.eval(variables));
+        }
+        return parsePrimary();
+    }
+
+    private Operand parsePrimary() {
+        Token token = current;
+        switch (token.type()) {
+            case NUMBER -> {
+                double value;
+                try {
+                    value = Double.parseDouble(token.text());
+                } catch (NumberFormatException e) {
+                    throw error("Invalid number '" + token.text() + "'", token);
+                }
+                advance();
+                return Operand.number(variables -> value);
+            }
+            case STRING -> {
+                advance();
+                String value = token.text();
+                return Operand.text(variables -> value);
+            }
+            case VARIABLE -> {
+                advance();
+                ResultVariables.Variable variable = ResultVariables.Variable.byName(token.text());
+                if (variable == null) {
+                    throw error("Unknown variable {" + token.text() + "}", token);
+                }
+                return variable.isNumeric()
+                    ? Operand.number(variables -> variables.number(variable))
+                    : Operand.text(variables -> variables.text(variable));
+            }
+            case WORD -> {
+                if (token.text().equals("true") || token.text().equals("false")) {
+                    advance();
+                    boolean value = token.text().equals("true");
+                    return Operand.bool(variables -> value);
+                }
+                throw error("Unexpected '" + token.text() + "'", token);
+            }
+            case LEFT_PAREN -> {
+                advance();
+                Operand inner = parseOr();
+                if (current.type() != TokenType.RIGHT_PAREN) {
+                    throw error("Missing ')'");
+                }
+                advance();
+                return inner;
+            }
+            case END -> throw error("Unexpected end of expression", token);
+            default -> throw error("Unexpected '" + token.text() + "'", token);
+        }
+    }
+
+    // Type coercion, resolved at compile time
+
+    private static Condition asBoolean(Operand operand) {
+        return switch (operand.type()) {
+            case BOOLEAN -> operand.bool();
+            case NUMBER -> {
+                NumberNode number = operand.number();
+                yield variables -> number.eval(variables) != 0;
+            }
+            case TEXT -> {
+                TextNode text = operand.text();
+                yield variables -> !text.eval(variables).isEmpty();
+            }
+        };
+    }
+
+    private NumberNode asNumber(Operand operand, Token operator) {
+        return switch (operand.type()) {
+            case NUMBER -> operand.number();
+            case BOOLEAN -> {
+                Condition bool = operand.bool();
+                yield variables -> bool.test(variables) ? 1 : 0;
+            }
+            case TEXT -> throw error("'" + operator.text() + "' needs numbers, not text", operator);
+        };
+    }
+
+    private static TextNode asText(Operand operand) {
+        return switch (operand.type()) {
+            case TEXT -> operand.text();
+            case NUMBER -> {
+                NumberNode number = operand.number();
+                yield variables -> ResultVariables.formatNumber(number.eval(variables));
+            }
+            case BOOLEAN -> {
+                Condition bool = operand.bool();
+                yield variables -> String.valueOf(bool.test(variables));
+            }
+        };
+    }
+
+    private static boolean isComparison(String symbol) {
+        return switch (symbol) {
+            case "==", "=", "!=", "<>", "<", "<=", ">", ">=" -> true;
+            default -> false;
+        };
+    }
+
+    // Tokenizer
+
+    private boolean acceptWord(String word) {
+        if (current.type() == TokenType.WORD && current.text().equals(word)) {
+            advance();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean acceptSymbol(String symbol) {
+        if (current.type() == TokenType.SYMBOL && current.text().equals(symbol)) {
+            advance();
+            return true;
+        }
+        return false;
+    }
+
+    private void advance() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+        int start = position;
+        if (position >= source.length()) {
+            current = new Token(TokenType.END, "", start);
+            return;
+        }
+
+        char c = source.charAt(position);
+        if (Character.isDigit(c) || (c == '.' && position + 1 < source.length()
+                && Character.isDigit(source.charAt(position + 1)))) {
+            while (position < source.length()
+                    && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+                position++;
+            }
+            current = new Token(TokenType.NUMBER, source.substring(start, position), start);
+        } else if (c == '\'' || c == '"') {
+            int end = source.indexOf(c, position + 1);
+            if (end < 0) {
+                throw error("Unterminated string", new Token(TokenType.STRING, "", start));
+            }
+            current = new Token(TokenType.STRING, source.substring(position + 1, end), start);
+            position = end + 1;
+        } else if (c == '{') {
+            int end = source.indexOf('}', position + 1);
+            if (end < 0) {
+                throw error("Missing '}'", new Token(TokenType.VARIABLE, "", start));
+            }
+            current = new Token(TokenType.VARIABLE, source.substring(position + 1, end).trim(), start);
+            position = end + 1;
+        } else if (Character.isLetter(c)) {
+            while (position < source.length() && Character.isLetterOrDigit(source.charAt(position))) {
+                position++;
+            }
+            current = new Token(TokenType.WORD, source.substring(start, position).toLowerCase(Locale.ROOT), start);
+        } else if (c == '(') {
+            position++;
+            current = new Token(TokenType.LEFT_PAREN, "(", start);
+        } else if (c == ')') {
+            position++;
+            current = new Token(TokenType.RIGHT_PAREN, ")", start);
+        } else {
+            String two = position + 1 < source.length() ? source.substring(position, position + 2) : "";
+            if (two.equals("==") || two.equals("!=") || two.equals("<>") || two.equals("<=")
+                    || two.equals(">=") || two.equals("&&") || two.equals("||")) {
+                position += 2;
+                current = new Token(TokenType.SYMBOL, two, start);
+            } else if ("=<>!+-*/%".indexOf(c) >= 0) {
+                position++;
+                current = new Token(TokenType.SYMBOL, String.valueOf(c), start);
+            } else {
+                throw error("Unexpected character '" + c + "'", new Token(TokenType.SYMBOL, "", start));
+            }
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return error(message, current);
+    }
+
+    private IllegalArgumentException error(String message, Token token) {
+        return new IllegalArgumentException(String.format(
+            "Invalid expression \"%s\": %s at position %d", source, message, token.position() + 1));
+    }
+}
@@ -4,13 +4,17 @@ import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.StringProperty;
 import javafx.beans.property.SimpleStringProperty;
+import org.example.quizzapp.model.Page;
 import org.example.quizzapp.model.Quiz;
 import org.example.quizzapp.model.Question;
 import org.example.quizzapp.model.PlayerResult;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Singleton GameManager that manages the current game state.
@@ -20,13 +24,32 @@ public class GameManager {
     
     private static GameManager instance;
     
+    private static final MetricsRegistry METRICS = MetricsRegistry.getInstance();
+    private static final MetricsRegistry.Histogram SUBMIT_TIME = METRICS
+        .timer("quiz_answer_submit_seconds", "Time to check and record an answer");
+    private static final MetricsRegistry.Counter ANSWERS = METRICS
+        .counter("quiz_answers_total", "Answers submitted");
+    private static final MetricsRegistry.Counter CORRECT_ANSWERS = METRICS
+        .counter("quiz_answers_correct_total", "Correct answers submitted");
+    private static final MetricsRegistry.Counter TIMEOUTS = METRICS
+        .counter("quiz_question_timeouts_total", "Questions whose time ran out");
+    private static final MetricsRegistry.Counter GAMES_STARTED = METRICS
+        .counter("quiz_games_started_total", "Games started");
+    private static final MetricsRegistry.Counter GAMES_FINISHED = METRICS
+        .counter("quiz_games_finished_total", "Games played to the end");
+    
+    private volatile Quiz sourceQuiz;
     private Quiz currentQuiz;
+    private SamplingOptions samplingOptions;
     private final StringProperty playerName = new SimpleStringProperty("");
-    private int currentQuestionIndex = 0;
+    private QuestionOrder questionOrder = new SequentialOrder();
     private final IntegerProperty score = new SimpleIntegerProperty(0);
     private final List<Object> playerAnswers = new ArrayList<>();
     private final List<Boolean> answerCorrectness = new ArrayList<>();
     private boolean isPracticeMode = false;
+    private final AtomicReference<Quiz> reloadedQuiz = new AtomicReference<>();
+    private SessionEventLog eventLog;
+    private long sessionId;
     
     /**
      * Private constructor for singleton pattern.
@@ -45,14 +68,30 @@ public class GameManager {
         }
         return instance;
     }
-    
+
+    /**
+     * Creates an independent game session, e.g. for a player connected to a server.
+     * The desktop UI plays the shared instance from {@link #getInstance()}.
+     *
+     * @return A new GameManager with its own state
+     */
+    public static GameManager newSession() {
+        return new GameManager();
+    }
+
     /**
      * Sets the practice mode flag.
+     * Leaving practice mode also goes back to the quiz order, as adaptive and spaced-repetition
+     * orders are only meant for practice.
      * 
      * @param practiceMode true for practice mode, false for normal mode
      */
     public void setPracticeMode(boolean practiceMode) {
+        boolean leavingPractice = isPracticeMode && !practiceMode;
         this.isPracticeMode = practiceMode;
+        if (leavingPractice) {
+            setQuestionOrder(new SequentialOrder());
+        }
     }
     
     /**
@@ -70,15 +109,90 @@ public class GameManager {
      * @param quiz The quiz to load
      */
     public void loadQuiz(Quiz quiz) {
-        this.currentQuiz = quiz;
+        loadQuiz(quiz, null);
+    }
+    
+    /**
+     * Loads a quiz and plays a random sample of its questions.
+     * Sampling with the same seed reproduces the same session.
+     * 
+     * @param quiz The question bank to sample from
+     * @param options Sample size, seed and weights, or null to play every question
+     */
+    public void loadQuiz(Quiz quiz, SamplingOptions options) {
+        reloadedQuiz.set(null);
+        this.sourceQuiz = quiz;
+        this.samplingOptions = options;
+        this.currentQuiz = sampleIfNeeded(quiz);
+        this.questionOrder = new SequentialOrder();
         resetGame();
     }
     
     /**
-     * Resets the game state for a new game.
+     * Replaces the strategy that picks the next question, e.g. with adaptive selection,
+     * and restarts the current quiz with it.
+     * 
+     * @param order The question ordering strategy
+     */
+    public void setQuestionOrder(QuestionOrder order) {
+        this.questionOrder = order != null ? order : new SequentialOrder();
+        questionOrder.reset(currentQuiz);
+    }
+    
+    /**
+     * Gets the active question ordering strategy.
+     * 
+     * @return The question order
+     */
+    public QuestionOrder getQuestionOrder() {
+        return questionOrder;
+    }
+    
+    private Quiz sampleIfNeeded(Quiz quiz) {
+        if (quiz == null || samplingOptions == null) {
+            return quiz;
+        }
+        return new QuestionSampler().sample(quiz, samplingOptions);
+    }
+    
+    /**
+     * Offers a re-parsed version of the current quiz, e.g. after its file changed on disk.
+     * The running game keeps its quiz; the new version is swapped in on the next reset.
+     * Safe to call from any thread.
+     * 
+     * @param quiz The reloaded quiz
+     * @return true if the quiz replaces the current one between games
+     */
+    public boolean offerReloadedQuiz(Quiz quiz) {
+        Quiz current = sourceQuiz;
+        if (quiz == null || current == null || current.getSourceFile() == null
+                || !Objects.equals(current.getSourceFile(), quiz.getSourceFile())) {
+            return false;
+        }
+        reloadedQuiz.set(quiz);
+        return true;
+    }
+    
+    /**
+     * Resets the game state for a new game in normal mode.
+     * A pending reloaded quiz is swapped in here, so a game never changes mid-play.
      */
     public void resetGame() {
-        currentQuestionIndex = 0;
+        // Leaving a game before its end is recorded, so it is not offered for recovery
+        recordEvent(SessionEventLog.Type.ABANDONED, questionOrder.getPosition(), null);
+        eventLog = null;
+        
+        Quiz reloaded = reloadedQuiz.getAndSet(null);
+        if (reloaded != null) {
+            sourceQuiz = reloaded;
+            currentQuiz = sampleIfNeeded(reloaded);
+        }
+        
+        if (isPracticeMode) {
+            // A practice order must not carry over into a ranked game
+            questionOrder = new SequentialOrder();
+        }
+        questionOrder.reset(currentQuiz);
         score.set(0);
         playerAnswers.clear();
         answerCorrectness.clear();
@@ -119,10 +233,8 @@ public class GameManager {
      * @return The current Question object, or null if no more questions
      */
     public Question getCurrentQuestion() {
-        if (currentQuiz == null || currentQuestionIndex >= currentQuiz.getTotalQuestions()) {
-            return null;
-        }
-        return currentQuiz.getQuestion(currentQuestionIndex);
+        Page page = questionOrder.getCurrentPage();
+        return page != null ? page.getQuestion() : null;
     }
     
     /**
@@ -131,7 +243,7 @@ public class GameManager {
      * @return The current question index (0-based)
      */
     public int getCurrentQuestionIndex() {
-        return currentQuestionIndex;
+        return questionOrder.getPosition();
     }
     
     /**
@@ -140,7 +252,7 @@ public class GameManager {
      * @return Total question count
      */
     public int getTotalQuestions() {
-        return currentQuiz != null ? currentQuiz.getTotalQuestions() : 0;
+        return questionOrder.getLength();
     }
     
     /**
@@ -149,10 +261,8 @@ public class GameManager {
      * @return Time limit in seconds, or 0 if no current question
      */
     public int getCurrentTimeLimit() {
-        if (currentQuiz == null || currentQuestionIndex >= currentQuiz.getTotalQuestions()) {
-            return 0;
-        }
-        return currentQuiz.getPage(currentQuestionIndex).getTimeLimit();
+        Page page = questionOrder.getCurrentPage();
+        return page != null ? page.getTimeLimit() : 0;
     }
     
     /**
@@ -166,12 +276,61 @@ public class GameManager {
         if (currentQuestion == null) {
             return false;
         }
-        
+        long start = System.nanoTime();
+        QuizFlightEvents.AnswerSubmit event = new QuizFlightEvents.AnswerSubmit();
+        event.begin();
+        int position = questionOrder.getPosition();
+        if (eventLog != null) {
+            eventLog.append(SessionEventLog.Event.answered(sessionId, position, currentQuestion.getName(), answer));
+        }
+        boolean isCorrect = scoreAnswer(currentQuestion, answer);
+        ANSWERS.increment();
+        if (isCorrect) {
+            CORRECT_ANSWERS.increment();
+        }
+        SUBMIT_TIME.observeSince(start);
+        commitAnswerEvent(event, currentQuestion, position, isCorrect, false);
+        return isCorrect;
+    }
+    
+    /**
+     * Records that time ran out on the current question, which counts as an incorrect answer.
+     * 
+     * @return false, as no answer was given
+     */
+    public boolean timeOut() {
+        Question currentQuestion = getCurrentQuestion();
+        if (currentQuestion == null) {
+            return false;
+        }
+        QuizFlightEvents.AnswerSubmit event = new QuizFlightEvents.AnswerSubmit();
+        event.begin();
+        int position = questionOrder.getPosition();
+        recordEvent(SessionEventLog.Type.TIMED_OUT, position, currentQuestion.getName());
+        TIMEOUTS.increment();
+        boolean isCorrect = scoreAnswer(currentQuestion, null);
+        commitAnswerEvent(event, currentQuestion, position, isCorrect, true);
+        return isCorrect;
+    }
+    
+    private static void commitAnswerEvent(QuizFlightEvents.AnswerSubmit event, Question question,
+                                          int position, boolean correct, boolean timedOut) {
+        if (event.shouldCommit()) {
+            event.question = question.getName();
+            event.position = position;
+            event.correct = correct;
+            event.timedOut = timedOut;
+            event.commit();
+        }
+    }
+    
+    private boolean scoreAnswer(Question currentQuestion, Object answer) {
         boolean isCorrect = currentQuestion.isCorrectAnswer(answer);
         
         // Store the answer and correctness
         playerAnswers.add(answer);
         answerCorrectness.add(isCorrect);
+        questionOrder.recordAnswer(isCorrect);
         
         // Update score if correct
         if (isCorrect) {
@@ -187,8 +346,102 @@ public class GameManager {
      * @return true if there is a next question, false if quiz is complete
      */
     public boolean nextQuestion() {
-        currentQuestionIndex++;
-        return currentQuestionIndex < getTotalQuestions();
+        boolean hasNext = questionOrder.advance();
+        if (hasNext) {
+            recordQuestionShown();
+        }
+        return hasNext;
+    }
+    
+    /**
+     * Starts recording this session to an event log, so it can be resumed after a crash
+     * and replayed later. Call it once the player name, mode and question order are set.
+     * 
+     * @param log The event log, or null to not record
+     */
+    public void startRecording(SessionEventLog log) {
+        GAMES_STARTED.increment();
+        this.eventLog = log;
+        if (log == null) {
+            return;
+        }
+        sessionId = log.newSessionId();
+        Quiz source = sourceQuiz;
+        String quizFile = source != null && source.getSourceFile() != null
+            ? source.getSourceFile().toAbsolutePath().toString() : "";
+        log.append(SessionEventLog.Event.started(sessionId, new SessionEventLog.SessionStart(
+            getPlayerName(), quizFile, isPracticeMode, samplingOptions,
+            SessionEventLog.OrderKind.of(questionOrder))));
+        recordQuestionShown();
+    }
+    
+    /**
+     * Continues an interrupted session: replays its recorded answers and keeps
+     * recording under the same session id. The quiz, mode and question order must
+     * be set up as they were when the session started.
+     * Replay stops early if the quiz no longer has the recorded questions.
+     * 
+     * @param session The interrupted session
+     * @param log The event log to continue recording to
+     * @return Number of answers restored
+     */
+    public int resumeRecording(SessionRecovery.RecordedSession session, SessionEventLog log) {
+        eventLog = null;
+        setPlayerName(session.getStart().playerName());
+        
+        List<String> names = session.getQuestionNames();
+        List<Object> answers = session.getAnswers();
+        int restored = 0;
+        while (restored < answers.size()) {
+            Question question = getCurrentQuestion();
+            if (question == null || !Objects.equals(question.getName(), names.get(restored))) {
+                break;
+            }
+            scoreAnswer(question, answers.get(restored));
+            restored++;
+            questionOrder.advance();
+        }
+        
+        this.eventLog = log;
+        this.sessionId = session.getSessionId();
+        if (restored < answers.size()) {
+            System.err.println("Warning: Only " + restored + " of " + answers.size()
+                + " answers of session " + sessionId + " match the quiz");
+        }
+        if (getCurrentQuestion() != null) {
+            recordQuestionShown();
+        }
+        return restored;
+    }
+    
+    /**
+     * Counts the game as finished, records the end of the session and makes the log durable.
+     */
+    public void finishRecording() {
+        GAMES_FINISHED.increment();
+        if (eventLog == null) {
+            return;
+        }
+        recordEvent(SessionEventLog.Type.FINISHED, playerAnswers.size(), null);
+        try {
+            eventLog.sync();
+        } catch (IOException e) {
+            System.err.println("Warning: Could not write session log: " + e.getMessage());
+        }
+        eventLog = null;
+    }
+    
+    private void recordQuestionShown() {
+        Question question = getCurrentQuestion();
+        if (question != null) {
+            recordEvent(SessionEventLog.Type.QUESTION_SHOWN, questionOrder.getPosition(), question.getName());
+        }
+    }
+    
+    private void recordEvent(SessionEventLog.Type type, int position, String questionName) {
+        if (eventLog != null) {
+            eventLog.append(SessionEventLog.Event.of(sessionId, type, position, questionName));
+        }
     }
     
     /**
@@ -197,7 +450,7 @@ public class GameManager {
      * @return true if all questions have been answered
      */
     public boolean isQuizComplete() {
-        return currentQuestionIndex >= getTotalQuestions();
+        return questionOrder.getPosition() >= getTotalQuestions();
     }
     
     /**
@@ -227,6 +480,16 @@ public class GameManager {
         return currentQuiz;
     }
     
+    /**
+     * Gets the sampling options of the current session.
+     * Their seed identifies the session, so it can be replayed with the same questions.
+     * 
+     * @return The sampling options, or null if every question is played
+     */
+    public SamplingOptions getSamplingOptions() {
+        return samplingOptions;
+    }
+    
     /**
      * Calculates and returns the final player result.
      * 
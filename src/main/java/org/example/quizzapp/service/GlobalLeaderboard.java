@@ -0,0 +1,257 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.PlayerResult;
+import org.example.quizzapp.model.QuizResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Overall ranking of players across every quiz, e.g. for a season.
+ * A player's standing adds up their best attempt at each quiz (most correct answers, then
+ * best score, then latest); players are ranked by total correct answers, then overall score.
+ * Player names are matched like in {@link PlayerHistoryIndex#normalizeName(String)}.
+ *
+ * <p>A leaderboard is built from all results files at once: every quiz is reduced to a run of
+ * per-player bests sorted by name, in parallel, and the runs are combined with a k-way heap
+ * merge. Afterwards new results and re-read quizzes only adjust the totals they affect.
+ * All methods are synchronized.
+ */
+public class GlobalLeaderboard {
+
+    /**
+     * One row of the overall ranking.
+     *
+     * @param rank Position, starting at 1; tied players share a rank
+     * @param playerName The player's name as in their most recent result
+     * @param quizzesPlayed Number of quizzes the player has a result for
+     * @param correctQuestions Correct answers in the best attempt at each quiz, added up
+     * @param totalQuestions Questions in those attempts, added up
+     */
+    public record Standing(int rank, String playerName, int quizzesPlayed, int correctQuestions,
+                           int totalQuestions) {
+
+        /**
+         * Gets the overall score as a percentage.
+         *
+         * @return Correct answers out of all questions, 0 to 100
+         */
+        public double getScore() {
+            return totalQuestions == 0 ? 0 : correctQuestions * 100.0 / totalQuestions;
+        }
+    }
+
+    private static final Comparator<PlayerResult> BEST_ATTEMPT = Comparator
+        .comparingInt(PlayerResult::getCorrectQuestions)
+        .thenComparingDouble(PlayerResult::getScore)
+        .thenComparing(PlayerResult::getDate, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private static final class Totals {
+        final String key;
+        String playerName;
+        LocalDateTime lastPlayed;
+        int quizzes;
+        int correct;
+        int total;
+
+        Totals(String key) {
+            this.key = key;
+        }
+
+        void rename(PlayerResult result) {
+            if (lastPlayed == null || (result.getDate() != null && !result.getDate().isBefore(lastPlayed))) {
+                playerName = result.getPlayerName();
+                lastPlayed = result.getDate();
+            }
+        }
+
+        double score() {
+            return total == 0 ? 0 : (double) correct / total;
+        }
+    }
+
+    private static final Comparator<Totals> RANKING = Comparator
+        .comparingInt((Totals totals) -> totals.correct).reversed()
+        .thenComparing(Comparator.comparingDouble(Totals::score).reversed())
+        .thenComparing(totals -> totals.key);
+
+    private record Best(String key, PlayerResult result) { }
+
+    private final Map<String, Map<String, PlayerResult>> bestByQuiz = new HashMap<>();
+    private final Map<String, Totals> totals = new HashMap<>();
+    private final TreeSet<Totals> ranking = new TreeSet<>(RANKING);
+
+    /**
+     * Builds the leaderboard of a set of quizzes.
+     *
+     * @param quizzes Results of each quiz, keyed by quiz id
+     * @return The leaderboard
+     */
+    public static GlobalLeaderboard build(Map<String, QuizResult> quizzes) {
+        List<String> quizIds = new ArrayList<>(quizzes.keySet());
+        // Map: each quiz becomes a run of per-player bests sorted by name
+        List<List<Best>> runs = quizIds.parallelStream()
+            .map(quizId -> bestPerPlayer(quizzes.get(quizId).getResults()))
+            .toList();
+
+        GlobalLeaderboard leaderboard = new GlobalLeaderboard();
+        for (int i = 0; i < quizIds.size(); i++) {
+            Map<String, PlayerResult> best = new HashMap<>();
+            for (Best entry : runs.get(i)) {
+                best.put(entry.key(), entry.result());
+            }
+            leaderboard.bestByQuiz.put(quizIds.get(i), best);
+        }
+
+        // Reduce: merge the runs by name, so each player's totals are summed in one pass
+        record Cursor(List<Best> run, int index) {
+            Best head() {
+                return run.get(index);
+            }
+        }
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(Comparator.comparing((Cursor cursor) -> cursor.head().key()));
+        for (List<Best> run : runs) {
+            if (!run.isEmpty()) {
+                queue.add(new Cursor(run, 0));
+            }
+        }
+        Totals current = null;
+        while (!queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+            Best best = cursor.head();
+            if (current == null || !current.key.equals(best.key())) {
+                current = new Totals(best.key());
+                leaderboard.totals.put(best.key(), current);
+            }
+            current.rename(best.result());
+            current.quizzes++;
+            current.correct += best.result().getCorrectQuestions();
+            current.total += best.result().getTotalQuestions();
+            if (cursor.index() + 1 < cursor.run().size()) {
+                queue.add(new Cursor(cursor.run(), cursor.index() + 1));
+            }
+        }
+        leaderboard.ranking.addAll(leaderboard.totals.values());
+        return leaderboard;
+    }
+
+    /**
+     * Adds a new result of a quiz. Only the player's totals change, and only if the result
+     * beats their earlier best at that quiz.
+     *
+     * @param quizId Id of the quiz
+     * @param result The new result
+     */
+    public synchronized void add(String quizId, PlayerResult result) {
+        String key = PlayerHistoryIndex.normalizeName(result.getPlayerName());
+        Map<String, PlayerResult> best = bestByQuiz.computeIfAbsent(quizId, id -> new HashMap<>());
+        PlayerResult previous = best.get(key);
+        Totals playerTotals = totals.computeIfAbsent(key, Totals::new);
+        ranking.remove(playerTotals);
+        playerTotals.rename(result);
+        if (previous == null || BEST_ATTEMPT.compare(result, previous) > 0) {
+            best.put(key, result);
+            apply(playerTotals, previous, -1);
+            apply(playerTotals, result, 1);
+        }
+        ranking.add(playerTotals);
+    }
+
+    /**
+     * Replaces every result of a quiz, e.g. after its results file was changed elsewhere.
+     *
+     * @param quizId Id of the quiz
+     * @param results The quiz's results now
+     */
+    public synchronized void replaceQuiz(String quizId, Collection<PlayerResult> results) {
+        removeQuiz(quizId);
+        for (PlayerResult result : results) {
+            add(quizId, result);
+        }
+    }
+
+    /**
+     * Removes every result of a quiz.
+     *
+     * @param quizId Id of the quiz
+     */
+    public synchronized void removeQuiz(String quizId) {
+        Map<String, PlayerResult> best = bestByQuiz.remove(quizId);
+        if (best == null) {
+            return;
+        }
+        for (Map.Entry<String, PlayerResult> entry : best.entrySet()) {
+            Totals playerTotals = totals.get(entry.getKey());
+            ranking.remove(playerTotals);
+            apply(playerTotals, entry.getValue(), -1);
+            if (playerTotals.quizzes == 0) {
+                totals.remove(entry.getKey());
+            } else {
+                ranking.add(playerTotals);
+            }
+        }
+    }
+
+    /**
+     * Gets the ranking.
+     *
+     * @param limit Maximum number of players
+     * @return The best players, best first
+     */
+    public synchronized List<Standing> getStandings(int limit) {
+        List<Standing> standings = new ArrayList<>(Math.min(limit, ranking.size()));
+        Totals previous = null;
+        int rank = 0;
+        for (Totals playerTotals : ranking) {
+            if (standings.size() >= limit) {
+                break;
+            }
+            if (previous == null || previous.correct != playerTotals.correct
+                    || previous.score() != playerTotals.score()) {
+                rank = standings.size() + 1;
+            }
+            standings.add(new Standing(rank, playerTotals.playerName, playerTotals.quizzes,
+                playerTotals.correct, playerTotals.total));
+            previous = playerTotals;
+        }
+        return standings;
+    }
+
+    /**
+     * Gets the number of ranked players.
+     *
+     * @return The number of distinct players
+     */
+    public synchronized int getPlayerCount() {
+        return ranking.size();
+    }
+
+    private static void apply(Totals playerTotals, PlayerResult result, int sign) {
+        if (result != null) {
+            playerTotals.quizzes += sign;
+            playerTotals.correct += sign * result.getCorrectQuestions();
+            playerTotals.total += sign * result.getTotalQuestions();
+        }
+    }
+
+    private static List<Best> bestPerPlayer(List<PlayerResult> results) {
+        Map<String, PlayerResult> best = new HashMap<>();
+        for (PlayerResult result : results) {
+            if (result != null && result.getPlayerName() != null) {
+                best.merge(PlayerHistoryIndex.normalizeName(result.getPlayerName()), result,
+                    (a, b) -> BEST_ATTEMPT.compare(b, a) > 0 ? b : a);
+            }
+        }
+        List<Best> run = new ArrayList<>(best.size());
+        best.forEach((key, result) -> run.add(new Best(key, result)));
+        run.sort(Comparator.comparing(Best::key));
+        return run;
+    }
+}
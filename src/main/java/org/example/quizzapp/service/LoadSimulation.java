@@ -0,0 +1,311 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.BooleanQuestion;
+import org.example.quizzapp.model.PlayerResult;
+import org.example.quizzapp.model.Question;
+import org.example.quizzapp.model.Quiz;
+import org.example.quizzapp.model.QuizResult;
+import org.example.quizzapp.model.RadioGroupQuestion;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays a quiz headlessly with simulated players, to measure how the game engine and the
+ * results store behave under load. Each bot plays its own {@link GameManager} session,
+ * thinks for an exponentially distributed time before each answer, answers correctly with
+ * the configured probability and saves its result through {@link QuizService}.
+ * Afterwards the results file is checked: it must parse, contain exactly one entry per bot,
+ * and every entry must carry the score that bot actually achieved.
+ */
+public class LoadSimulation {
+
+    /**
+     * Settings of a simulation run.
+     *
+     * @param players Number of bots that play the quiz once each
+     * @param concurrency Maximum number of bots playing at the same time
+     * @param accuracy Probability that a bot answers a question correctly, 0 to 1
+     * @param meanThinkMillis Mean think time before each answer; 0 answers immediately
+     * @param seed Seed for the bots' answers and think times
+     * @param virtualThreads Whether each bot runs on its own virtual thread
+     */
+    public record Options(int players, int concurrency, double accuracy, long meanThinkMillis,
+                          long seed, boolean virtualThreads) {
+        public Options {
+            if (players < 1) {
+                throw new IllegalArgumentException("Players must be at least 1");
+            }
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("Concurrency must be at least 1");
+            }
+            if (accuracy < 0 || accuracy > 1) {
+                throw new IllegalArgumentException("Accuracy must be between 0 and 1");
+            }
+            if (meanThinkMillis < 0) {
+                throw new IllegalArgumentException("Think time cannot be negative");
+            }
+        }
+    }
+
+    /**
+     * Latency percentiles of one operation, in milliseconds.
+     */
+    public record Latency(int count, double p50, double p90, double p99, double max) {
+        @Override
+        public String toString() {
+            return String.format("n=%d p50=%.3f ms p90=%.3f ms p99=%.3f ms max=%.3f ms", count, p50, p90, p99, max);
+        }
+    }
+
+    /**
+     * Outcome of a simulation run.
+     *
+     * @param games Games played to the end and saved
+     * @param answers Answers submitted
+     * @param elapsedMillis Wall-clock time of the run
+     * @param submit Latency of {@link GameManager#submitAnswer(Object)}
+     * @param save Latency of {@link QuizService#saveResult(String, PlayerResult)}
+     * @param errors Bots that failed, with the reason
+     * @param integrityProblems Problems found in the results file; empty when it is intact
+     */
+    public record Report(int games, long answers, long elapsedMillis, Latency submit, Latency save,
+                         List<String> errors, List<String> integrityProblems) {
+
+        public double gamesPerSecond() {
+            return elapsedMillis == 0 ? 0 : games * 1000.0 / elapsedMillis;
+        }
+
+        public double answersPerSecond() {
+            return elapsedMillis == 0 ? 0 : answers * 1000.0 / elapsedMillis;
+        }
+
+        public boolean isIntact() {
+            return errors.isEmpty() && integrityProblems.isEmpty();
+        }
+    }
+
+    private record BotOutcome(String name, int correct, long[] submitNanos, long saveNanos) {
+    }
+
+    private static final AtomicInteger RUN_COUNTER = new AtomicInteger();
+
+    private final Quiz quiz;
+    private final QuizService quizService;
+    private final Options options;
+
+    /**
+     * Creates a simulation.
+     *
+     * @param quiz The quiz every bot plays
+     * @param quizService Where the bots save their results
+     * @param options Settings of the run
+     */
+    public LoadSimulation(Quiz quiz, QuizService quizService, Options options) {
+        this.quiz = quiz;
+        this.quizService = quizService;
+        this.options = options;
+    }
+
+    /**
+     * Plays every bot's game and checks the results file afterwards.
+     *
+     * @return The measurements and integrity findings
+     * @throws IOException If the results file cannot be read before the run
+     * @throws InterruptedException If interrupted while waiting for the bots
+     */
+    public Report run() throws IOException, InterruptedException {
+        Path resultsFile = quizService.getResultsFile(quiz.getTitle());
+        int existingResults = Files.exists(resultsFile)
+            ? quizService.validateResultsFile(resultsFile).getResultCount()
+                + quizService.getResultArchive(quiz.getTitle()).getArchivedCount()
+            : 0;
+        // Bot names are unique per run, so results left by earlier runs are told apart
+        String runTag = Long.toString(System.currentTimeMillis(), 36) + RUN_COUNTER.incrementAndGet();
+
+        BotOutcome[] outcomes = new BotOutcome[options.players()];
+        List<String> errors = new ArrayList<>();
+        Semaphore slots = new Semaphore(options.concurrency());
+        ExecutorService executor = options.virtualThreads()
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(options.concurrency());
+
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < options.players(); i++) {
+                int bot = i;
+                String name = "bot-" + runTag + "-" + bot;
+                executor.execute(() -> {
+                    try {
+                        slots.acquire();
+                        try {
+                            outcomes[bot] = play(name, new Random(options.seed() + bot));
+                        } finally {
+                            slots.release();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (Exception e) {
+                        synchronized (errors) {
+                            errors.add(name + ": " + e);
+                        }
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+        if (!executor.awaitTermination(1, TimeUnit.HOURS)) {
+            executor.shutdownNow();
+            errors.add("Run did not finish within an hour");
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<BotOutcome> finished = new ArrayList<>();
+        for (BotOutcome outcome : outcomes) {
+            if (outcome != null) {
+                finished.add(outcome);
+            }
+        }
+
+        int answerCount = 0;
+        for (BotOutcome outcome : finished) {
+            answerCount += outcome.submitNanos().length;
+        }
+        long[] submitNanos = new long[answerCount];
+        long[] saveNanos = new long[finished.size()];
+        int offset = 0;
+        for (int i = 0; i < finished.size(); i++) {
+            BotOutcome outcome = finished.get(i);
+            System.arraycopy(outcome.submitNanos(), 0, submitNanos, offset, outcome.submitNanos().length);
+            offset += outcome.submitNanos().length;
+            saveNanos[i] = outcome.saveNanos();
+        }
+
+        return new Report(finished.size(), answerCount, elapsedMillis,
+            percentiles(submitNanos), percentiles(saveNanos),
+            List.copyOf(errors), checkIntegrity(resultsFile, existingResults, runTag, finished));
+    }
+
+    private BotOutcome play(String name, Random random) throws IOException, InterruptedException {
+        GameManager session = GameManager.newSession();
+        session.loadQuiz(quiz);
+        session.setPlayerName(name);
+
+        long[] submitNanos = new long[session.getTotalQuestions()];
+        int answered = 0;
+        int correct = 0;
+        boolean hasQuestion = session.getCurrentQuestion() != null;
+        while (hasQuestion) {
+            think(random);
+            Question question = session.getCurrentQuestion();
+            Object answer = random.nextDouble() < options.accuracy()
+                ? question.getCorrectAnswer()
+                : wrongAnswer(question);
+
+            long submitStart = System.nanoTime();
+            boolean isCorrect = session.submitAnswer(answer);
+            long submitTime = System.nanoTime() - submitStart;
+            if (answered == submitNanos.length) {
+                submitNanos = Arrays.copyOf(submitNanos, answered * 2 + 1);
+            }
+            submitNanos[answered++] = submitTime;
+            if (isCorrect) {
+                correct++;
+            }
+            hasQuestion = session.nextQuestion();
+        }
+
+        PlayerResult result = session.calculateFinalScore();
+        long saveStart = System.nanoTime();
+        quizService.saveResult(quiz.getTitle(), result);
+        long saveTime = System.nanoTime() - saveStart;
+        return new BotOutcome(name, correct, Arrays.copyOf(submitNanos, answered), saveTime);
+    }
+
+    private void think(Random random) throws InterruptedException {
+        if (options.meanThinkMillis() > 0) {
+            // Exponentially distributed, like the gaps between independent arrivals
+            long millis = Math.round(-Math.log(1 - random.nextDouble()) * options.meanThinkMillis());
+            Thread.sleep(millis);
+        }
+    }
+
+    private static Object wrongAnswer(Question question) {
+        if (question instanceof BooleanQuestion) {
+            return !((Boolean) question.getCorrectAnswer());
+        }
+        if (question instanceof RadioGroupQuestion radioGroup) {
+            for (String choice : radioGroup.getChoices()) {
+                if (!choice.equals(radioGroup.getCorrectAnswer())) {
+                    return choice;
+                }
+            }
+        }
+        return null;
+    }
+
+    private List<String> checkIntegrity(Path resultsFile, int existingResults, String runTag,
+                                        List<BotOutcome> finished) {
+        List<String> problems = new ArrayList<>();
+        QuizResult saved;
+        try {
+            quizService.validateResultsFile(resultsFile);
+            // Results the retention policy archived during the run count as well
+            saved = quizService.loadResultHistory(quiz.getTitle());
+        } catch (IOException | IllegalArgumentException e) {
+            problems.add("Results file is invalid: " + e.getMessage());
+            return problems;
+        }
+
+        int expected = existingResults + finished.size();
+        if (saved.getResultCount() != expected) {
+            problems.add("Expected " + expected + " results but found " + saved.getResultCount());
+        }
+
+        Map<String, List<PlayerResult>> byName = new HashMap<>();
+        for (PlayerResult result : saved.getResults()) {
+            if (result.getPlayerName().startsWith("bot-" + runTag + "-")) {
+                byName.computeIfAbsent(result.getPlayerName(), key -> new ArrayList<>()).add(result);
+            }
+        }
+        for (BotOutcome outcome : finished) {
+            List<PlayerResult> results = byName.getOrDefault(outcome.name(), List.of());
+            if (results.size() != 1) {
+                problems.add(outcome.name() + " has " + results.size() + " results instead of 1");
+            } else if (results.get(0).getCorrectQuestions() != outcome.correct()) {
+                problems.add(outcome.name() + " was saved with " + results.get(0).getCorrectQuestions()
+                    + " correct answers instead of " + outcome.correct());
+            }
+        }
+        return problems;
+    }
+
+    static Latency percentiles(long[] nanos) {
+        if (nanos.length == 0) {
+            return new Latency(0, 0, 0, 0, 0);
+        }
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return new Latency(sorted.length, percentile(sorted, 0.50), percentile(sorted, 0.90),
+            percentile(sorted, 0.99), sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        // Nearest-rank method
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1e6;
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.quizzapp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A completion message compiled into literal and placeholder segments.
+ * The text is scanned once: known {@code {variables}} become placeholders and, when requested,
+ * HTML tags are removed at the same time. Rendering only appends segments to a builder,
+ * without regular expressions or intermediate strings.
+ * Braces that do not name a known variable are kept as literal text.
+ */
+public class MessageTemplate {
+
+    private final String[] literals;
+    private final ResultVariables.Variable[] placeholders;
+
+    private MessageTemplate(List<String> literals, List<ResultVariables.Variable> placeholders) {
+        this.literals = literals.toArray(new String[0]);
+        this.placeholders = placeholders.toArray(new ResultVariables.Variable[0]);
+    }
+
+    /**
+     * Compiles a message.
+     *
+     * @param html The message, may contain HTML and {@code {variable}} placeholders
+     * @param stripHtml Whether to remove HTML tags and trim the message
+     * @return The compiled template
+     */
+    public static MessageTemplate compile(String html, boolean stripHtml) {
+        List<String> literals = new ArrayList<>();
+        List<ResultVariables.Variable> placeholders = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        String text = html != null ? html : "";
+
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (stripHtml && c == '<') {
+                int end = text.indexOf('>', i + 1);
+                if (end >= 0) {
+                    i = end + 1;
+                    continue;
+                }
+            }
+            if (c == '{') {
+                int end = text.indexOf('}', i + 1);
+                ResultVariables.Variable variable = end >= 0
+                    ? ResultVariables.Variable.byName(text.substring(i + 1, end)) : null;
+                if (variable != null) {
+                    literals.add(literal.toString());
+                    placeholders.add(null);
+                    literals.add(null);
+                    placeholders.add(variable);
+                    literal.setLength(0);
+                    i = end + 1;
+                    continue;
+                }
+            }
+            literal.append(c);
+            i++;
+        }
+        literals.add(literal.toString());
+        placeholders.add(null);
+
+        if (stripHtml) {
+            trimEdges(literals);
+        }
+        removeEmptyLiterals(literals, placeholders);
+        return new MessageTemplate(literals, placeholders);
+    }
+
+    private static void trimEdges(List<String> literals) {
+        literals.set(0, literals.get(0).stripLeading());
+        int last = literals.size() - 1;
+        literals.set(last, literals.get(last).stripTrailing());
+    }
+
+    private static void removeEmptyLiterals(List<String> literals, List<ResultVariables.Variable> placeholders) {
+        for (int i = literals.size() - 1; i >= 0; i--) {
+            if (placeholders.get(i) == null && literals.get(i).isEmpty()) {
+                literals.remove(i);
+                placeholders.remove(i);
+            }
+        }
+    }
+
+    /**
+     * Appends the rendered message to a builder.
+     *
+     * @param variables The result variables
+     * @param target The builder to append to, typically reused across results
+     * @return The builder
+     */
+    public StringBuilder renderTo(ResultVariables variables, StringBuilder target) {
+        for (int i = 0; i < literals.length; i++) {
+            if (placeholders[i] == null) {
+                target.append(literals[i]);
+            } else {
+                variables.appendTo(placeholders[i], target);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Renders the message.
+     *
+     * @param variables The result variables
+     * @return The rendered message
+     */
+    public String render(ResultVariables variables) {
+        return renderTo(variables, new StringBuilder(64)).toString();
+    }
+
+    /**
+     * Gets the number of segments the message was compiled into.
+     *
+     * @return Number of literal and placeholder segments
+     */
+    public int getSegmentCount() {
+        return literals.length;
+    }
+}
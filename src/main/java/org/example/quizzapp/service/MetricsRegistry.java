@@ -0,0 +1,359 @@
+package org.example.quizzapp.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide registry of counters, gauges and histograms.
+ * Recording a value only touches {@link LongAdder}s and {@link DoubleAdder}s, so instrumented
+ * hot paths never block each other. The registry can be rendered in the Prometheus text exposition format, which is
+ * what the server's {@code /metrics} endpoint serves and what the periodic snapshot file contains.
+ */
+public class MetricsRegistry {
+
+    /**
+     * Default histogram buckets for durations, in seconds.
+     */
+    public static final double[] DURATION_BUCKETS = {
+        0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+
+    /**
+     * Default histogram buckets for sizes, in bytes.
+     */
+    public static final double[] SIZE_BUCKETS = {
+        1024, 4096, 16384, 65536, 262144, 1048576, 4194304, 16777216
+    };
+
+    /**
+     * Where the applications write their periodic snapshots.
+     */
+    public static final Path DEFAULT_SNAPSHOT_FILE = Paths.get("quiz-metrics", "metrics.prom");
+
+    private static MetricsRegistry instance;
+
+    private final Map<String, Metric> metrics = new ConcurrentSkipListMap<>();
+    private ScheduledExecutorService snapshotExecutor;
+
+    private interface Metric {
+        void writeTo(StringBuilder out);
+    }
+
+    /**
+     * A monotonically increasing count.
+     */
+    public static final class Counter implements Metric {
+        private final String name;
+        private final String help;
+        private final LongAdder value = new LongAdder();
+
+        private Counter(String name, String help) {
+            this.name = name;
+            this.help = help;
+        }
+
+        public void increment() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+
+        @Override
+        public void writeTo(StringBuilder out) {
+            header(out, name, help, "counter");
+            out.append(name).append(' ').append(value.sum()).append('\n');
+        }
+    }
+
+    /**
+     * A value sampled when the metrics are rendered.
+     */
+    public static final class Gauge implements Metric {
+        private final String name;
+        private final String help;
+        private final DoubleSupplier supplier;
+
+        private Gauge(String name, String help, DoubleSupplier supplier) {
+            this.name = name;
+            this.help = help;
+            this.supplier = supplier;
+        }
+
+        public double get() {
+            return supplier.getAsDouble();
+        }
+
+        @Override
+        public void writeTo(StringBuilder out) {
+            header(out, name, help, "gauge");
+            out.append(name).append(' ');
+            appendNumber(out, get());
+            out.append('\n');
+        }
+    }
+
+    /**
+     * Counts observations in fixed buckets, e.g. durations or file sizes.
+     */
+    public static final class Histogram implements Metric {
+        private final String name;
+        private final String help;
+        private final double[] bounds;
+        private final LongAdder[] buckets;
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder sum = new DoubleAdder();
+
+        private Histogram(String name, String help, double[] bounds) {
+            this.name = name;
+            this.help = help;
+            this.bounds = bounds.clone();
+            this.buckets = new LongAdder[bounds.length];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Records one observation.
+         *
+         * @param value The observed value
+         */
+        public void observe(double value) {
+            // Only the first matching bucket is incremented; buckets are summed when rendered
+            int i = 0;
+            while (i < bounds.length && value > bounds[i]) {
+                i++;
+            }
+            if (i < bounds.length) {
+                buckets[i].increment();
+            }
+            count.increment();
+            sum.add(value);
+        }
+
+        /**
+         * Records the time elapsed since a {@link System#nanoTime()} reading, in seconds.
+         *
+         * @param startNanos The reading taken when the operation started
+         */
+        public void observeSince(long startNanos) {
+            observe((System.nanoTime() - startNanos) / 1e9);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public double getSum() {
+            return sum.sum();
+        }
+
+        @Override
+        public void writeTo(StringBuilder out) {
+            header(out, name, help, "histogram");
+            long cumulative = 0;
+            for (int i = 0; i < bounds.length; i++) {
+                cumulative += buckets[i].sum();
+                out.append(name).append("_bucket{le=\"");
+                appendNumber(out, bounds[i]);
+                out.append("\"} ").append(cumulative).append('\n');
+            }
+            long total = count.sum();
+            out.append(name).append("_bucket{le=\"+Inf\"} ").append(total).append('\n');
+            out.append(name).append("_sum ");
+            appendNumber(out, sum.sum());
+            out.append('\n');
+            out.append(name).append("_count ").append(total).append('\n');
+        }
+    }
+
+    /**
+     * Gets the registry shared by the whole application.
+     *
+     * @return The MetricsRegistry instance
+     */
+    public static synchronized MetricsRegistry getInstance() {
+        if (instance == null) {
+            instance = new MetricsRegistry();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets or creates a counter.
+     *
+     * @param name Metric name, conventionally ending in {@code _total}
+     * @param help One-line description
+     * @return The counter
+     */
+    public Counter counter(String name, String help) {
+        return register(name, Counter.class, () -> new Counter(name, help));
+    }
+
+    /**
+     * Registers a gauge, replacing an earlier one with the same name.
+     *
+     * @param name Metric name
+     * @param help One-line description
+     * @param supplier Reads the current value
+     * @return The gauge
+     */
+    public Gauge gauge(String name, String help, DoubleSupplier supplier) {
+        validateName(name);
+        Gauge gauge = new Gauge(name, help, supplier);
+        metrics.put(name, gauge);
+        return gauge;
+    }
+
+    /**
+     * Removes a gauge, e.g. when the object it reads from goes away.
+     * Does nothing if another gauge has replaced it since.
+     *
+     * @param gauge The gauge to remove
+     */
+    public void unregister(Gauge gauge) {
+        metrics.remove(gauge.name, gauge);
+    }
+
+    /**
+     * Gets or creates a duration histogram with the default buckets, in seconds.
+     *
+     * @param name Metric name, conventionally ending in {@code _seconds}
+     * @param help One-line description
+     * @return The histogram
+     */
+    public Histogram timer(String name, String help) {
+        return histogram(name, help, DURATION_BUCKETS);
+    }
+
+    /**
+     * Gets or creates a histogram.
+     *
+     * @param name Metric name
+     * @param help One-line description
+     * @param bounds Upper bounds of the buckets, ascending
+     * @return The histogram
+     */
+    public Histogram histogram(String name, String help, double[] bounds) {
+        return register(name, Histogram.class, () -> new Histogram(name, help, bounds));
+    }
+
+    private <T extends Metric> T register(String name, Class<T> type, Supplier<T> factory) {
+        Metric metric = metrics.get(name);
+        if (metric == null) {
+            validateName(name);
+            metric = metrics.computeIfAbsent(name, key -> factory.get());
+        }
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as another type");
+        }
+        return type.cast(metric);
+    }
+
+    private static void validateName(String name) {
+        if (name == null || !name.matches("[a-zA-Z_:][a-zA-Z0-9_:]*")) {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+    }
+
+    /**
+     * Renders every metric in the Prometheus text exposition format (version 0.0.4).
+     *
+     * @return The metrics, sorted by name
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        for (Metric metric : metrics.values()) {
+            metric.writeTo(out);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes a snapshot of every metric to a file, replacing it atomically.
+     *
+     * @param file The snapshot file
+     * @throws IOException If the file cannot be written
+     */
+    public void writeSnapshot(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(tempFile, scrape(), StandardCharsets.UTF_8);
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Starts writing a snapshot to a file periodically, replacing an earlier schedule.
+     *
+     * @param file The snapshot file
+     * @param period Time between snapshots
+     * @param unit Unit of the period
+     */
+    public synchronized void startSnapshots(Path file, long period, TimeUnit unit) {
+        stopSnapshots();
+        snapshotExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                writeSnapshot(file);
+            } catch (IOException e) {
+                System.err.println("Warning: Could not write metrics snapshot: " + e.getMessage());
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * Stops periodic snapshots.
+     */
+    public synchronized void stopSnapshots() {
+        if (snapshotExecutor != null) {
+            snapshotExecutor.shutdownNow();
+            snapshotExecutor = null;
+        }
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        if (help != null && !help.isEmpty()) {
+            out.append("# HELP ").append(name).append(' ')
+                .append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        }
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void appendNumber(StringBuilder out, double value) {
+        if (Double.isNaN(value)) {
+            out.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            out.append(value > 0 ? "+Inf" : "-Inf");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            // Whole values, e.g. gauges, as 3 rather than 3.0
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+    }
+}
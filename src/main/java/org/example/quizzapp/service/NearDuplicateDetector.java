@@ -0,0 +1,204 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.BooleanQuestion;
+import org.example.quizzapp.model.Question;
+import org.example.quizzapp.model.RadioGroupQuestion;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Finds reworded copies of the same question across a question bank.
+ * Each question's title and choices are normalized and split into character shingles.
+ * A MinHash signature estimates the Jaccard similarity of two shingle sets. LSH banding
+ * then groups questions whose signatures agree on a whole band, so only questions that
+ * share a band become candidates instead of all n² pairs. Candidates are verified against
+ * the similarity threshold. Signatures, bands and verification all run in parallel.
+ */
+public class NearDuplicateDetector {
+
+    public static final double DEFAULT_THRESHOLD = 0.8;
+
+    private static final int SHINGLE_LENGTH = 5;
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;
+    private static final int HASHES = BANDS * ROWS;
+    // Runs of identical band keys larger than this are only compared against their first members
+    private static final int MAX_RUN_COMPARISONS = 64;
+    private static final int INDEX_BITS = 24;
+
+    /**
+     * A question located in the library.
+     */
+    public record QuestionRef(Path file, int page, String questionName, String title) { }
+
+    /**
+     * Two questions that are likely duplicates of each other.
+     */
+    public record DuplicatePair(QuestionRef first, QuestionRef second, double similarity) { }
+
+    private final double threshold;
+    private final long[] multipliers = new long[HASHES];
+    private final long[] offsets = new long[HASHES];
+
+    public NearDuplicateDetector() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates a detector.
+     *
+     * @param threshold Minimum estimated Jaccard similarity for a reported pair
+     */
+    public NearDuplicateDetector(double threshold) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("Threshold must be in (0, 1]");
+        }
+        this.threshold = threshold;
+        SplittableRandom random = new SplittableRandom(0x5EEDL);
+        for (int i = 0; i < HASHES; i++) {
+            multipliers[i] = random.nextLong() | 1;
+            offsets[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Builds the text that is compared for a question: its title plus its answer options.
+     *
+     * @param question The question
+     * @return Normalized text
+     */
+    public static String comparableText(Question question) {
+        List<String> terms = QuestionSearchIndex.tokenize(question.getTitle());
+        if (question instanceof RadioGroupQuestion radioGroup && radioGroup.getChoices() != null) {
+            for (String choice : radioGroup.getChoices()) {
+                terms.addAll(QuestionSearchIndex.tokenize(choice));
+            }
+        } else if (question instanceof BooleanQuestion booleanQuestion) {
+            terms.addAll(QuestionSearchIndex.tokenize(booleanQuestion.getLabelTrue()));
+            terms.addAll(QuestionSearchIndex.tokenize(booleanQuestion.getLabelFalse()));
+        }
+        return String.join(" ", terms);
+    }
+
+    /**
+     * Finds near-duplicate pairs.
+     *
+     * @param questions The questions, in the same order as their texts
+     * @param texts Comparable text of each question (see {@link #comparableText(Question)})
+     * @return Pairs at or above the threshold, most similar first
+     */
+    public List<DuplicatePair> findDuplicates(List<QuestionRef> questions, List<String> texts) {
+        int n = questions.size();
+        if (texts.size() != n) {
+            throw new IllegalArgumentException("Every question needs a text");
+        }
+        if (n >= 1 << INDEX_BITS) {
+            throw new IllegalArgumentException("Too many questions: " + n);
+        }
+
+        int[][] signatures = new int[n][];
+        IntStream.range(0, n).parallel().forEach(i -> signatures[i] = signature(texts.get(i)));
+
+        long[] candidates = IntStream.range(0, BANDS).parallel()
+            .mapToObj(band -> candidatesInBand(signatures, band))
+            .flatMapToLong(LongStream::of)
+            .sorted()
+            .distinct()
+            .toArray();
+
+        List<DuplicatePair> pairs = LongStream.of(candidates).parallel()
+            .mapToObj(pair -> {
+                int first = (int) (pair >>> 32);
+                int second = (int) pair;
+                double similarity = estimateSimilarity(signatures[first], signatures[second]);
+                return similarity >= threshold
+                    ? new DuplicatePair(questions.get(first), questions.get(second), similarity) : null;
+            })
+            .filter(Objects::nonNull)
+            .collect(Collectors.toCollection(ArrayList::new));
+
+        pairs.sort(Comparator.comparingDouble(DuplicatePair::similarity).reversed());
+        return pairs;
+    }
+
+    /**
+     * Computes the MinHash signature of a text over its character shingles.
+     */
+    int[] signature(String text) {
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        String padded = text.length() < SHINGLE_LENGTH ? String.format("%-" + SHINGLE_LENGTH + "s", text) : text;
+        for (int start = 0; start + SHINGLE_LENGTH <= padded.length(); start++) {
+            long shingle = padded.substring(start, start + SHINGLE_LENGTH).hashCode();
+            for (int h = 0; h < HASHES; h++) {
+                int value = (int) (mix(shingle * multipliers[h] + offsets[h]) >>> 33);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Sorts the questions by the hash of one band and pairs up questions with equal keys.
+     * Keys and indexes are packed into one long so a primitive sort is enough.
+     */
+    private long[] candidatesInBand(int[][] signatures, int band) {
+        int n = signatures.length;
+        long[] keyed = new long[n];
+        for (int i = 0; i < n; i++) {
+            long hash = 0x9E3779B97F4A7C15L;
+            for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+                hash = mix(hash ^ signatures[i][row]);
+            }
+            keyed[i] = (hash << INDEX_BITS) | i;
+        }
+        Arrays.sort(keyed);
+
+        LongStream.Builder pairs = LongStream.builder();
+        int runStart = 0;
+        for (int i = 1; i <= n; i++) {
+            if (i < n && keyed[i] >>> INDEX_BITS == keyed[runStart] >>> INDEX_BITS) {
+                continue;
+            }
+            for (int a = runStart; a < Math.min(i, runStart + MAX_RUN_COMPARISONS); a++) {
+                for (int b = a + 1; b < i; b++) {
+                    int first = (int) (keyed[a] & ((1L << INDEX_BITS) - 1));
+                    int second = (int) (keyed[b] & ((1L << INDEX_BITS) - 1));
+                    pairs.add(((long) Math.min(first, second) << 32) | Math.max(first, second));
+                }
+            }
+            runStart = i;
+        }
+        return pairs.build().toArray();
+    }
+
+    private static double estimateSimilarity(int[] first, int[] second) {
+        int equal = 0;
+        for (int h = 0; h < HASHES; h++) {
+            if (first[h] == second[h]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
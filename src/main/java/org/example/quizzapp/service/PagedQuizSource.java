@@ -0,0 +1,257 @@
+package org.example.quizzapp.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.quizzapp.model.CompletedHtmlCondition;
+import org.example.quizzapp.model.Page;
+import org.example.quizzapp.model.Quiz;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Pages a quiz in from its JSON file on demand.
+ * Opening the source makes one streaming pass that records the byte range of every page;
+ * pages are then parsed individually when accessed and kept in a small LRU cache,
+ * so only the pages in use are ever held in memory.
+ *
+ * <p>Pages are read from a private copy of the file taken when it is opened, so a quiz that is
+ * edited on disk keeps its old content until it is replaced, e.g. by a hot reload between games.
+ * The copy is deleted once the source is no longer reachable, or at exit.
+ */
+public class PagedQuizSource {
+
+    private static final int DEFAULT_CACHE_PAGES = 256;
+    private static final Cleaner SNAPSHOT_CLEANER = Cleaner.create();
+
+    private final Path file;
+    private final Path snapshot;
+    private final ObjectMapper objectMapper;
+    private final int cachePages;
+    private final Quiz header = new Quiz();
+    private final Map<Integer, Page> cache;
+
+    private long[] pageStarts = new long[64];
+    private long[] pageEnds = new long[64];
+    private int pageCount;
+
+    private PagedQuizSource(Path file, Path snapshot, ObjectMapper objectMapper, int cachePages) {
+        this.file = file;
+        this.snapshot = snapshot;
+        this.objectMapper = objectMapper;
+        this.cachePages = cachePages;
+        this.cache = new LinkedHashMap<>(cachePages, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Page> eldest) {
+                return size() > PagedQuizSource.this.cachePages;
+            }
+        };
+    }
+
+    /**
+     * Indexes a quiz file without materializing its pages.
+     *
+     * @param file The quiz JSON file
+     * @param objectMapper Mapper used to parse individual pages
+     * @return The indexed source
+     * @throws IOException If the file cannot be read
+     * @throws IllegalArgumentException If the quiz has no title, no pages, or an empty page
+     */
+    public static PagedQuizSource open(Path file, ObjectMapper objectMapper) throws IOException {
+        return open(file, objectMapper, DEFAULT_CACHE_PAGES);
+    }
+
+    /**
+     * Indexes a quiz file without materializing its pages.
+     *
+     * @param file The quiz JSON file
+     * @param objectMapper Mapper used to parse individual pages
+     * @param cachePages How many parsed pages to keep in memory
+     * @return The indexed source
+     * @throws IOException If the file cannot be read
+     * @throws IllegalArgumentException If the quiz has no title, no pages, or an empty page
+     */
+    public static PagedQuizSource open(Path file, ObjectMapper objectMapper, int cachePages) throws IOException {
+        Path snapshot = Files.createTempFile("quiz-", ".json");
+        try {
+            Files.copy(file, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            PagedQuizSource source = new PagedQuizSource(file, snapshot, objectMapper, cachePages);
+            source.index();
+            snapshot.toFile().deleteOnExit();
+            SNAPSHOT_CLEANER.register(source, () -> deleteSnapshot(snapshot));
+            return source;
+        } catch (IOException | RuntimeException e) {
+            deleteSnapshot(snapshot);
+            throw e;
+        }
+    }
+
+    private static void deleteSnapshot(Path snapshot) {
+        try {
+            Files.deleteIfExists(snapshot);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not delete quiz snapshot " + snapshot + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Makes the streaming pass over the file, reading the quiz metadata and page offsets.
+     */
+    private void index() throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(snapshot.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Quiz file must contain a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "title" -> header.setTitle(parser.getValueAsString());
+                    case "description" -> header.setDescription(parser.getValueAsString());
+                    case "completedHtml" -> header.setCompletedHtml(parser.getValueAsString());
+                    case "completedHtmlOnCondition" -> header.setCompletedHtmlOnCondition(
+                        parser.readValueAs(new TypeReference<List<CompletedHtmlCondition>>() { }));
+                    case "pages" -> indexPages(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        if (header.getTitle() == null || header.getTitle().trim().isEmpty()) {
+            throw new IllegalArgumentException("Quiz must have a title");
+        }
+        if (pageCount == 0) {
+            throw new IllegalArgumentException("Quiz must have at least one question");
+        }
+    }
+
+    private void indexPages(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("\"pages\" must be an array");
+        }
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            long start = parser.getTokenLocation().getByteOffset();
+            int elementCount = countElements(parser);
+            long end = parser.getCurrentLocation().getByteOffset();
+
+            if (elementCount == 0) {
+                throw new IllegalArgumentException("Page " + (pageCount + 1) + " must have a question");
+            }
+            if (pageCount == pageStarts.length) {
+                pageStarts = Arrays.copyOf(pageStarts, pageCount * 2);
+                pageEnds = Arrays.copyOf(pageEnds, pageCount * 2);
+            }
+            pageStarts[pageCount] = start;
+            pageEnds[pageCount] = end;
+            pageCount++;
+        }
+    }
+
+    /**
+     * Walks one page object, counting its elements without binding them.
+     */
+    private int countElements(JsonParser parser) throws IOException {
+        int count = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("elements".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    parser.skipChildren();
+                    count++;
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Creates a Quiz whose pages are read from the file on access.
+     *
+     * @return The paged quiz
+     */
+    public Quiz toQuiz() {
+        Quiz quiz = new Quiz(header.getTitle(), header.getDescription());
+        quiz.setCompletedHtml(header.getCompletedHtml());
+        quiz.setCompletedHtmlOnCondition(header.getCompletedHtmlOnCondition());
+        quiz.setLazyPages(new PageList());
+        return quiz;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * Gets a page, parsing it from the file if it is not cached.
+     *
+     * @param index Page index (0-based)
+     * @return The page
+     * @throws UncheckedIOException If the copy of the file cannot be read
+     */
+    public synchronized Page getPage(int index) {
+        Page page = cache.get(index);
+        if (page == null) {
+            try {
+                page = readPage(index);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            cache.put(index, page);
+        }
+        return page;
+    }
+
+    private Page readPage(int index) throws IOException {
+        // Offsets are only meaningful for the indexed copy, never for the file as it is now
+        ByteBuffer bytes = ByteBuffer.allocate((int) (pageEnds[index] - pageStarts[index]));
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            long position = pageStarts[index];
+            while (bytes.hasRemaining()) {
+                int read = channel.read(bytes, position);
+                if (read < 0) {
+                    throw new IOException("Unexpected end of quiz file: " + file);
+                }
+                position += read;
+            }
+        }
+        return objectMapper.readValue(bytes.array(), Page.class);
+    }
+
+    /**
+     * Read-only page list backed by the file.
+     */
+    private class PageList extends AbstractList<Page> implements RandomAccess {
+        @Override
+        public Page get(int index) {
+            if (index < 0 || index >= pageCount) {
+                throw new IndexOutOfBoundsException("Page " + index + " of " + pageCount);
+            }
+            return getPage(index);
+        }
+
+        @Override
+        public int size() {
+            return pageCount;
+        }
+    }
+}
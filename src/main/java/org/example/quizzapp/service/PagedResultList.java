@@ -0,0 +1,94 @@
+package org.example.quizzapp.service;
+
+import javafx.collections.ObservableListBase;
+import org.example.quizzapp.model.PlayerResult;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Read-only list for a {@code TableView} that loads results from a {@link ResultPageSource}
+ * a page at a time. The table only asks for the rows it shows, so only those pages, the page
+ * after them (fetched ahead once a page is three quarters read) and a few recently shown pages
+ * are held in memory. Sort and filter by creating a new list over another source rather than
+ * through the list itself.
+ */
+public class PagedResultList extends ObservableListBase<PlayerResult> {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int CACHED_PAGES = 8;
+
+    private final ResultPageSource source;
+    private final int pageSize;
+    private final int size;
+    private final Map<Integer, List<PlayerResult>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<PlayerResult>> eldest) {
+            return size() > CACHED_PAGES;
+        }
+    };
+    private int fetchCount;
+
+    /**
+     * Creates a list with the default page size.
+     *
+     * @param source Where the results are read from
+     */
+    public PagedResultList(ResultPageSource source) {
+        this(source, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Creates a list.
+     *
+     * @param source Where the results are read from
+     * @param pageSize Number of results read at once
+     */
+    public PagedResultList(ResultPageSource source, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        this.source = source;
+        this.pageSize = pageSize;
+        this.size = source.size();
+    }
+
+    @Override
+    public PlayerResult get(int index) {
+        Objects.checkIndex(index, size);
+        int page = index / pageSize;
+        List<PlayerResult> results = page(page);
+        int offset = index % pageSize;
+        if (offset >= pageSize * 3 / 4 && (page + 1) * pageSize < size) {
+            page(page + 1);
+        }
+        // The source may have shrunk since this list was created
+        return offset < results.size() ? results.get(offset) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of pages read from the source so far.
+     *
+     * @return The number of fetches
+     */
+    public int getFetchCount() {
+        return fetchCount;
+    }
+
+    private List<PlayerResult> page(int page) {
+        List<PlayerResult> results = pages.get(page);
+        if (results == null) {
+            results = source.fetch(page * pageSize, pageSize);
+            fetchCount++;
+            pages.put(page, results);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,536 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.PlayerResult;
+import org.example.quizzapp.model.QuizResult;
+import org.example.quizzapp.model.ResultTable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Secondary index from player name to the results that player has in any results file,
+ * so a player's history is found without parsing every file. Names are normalized
+ * (Unicode NFKC, trimmed, whitespace collapsed, lower case) and kept in a sorted map,
+ * which makes lookups O(log n) and prefix queries for autocomplete a range scan.
+ *
+ * <p>Results moved to a quiz's {@link ResultArchive} stay in the index at the same position:
+ * a quiz's history is numbered from its oldest archived result through the results file.
+ *
+ * <p>The index is stored as a journal in the results directory. Every save appends the new
+ * result and the size and modification time of the file it went into. When the index is
+ * opened, files whose stamp no longer matches (edited outside the application, or saved by
+ * an older version) are re-read in parallel, and the journal is compacted.
+ * All methods are synchronized; there is one instance per results directory.
+ */
+public class PlayerHistoryIndex {
+
+    /**
+     * Name of the index file inside the results directory.
+     */
+    public static final String INDEX_FILE_NAME = ".player-history.phx";
+
+    private static final int MAGIC = 0x50485831; // "PHX1"
+    private static final byte RECORD_RESULT = 'R';
+    private static final byte RECORD_STAMP = 'S';
+    private static final byte RECORD_DROP = 'D';
+    private static final byte RECORD_TRUNCATE = 'T';
+
+    private static final Map<Path, PlayerHistoryIndex> OPEN_INDEXES = new ConcurrentHashMap<>();
+
+    /**
+     * Reads and validates a results file.
+     */
+    @FunctionalInterface
+    public interface ResultsReader {
+        QuizResult read(Path file) throws IOException;
+    }
+
+    /**
+     * One result of a player.
+     *
+     * @param playerName The name as it was saved
+     * @param quizId Id of the quiz, which names its results file
+     * @param quizName Title of the quiz
+     * @param offset Position of the result in the quiz's history: archived results first, then the results file
+     */
+    public record Entry(String playerName, String quizId, String quizName, int offset) { }
+
+    private record Ref(String quizId, int offset, String playerName) { }
+
+    private record FileContent(QuizResult hot, int archivedCount, List<String> archivedNames) { }
+
+    private static class QuizEntry {
+        String name;
+        long size = -1;
+        long lastModified = -1;
+        final List<String> keys = new ArrayList<>();
+    }
+
+    private final Path directory;
+    private final Path indexFile;
+    private final ResultsReader reader;
+    private final TreeMap<String, List<Ref>> players = new TreeMap<>();
+    private final Map<String, QuizEntry> quizzes = new HashMap<>();
+    private DataOutputStream journal;
+
+    private PlayerHistoryIndex(Path directory, ResultsReader reader) {
+        this.directory = directory;
+        this.indexFile = directory.resolve(INDEX_FILE_NAME);
+        this.reader = reader;
+    }
+
+    /**
+     * Gets the index of a results directory, opening it on first use.
+     *
+     * @param directory The results directory
+     * @param reader Reads results files that have to be re-indexed
+     * @return The shared index of that directory
+     * @throws IOException If the index cannot be opened or rebuilt
+     */
+    public static PlayerHistoryIndex forDirectory(Path directory, ResultsReader reader) throws IOException {
+        Path key = directory.toAbsolutePath().normalize();
+        try {
+            return OPEN_INDEXES.computeIfAbsent(key, path -> {
+                try {
+                    return open(path, reader);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Opens the index of a results directory, bringing it up to date with the files in it.
+     * Prefer {@link #forDirectory(Path, ResultsReader)}, which shares one instance per directory.
+     *
+     * @param directory The results directory
+     * @param reader Reads results files that have to be re-indexed
+     * @return The index
+     * @throws IOException If the directory cannot be listed or the index cannot be written
+     */
+    static PlayerHistoryIndex open(Path directory, ResultsReader reader) throws IOException {
+        PlayerHistoryIndex index = new PlayerHistoryIndex(directory, reader);
+        if (Files.exists(index.indexFile)) {
+            try {
+                index.replay();
+            } catch (IOException | IllegalStateException e) {
+                System.err.println("Warning: Rebuilding player history index: " + e.getMessage());
+                index.players.clear();
+                index.quizzes.clear();
+            }
+        }
+        index.refresh(false);
+        return index;
+    }
+
+    /**
+     * Normalizes a player name for lookups.
+     *
+     * @param playerName The name as entered
+     * @return The lookup key
+     */
+    public static String normalizeName(String playerName) {
+        if (playerName == null) {
+            return "";
+        }
+        return Normalizer.normalize(playerName, Normalizer.Form.NFKC)
+            .trim()
+            .replaceAll("\\s+", " ")
+            .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Records a save to a results file.
+     * If the index does not hold every earlier result of that file, the results after the archived
+     * ones are re-indexed from the given results; archived results it lacks are read from the archive.
+     *
+     * @param quizResult The results the save wrote, before any of them were archived, with the new result last
+     * @param firstOffset Number of results archived before the save, i.e. the position of the first given result
+     * @param file The results file
+     * @throws IOException If the journal cannot be written or missing archived results cannot be read
+     */
+    public synchronized void recordSave(QuizResult quizResult, int firstOffset, Path file) throws IOException {
+        DataOutputStream out = journal();
+        String quizId = QuizIdentity.quizIdOf(file);
+        ResultTable results = quizResult.getResultTable();
+        QuizEntry quiz = quizzes.get(quizId);
+        int size = firstOffset + results.size();
+        if (quiz != null && quiz.keys.size() == size - 1) {
+            int offset = size - 1;
+            String playerName = results.getPlayerName(results.size() - 1);
+            addResult(quizId, offset, playerName);
+            writeResult(out, quizId, offset, playerName);
+            quiz.name = quizResult.getName();
+        } else {
+            int from = firstOffset;
+            List<String> names = playerNames(results);
+            if (quiz == null || quiz.keys.size() < firstOffset) {
+                names.addAll(0, archivedNames(ResultArchive.open(file), firstOffset));
+                from = 0;
+            }
+            replaceQuiz(quizId, from, names, quizResult.getName());
+            writeQuiz(out, quizId, from, names);
+        }
+        stamp(quizId, file);
+        writeStamp(out, quizId, quizzes.get(quizId));
+        out.flush();
+    }
+
+    /**
+     * Finds every result of a player.
+     *
+     * @param playerName The player name, in any case or spacing
+     * @return The player's results, in the order they were indexed
+     */
+    public synchronized List<Entry> find(String playerName) {
+        List<Ref> refs = players.get(normalizeName(playerName));
+        List<Entry> entries = new ArrayList<>();
+        if (refs != null) {
+            for (Ref ref : refs) {
+                entries.add(toEntry(ref));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Completes a partially typed player name.
+     *
+     * @param prefix The start of the name, in any case or spacing
+     * @param limit Maximum number of names to return
+     * @return Player names starting with the prefix, sorted, as they were last saved
+     */
+    public synchronized List<String> completeNames(String prefix, int limit) {
+        String start = normalizeName(prefix);
+        List<String> names = new ArrayList<>();
+        for (List<Ref> refs : players.tailMap(start, true).values()) {
+            String name = refs.get(refs.size() - 1).playerName();
+            if (names.size() >= limit || !normalizeName(name).startsWith(start)) {
+                break;
+            }
+            names.add(name);
+        }
+        return names;
+    }
+
+    /**
+     * Gets the number of distinct players.
+     *
+     * @return The number of indexed player names
+     */
+    public synchronized int getPlayerCount() {
+        return players.size();
+    }
+
+    /**
+     * Gets the number of indexed results.
+     *
+     * @return The number of results across all files
+     */
+    public synchronized int size() {
+        int size = 0;
+        for (QuizEntry quiz : quizzes.values()) {
+            size += quiz.keys.size();
+        }
+        return size;
+    }
+
+    /**
+     * Re-reads every results file in parallel and rewrites the index from scratch.
+     *
+     * @throws IOException If the directory cannot be listed or the index cannot be written
+     */
+    public synchronized void rebuild() throws IOException {
+        refresh(true);
+    }
+
+    /**
+     * Closes the journal. The index stays usable and reopens it on the next save.
+     *
+     * @throws IOException If the journal cannot be closed
+     */
+    public synchronized void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    private void refresh(boolean full) throws IOException {
+        List<Path> files = QuizIdentity.listResultsFiles(directory);
+
+        Set<String> present = new HashSet<>();
+        List<Path> stale = new ArrayList<>();
+        for (Path file : files) {
+            String quizId = QuizIdentity.quizIdOf(file);
+            present.add(quizId);
+            QuizEntry quiz = quizzes.get(quizId);
+            if (full || quiz == null || quiz.size != Files.size(file)
+                    || quiz.lastModified != Files.getLastModifiedTime(file).toMillis()) {
+                stale.add(file);
+            }
+        }
+        boolean changed = full || !stale.isEmpty() || !present.containsAll(quizzes.keySet());
+        if (!changed) {
+            return;
+        }
+
+        for (String quizId : new ArrayList<>(quizzes.keySet())) {
+            if (full || !present.contains(quizId)) {
+                dropQuiz(quizId);
+            }
+        }
+        Map<String, Integer> indexedCounts = new HashMap<>();
+        quizzes.forEach((quizId, quiz) -> indexedCounts.put(quizId, quiz.keys.size()));
+
+        // Parsing dominates, so files are read in parallel and merged on this thread.
+        // Archived results never change, so segments are only read if the index lacks some of them.
+        List<FileContent> parsed = stale.parallelStream().map(file -> {
+            try {
+                QuizResult hot = reader.read(file);
+                ResultArchive archive = ResultArchive.open(file);
+                int archivedCount = archive.getArchivedCount();
+                boolean complete = indexedCounts.getOrDefault(QuizIdentity.quizIdOf(file), 0) >= archivedCount;
+                return new FileContent(hot, archivedCount, complete ? null : archivedNames(archive, archivedCount));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Warning: Skipping results file " + file.getFileName() + ": " + e.getMessage());
+                return null;
+            }
+        }).toList();
+        for (int i = 0; i < stale.size(); i++) {
+            String quizId = QuizIdentity.quizIdOf(stale.get(i));
+            FileContent content = parsed.get(i);
+            if (content == null) {
+                dropQuiz(quizId);
+                continue;
+            }
+            List<String> names = playerNames(content.hot().getResultTable());
+            if (content.archivedNames() != null) {
+                names.addAll(0, content.archivedNames());
+                replaceQuiz(quizId, 0, names, content.hot().getName());
+            } else {
+                replaceQuiz(quizId, content.archivedCount(), names, content.hot().getName());
+            }
+            stamp(quizId, stale.get(i));
+        }
+        compact();
+    }
+
+    private void replay() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Unsupported player history index: " + indexFile);
+            }
+            while (true) {
+                int type = in.read();
+                if (type < 0) {
+                    break;
+                }
+                try {
+                    String quizId = in.readUTF();
+                    if (type == RECORD_RESULT) {
+                        int offset = readVarInt(in);
+                        addResult(quizId, offset, in.readUTF());
+                    } else if (type == RECORD_STAMP) {
+                        QuizEntry quiz = quizzes.computeIfAbsent(quizId, id -> new QuizEntry());
+                        quiz.name = in.readUTF();
+                        quiz.size = in.readLong();
+                        quiz.lastModified = in.readLong();
+                    } else if (type == RECORD_DROP) {
+                        dropQuiz(quizId);
+                    } else if (type == RECORD_TRUNCATE) {
+                        truncateQuiz(quizId, readVarInt(in));
+                    } else {
+                        throw new IOException("Unknown record type " + type + " in " + indexFile);
+                    }
+                } catch (EOFException e) {
+                    // A torn last record; the stamp of its file no longer matches, so it is re-read
+                    break;
+                }
+            }
+        }
+    }
+
+    private void compact() throws IOException {
+        close();
+        Path tempFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            out.writeInt(MAGIC);
+            for (Map.Entry<String, QuizEntry> entry : quizzes.entrySet()) {
+                QuizEntry quiz = entry.getValue();
+                for (int offset = 0; offset < quiz.keys.size(); offset++) {
+                    List<Ref> refs = players.get(quiz.keys.get(offset));
+                    writeResult(out, entry.getKey(), offset, findRef(refs, entry.getKey(), offset).playerName());
+                }
+                writeStamp(out, entry.getKey(), quiz);
+            }
+        }
+        Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private DataOutputStream journal() throws IOException {
+        if (journal == null) {
+            if (!Files.exists(indexFile)) {
+                compact();
+            }
+            journal = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(indexFile, StandardOpenOption.APPEND)));
+        }
+        return journal;
+    }
+
+    private void addResult(String quizId, int offset, String playerName) {
+        QuizEntry quiz = quizzes.computeIfAbsent(quizId, id -> new QuizEntry());
+        String key = normalizeName(playerName);
+        if (offset != quiz.keys.size()) {
+            throw new IllegalStateException("Result " + offset + " of " + quizId + " is out of order");
+        }
+        quiz.keys.add(key);
+        players.computeIfAbsent(key, k -> new ArrayList<>()).add(new Ref(quizId, offset, playerName));
+    }
+
+    /**
+     * Replaces the results of a quiz from a position on.
+     */
+    private void replaceQuiz(String quizId, int firstOffset, List<String> playerNames, String quizName) {
+        truncateQuiz(quizId, firstOffset);
+        for (int i = 0; i < playerNames.size(); i++) {
+            addResult(quizId, firstOffset + i, playerNames.get(i));
+        }
+        quizzes.computeIfAbsent(quizId, id -> new QuizEntry()).name = quizName;
+    }
+
+    private void dropQuiz(String quizId) {
+        truncateQuiz(quizId, 0);
+        quizzes.remove(quizId);
+    }
+
+    /**
+     * Removes the results of a quiz from a position on.
+     */
+    private void truncateQuiz(String quizId, int size) {
+        QuizEntry quiz = quizzes.get(quizId);
+        if (quiz == null || quiz.keys.size() <= size) {
+            return;
+        }
+        List<String> removed = quiz.keys.subList(size, quiz.keys.size());
+        for (String key : new HashSet<>(removed)) {
+            List<Ref> refs = players.get(key);
+            refs.removeIf(ref -> ref.offset() >= size && ref.quizId().equals(quizId));
+            if (refs.isEmpty()) {
+                players.remove(key);
+            }
+        }
+        removed.clear();
+    }
+
+    private static List<String> playerNames(ResultTable results) {
+        List<String> names = new ArrayList<>(results.size());
+        for (int row = 0; row < results.size(); row++) {
+            names.add(results.getPlayerName(row));
+        }
+        return names;
+    }
+
+    private static List<String> archivedNames(ResultArchive archive, int count) throws IOException {
+        List<String> names = new ArrayList<>(count);
+        for (PlayerResult result : archive.readAll()) {
+            if (names.size() == count) {
+                break;
+            }
+            names.add(result.getPlayerName());
+        }
+        if (names.size() < count) {
+            throw new IOException("Archive holds " + names.size() + " results, expected " + count);
+        }
+        return names;
+    }
+
+    private void stamp(String quizId, Path file) throws IOException {
+        QuizEntry quiz = quizzes.computeIfAbsent(quizId, id -> new QuizEntry());
+        quiz.size = Files.size(file);
+        quiz.lastModified = Files.getLastModifiedTime(file).toMillis();
+    }
+
+    private Entry toEntry(Ref ref) {
+        QuizEntry quiz = quizzes.get(ref.quizId());
+        return new Entry(ref.playerName(), ref.quizId(), quiz != null ? quiz.name : null, ref.offset());
+    }
+
+    private static Ref findRef(List<Ref> refs, String quizId, int offset) {
+        for (Ref ref : refs) {
+            if (ref.offset() == offset && ref.quizId().equals(quizId)) {
+                return ref;
+            }
+        }
+        throw new IllegalStateException("Missing result " + offset + " of " + quizId);
+    }
+
+    private static void writeQuiz(DataOutputStream out, String quizId, int firstOffset, List<String> playerNames)
+            throws IOException {
+        out.writeByte(RECORD_TRUNCATE);
+        out.writeUTF(quizId);
+        writeVarInt(out, firstOffset);
+        for (int i = 0; i < playerNames.size(); i++) {
+            writeResult(out, quizId, firstOffset + i, playerNames.get(i));
+        }
+    }
+
+    private static void writeResult(DataOutputStream out, String quizId, int offset, String playerName)
+            throws IOException {
+        out.writeByte(RECORD_RESULT);
+        out.writeUTF(quizId);
+        writeVarInt(out, offset);
+        out.writeUTF(playerName != null ? playerName : "");
+    }
+
+    private static void writeStamp(DataOutputStream out, String quizId, QuizEntry quiz) throws IOException {
+        out.writeByte(RECORD_STAMP);
+        out.writeUTF(quizId);
+        out.writeUTF(quiz.name != null ? quiz.name : "");
+        out.writeLong(quiz.size);
+        out.writeLong(quiz.lastModified);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.Page;
+import org.example.quizzapp.model.Quiz;
+
+/**
+ * Strategy that decides which page a player sees next.
+ * GameManager delegates getCurrentQuestion/nextQuestion to the active order,
+ * so the fixed quiz order and adaptive selection are interchangeable.
+ */
+public interface QuestionOrder {
+    
+    /**
+     * Starts a new session over a quiz.
+     * 
+     * @param quiz The quiz to play, may be null
+     */
+    void reset(Quiz quiz);
+    
+    /**
+     * Gets the page the player is currently on.
+     * 
+     * @return The current page, or null if the session is complete
+     */
+    Page getCurrentPage();
+    
+    /**
+     * Gets the position of the current question in the session.
+     * 
+     * @return The current position (0-based)
+     */
+    int getPosition();
+    
+    /**
+     * Gets the number of questions in the session.
+     * 
+     * @return Session length
+     */
+    int getLength();
+    
+    /**
+     * Records the outcome of the answer to the current page.
+     * 
+     * @param correct Whether the answer was correct
+     */
+    void recordAnswer(boolean correct);
+    
+    /**
+     * Moves to the next question.
+     * 
+     * @return true if there is a next question, false if the session is complete
+     */
+    boolean advance();
+}
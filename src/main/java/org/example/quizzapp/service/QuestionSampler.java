@@ -0,0 +1,361 @@
+package org.example.quizzapp.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.quizzapp.model.CompletedHtmlCondition;
+import org.example.quizzapp.model.Page;
+import org.example.quizzapp.model.Quiz;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Draws a random subset of pages from a question bank in a single pass.
+ * Unweighted draws use reservoir sampling (Algorithm R); weighted draws use
+ * Efraimidis-Spirakis A-Res. When sampling from a file, pages that are not
+ * selected are skipped in the token stream and never bound to objects; weighted
+ * draws read only the tags and difficulty of each page and bind the selected
+ * pages in a second pass over the file. Selected pages keep their order from the bank.
+ */
+public class QuestionSampler {
+
+    private final ObjectMapper objectMapper;
+
+    public QuestionSampler() {
+        this(new ObjectMapper());
+    }
+
+    public QuestionSampler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Samples pages from a quiz that is already loaded (or lazily backed).
+     * Unweighted sampling only touches the selected pages.
+     *
+     * @param bank The full question bank
+     * @param options Sample size, seed and weights
+     * @return A new quiz containing the sampled pages
+     */
+    public Quiz sample(Quiz bank, SamplingOptions options) {
+        Random random = new Random(options.getSeed());
+        int total = bank.getTotalQuestions();
+        List<Page> selected;
+
+        if (options.isWeighted()) {
+            WeightedReservoir<Page> reservoir = new WeightedReservoir<>(options.getSampleSize(), random);
+            for (int i = 0; i < total; i++) {
+                Page page = bank.getPage(i);
+                reservoir.offer(i, page, options.weightOf(page));
+            }
+            selected = reservoir.itemsInStreamOrder();
+        } else {
+            Reservoir<Integer> reservoir = new Reservoir<>(options.getSampleSize(), random);
+            for (int i = 0; i < total; i++) {
+                int slot = reservoir.slotFor(i);
+                if (slot >= 0) {
+                    reservoir.put(slot, i, i);
+                }
+            }
+            selected = new ArrayList<>();
+            for (int index : reservoir.itemsInStreamOrder()) {
+                selected.add(bank.getPage(index));
+            }
+        }
+
+        return copyHeader(bank, selected);
+    }
+
+    /**
+     * Samples pages while streaming a quiz file, binding only the selected pages.
+     *
+     * @param file The quiz JSON file
+     * @param options Sample size, seed and weights
+     * @return A quiz containing the sampled pages
+     * @throws IOException If the file cannot be read or parsed
+     * @throws IllegalArgumentException If the quiz has no title or no questions
+     */
+    public Quiz sample(Path file, SamplingOptions options) throws IOException {
+        Random random = new Random(options.getSeed());
+        Quiz header = new Quiz();
+        List<JsonNode> selectedNodes = new ArrayList<>();
+        List<Long> selectedPositions = null;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(file.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Quiz file must contain a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "title" -> header.setTitle(parser.getValueAsString());
+                    case "description" -> header.setDescription(parser.getValueAsString());
+                    case "completedHtml" -> header.setCompletedHtml(parser.getValueAsString());
+                    case "completedHtmlOnCondition" -> header.setCompletedHtmlOnCondition(
+                        parser.readValueAs(new TypeReference<List<CompletedHtmlCondition>>() { }));
+                    case "pages" -> {
+                        if (options.isWeighted()) {
+                            selectedPositions = samplePositions(parser, options, random);
+                        } else {
+                            selectedNodes = samplePages(parser, options, random);
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        if (selectedPositions != null) {
+            selectedNodes = readPages(file, selectedPositions);
+        }
+
+        if (header.getTitle() == null || header.getTitle().trim().isEmpty()) {
+            throw new IllegalArgumentException("Quiz must have a title");
+        }
+
+        List<Page> pages = new ArrayList<>(selectedNodes.size());
+        for (JsonNode node : selectedNodes) {
+            Page page = objectMapper.treeToValue(node, Page.class);
+            if (page.getQuestion() == null) {
+                throw new IllegalArgumentException("Sampled page must have a question");
+            }
+            pages.add(page);
+        }
+        if (pages.isEmpty()) {
+            throw new IllegalArgumentException("Quiz must have at least one question");
+        }
+
+        return copyHeader(header, pages);
+    }
+
+    private List<JsonNode> samplePages(JsonParser parser, SamplingOptions options, Random random) throws IOException {
+        requirePagesArray(parser);
+        Reservoir<JsonNode> reservoir = new Reservoir<>(options.getSampleSize(), random);
+        long index = 0;
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            // Decide before binding, so rejected pages are only skipped over
+            int slot = reservoir.slotFor(index);
+            if (slot >= 0) {
+                reservoir.put(slot, index, parser.readValueAsTree());
+            } else {
+                parser.skipChildren();
+            }
+            index++;
+        }
+
+        return reservoir.itemsInStreamOrder();
+    }
+
+    /**
+     * Draws the positions of a weighted sample, reading only the tags and difficulty of each page.
+     */
+    private List<Long> samplePositions(JsonParser parser, SamplingOptions options, Random random) throws IOException {
+        requirePagesArray(parser);
+        WeightedReservoir<Long> reservoir = new WeightedReservoir<>(options.getSampleSize(), random);
+        long index = 0;
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            reservoir.offer(index, index, readWeight(parser, options));
+            index++;
+        }
+
+        return reservoir.itemsInStreamOrder();
+    }
+
+    /**
+     * Streams the file again and binds the pages at the given positions.
+     *
+     * @param positions Positions of the selected pages, ascending
+     */
+    private List<JsonNode> readPages(Path file, List<Long> positions) throws IOException {
+        List<JsonNode> pages = new ArrayList<>(positions.size());
+        try (JsonParser parser = objectMapper.getFactory().createParser(file.toFile())) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if (!field.equals("pages")) {
+                    parser.skipChildren();
+                    continue;
+                }
+                long index = 0;
+                while (parser.nextToken() == JsonToken.START_OBJECT && pages.size() < positions.size()) {
+                    if (positions.get(pages.size()) == index) {
+                        pages.add(parser.readValueAsTree());
+                    } else {
+                        parser.skipChildren();
+                    }
+                    index++;
+                }
+                break;
+            }
+        }
+        if (pages.size() != positions.size()) {
+            throw new IOException("Quiz file changed while sampling");
+        }
+        return pages;
+    }
+
+    private static void requirePagesArray(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("\"pages\" must be an array");
+        }
+    }
+
+    /**
+     * Reads the weight of the page the parser is at from the tags and difficulty of its question,
+     * skipping everything else. Leaves the parser at the end of the page.
+     */
+    private double readWeight(JsonParser parser, SamplingOptions options) throws IOException {
+        List<String> tags = null;
+        Double difficulty = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (!field.equals("elements") || token != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                tags = new ArrayList<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String questionField = parser.getCurrentName();
+                    token = parser.nextToken();
+                    if (questionField.equals("tags") && token == JsonToken.START_ARRAY) {
+                        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                            tags.add(token.isScalarValue() ? parser.getText() : "");
+                            parser.skipChildren();
+                        }
+                    } else if (questionField.equals("difficulty") && token.isNumeric()) {
+                        difficulty = parser.getDoubleValue();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+            // Only the first question of a page counts
+            while (parser.currentToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+                parser.nextToken();
+            }
+        }
+        if (tags == null) {
+            return 0;
+        }
+        return options.weightOf(tags.toArray(new String[0]), difficulty);
+    }
+
+    private Quiz copyHeader(Quiz source, List<Page> pages) {
+        Quiz quiz = new Quiz(source.getTitle(), source.getDescription());
+        quiz.setCompletedHtml(source.getCompletedHtml());
+        quiz.setCompletedHtmlOnCondition(source.getCompletedHtmlOnCondition());
+        quiz.setSourceFile(source.getSourceFile());
+        quiz.setPages(pages);
+        return quiz;
+    }
+
+    /**
+     * Fixed-size uniform reservoir (Algorithm R). The caller asks for a slot first
+     * and only materializes the item when one is granted.
+     */
+    static class Reservoir<T> {
+        private final int capacity;
+        private final Random random;
+        private final List<T> items = new ArrayList<>();
+        private final List<Long> positions = new ArrayList<>();
+
+        Reservoir(int capacity, Random random) {
+            this.capacity = capacity;
+            this.random = random;
+        }
+
+        /**
+         * Decides whether the item at a stream position enters the reservoir.
+         *
+         * @param position 0-based position in the stream
+         * @return The slot to store it in, or -1 if it is rejected
+         */
+        int slotFor(long position) {
+            if (position < capacity) {
+                return (int) position;
+            }
+            long slot = random.nextLong(position + 1);
+            return slot < capacity ? (int) slot : -1;
+        }
+
+        void put(int slot, long position, T item) {
+            if (slot == items.size()) {
+                items.add(item);
+                positions.add(position);
+            } else {
+                items.set(slot, item);
+                positions.set(slot, position);
+            }
+        }
+
+        List<T> itemsInStreamOrder() {
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < items.size(); i++) {
+                order.add(i);
+            }
+            order.sort(Comparator.comparing(positions::get));
+            List<T> result = new ArrayList<>(items.size());
+            for (int i : order) {
+                result.add(items.get(i));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Fixed-size weighted reservoir (A-Res). Each item gets the key u^(1/w), kept in
+     * log form for numerical stability, and the items with the largest keys are retained.
+     */
+    static class WeightedReservoir<T> {
+        private record Entry<T>(double key, long position, T item) { }
+
+        private final int capacity;
+        private final Random random;
+        private final PriorityQueue<Entry<T>> heap =
+            new PriorityQueue<>(Comparator.comparingDouble(Entry::key));
+
+        WeightedReservoir(int capacity, Random random) {
+            this.capacity = capacity;
+            this.random = random;
+        }
+
+        void offer(long position, T item, double weight) {
+            if (weight <= 0) {
+                return;
+            }
+            double u = 1.0 - random.nextDouble(); // (0, 1]
+            double key = Math.log(u) / weight;
+            if (heap.size() < capacity) {
+                heap.add(new Entry<>(key, position, item));
+            } else if (key > heap.peek().key()) {
+                heap.poll();
+                heap.add(new Entry<>(key, position, item));
+            }
+        }
+
+        List<T> itemsInStreamOrder() {
+            List<Entry<T>> entries = new ArrayList<>(heap);
+            entries.sort(Comparator.comparingLong(Entry::position));
+            List<T> result = new ArrayList<>(entries.size());
+            for (Entry<T> entry : entries) {
+                result.add(entry.item());
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,502 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.BooleanQuestion;
+import org.example.quizzapp.model.Question;
+import org.example.quizzapp.model.Quiz;
+import org.example.quizzapp.model.RadioGroupQuestion;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-process inverted index over the questions of a quiz library.
+ * Each question is one document made of its title, its choices (radio group) or its
+ * labels (boolean). Terms are kept in a sorted map so prefix queries ({@code "poly*"})
+ * are a range scan, and results are ranked with BM25.
+ *
+ * <p>Files are indexed incrementally: re-indexing a file tombstones its old documents
+ * and appends new ones. Tombstoned documents are dropped when the index is compacted,
+ * which happens automatically once they outnumber the live ones and on every save.
+ * All methods are synchronized, so the index can be updated from the file watcher
+ * while it is searched from another thread.
+ */
+public class QuestionSearchIndex {
+
+    private static final int MAGIC = 0x51534958; // "QSIX"
+    private static final int VERSION = 1;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /**
+     * A ranked search result.
+     */
+    public record SearchHit(Path file, String questionName, String title, double score) { }
+
+    private static class FileEntry {
+        final List<Integer> docs = new ArrayList<>();
+        long size;
+        long lastModified;
+    }
+
+    private static class PostingList {
+        int[] docs = new int[4];
+        int[] frequencies = new int[4];
+        int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+    }
+
+    private final TreeMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Path, FileEntry> files = new LinkedHashMap<>();
+    private final BitSet deleted = new BitSet();
+    private Path[] docFile = new Path[16];
+    private String[] docName = new String[16];
+    private String[] docTitle = new String[16];
+    private int[] docLength = new int[16];
+    private int docCount;
+    private int liveDocs;
+    private long liveLength;
+
+    /**
+     * Splits text into lower-case terms on every character that is not a letter or digit.
+     *
+     * @param text The text to tokenize, may be null
+     * @return The terms in order of appearance
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Indexes (or re-indexes) every question of a quiz file.
+     *
+     * @param file The quiz file
+     * @param quiz The parsed quiz
+     */
+    public synchronized void indexFile(Path file, Quiz quiz) {
+        Path key = normalize(file);
+        removeDocs(key);
+
+        FileEntry entry = new FileEntry();
+        try {
+            entry.size = Files.size(key);
+            entry.lastModified = Files.getLastModifiedTime(key).toMillis();
+        } catch (IOException e) {
+            entry.size = -1;
+            entry.lastModified = -1;
+        }
+        files.put(key, entry);
+
+        for (int i = 0; i < quiz.getTotalQuestions(); i++) {
+            Question question = quiz.getQuestion(i);
+            if (question != null) {
+                entry.docs.add(addDocument(key, question));
+            }
+        }
+        compactIfSparse();
+    }
+
+    /**
+     * Removes every question of a quiz file from the index.
+     *
+     * @param file The quiz file
+     */
+    public synchronized void removeFile(Path file) {
+        Path key = normalize(file);
+        removeDocs(key);
+        files.remove(key);
+        compactIfSparse();
+    }
+
+    /**
+     * Checks whether a file is indexed and unchanged since it was indexed.
+     *
+     * @param file The quiz file
+     * @return true if the indexed content is current
+     */
+    public synchronized boolean isCurrent(Path file) {
+        Path key = normalize(file);
+        FileEntry entry = files.get(key);
+        if (entry == null) {
+            return false;
+        }
+        try {
+            return entry.size == Files.size(key)
+                && entry.lastModified == Files.getLastModifiedTime(key).toMillis();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the files currently in the index.
+     *
+     * @return Snapshot of the indexed file paths
+     */
+    public synchronized Set<Path> getIndexedFiles() {
+        return Set.copyOf(files.keySet());
+    }
+
+    /**
+     * Gets the number of indexed questions.
+     *
+     * @return Number of live documents
+     */
+    public synchronized int size() {
+        return liveDocs;
+    }
+
+    /**
+     * Searches the index. Terms are combined with OR and ranked by BM25;
+     * a term ending in {@code *} matches every term with that prefix.
+     *
+     * @param query The query text
+     * @param limit Maximum number of hits
+     * @return Hits, best first
+     */
+    public synchronized List<SearchHit> search(String query, int limit) {
+        if (limit <= 0 || liveDocs == 0 || query == null) {
+            return List.of();
+        }
+
+        Map<Integer, Double> scores = new HashMap<>();
+        double averageLength = (double) liveLength / liveDocs;
+        for (String raw : query.trim().split("\\s+")) {
+            boolean prefix = raw.endsWith("*");
+            for (String term : tokenize(prefix ? raw.substring(0, raw.length() - 1) : raw)) {
+                if (prefix) {
+                    for (PostingList list : postings.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                        score(list, averageLength, scores);
+                    }
+                } else {
+                    PostingList list = postings.get(term);
+                    if (list != null) {
+                        score(list, averageLength, scores);
+                    }
+                }
+            }
+        }
+
+        PriorityQueue<Map.Entry<Integer, Double>> top =
+            new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            top.add(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Map.Entry<Integer, Double> entry = top.poll();
+            int doc = entry.getKey();
+            hits.add(new SearchHit(docFile[doc], docName[doc], docTitle[doc], entry.getValue()));
+        }
+        hits.sort(Comparator.comparingDouble(SearchHit::score).reversed());
+        return hits;
+    }
+
+    private void score(PostingList list, double averageLength, Map<Integer, Double> scores) {
+        int documentFrequency = 0;
+        for (int i = 0; i < list.size; i++) {
+            if (!deleted.get(list.docs[i])) {
+                documentFrequency++;
+            }
+        }
+        if (documentFrequency == 0) {
+            return;
+        }
+
+        double idf = Math.log(1 + (liveDocs - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        for (int i = 0; i < list.size; i++) {
+            int doc = list.docs[i];
+            if (deleted.get(doc)) {
+                continue;
+            }
+            double tf = list.frequencies[i];
+            double norm = K1 * (1 - B + B * docLength[doc] / averageLength);
+            scores.merge(doc, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+        }
+    }
+
+    private int addDocument(Path file, Question question) {
+        List<String> terms = tokenize(question.getTitle());
+        if (question instanceof RadioGroupQuestion radioGroup && radioGroup.getChoices() != null) {
+            for (String choice : radioGroup.getChoices()) {
+                terms.addAll(tokenize(choice));
+            }
+        } else if (question instanceof BooleanQuestion booleanQuestion) {
+            terms.addAll(tokenize(booleanQuestion.getLabelTrue()));
+            terms.addAll(tokenize(booleanQuestion.getLabelFalse()));
+        }
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return appendDocument(file, question.getName(), question.getTitle(), terms.size(), frequencies);
+    }
+
+    private int appendDocument(Path file, String name, String title, int length, Map<String, Integer> frequencies) {
+        int doc = docCount++;
+        if (doc == docFile.length) {
+            int capacity = doc * 2;
+            docFile = Arrays.copyOf(docFile, capacity);
+            docName = Arrays.copyOf(docName, capacity);
+            docTitle = Arrays.copyOf(docTitle, capacity);
+            docLength = Arrays.copyOf(docLength, capacity);
+        }
+        docFile[doc] = file;
+        docName[doc] = name;
+        docTitle[doc] = title;
+        docLength[doc] = length;
+        liveDocs++;
+        liveLength += length;
+
+        // Document ids only grow, so every posting list stays sorted
+        frequencies.forEach((term, frequency) ->
+            postings.computeIfAbsent(term, t -> new PostingList()).add(doc, frequency));
+        return doc;
+    }
+
+    private void removeDocs(Path file) {
+        FileEntry entry = files.get(file);
+        if (entry == null) {
+            return;
+        }
+        for (int doc : entry.docs) {
+            if (!deleted.get(doc)) {
+                deleted.set(doc);
+                liveDocs--;
+                liveLength -= docLength[doc];
+            }
+        }
+        entry.docs.clear();
+    }
+
+    private void compactIfSparse() {
+        if (deleted.cardinality() > Math.max(liveDocs, 1024)) {
+            compact();
+        }
+    }
+
+    /**
+     * Drops tombstoned documents and renumbers the live ones.
+     */
+    synchronized void compact() {
+        if (deleted.isEmpty()) {
+            return;
+        }
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                remap[doc] = next;
+                docFile[next] = docFile[doc];
+                docName[next] = docName[doc];
+                docTitle[next] = docTitle[doc];
+                docLength[next] = docLength[doc];
+                next++;
+            }
+        }
+        Arrays.fill(docFile, next, docCount, null);
+        Arrays.fill(docName, next, docCount, null);
+        Arrays.fill(docTitle, next, docCount, null);
+        docCount = next;
+        deleted.clear();
+
+        postings.values().removeIf(list -> {
+            int kept = 0;
+            for (int i = 0; i < list.size; i++) {
+                int doc = remap[list.docs[i]];
+                if (doc >= 0) {
+                    list.docs[kept] = doc;
+                    list.frequencies[kept] = list.frequencies[i];
+                    kept++;
+                }
+            }
+            list.size = kept;
+            return kept == 0;
+        });
+        for (FileEntry entry : files.values()) {
+            entry.docs.replaceAll(doc -> remap[doc]);
+        }
+    }
+
+    /**
+     * Saves the index in a compact binary form. Posting lists are stored as
+     * variable-length delta-encoded document ids.
+     *
+     * @param indexFile Target file, replaced atomically
+     * @throws IOException If the file cannot be written
+     */
+    public synchronized void save(Path indexFile) throws IOException {
+        compact();
+        Path tempFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            Map<Path, Integer> fileIds = new HashMap<>();
+            out.writeInt(files.size());
+            for (Map.Entry<Path, FileEntry> entry : files.entrySet()) {
+                fileIds.put(entry.getKey(), fileIds.size());
+                out.writeUTF(entry.getKey().toString());
+                out.writeLong(entry.getValue().size);
+                out.writeLong(entry.getValue().lastModified);
+            }
+
+            out.writeInt(docCount);
+            for (int doc = 0; doc < docCount; doc++) {
+                writeVarInt(out, fileIds.get(docFile[doc]));
+                out.writeUTF(docName[doc] != null ? docName[doc] : "");
+                out.writeUTF(docTitle[doc] != null ? docTitle[doc] : "");
+                writeVarInt(out, docLength[doc]);
+            }
+
+            out.writeInt(postings.size());
+            for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+                PostingList list = entry.getValue();
+                out.writeUTF(entry.getKey());
+                writeVarInt(out, list.size);
+                int previous = 0;
+                for (int i = 0; i < list.size; i++) {
+                    writeVarInt(out, list.docs[i] - previous);
+                    writeVarInt(out, list.frequencies[i]);
+                    previous = list.docs[i];
+                }
+            }
+        }
+        Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads an index saved with {@link #save(Path)}.
+     *
+     * @param indexFile The index file
+     * @return The loaded index
+     * @throws IOException If the file cannot be read or has an unknown format
+     */
+    public static QuestionSearchIndex load(Path indexFile) throws IOException {
+        QuestionSearchIndex index = new QuestionSearchIndex();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported search index: " + indexFile);
+            }
+
+            Path[] filePaths = new Path[in.readInt()];
+            for (int i = 0; i < filePaths.length; i++) {
+                filePaths[i] = Paths.get(in.readUTF());
+                FileEntry entry = new FileEntry();
+                entry.size = in.readLong();
+                entry.lastModified = in.readLong();
+                index.files.put(filePaths[i], entry);
+            }
+
+            int docCount = in.readInt();
+            int capacity = Math.max(16, docCount);
+            index.docFile = new Path[capacity];
+            index.docName = new String[capacity];
+            index.docTitle = new String[capacity];
+            index.docLength = new int[capacity];
+            for (int doc = 0; doc < docCount; doc++) {
+                Path file = filePaths[readVarInt(in)];
+                index.docFile[doc] = file;
+                index.docName[doc] = in.readUTF();
+                index.docTitle[doc] = in.readUTF();
+                index.docLength[doc] = readVarInt(in);
+                index.files.get(file).docs.add(doc);
+                index.liveLength += index.docLength[doc];
+            }
+            index.docCount = docCount;
+            index.liveDocs = docCount;
+
+            int termCount = in.readInt();
+            for (int t = 0; t < termCount; t++) {
+                String term = in.readUTF();
+                int size = readVarInt(in);
+                PostingList list = new PostingList();
+                list.docs = new int[Math.max(size, 1)];
+                list.frequencies = new int[Math.max(size, 1)];
+                int doc = 0;
+                for (int i = 0; i < size; i++) {
+                    doc += readVarInt(in);
+                    list.docs[i] = doc;
+                    list.frequencies[i] = readVarInt(in);
+                }
+                list.size = size;
+                index.postings.put(term, list);
+            }
+        }
+        return index;
+    }
+
+    private static Path normalize(Path file) {
+        return file.toAbsolutePath().normalize();
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
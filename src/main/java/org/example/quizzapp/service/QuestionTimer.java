@@ -0,0 +1,115 @@
+package org.example.quizzapp.service;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enforces the time limit of the current question of one game session.
+ * The deadline lives on the shared {@link DeadlineScheduler}; when it passes, the session
+ * records a null (incorrect) answer and moves on, exactly as if the player let the clock run out.
+ * Many sessions can run at once without a thread or a UI timer per session.
+ */
+public class QuestionTimer {
+
+    /**
+     * Notified after a question timed out and the session moved on.
+     */
+    public interface Listener {
+        /**
+         * Called on the timer's executor after the null answer was recorded.
+         *
+         * @param hasNext true if the session advanced to another question, false if the quiz is over
+         */
+        void questionTimedOut(boolean hasNext);
+    }
+
+    private final GameManager session;
+    private final DeadlineScheduler scheduler;
+    private final Executor executor;
+    private final Listener listener;
+    private DeadlineScheduler.Deadline deadline;
+    private int limitSeconds;
+    private long generation;
+
+    /**
+     * Creates a timer for a session.
+     *
+     * @param session The game session whose questions are timed
+     * @param scheduler The shared deadline scheduler
+     * @param executor Runs the time-up handling, e.g. {@code Platform::runLater} for the UI session
+     * @param listener Notified after a timeout, may be null
+     */
+    public QuestionTimer(GameManager session, DeadlineScheduler scheduler, Executor executor, Listener listener) {
+        this.session = session;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts the clock for the session's current question, replacing any running deadline.
+     * Questions without a time limit are not timed.
+     */
+    public synchronized void start() {
+        cancel();
+        limitSeconds = session.getCurrentTimeLimit();
+        if (limitSeconds <= 0 || session.getCurrentQuestion() == null) {
+            return;
+        }
+        long armed = generation;
+        deadline = scheduler.schedule(limitSeconds, TimeUnit.SECONDS,
+            () -> executor.execute(() -> timeUp(armed)));
+    }
+
+    /**
+     * Stops the clock, e.g. because the player answered.
+     */
+    public synchronized void cancel() {
+        generation++;
+        if (deadline != null) {
+            deadline.cancel();
+            deadline = null;
+        }
+    }
+
+    private void timeUp(long armed) {
+        boolean hasNext;
+        synchronized (this) {
+            // The player answered between the deadline firing and this running
+            if (armed != generation) {
+                return;
+            }
+            deadline = null;
+            session.timeOut();
+            hasNext = session.nextQuestion();
+            if (hasNext) {
+                start();
+            }
+        }
+        if (listener != null) {
+            listener.questionTimedOut(hasNext);
+        }
+    }
+
+    /**
+     * Gets the time left for the current question.
+     *
+     * @return Milliseconds left, 0 if the clock is not running
+     */
+    public synchronized long getRemainingMillis() {
+        return deadline != null ? deadline.getRemaining(TimeUnit.MILLISECONDS) : 0;
+    }
+
+    /**
+     * Gets the time limit of the question being timed.
+     *
+     * @return Time limit in seconds, 0 if the clock is not running
+     */
+    public synchronized int getLimitSeconds() {
+        return deadline != null ? limitSeconds : 0;
+    }
+
+    public synchronized boolean isRunning() {
+        return deadline != null;
+    }
+}
@@ -0,0 +1,269 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.BooleanQuestion;
+import org.example.quizzapp.model.CompletedHtmlCondition;
+import org.example.quizzapp.model.Page;
+import org.example.quizzapp.model.Question;
+import org.example.quizzapp.model.Quiz;
+import org.example.quizzapp.model.RadioGroupQuestion;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only view of a compiled quiz bundle written by {@link QuizBundleCompiler}.
+ * The file is memory-mapped; strings and pages are decoded lazily on first access
+ * and cached, so opening a bank of tens of thousands of questions costs almost nothing.
+ */
+public class QuizBundle {
+
+    static final int MAGIC = 0x515A4231; // "QZB1"
+    static final short VERSION = 3;
+    static final int HASH_LENGTH = 32;
+    static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + HASH_LENGTH + 4 * Integer.BYTES;
+
+    static final byte TAG_RADIOGROUP = 1;
+    static final byte TAG_BOOLEAN = 2;
+
+    private final Path bundleFile;
+    private final MappedByteBuffer buffer;
+    private final byte[] contentHash = new byte[HASH_LENGTH];
+    private final int quizOffset;
+    private final int stringsOffset;
+    private final int stringCount;
+    private final int indexOffset;
+    private final int pageCount;
+    private final String[] strings;
+    private final Page[] pages;
+
+    private QuizBundle(Path bundleFile, MappedByteBuffer buffer) throws IOException {
+        this.bundleFile = bundleFile;
+        this.buffer = buffer;
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a quiz bundle: " + bundleFile);
+        }
+        if (buffer.getShort(Integer.BYTES) != VERSION) {
+            throw new IOException("Unsupported quiz bundle version in " + bundleFile);
+        }
+
+        int position = Integer.BYTES + Short.BYTES;
+        buffer.get(position, contentHash);
+        position += HASH_LENGTH;
+        quizOffset = buffer.getInt(position);
+        stringsOffset = buffer.getInt(position + 4);
+        indexOffset = buffer.getInt(position + 8);
+        pageCount = buffer.getInt(position + 12);
+        stringCount = buffer.getInt(stringsOffset);
+
+        strings = new String[stringCount];
+        pages = new Page[pageCount];
+    }
+
+    /**
+     * Opens a bundle by memory-mapping it.
+     *
+     * @param bundleFile The bundle file
+     * @return The opened bundle
+     * @throws IOException If the file cannot be mapped or is not a bundle
+     */
+    public static QuizBundle open(Path bundleFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(bundleFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new QuizBundle(bundleFile, buffer);
+        }
+    }
+
+    /**
+     * Computes the SHA-256 content hash used to tie a bundle to its JSON source.
+     *
+     * @param file The file to hash
+     * @return The 32-byte hash
+     * @throws IOException If the file cannot be read
+     */
+    public static byte[] contentHash(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] chunk = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                digest.update(chunk, 0, read);
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Checks whether this bundle was compiled from the current content of a JSON file.
+     *
+     * @param jsonFile The quiz JSON source
+     * @return true if the bundle is up to date
+     * @throws IOException If the JSON file cannot be read
+     */
+    public boolean isCompiledFrom(Path jsonFile) throws IOException {
+        return Arrays.equals(contentHash, contentHash(jsonFile));
+    }
+
+    /**
+     * Creates a Quiz whose pages are decoded from the bundle on access.
+     *
+     * @return The lazily backed quiz
+     */
+    public Quiz toQuiz() {
+        Quiz quiz = new Quiz(string(buffer.getInt(quizOffset)), string(buffer.getInt(quizOffset + 4)));
+        quiz.setCompletedHtml(string(buffer.getInt(quizOffset + 8)));
+
+        int conditionCount = buffer.getInt(quizOffset + 12);
+        List<CompletedHtmlCondition> conditions = new ArrayList<>(conditionCount);
+        int position = quizOffset + 16;
+        for (int i = 0; i < conditionCount; i++) {
+            conditions.add(new CompletedHtmlCondition(string(buffer.getInt(position)), string(buffer.getInt(position + 4))));
+            position += 8;
+        }
+        quiz.setCompletedHtmlOnCondition(conditions);
+        quiz.setLazyPages(new LazyPageList());
+        return quiz;
+    }
+
+    /**
+     * Gets the number of pages without decoding any of them.
+     *
+     * @return Page count
+     */
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    public Path getBundleFile() {
+        return bundleFile;
+    }
+
+    /**
+     * Decodes a page, caching the result.
+     *
+     * @param index Page index (0-based)
+     * @return The decoded page
+     */
+    public Page getPage(int index) {
+        Page page = pages[index];
+        if (page == null) {
+            page = decodePage(buffer.getInt(indexOffset + index * Integer.BYTES));
+            pages[index] = page;
+        }
+        return page;
+    }
+
+    private Page decodePage(int position) {
+        int timeLimit = buffer.getInt(position);
+        int elementCount = buffer.getShort(position + 4);
+        position += 6;
+
+        List<Question> elements = new ArrayList<>(elementCount);
+        for (int e = 0; e < elementCount; e++) {
+            byte tag = buffer.get(position);
+            String name = string(buffer.getInt(position + 1));
+            String title = string(buffer.getInt(position + 5));
+            boolean required = buffer.get(position + 9) != 0;
+            double difficulty = buffer.getDouble(position + 10);
+            double discrimination = buffer.getDouble(position + 18);
+            int tagCount = buffer.getShort(position + 26);
+            position += 28;
+            List<String> tags = new ArrayList<>(tagCount);
+            for (int t = 0; t < tagCount; t++) {
+                tags.add(string(buffer.getInt(position)));
+                position += 4;
+            }
+            
+            Question question;
+            if (tag == TAG_RADIOGROUP) {
+                String choicesOrder = string(buffer.getInt(position));
+                int choiceCount = buffer.getShort(position + 4);
+                position += 6;
+                List<String> choices = new ArrayList<>(choiceCount);
+                for (int c = 0; c < choiceCount; c++) {
+                    choices.add(string(buffer.getInt(position)));
+                    position += 4;
+                }
+                int answerKey = buffer.getShort(position);
+                position += 2;
+                String correctAnswer;
+                if (answerKey >= 0) {
+                    correctAnswer = choices.get(answerKey);
+                } else {
+                    correctAnswer = string(buffer.getInt(position));
+                    position += 4;
+                }
+                question = new RadioGroupQuestion(name, title, choicesOrder, choices, correctAnswer, required);
+            } else if (tag == TAG_BOOLEAN) {
+                String labelTrue = string(buffer.getInt(position));
+                String labelFalse = string(buffer.getInt(position + 4));
+                boolean correctAnswer = buffer.get(position + 8) != 0;
+                position += 9;
+                question = new BooleanQuestion(name, title, labelTrue, labelFalse, correctAnswer, required);
+            } else {
+                throw new IllegalStateException("Unknown question tag " + tag + " in " + bundleFile);
+            }
+            
+            question.setDifficulty(Double.isNaN(difficulty) ? null : difficulty);
+            question.setDiscrimination(Double.isNaN(discrimination) ? null : discrimination);
+            question.setTags(tagCount > 0 ? tags : null);
+            elements.add(question);
+        }
+
+        return new Page(timeLimit, elements);
+    }
+
+    /**
+     * Decodes a string from the string table, caching the result.
+     */
+    private String string(int index) {
+        if (index < 0) {
+            return null;
+        }
+        String value = strings[index];
+        if (value == null) {
+            int endsOffset = stringsOffset + Integer.BYTES;
+            int blobOffset = endsOffset + stringCount * Integer.BYTES;
+            int start = index == 0 ? 0 : buffer.getInt(endsOffset + (index - 1) * Integer.BYTES);
+            int end = buffer.getInt(endsOffset + index * Integer.BYTES);
+            byte[] bytes = new byte[end - start];
+            buffer.get(blobOffset + start, bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            strings[index] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Read-only page list backed by the bundle.
+     */
+    private class LazyPageList extends AbstractList<Page> implements RandomAccess {
+        @Override
+        public Page get(int index) {
+            if (index < 0 || index >= pageCount) {
+                throw new IndexOutOfBoundsException("Page " + index + " of " + pageCount);
+            }
+            return getPage(index);
+        }
+
+        @Override
+        public int size() {
+            return pageCount;
+        }
+    }
+}
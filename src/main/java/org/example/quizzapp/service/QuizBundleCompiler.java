@@ -0,0 +1,243 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.BooleanQuestion;
+import org.example.quizzapp.model.CompletedHtmlCondition;
+import org.example.quizzapp.model.Page;
+import org.example.quizzapp.model.Question;
+import org.example.quizzapp.model.Quiz;
+import org.example.quizzapp.model.RadioGroupQuestion;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles a quiz JSON file into a compact binary bundle.
+ * The JSON file stays the source of truth: the bundle stores the SHA-256 of the JSON
+ * it was built from and is ignored by {@link QuizService#loadQuiz(File)} once they differ.
+ *
+ * <p>Layout (big-endian), see {@link QuizBundle} for the reader:
+ * <pre>
+ * header   magic, version, json hash, section offsets, page count
+ * quiz     title, description, completedHtml, conditions (string table indexes)
+ * strings  count, end offsets, UTF-8 blob (every distinct string stored once)
+ * index    absolute offset of each page record
+ * records  timeLimit, element count, per element: type tag, name, title, required,
+ *          difficulty and discrimination (NaN if unrated), tags, then choices and answer key index
+ *          (radiogroup) or labels and answer (boolean)
+ * </pre>
+ */
+public class QuizBundleCompiler {
+
+    public static final String BUNDLE_EXTENSION = ".qzb";
+
+    private final QuizService quizService;
+
+    public QuizBundleCompiler() {
+        this(new QuizService());
+    }
+
+    public QuizBundleCompiler(QuizService quizService) {
+        this.quizService = quizService;
+    }
+
+    /**
+     * Gets the bundle path that belongs to a quiz JSON file.
+     *
+     * @param jsonFile The quiz JSON file
+     * @return Path of the bundle next to the JSON file
+     */
+    public static Path bundlePathFor(Path jsonFile) {
+        String name = jsonFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String baseName = dot > 0 ? name.substring(0, dot) : name;
+        return jsonFile.resolveSibling(baseName + BUNDLE_EXTENSION);
+    }
+
+    /**
+     * Compiles a quiz JSON file into a bundle next to it.
+     *
+     * @param jsonFile The quiz JSON file
+     * @return Path of the written bundle
+     * @throws IOException If the quiz cannot be read or the bundle cannot be written
+     * @throws IllegalArgumentException If a page, question or tag list is too long for the bundle format
+     */
+    public Path compile(Path jsonFile) throws IOException {
+        return compile(jsonFile, bundlePathFor(jsonFile));
+    }
+
+    /**
+     * Compiles a quiz JSON file into a bundle at the given path.
+     *
+     * @param jsonFile The quiz JSON file
+     * @param bundleFile Where to write the bundle
+     * @return Path of the written bundle
+     * @throws IOException If the quiz cannot be read or the bundle cannot be written
+     * @throws IllegalArgumentException If a page, question or tag list is too long for the bundle format
+     */
+    public Path compile(Path jsonFile, Path bundleFile) throws IOException {
+        byte[] contentHash = QuizBundle.contentHash(jsonFile);
+        Quiz quiz = quizService.parseQuizJson(jsonFile.toFile());
+
+        Path tempFile = bundleFile.resolveSibling(bundleFile.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tempFile)) {
+            out.write(encode(quiz, contentHash));
+        }
+        Files.move(tempFile, bundleFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return bundleFile;
+    }
+
+    /**
+     * Encodes a quiz into the bundle format.
+     */
+    byte[] encode(Quiz quiz, byte[] contentHash) throws IOException {
+        StringTable strings = new StringTable();
+
+        // Records first, so the string table is complete before it is written
+        List<Page> pages = quiz.getPages();
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        DataOutputStream records = new DataOutputStream(recordBytes);
+        int[] pageOffsets = new int[pages.size()];
+        for (int i = 0; i < pages.size(); i++) {
+            pageOffsets[i] = records.size();
+            writePage(records, pages.get(i), strings);
+        }
+
+        ByteArrayOutputStream quizBytes = new ByteArrayOutputStream();
+        DataOutputStream quizSection = new DataOutputStream(quizBytes);
+        quizSection.writeInt(strings.indexOf(quiz.getTitle()));
+        quizSection.writeInt(strings.indexOf(quiz.getDescription()));
+        quizSection.writeInt(strings.indexOf(quiz.getCompletedHtml()));
+        List<CompletedHtmlCondition> conditions = quiz.getCompletedHtmlOnCondition();
+        quizSection.writeInt(conditions.size());
+        for (CompletedHtmlCondition condition : conditions) {
+            quizSection.writeInt(strings.indexOf(condition.getExpression()));
+            quizSection.writeInt(strings.indexOf(condition.getHtml()));
+        }
+
+        byte[] stringSection = strings.encode();
+
+        int quizOffset = QuizBundle.HEADER_SIZE;
+        int stringsOffset = quizOffset + quizBytes.size();
+        int indexOffset = stringsOffset + stringSection.length;
+        int recordsOffset = indexOffset + pageOffsets.length * Integer.BYTES;
+
+        ByteArrayOutputStream bundleBytes = new ByteArrayOutputStream(recordsOffset + recordBytes.size());
+        DataOutputStream bundle = new DataOutputStream(bundleBytes);
+        bundle.writeInt(QuizBundle.MAGIC);
+        bundle.writeShort(QuizBundle.VERSION);
+        bundle.write(contentHash);
+        bundle.writeInt(quizOffset);
+        bundle.writeInt(stringsOffset);
+        bundle.writeInt(indexOffset);
+        bundle.writeInt(pageOffsets.length);
+        quizBytes.writeTo(bundle);
+        bundle.write(stringSection);
+        for (int offset : pageOffsets) {
+            bundle.writeInt(recordsOffset + offset);
+        }
+        recordBytes.writeTo(bundle);
+        bundle.flush();
+        return bundleBytes.toByteArray();
+    }
+
+    private void writePage(DataOutputStream out, Page page, StringTable strings) throws IOException {
+        List<Question> elements = page.getElements();
+        out.writeInt(page.getTimeLimit());
+        writeCount(out, elements.size(), "questions on a page");
+
+        for (Question question : elements) {
+            if (question instanceof RadioGroupQuestion radio) {
+                out.writeByte(QuizBundle.TAG_RADIOGROUP);
+                writeCommon(out, question, strings);
+                List<String> choices = radio.getChoices();
+                out.writeInt(strings.indexOf(radio.getChoicesOrder()));
+                writeCount(out, choices.size(), "choices in question " + question.getName());
+                for (String choice : choices) {
+                    out.writeInt(strings.indexOf(choice));
+                }
+                // Pre-built answer key: position of the correct choice, or its own string
+                int answerKey = choices.indexOf(radio.getCorrectAnswerString());
+                out.writeShort(answerKey);
+                if (answerKey < 0) {
+                    out.writeInt(strings.indexOf(radio.getCorrectAnswerString()));
+                }
+            } else if (question instanceof BooleanQuestion bool) {
+                out.writeByte(QuizBundle.TAG_BOOLEAN);
+                writeCommon(out, question, strings);
+                out.writeInt(strings.indexOf(bool.getLabelTrue()));
+                out.writeInt(strings.indexOf(bool.getLabelFalse()));
+                out.writeBoolean(bool.getCorrectAnswerBoolean());
+            } else {
+                throw new IllegalArgumentException("Unsupported question type: " + question.getType());
+            }
+        }
+    }
+
+    private void writeCommon(DataOutputStream out, Question question, StringTable strings) throws IOException {
+        out.writeInt(strings.indexOf(question.getName()));
+        out.writeInt(strings.indexOf(question.getTitle()));
+        out.writeBoolean(question.isRequired());
+        out.writeDouble(question.getDifficulty() != null ? question.getDifficulty() : Double.NaN);
+        out.writeDouble(question.getDiscrimination() != null ? question.getDiscrimination() : Double.NaN);
+        List<String> tags = question.getTags();
+        writeCount(out, tags.size(), "tags in question " + question.getName());
+        for (String tag : tags) {
+            out.writeInt(strings.indexOf(tag));
+        }
+    }
+
+    /**
+     * Writes a list length as a signed short, which is how {@link QuizBundle} reads it back.
+     */
+    private static void writeCount(DataOutputStream out, int count, String what) throws IOException {
+        if (count > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many " + what + " for a bundle: " + count
+                + " (at most " + Short.MAX_VALUE + ")");
+        }
+        out.writeShort(count);
+    }
+
+    /**
+     * Deduplicating string table. Index -1 encodes null.
+     */
+    private static class StringTable {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<byte[]> values = new ArrayList<>();
+
+        int indexOf(String value) {
+            if (value == null) {
+                return -1;
+            }
+            return indexes.computeIfAbsent(value, v -> {
+                values.add(v.getBytes(StandardCharsets.UTF_8));
+                return values.size() - 1;
+            });
+        }
+
+        byte[] encode() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(values.size());
+            int end = 0;
+            for (byte[] value : values) {
+                end += value.length;
+                out.writeInt(end);
+            }
+            for (byte[] value : values) {
+                out.write(value);
+            }
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.Quiz;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Watches quiz and results files for external changes.
+ * Editors usually produce a burst of events per save, so events are debounced per file
+ * and each changed file is re-parsed once on a background thread.
+ * Listeners are called on that background thread, not on the JavaFX thread.
+ */
+public class QuizFileWatcher implements AutoCloseable {
+
+    private static final long DEFAULT_DEBOUNCE_MILLIS = 300;
+
+    private static QuizFileWatcher instance;
+
+    private enum DirectoryKind { QUIZ_LIBRARY, RESULTS }
+
+    /**
+     * Receives every change to a quiz file in a watched directory.
+     */
+    public interface LibraryListener {
+
+        /**
+         * Called after a quiz file was created or modified and parsed successfully.
+         *
+         * @param file The quiz file
+         * @param quiz The parsed quiz
+         */
+        void quizChanged(Path file, Quiz quiz);
+
+        /**
+         * Called after a quiz file was deleted.
+         *
+         * @param file The deleted quiz file
+         */
+        void quizRemoved(Path file);
+    }
+
+    private final QuizService quizService;
+    private final long debounceMillis;
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+    private final Map<Path, DirectoryKind> directoryKinds = new ConcurrentHashMap<>();
+    private final Set<Path> watchedQuizFiles = ConcurrentHashMap.newKeySet();
+    private final Map<Path, ScheduledFuture<?>> pendingReloads = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService reloadExecutor;
+    private final List<LibraryListener> libraryListeners = new CopyOnWriteArrayList<>();
+
+    private WatchService watchService;
+    private Thread pollThread;
+    private volatile boolean libraryMode = false;
+    private volatile BiConsumer<Path, Quiz> onQuizReloaded = (path, quiz) -> { };
+    private volatile BiConsumer<Path, Exception> onQuizReloadFailed =
+        (path, e) -> System.err.println("Could not reload quiz " + path + ": " + e.getMessage());
+    private volatile BiConsumer<Path, Exception> onResultsInvalid =
+        (path, e) -> System.err.println("Results file " + path + " is invalid: " + e.getMessage());
+
+    /**
+     * Creates a watcher with the default debounce delay.
+     *
+     * @param quizService The service used to parse changed files
+     */
+    public QuizFileWatcher(QuizService quizService) {
+        this(quizService, DEFAULT_DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * Creates a watcher.
+     *
+     * @param quizService The service used to parse changed files
+     * @param debounceMillis Quiet period after the last event before a file is re-parsed
+     */
+    public QuizFileWatcher(QuizService quizService, long debounceMillis) {
+        this.quizService = quizService;
+        this.debounceMillis = debounceMillis;
+        this.reloadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quiz-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the shared watcher used by the application.
+     *
+     * @return The QuizFileWatcher instance
+     */
+    public static synchronized QuizFileWatcher getInstance() {
+        if (instance == null) {
+            instance = new QuizFileWatcher(new QuizService());
+        }
+        return instance;
+    }
+
+    /**
+     * Watches a single quiz file. Other files in the same directory are ignored
+     * unless the directory is also watched as a library.
+     *
+     * @param quizFile The quiz JSON file
+     * @throws IOException If the directory cannot be registered
+     */
+    public void watchQuiz(Path quizFile) throws IOException {
+        Path file = quizFile.toAbsolutePath().normalize();
+        watchedQuizFiles.add(file);
+        register(file.getParent(), DirectoryKind.QUIZ_LIBRARY);
+    }
+
+    /**
+     * Watches every JSON file in a quiz library directory.
+     *
+     * @param directory The library directory
+     * @throws IOException If the directory cannot be registered
+     */
+    public void watchLibrary(Path directory) throws IOException {
+        libraryMode = true;
+        register(directory.toAbsolutePath().normalize(), DirectoryKind.QUIZ_LIBRARY);
+    }
+
+    /**
+     * Watches the results directory so externally edited results are re-validated.
+     * Results files live in shard directories below it (see {@link QuizIdentity}), which are
+     * watched as well, including ones created later.
+     *
+     * @param directory The results directory
+     * @throws IOException If the directory cannot be registered
+     */
+    public void watchResults(Path directory) throws IOException {
+        registerResultsTree(directory.toAbsolutePath().normalize());
+    }
+
+    private void registerResultsTree(Path root) throws IOException {
+        try (Stream<Path> entries = Files.walk(root)) {
+            for (Path directory : entries.filter(Files::isDirectory).toList()) {
+                register(directory, DirectoryKind.RESULTS);
+            }
+        }
+    }
+
+    /**
+     * Watches a shard directory that appeared in the results directory. Its subdirectories and
+     * files may have been created before it was registered, so they are picked up here.
+     */
+    private void watchNewShard(Path directory) {
+        try {
+            registerResultsTree(directory);
+            try (Stream<Path> entries = Files.walk(directory)) {
+                entries.filter(file -> Files.isRegularFile(file) && isWatchedFile(file, DirectoryKind.RESULTS))
+                    .forEach(file -> scheduleReload(file, DirectoryKind.RESULTS));
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Could not watch results directory " + directory + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean isWatchedFile(Path file, DirectoryKind kind) {
+        String fileName = file.getFileName().toString();
+        if (kind == DirectoryKind.RESULTS) {
+            // Archive manifests and segments sit next to the results files
+            return fileName.endsWith(QuizIdentity.RESULTS_SUFFIX);
+        }
+        return fileName.toLowerCase().endsWith(".json");
+    }
+
+    private synchronized void register(Path directory, DirectoryKind kind) throws IOException {
+        if (directory == null || directoryKinds.containsKey(directory)) {
+            return;
+        }
+        if (watchService == null) {
+            watchService = FileSystems.getDefault().newWatchService();
+        }
+        WatchKey key = directory.register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+            StandardWatchEventKinds.ENTRY_DELETE);
+        watchedDirectories.put(key, directory);
+        directoryKinds.put(directory, kind);
+        start();
+    }
+
+    private void start() {
+        if (pollThread != null) {
+            return;
+        }
+        pollThread = new Thread(this::pollEvents, "quiz-file-watcher");
+        pollThread.setDaemon(true);
+        pollThread.start();
+    }
+
+    /**
+     * Polls the watch service and schedules a debounced reload per changed file.
+     */
+    private void pollEvents() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path directory = watchedDirectories.get(key);
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                        continue;
+                    }
+                    Path changed = directory.resolve((Path) event.context());
+                    DirectoryKind kind = directoryKinds.get(directory);
+                    if (kind == DirectoryKind.RESULTS && event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                            && Files.isDirectory(changed)) {
+                        watchNewShard(changed);
+                    } else if (kind != null && isWatchedFile(changed, kind)) {
+                        scheduleReload(changed, kind);
+                    }
+                }
+
+                if (!key.reset()) {
+                    watchedDirectories.remove(key);
+                    directoryKinds.remove(directory);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Watcher was closed
+        }
+    }
+
+    private void scheduleReload(Path file, DirectoryKind kind) {
+        if (kind == DirectoryKind.QUIZ_LIBRARY && !libraryMode && !watchedQuizFiles.contains(file)) {
+            return;
+        }
+
+        ScheduledFuture<?> reload = reloadExecutor.schedule(() -> {
+            pendingReloads.remove(file);
+            // A delete followed by a create within the debounce period is a save, not a removal
+            if (!Files.exists(file)) {
+                if (kind == DirectoryKind.QUIZ_LIBRARY) {
+                    libraryListeners.forEach(listener -> listener.quizRemoved(file));
+                }
+            } else if (kind == DirectoryKind.RESULTS) {
+                revalidateResults(file);
+            } else {
+                reloadQuiz(file);
+            }
+        }, debounceMillis, TimeUnit.MILLISECONDS);
+
+        ScheduledFuture<?> previous = pendingReloads.put(file, reload);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    private void reloadQuiz(Path file) {
+        try {
+            Quiz quiz = quizService.loadQuiz(file.toFile());
+            onQuizReloaded.accept(file, quiz);
+            libraryListeners.forEach(listener -> listener.quizChanged(file, quiz));
+        } catch (Exception e) {
+            // Keep playing the previous version until the file is fixed
+            onQuizReloadFailed.accept(file, e);
+        }
+    }
+
+    private void revalidateResults(Path file) {
+        try {
+            quizService.validateResultsFile(file);
+        } catch (Exception e) {
+            onResultsInvalid.accept(file, e);
+        }
+    }
+
+    public void setOnQuizReloaded(BiConsumer<Path, Quiz> listener) {
+        this.onQuizReloaded = listener;
+    }
+
+    /**
+     * Adds a listener for quiz files that change or disappear, in addition to the reload listener.
+     *
+     * @param listener The listener
+     */
+    public void addLibraryListener(LibraryListener listener) {
+        libraryListeners.add(listener);
+    }
+
+    public void removeLibraryListener(LibraryListener listener) {
+        libraryListeners.remove(listener);
+    }
+
+    public void setOnQuizReloadFailed(BiConsumer<Path, Exception> listener) {
+        this.onQuizReloadFailed = listener;
+    }
+
+    public void setOnResultsInvalid(BiConsumer<Path, Exception> listener) {
+        this.onResultsInvalid = listener;
+    }
+
+    /**
+     * Stops watching and releases the underlying watch service.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        reloadExecutor.shutdownNow();
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (pollThread != null) {
+            pollThread.interrupt();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.example.quizzapp.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDK Flight Recorder events for quiz operations, so a recording shows them next to GC,
+ * file I/O and thread activity. While no recording has them enabled, {@code begin()} and
+ * {@code shouldCommit()} are cheap checks and the event objects are optimized away.
+ *
+ * <p>Usage in an instrumented method:
+ * <pre>{@code
+ * QuizFlightEvents.QuizLoad event = new QuizFlightEvents.QuizLoad();
+ * event.begin();
+ * ... do the work ...
+ * if (event.shouldCommit()) {
+ *     event.file = ...;
+ *     event.commit();
+ * }
+ * }</pre>
+ */
+public final class QuizFlightEvents {
+
+    /**
+     * Settings profile bundled with the application, enabling these events.
+     */
+    public static final String SETTINGS_RESOURCE = "/org/example/quizzapp/jfr/quizapp.jfc";
+
+    private QuizFlightEvents() {
+    }
+
+    @Name("org.example.quizzapp.QuizLoad")
+    @Label("Quiz Load")
+    @Category({"Quiz App", "Files"})
+    @Description("A quiz file was loaded")
+    @StackTrace(false)
+    public static class QuizLoad extends Event {
+        @Label("File")
+        public String file;
+
+        @Label("Pages")
+        public int pages;
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+
+        @Label("Source")
+        @Description("json, bundle or paged")
+        public String source;
+    }
+
+    @Name("org.example.quizzapp.ResultSave")
+    @Label("Result Save")
+    @Category({"Quiz App", "Files"})
+    @Description("A player result was added to a results file")
+    @StackTrace(false)
+    public static class ResultSave extends Event {
+        @Label("Quiz Id")
+        public String quizId;
+
+        @Label("Result Count")
+        public int resultCount;
+
+        @Label("Bytes Written")
+        @DataAmount
+        public long bytesWritten;
+    }
+
+    @Name("org.example.quizzapp.CsvExport")
+    @Label("CSV Export")
+    @Category({"Quiz App", "Files"})
+    @Description("A leaderboard was exported to CSV")
+    @StackTrace(false)
+    public static class CsvExport extends Event {
+        @Label("File")
+        public String file;
+
+        @Label("Rows")
+        public int rows;
+
+        @Label("Bytes Written")
+        @DataAmount
+        public long bytesWritten;
+    }
+
+    @Name("org.example.quizzapp.SceneSwitch")
+    @Label("Scene Switch")
+    @Category({"Quiz App", "UI"})
+    @Description("A screen was loaded from FXML and shown")
+    @StackTrace(false)
+    public static class SceneSwitch extends Event {
+        @Label("FXML")
+        public String fxml;
+
+        @Label("Title")
+        public String title;
+    }
+
+    @Name("org.example.quizzapp.AnswerSubmit")
+    @Label("Answer Submit")
+    @Category({"Quiz App", "Game"})
+    @Description("A player's answer was checked and recorded")
+    @StackTrace(false)
+    public static class AnswerSubmit extends Event {
+        @Label("Question")
+        public String question;
+
+        @Label("Position")
+        public int position;
+
+        @Label("Correct")
+        public boolean correct;
+
+        @Label("Timed Out")
+        public boolean timedOut;
+    }
+
+    /**
+     * Reads the bundled settings profile.
+     *
+     * @return The settings of the quiz events
+     * @throws IOException If the profile cannot be read
+     */
+    public static Map<String, String> bundledSettings() throws IOException {
+        InputStream in = QuizFlightEvents.class.getResourceAsStream(SETTINGS_RESOURCE);
+        if (in == null) {
+            throw new IOException("Missing JFR settings " + SETTINGS_RESOURCE);
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return Configuration.create(reader).getSettings();
+        } catch (ParseException e) {
+            throw new IOException("Invalid JFR settings " + SETTINGS_RESOURCE + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Starts a recording with the JDK's default settings plus the bundled quiz profile.
+     * The recording is written to a file when the JVM exits.
+     *
+     * @param destination The .jfr file to write
+     * @return The running recording
+     * @throws IOException If the settings cannot be read or the file cannot be created
+     */
+    public static Recording startRecording(Path destination) throws IOException {
+        Map<String, String> settings = new HashMap<>();
+        try {
+            settings.putAll(Configuration.getConfiguration("default").getSettings());
+        } catch (ParseException e) {
+            throw new IOException("Invalid default JFR settings: " + e.getMessage(), e);
+        }
+        settings.putAll(bundledSettings());
+
+        Recording recording = new Recording(settings);
+        recording.setName("Quiz App");
+        recording.setDestination(destination);
+        recording.setDumpOnExit(true);
+        recording.start();
+        return recording;
+    }
+}
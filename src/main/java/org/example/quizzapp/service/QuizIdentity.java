@@ -0,0 +1,146 @@
+package org.example.quizzapp.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Names and places results files.
+ * A quiz is identified by the first 128 bits of the SHA-256 of its title, compared without
+ * case or extra spacing, written as 32 hex digits, so different titles never share a file.
+ * Results files are spread over two levels of directories named after the first four digits,
+ * e.g. {@code quiz-results/3f/a2/3fa2...-results.json}, so no directory grows large enough
+ * to be slow to list.
+ */
+public final class QuizIdentity {
+
+    public static final String RESULTS_SUFFIX = "-results.json";
+    private static final int ID_LENGTH = 32;
+    private static final int SHARD_DEPTH = 2;
+
+    private QuizIdentity() {
+    }
+
+    /**
+     * Gets the id of a quiz.
+     *
+     * @param title The quiz title
+     * @return 32 lower case hex digits
+     */
+    public static String of(String title) {
+        String key = normalizeTitle(title);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, ID_LENGTH / 2);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Normalizes a title for hashing: NFKC, trimmed, runs of whitespace collapsed to one space
+     * and lower case. Every results file name depends on this, so it must never change.
+     */
+    private static String normalizeTitle(String title) {
+        if (title == null) {
+            return "";
+        }
+        return Normalizer.normalize(title, Normalizer.Form.NFKC)
+            .trim()
+            .replaceAll("\\s+", " ")
+            .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets the id older versions used: the title's letters and digits, cut to 20 characters.
+     * Only used to find results files written by those versions.
+     *
+     * @param title The quiz title
+     * @return The old id
+     */
+    public static String legacyId(String title) {
+        if (title == null || title.trim().isEmpty()) {
+            return "quiz001";
+        }
+        String processedTitle = title.toLowerCase().replaceAll("[^a-z0-9]", "");
+        return processedTitle.substring(0, Math.min(processedTitle.length(), 20));
+    }
+
+    /**
+     * Gets the results file of a quiz.
+     *
+     * @param resultsDirectory The results directory
+     * @param quizId The quiz id
+     * @return The file, which may not exist yet
+     */
+    public static Path resultsFile(Path resultsDirectory, String quizId) {
+        Path shard = resultsDirectory;
+        for (int level = 0; level < SHARD_DEPTH; level++) {
+            shard = shard.resolve(quizId.substring(level * 2, level * 2 + 2));
+        }
+        return shard.resolve(quizId + RESULTS_SUFFIX);
+    }
+
+    /**
+     * Gets the quiz id from the name of a results file.
+     *
+     * @param resultsFile The results file
+     * @return The quiz id
+     */
+    public static String quizIdOf(Path resultsFile) {
+        String fileName = resultsFile.getFileName().toString();
+        return fileName.substring(0, fileName.length() - RESULTS_SUFFIX.length());
+    }
+
+    /**
+     * Lists the results files in the sharded layout.
+     *
+     * @param resultsDirectory The results directory
+     * @return The files, sorted
+     * @throws IOException If the directory cannot be read
+     */
+    public static List<Path> listResultsFiles(Path resultsDirectory) throws IOException {
+        if (!Files.isDirectory(resultsDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> entries = Files.find(resultsDirectory, SHARD_DEPTH + 1,
+                (file, attributes) -> attributes.isRegularFile()
+                    && resultsDirectory.relativize(file).getNameCount() == SHARD_DEPTH + 1
+                    && isResultsFileName(file.getFileName().toString()))) {
+            return entries.sorted().toList();
+        }
+    }
+
+    /**
+     * Lists results files left directly in the results directory by older versions.
+     *
+     * @param resultsDirectory The results directory
+     * @return The files, sorted
+     * @throws IOException If the directory cannot be read
+     */
+    public static List<Path> listLegacyResultsFiles(Path resultsDirectory) throws IOException {
+        if (!Files.isDirectory(resultsDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> entries = Files.list(resultsDirectory)) {
+            return entries.filter(file -> Files.isRegularFile(file)
+                    && file.getFileName().toString().endsWith(RESULTS_SUFFIX))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private static boolean isResultsFileName(String fileName) {
+        return fileName.length() == ID_LENGTH + RESULTS_SUFFIX.length()
+            && fileName.endsWith(RESULTS_SUFFIX)
+            && fileName.chars().limit(ID_LENGTH).allMatch(c -> Character.digit(c, 16) >= 0);
+    }
+}
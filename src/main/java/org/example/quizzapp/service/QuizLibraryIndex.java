@@ -0,0 +1,157 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.Quiz;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a {@link QuestionSearchIndex} in sync with a directory of quiz files.
+ * The index is persisted next to the quizzes, so on start only files that were
+ * added, changed or deleted since the last run are re-parsed.
+ */
+public class QuizLibraryIndex implements QuizFileWatcher.LibraryListener {
+
+    public static final String INDEX_FILE_NAME = ".question-index.qsi";
+
+    private final Path libraryDirectory;
+    private final Path indexFile;
+    private final QuizService quizService;
+    private QuestionSearchIndex index;
+
+    /**
+     * Creates an index for a library directory.
+     *
+     * @param libraryDirectory Directory containing quiz JSON files
+     * @param quizService The service used to parse quiz files
+     */
+    public QuizLibraryIndex(Path libraryDirectory, QuizService quizService) {
+        this.libraryDirectory = libraryDirectory.toAbsolutePath().normalize();
+        this.indexFile = this.libraryDirectory.resolve(INDEX_FILE_NAME);
+        this.quizService = quizService;
+    }
+
+    /**
+     * Brings the index up to date with the directory and saves it if anything changed.
+     * A stored index that cannot be read is rebuilt from scratch.
+     *
+     * @return Number of files that were (re-)indexed or removed
+     * @throws IOException If the directory cannot be listed or the index cannot be saved
+     */
+    public synchronized int refresh() throws IOException {
+        if (index == null) {
+            index = loadStoredIndex();
+        }
+
+        Set<Path> present = new HashSet<>();
+        int changed = 0;
+        try (Stream<Path> entries = Files.list(libraryDirectory)) {
+            for (Path file : (Iterable<Path>) entries::iterator) {
+                if (!Files.isRegularFile(file) || !file.getFileName().toString().toLowerCase().endsWith(".json")) {
+                    continue;
+                }
+                Path normalized = file.toAbsolutePath().normalize();
+                present.add(normalized);
+                if (index.isCurrent(normalized)) {
+                    continue;
+                }
+                try {
+                    index.indexFile(normalized, quizService.loadQuiz(normalized.toFile()));
+                } catch (Exception e) {
+                    // Remember files that are not quizzes so they are not re-parsed on every start
+                    index.indexFile(normalized, new Quiz());
+                    System.err.println("Skipping " + file.getFileName() + " in search index: " + e.getMessage());
+                }
+                changed++;
+            }
+        }
+
+        for (Path indexed : index.getIndexedFiles()) {
+            if (!present.contains(indexed)) {
+                index.removeFile(indexed);
+                changed++;
+            }
+        }
+
+        if (changed > 0 || !Files.exists(indexFile)) {
+            index.save(indexFile);
+        }
+        return changed;
+    }
+
+    private QuestionSearchIndex loadStoredIndex() {
+        if (Files.exists(indexFile)) {
+            try {
+                return QuestionSearchIndex.load(indexFile);
+            } catch (IOException e) {
+                System.err.println("Rebuilding question index: " + e.getMessage());
+            }
+        }
+        return new QuestionSearchIndex();
+    }
+
+    /**
+     * Keeps the index updated from file system events.
+     *
+     * @param watcher The watcher to register with
+     * @throws IOException If the library directory cannot be watched
+     */
+    public void attach(QuizFileWatcher watcher) throws IOException {
+        watcher.addLibraryListener(this);
+        watcher.watchLibrary(libraryDirectory);
+    }
+
+    @Override
+    public synchronized void quizChanged(Path file, Quiz quiz) {
+        if (index == null || !libraryDirectory.equals(file.toAbsolutePath().normalize().getParent())) {
+            return;
+        }
+        index.indexFile(file, quiz);
+        saveQuietly();
+    }
+
+    @Override
+    public synchronized void quizRemoved(Path file) {
+        if (index == null || !libraryDirectory.equals(file.toAbsolutePath().normalize().getParent())) {
+            return;
+        }
+        index.removeFile(file);
+        saveQuietly();
+    }
+
+    private void saveQuietly() {
+        try {
+            index.save(indexFile);
+        } catch (IOException e) {
+            System.err.println("Could not save question index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Searches the library.
+     *
+     * @param query Query terms, a trailing {@code *} makes a term a prefix
+     * @param limit Maximum number of hits
+     * @return Hits, best first
+     * @throws IOException If the index has to be built and that fails
+     */
+    public List<QuestionSearchIndex.SearchHit> search(String query, int limit) throws IOException {
+        QuestionSearchIndex current;
+        synchronized (this) {
+            if (index == null) {
+                refresh();
+            }
+            current = index;
+        }
+        return current.search(query, limit);
+    }
+
+    public Path getLibraryDirectory() {
+        return libraryDirectory;
+    }
+}
@@ -5,13 +5,28 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import org.example.quizzapp.model.Quiz;
 import org.example.quizzapp.model.QuizResult;
 import org.example.quizzapp.model.PlayerResult;
+import org.example.quizzapp.model.ResultTable;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service class for handling quiz file operations.
@@ -20,22 +35,110 @@ import java.time.LocalDateTime;
 public class QuizService {
     
     private final ObjectMapper objectMapper;
+    private final Path resultsDirectory;
+    private final Map<String, RetentionPolicy> retentionPolicies = new ConcurrentHashMap<>();
+    private volatile RetentionPolicy defaultRetentionPolicy = RetentionPolicy.DEFAULT;
     private static final String RESULTS_DIRECTORY = "quiz-results";
+    private static final long PAGED_LOAD_THRESHOLD_BYTES = 4L * 1024 * 1024;
+    
+    // Shared by all instances, as every QuizService writes the same files
+    private static final Map<Path, Object> FILE_LOCKS = new ConcurrentHashMap<>();
+    private static final Map<Path, CachedLeaderboard> LEADERBOARDS = new ConcurrentHashMap<>();
+    private static final Map<Path, CachedGlobalLeaderboard> GLOBAL_LEADERBOARDS = new ConcurrentHashMap<>();
+    
+    private static final class CachedGlobalLeaderboard {
+        final GlobalLeaderboard leaderboard;
+        // Modification time of each results file as last read, keyed by quiz id
+        final Map<String, Long> stamps = new ConcurrentHashMap<>();
+        
+        CachedGlobalLeaderboard(GlobalLeaderboard leaderboard) {
+            this.leaderboard = leaderboard;
+        }
+    }
+    
+    private static final class CachedLeaderboard {
+        final WindowedLeaderboard leaderboard;
+        long lastModified;
+        // Results of the results file on the board; the rest are the archive's best
+        int hotCount;
+        
+        CachedLeaderboard(WindowedLeaderboard leaderboard, long lastModified, int hotCount) {
+            this.leaderboard = leaderboard;
+            this.lastModified = lastModified;
+            this.hotCount = hotCount;
+        }
+    }
+    
+    private static final MetricsRegistry.Histogram LOAD_TIME = MetricsRegistry.getInstance()
+        .timer("quiz_load_seconds", "Time to load a quiz file");
+    private static final MetricsRegistry.Histogram SAVE_TIME = MetricsRegistry.getInstance()
+        .timer("quiz_result_save_seconds", "Time to add a result to its results file");
+    private static final MetricsRegistry.Histogram LOAD_RESULTS_TIME = MetricsRegistry.getInstance()
+        .timer("quiz_results_load_seconds", "Time to read a results file");
+    private static final MetricsRegistry.Histogram RESULTS_FILE_BYTES = MetricsRegistry.getInstance()
+        .histogram("quiz_results_file_bytes", "Size of results files after a save", MetricsRegistry.SIZE_BUCKETS);
     
     public QuizService() {
+        this(Paths.get(RESULTS_DIRECTORY));
+    }
+    
+    /**
+     * Creates a service that keeps results in another directory, e.g. for load tests.
+     * 
+     * @param resultsDirectory Directory of the results files
+     */
+    public QuizService(Path resultsDirectory) {
+        this.resultsDirectory = resultsDirectory;
         objectMapper = new ObjectMapper();
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         
         // Create results directory if it doesn't exist
         try {
-            Files.createDirectories(Paths.get(RESULTS_DIRECTORY));
+            Files.createDirectories(resultsDirectory);
         } catch (IOException e) {
             System.err.println("Warning: Could not create results directory: " + e.getMessage());
         }
+        
+        // Results files of older versions would otherwise drop off every leaderboard and history.
+        // Without the quiz library, mixed files stay with the quiz that created them.
+        try {
+            int migrated = migrateLegacyResults(List.of());
+            if (migrated > 0) {
+                System.err.println("Warning: Moved " + migrated + " results files in " + resultsDirectory
+                    + " from the old layout");
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Could not move results files from the old layout: " + e.getMessage());
+        }
+        
+        // Results saved before sync existed would otherwise never reach other nodes
+        if (!Files.exists(resultsDirectory.resolve(ResultSync.JOURNAL_FILE_NAME))) {
+            try {
+                int tagged = bootstrapSync();
+                if (tagged > 0) {
+                    System.err.println("Warning: Tagged " + tagged + " existing results in " + resultsDirectory
+                        + " for sync");
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Warning: Could not tag existing results for sync: " + e.getMessage());
+            }
+        }
+        
+        // A sync import that was interrupted has its results journaled, but maybe not all saved
+        if (Files.exists(resultsDirectory.resolve(ResultSync.PENDING_FILE_NAME))) {
+            try {
+                finishSyncImport(getResultSync());
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Warning: Could not finish the interrupted sync import: " + e.getMessage());
+            }
+        }
     }
     
     /**
      * Loads a quiz from a JSON file.
+     * If an up-to-date compiled bundle exists next to the file it is used instead,
+     * so questions are decoded lazily rather than bound from JSON up front.
+     * Large files without a bundle are paged in from the JSON on demand.
      * 
      * @param file The JSON file to load
      * @return The loaded Quiz object
@@ -43,14 +146,125 @@ public class QuizService {
      * @throws IllegalArgumentException If file content is invalid
      */
     public Quiz loadQuiz(File file) throws IOException {
+        long start = System.nanoTime();
+        QuizFlightEvents.QuizLoad event = new QuizFlightEvents.QuizLoad();
+        event.begin();
+        try {
+            if (file == null || !file.exists()) {
+                throw new IllegalArgumentException("File does not exist");
+            }
+        
+            if (!file.getName().toLowerCase().endsWith(".json")) {
+                throw new IllegalArgumentException("File must be a JSON file");
+            }
+        
+            String source = "bundle";
+            Quiz quiz = loadCompiledBundle(file.toPath());
+            if (quiz == null && file.length() > PAGED_LOAD_THRESHOLD_BYTES) {
+                source = "paged";
+                quiz = openPagedQuiz(file);
+            }
+            if (quiz == null) {
+                source = "json";
+                quiz = parseQuizJson(file);
+            }
+        
+            quiz.setSourceFile(file.toPath().toAbsolutePath().normalize());
+        
+            // Compile completion conditions now, so unsupported expressions are reported on load
+            CompletionEvaluator.forQuiz(quiz);
+            
+            if (event.shouldCommit()) {
+                event.file = file.getPath();
+                event.pages = quiz.getTotalQuestions();
+                event.bytes = file.length();
+                event.source = source;
+                event.commit();
+            }
+            return quiz;
+        } finally {
+            LOAD_TIME.observeSince(start);
+        }
+    }
+    
+    /**
+     * Loads the compiled bundle that belongs to a quiz file, if it is still current.
+     * 
+     * @param jsonFile The quiz JSON file
+     * @return The bundle-backed quiz, or null if there is no usable bundle
+     */
+    private Quiz loadCompiledBundle(Path jsonFile) {
+        Path bundleFile = QuizBundleCompiler.bundlePathFor(jsonFile);
+        if (!Files.exists(bundleFile)) {
+            return null;
+        }
+        
+        try {
+            QuizBundle bundle = QuizBundle.open(bundleFile);
+            if (!bundle.isCompiledFrom(jsonFile)) {
+                System.err.println("Ignoring stale quiz bundle: " + bundleFile);
+                return null;
+            }
+            return bundle.toQuiz();
+        } catch (IOException e) {
+            System.err.println("Error loading quiz bundle: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Loads a random sample of questions from a quiz file.
+     * The file is streamed once and only the selected pages are parsed.
+     * 
+     * @param file The JSON file to sample from
+     * @param options Sample size, seed and weights
+     * @return A Quiz containing the sampled pages
+     * @throws IOException If file cannot be read or parsed
+     * @throws IllegalArgumentException If file content is invalid
+     */
+    public Quiz loadQuizSample(File file, SamplingOptions options) throws IOException {
         if (file == null || !file.exists()) {
             throw new IllegalArgumentException("File does not exist");
         }
         
-        if (!file.getName().toLowerCase().endsWith(".json")) {
-            throw new IllegalArgumentException("File must be a JSON file");
+        try {
+            Quiz quiz = new QuestionSampler(objectMapper).sample(file.toPath(), options);
+            quiz.setSourceFile(file.toPath().toAbsolutePath().normalize());
+            return quiz;
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to parse quiz file: " + e.getMessage(), e);
         }
-        
+    }
+    
+    /**
+     * Opens a quiz whose pages are read from the JSON file only when accessed.
+     * 
+     * @param file The JSON file to open
+     * @return The paged Quiz object
+     * @throws IOException If file cannot be read or parsed
+     * @throws IllegalArgumentException If file content is invalid
+     */
+    public Quiz openPagedQuiz(File file) throws IOException {
+        try {
+            return PagedQuizSource.open(file.toPath(), objectMapper).toQuiz();
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to parse quiz file: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Parses and validates a quiz JSON file, ignoring any compiled bundle.
+     * 
+     * @param file The JSON file to parse
+     * @return The parsed Quiz object
+     * @throws IOException If file cannot be read or parsed
+     * @throws IllegalArgumentException If file content is invalid
+     */
+    public Quiz parseQuizJson(File file) throws IOException {
         try {
             Quiz quiz = objectMapper.readValue(file, Quiz.class);
             
@@ -59,12 +273,13 @@ public class QuizService {
                 throw new IllegalArgumentException("Quiz must have a title");
             }
             
-            if (quiz.getPages() == null || quiz.getPages().isEmpty()) {
+            int pageCount = quiz.getTotalQuestions();
+            if (pageCount == 0) {
                 throw new IllegalArgumentException("Quiz must have at least one question");
             }
             
             // Validate each page has a question
-            for (int i = 0; i < quiz.getPages().size(); i++) {
+            for (int i = 0; i < pageCount; i++) {
                 if (quiz.getPage(i).getQuestion() == null) {
                     throw new IllegalArgumentException("Page " + (i + 1) + " must have a question");
                 }
@@ -82,72 +297,782 @@ public class QuizService {
     
     /**
      * Saves a player result to the appropriate results file.
+     * Saves to the same file are serialized, so concurrent players never overwrite each
+     * other's results, and the file is replaced atomically, so readers never see it half-written.
+     * Once the quiz's {@link RetentionPolicy} lets a full segment of the oldest results go,
+     * they are moved to its {@link ResultArchive}. The result is tagged for {@link ResultSync}
+     * as a result of this node.
      * 
      * @param quizTitle The title of the quiz
      * @param playerResult The player's result
      * @throws IOException If file cannot be written
      */
     public void saveResult(String quizTitle, PlayerResult playerResult) throws IOException {
-        String quizId = generateQuizId(quizTitle);
-        String fileName = quizId + "-results.json";
-        Path filePath = Paths.get(RESULTS_DIRECTORY, fileName);
-        
-        QuizResult quizResult;
-        
-        // Load existing results or create new
-        if (Files.exists(filePath)) {
-            try {
-                quizResult = objectMapper.readValue(filePath.toFile(), QuizResult.class);
-            } catch (IOException e) {
-                // If file is corrupted, create new results
-                quizResult = new QuizResult(quizId, quizTitle);
+        long start = System.nanoTime();
+        QuizFlightEvents.ResultSave event = new QuizFlightEvents.ResultSave();
+        event.begin();
+        try {
+            String quizId = QuizIdentity.of(quizTitle);
+            Path filePath = getResultsFile(quizTitle);
+            
+            synchronized (lockFor(filePath)) {
+                QuizResult quizResult;
+                
+                // Load existing results or create new
+                if (Files.exists(filePath)) {
+                    try {
+                        quizResult = objectMapper.readValue(filePath.toFile(), QuizResult.class);
+                    } catch (IOException e) {
+                        // If file is corrupted, create new results
+                        quizResult = new QuizResult(quizId, quizTitle);
+                    }
+                } else {
+                    quizResult = new QuizResult(quizId, quizTitle);
+                }
+                
+                // Add new result
+                quizResult.addResult(playerResult);
+                QuizResult allResults = quizResult;
+                RetentionPolicy policy = getRetentionPolicy(quizTitle);
+                quizResult = archiveDue(policy, filePath, quizResult, policy.segmentSize());
+                boolean archived = quizResult != allResults;
+                
+                // Save back to file
+                writeResults(filePath, quizResult);
+                long bytesWritten = Files.size(filePath);
+                RESULTS_FILE_BYTES.observe(bytesWritten);
+                recordHistory(allResults, quizResult, filePath);
+                recordSync(quizTitle, playerResult);
+                updateLeaderboard(quizResult, playerResult, filePath, archived);
+                updateGlobalLeaderboard(playerResult, filePath, archived);
+                
+                if (event.shouldCommit()) {
+                    event.quizId = quizId;
+                    event.resultCount = quizResult.getResultCount();
+                    event.bytesWritten = bytesWritten;
+                    event.commit();
+                }
             }
-        } else {
-            quizResult = new QuizResult(quizId, quizTitle);
+        } finally {
+            SAVE_TIME.observeSince(start);
         }
+    }
+    
+    /**
+     * Adds many results to a quiz with one write of its results file, e.g. for an import.
+     * The results are merged into the file by completion time, so the oldest still come first
+     * for the {@link RetentionPolicy}, and are tagged for {@link ResultSync} as results of this node.
+     * 
+     * @param quizTitle The title of the quiz
+     * @param results The results to add
+     * @throws IOException If the results file cannot be written
+     */
+    public void appendResults(String quizTitle, ResultTable results) throws IOException {
+        if (results.size() == 0) {
+            return;
+        }
+        mergeIntoResultsFile(quizTitle, results, false);
+        try {
+            getResultSync().recordLocal(quizTitle, results);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Warning: Could not record results for sync: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Merges results into the results file of a quiz by completion time and writes it once.
+     * 
+     * @param skipPresent Whether to leave out results the file already holds, to add them again after a crash
+     */
+    private void mergeIntoResultsFile(String quizTitle, ResultTable results, boolean skipPresent)
+            throws IOException {
+        Path filePath = getResultsFile(quizTitle);
+        synchronized (lockFor(filePath)) {
+            QuizResult existing = null;
+            if (Files.exists(filePath)) {
+                try {
+                    existing = objectMapper.readValue(filePath.toFile(), QuizResult.class);
+                } catch (IOException e) {
+                    // Same as saveResult: a corrupted file is started over
+                    System.err.println("Warning: Replacing unreadable results file " + filePath.getFileName());
+                }
+            }
+            if (existing == null) {
+                existing = new QuizResult(QuizIdentity.of(quizTitle), quizTitle);
+            }
+            
+            QuizResult merged = new QuizResult(existing.getQuizId(), existing.getName());
+            merged.setNumericId(existing.getNumericId());
+            ResultTable rows = merged.getResultTable();
+            ResultTable old = existing.getResultTable();
+            if (skipPresent) {
+                results = withoutPresent(results, old);
+            }
+            Integer[] added = new Integer[results.size()];
+            for (int i = 0; i < added.length; i++) {
+                added[i] = i;
+            }
+            Arrays.sort(added, Comparator.comparingLong(results::getEpochSecond));
+            int oldRow = 0;
+            int addedRow = 0;
+            while (oldRow < old.size() || addedRow < added.length) {
+                if (addedRow == added.length || (oldRow < old.size()
+                        && old.getEpochSecond(oldRow) <= results.getEpochSecond(added[addedRow]))) {
+                    rows.add(old.get(oldRow++));
+                } else {
+                    rows.add(results.get(added[addedRow++]));
+                }
+            }
+            
+            RetentionPolicy policy = getRetentionPolicy(quizTitle);
+            QuizResult hot = archiveDue(policy, filePath, merged, policy.segmentSize());
+            writeResults(filePath, hot);
+            RESULTS_FILE_BYTES.observe(Files.size(filePath));
+            recordHistory(merged, hot, filePath);
+            // The leaderboards notice the new modification time and read the file again
+        }
+    }
+    
+    private static ResultTable withoutPresent(ResultTable results, ResultTable present) {
+        Set<List<Object>> keys = new HashSet<>();
+        for (int row = 0; row < present.size(); row++) {
+            keys.add(rowKey(present, row));
+        }
+        ResultTable missing = new ResultTable();
+        for (int row = 0; row < results.size(); row++) {
+            if (!keys.contains(rowKey(results, row))) {
+                missing.add(results.get(row));
+            }
+        }
+        return missing;
+    }
+    
+    private static List<Object> rowKey(ResultTable rows, int row) {
+        return List.of(rows.getPlayerName(row), rows.getTotalQuestions(row), rows.getCorrectQuestions(row),
+            rows.getEpochSecond(row));
+    }
+    
+    /**
+     * Moves the results of a quiz that its retention policy lets go to the archive now,
+     * even if they do not fill a segment.
+     * 
+     * @param quizTitle The title of the quiz
+     * @return Number of results archived
+     * @throws IOException If the results file, archive segment or manifest cannot be read or written
+     */
+    public int archiveResults(String quizTitle) throws IOException {
+        Path filePath = getResultsFile(quizTitle);
+        synchronized (lockFor(filePath)) {
+            if (!Files.exists(filePath)) {
+                return 0;
+            }
+            QuizResult quizResult = validateResultsFile(filePath);
+            QuizResult hot = archiveDue(getRetentionPolicy(quizTitle), filePath, quizResult, 1);
+            if (hot == quizResult) {
+                return 0;
+            }
+            writeResults(filePath, hot);
+            recordHistory(quizResult, hot, filePath);
+            // The leaderboards notice the new modification time and read the file again
+            return quizResult.getResultCount() - hot.getResultCount();
+        }
+    }
+    
+    /**
+     * Archives the leading results the policy lets go, if there are at least {@code minimum}.
+     * 
+     * @return The results left for the results file, or {@code quizResult} itself if nothing was archived
+     */
+    private static QuizResult archiveDue(RetentionPolicy policy, Path filePath, QuizResult quizResult, int minimum)
+            throws IOException {
+        int due = policy.archivableCount(quizResult.getResultTable(), LocalDateTime.now());
+        if (due < minimum) {
+            return quizResult;
+        }
+        ResultArchive.open(filePath).append(quizResult, due);
         
-        // Add new result
-        quizResult.addResult(playerResult);
-        
-        // Save back to file
-        objectMapper.writerWithDefaultPrettyPrinter().writeValue(filePath.toFile(), quizResult);
+        QuizResult hot = new QuizResult(quizResult.getQuizId(), quizResult.getName());
+        hot.setNumericId(quizResult.getNumericId());
+        ResultTable rows = quizResult.getResultTable();
+        for (int row = due; row < rows.size(); row++) {
+            hot.addResult(rows.get(row));
+        }
+        return hot;
+    }
+    
+    private void writeResults(Path filePath, QuizResult quizResult) throws IOException {
+        Files.createDirectories(filePath.getParent());
+        Path tempFile = filePath.resolveSibling(filePath.getFileName() + ".tmp");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(tempFile.toFile(), quizResult);
+        Files.move(tempFile, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * Records a save in the player history index.
+     * 
+     * @param written The results of the save, including any it moved to the archive
+     * @param hot The results left in the results file
+     */
+    private void recordHistory(QuizResult written, QuizResult hot, Path filePath) {
+        try {
+            // The archive now also holds the results this save moved there
+            int archivedBefore = ResultArchive.open(filePath).getArchivedCount()
+                - (written.getResultCount() - hot.getResultCount());
+            getPlayerHistory().recordSave(written, archivedBefore, filePath);
+        } catch (IOException | RuntimeException e) {
+            // The result itself is saved; the index catches up from the file stamps when reopened
+            System.err.println("Warning: Could not update player history index: " + e.getMessage());
+        }
+    }
+    
+    private void recordSync(String quizTitle, PlayerResult playerResult) {
+        try {
+            getResultSync().recordLocal(quizTitle, playerResult);
+        } catch (IOException | RuntimeException e) {
+            // The result itself is saved, but other nodes will not receive it from here
+            System.err.println("Warning: Could not record result for sync: " + e.getMessage());
+        }
+    }
+    
+    private static void updateLeaderboard(QuizResult quizResult, PlayerResult playerResult, Path filePath,
+                                          boolean archived) {
+        Path key = filePath.toAbsolutePath().normalize();
+        CachedLeaderboard cached = LEADERBOARDS.get(key);
+        if (cached == null) {
+            return;
+        }
+        try {
+            if (!archived && cached.hotCount == quizResult.getResultCount() - 1) {
+                cached.leaderboard.add(playerResult);
+                cached.hotCount++;
+                cached.lastModified = Files.getLastModifiedTime(filePath).toMillis();
+                return;
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Could not update leaderboard: " + e.getMessage());
+        }
+        // Out of step with the file, so it is built again when next asked for
+        LEADERBOARDS.remove(key);
+    }
+    
+    private void updateGlobalLeaderboard(PlayerResult playerResult, Path filePath, boolean archived) {
+        CachedGlobalLeaderboard cached = GLOBAL_LEADERBOARDS.get(resultsDirectory.toAbsolutePath().normalize());
+        if (cached == null) {
+            return;
+        }
+        String quizId = QuizIdentity.quizIdOf(filePath);
+        if (archived) {
+            // Results left the file, so it is read again on the next request
+            cached.stamps.remove(quizId);
+            return;
+        }
+        cached.leaderboard.add(quizId, playerResult);
+        try {
+            cached.stamps.put(quizId, Files.getLastModifiedTime(filePath).toMillis());
+        } catch (IOException e) {
+            // Re-read on the next request
+            cached.stamps.remove(quizId);
+        }
+    }
+    
+    private static Object lockFor(Path filePath) {
+        return FILE_LOCKS.computeIfAbsent(filePath.toAbsolutePath().normalize(), key -> new Object());
     }
     
     /**
      * Loads results for a specific quiz.
+     * Only the results file (the hot tier) is read; archived results are left out,
+     * see {@link #loadResultHistory(String)}.
      * 
      * @param quizTitle The title of the quiz
      * @return QuizResult object, or empty one if file doesn't exist
      */
     public QuizResult loadResults(String quizTitle) {
-        String quizId = generateQuizId(quizTitle);
-        String fileName = quizId + "-results.json";
-        Path filePath = Paths.get(RESULTS_DIRECTORY, fileName);
+        long start = System.nanoTime();
+        try {
+            String quizId = QuizIdentity.of(quizTitle);
+            Path filePath = getResultsFile(quizTitle);
         
-        if (Files.exists(filePath)) {
+            if (Files.exists(filePath)) {
+                try {
+                    return objectMapper.readValue(filePath.toFile(), QuizResult.class);
+                } catch (IOException e) {
+                    System.err.println("Error loading results: " + e.getMessage());
+                }
+            }
+        
+            return new QuizResult(quizId, quizTitle);
+        } finally {
+            LOAD_RESULTS_TIME.observeSince(start);
+        }
+    }
+    
+    /**
+     * Loads every result of a quiz, including those moved to its archive.
+     * 
+     * @param quizTitle The title of the quiz
+     * @return The archived results, oldest first, followed by those in the results file
+     * @throws IOException If an archive segment cannot be read
+     */
+    public QuizResult loadResultHistory(String quizTitle) throws IOException {
+        QuizResult hot = loadResults(quizTitle);
+        List<PlayerResult> archived = getResultArchive(quizTitle).readAll();
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        QuizResult history = new QuizResult(hot.getQuizId(), hot.getName());
+        history.setNumericId(hot.getNumericId());
+        for (PlayerResult result : archived) {
+            history.addResult(result);
+        }
+        ResultTable rows = hot.getResultTable();
+        for (int row = 0; row < rows.size(); row++) {
+            history.addResult(rows.get(row));
+        }
+        return history;
+    }
+    
+    /**
+     * Gets the archive of a quiz, which reads only its manifest of segment summaries.
+     * 
+     * @param quizTitle The title of the quiz
+     * @return The archive, empty if nothing was archived
+     * @throws IOException If the manifest cannot be read
+     */
+    public ResultArchive getResultArchive(String quizTitle) throws IOException {
+        return ResultArchive.open(getResultsFile(quizTitle));
+    }
+    
+    /**
+     * Sets how many results of one quiz stay in its results file.
+     * 
+     * @param quizTitle The title of the quiz
+     * @param policy The policy, or null to use the default policy again
+     */
+    public void setRetentionPolicy(String quizTitle, RetentionPolicy policy) {
+        if (policy == null) {
+            retentionPolicies.remove(QuizIdentity.of(quizTitle));
+        } else {
+            retentionPolicies.put(QuizIdentity.of(quizTitle), policy);
+        }
+    }
+    
+    /**
+     * Sets the policy of quizzes without one of their own.
+     * 
+     * @param policy The policy
+     */
+    public void setDefaultRetentionPolicy(RetentionPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Retention policy cannot be null");
+        }
+        defaultRetentionPolicy = policy;
+    }
+    
+    /**
+     * Gets the retention policy of a quiz.
+     * 
+     * @param quizTitle The title of the quiz
+     * @return Its own policy, or the default policy
+     */
+    public RetentionPolicy getRetentionPolicy(String quizTitle) {
+        return retentionPolicies.getOrDefault(QuizIdentity.of(quizTitle), defaultRetentionPolicy);
+    }
+    
+    /**
+     * Gets the today, this week and all-time leaderboards of a quiz.
+     * The leaderboard is built from the results file once and then kept up to date by
+     * {@link #saveResult(String, PlayerResult)}; it is rebuilt if the file changed elsewhere.
+     * Of the archived results, only the best from the archive summaries are included, which
+     * keeps the top of the all-time board exact without decompressing the archive.
+     * 
+     * @param quizTitle The title of the quiz
+     * @return The leaderboard, shared by every QuizService on the same results directory
+     * @throws IOException If the results file cannot be checked
+     */
+    public WindowedLeaderboard getLeaderboard(String quizTitle) throws IOException {
+        Path filePath = getResultsFile(quizTitle);
+        Path key = filePath.toAbsolutePath().normalize();
+        synchronized (lockFor(filePath)) {
+            long lastModified = Files.exists(filePath) ? Files.getLastModifiedTime(filePath).toMillis() : 0;
+            CachedLeaderboard cached = LEADERBOARDS.get(key);
+            if (cached == null || cached.lastModified != lastModified) {
+                List<PlayerResult> results = loadResults(quizTitle).getResults();
+                int hotCount = results.size();
+                results.addAll(getResultArchive(quizTitle).getTopResults());
+                WindowedLeaderboard leaderboard = WindowedLeaderboard.of(results, Clock.systemDefaultZone());
+                cached = new CachedLeaderboard(leaderboard, lastModified, hotCount);
+                LEADERBOARDS.put(key, cached);
+            }
+            return cached.leaderboard;
+        }
+    }
+    
+    /**
+     * Gets the overall ranking across every quiz in the results directory.
+     * It is built from all results files in parallel on first use and then kept up to date by
+     * {@link #saveResult(String, PlayerResult)}; files changed elsewhere are re-read when asked.
+     * Archived results do not count, so the ranking covers the retention window of each quiz.
+     * 
+     * @return The global leaderboard, shared by every QuizService on the same results directory
+     * @throws IOException If the results directory cannot be listed
+     */
+    public GlobalLeaderboard getGlobalLeaderboard() throws IOException {
+        Path key = resultsDirectory.toAbsolutePath().normalize();
+        synchronized (lockFor(key)) {
+            Map<String, Path> files = new LinkedHashMap<>();
+            for (Path file : QuizIdentity.listResultsFiles(resultsDirectory)) {
+                files.put(QuizIdentity.quizIdOf(file), file);
+            }
+            
+            CachedGlobalLeaderboard cached = GLOBAL_LEADERBOARDS.get(key);
+            Map<String, Long> stamps = new HashMap<>();
+            for (Map.Entry<String, Path> file : files.entrySet()) {
+                stamps.put(file.getKey(), Files.getLastModifiedTime(file.getValue()).toMillis());
+            }
+            
+            if (cached == null) {
+                Map<String, QuizResult> quizzes = new ConcurrentHashMap<>();
+                files.entrySet().parallelStream().forEach(file -> readQuietly(file.getValue())
+                    .ifPresent(quizResult -> quizzes.put(file.getKey(), quizResult)));
+                cached = new CachedGlobalLeaderboard(GlobalLeaderboard.build(quizzes));
+                for (String quizId : quizzes.keySet()) {
+                    cached.stamps.put(quizId, stamps.get(quizId));
+                }
+                GLOBAL_LEADERBOARDS.put(key, cached);
+                return cached.leaderboard;
+            }
+            
+            for (String quizId : new ArrayList<>(cached.stamps.keySet())) {
+                if (!files.containsKey(quizId)) {
+                    cached.leaderboard.removeQuiz(quizId);
+                    cached.stamps.remove(quizId);
+                }
+            }
+            for (Map.Entry<String, Path> file : files.entrySet()) {
+                Long stamp = stamps.get(file.getKey());
+                if (!stamp.equals(cached.stamps.get(file.getKey()))) {
+                    cached.stamps.put(file.getKey(), stamp);
+                    Optional<QuizResult> quizResult = readQuietly(file.getValue());
+                    if (quizResult.isPresent()) {
+                        cached.leaderboard.replaceQuiz(file.getKey(), quizResult.get().getResults());
+                    } else {
+                        cached.leaderboard.removeQuiz(file.getKey());
+                    }
+                }
+            }
+            return cached.leaderboard;
+        }
+    }
+    
+    private Optional<QuizResult> readQuietly(Path filePath) {
+        try {
+            return Optional.of(validateResultsFile(filePath));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Warning: Skipping results file " + filePath.getFileName() + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * Gets the index of player names across every results file in the results directory.
+     * 
+     * @return The player history index, opened and brought up to date on first use
+     * @throws IOException If the index cannot be opened
+     */
+    public PlayerHistoryIndex getPlayerHistory() throws IOException {
+        return PlayerHistoryIndex.forDirectory(resultsDirectory, this::validateResultsFile);
+    }
+    
+    /**
+     * Loads every result a player has in any quiz, reading only the results files that contain them
+     * and, for archived results, only the archive segments that hold them.
+     * 
+     * @param playerName The player name, in any case or spacing
+     * @return The player's results, grouped by quiz
+     * @throws IOException If the index cannot be opened
+     */
+    public List<PlayerResult> loadPlayerHistory(String playerName) throws IOException {
+        Map<String, List<PlayerHistoryIndex.Entry>> byQuiz = new LinkedHashMap<>();
+        for (PlayerHistoryIndex.Entry entry : getPlayerHistory().find(playerName)) {
+            byQuiz.computeIfAbsent(entry.quizId(), key -> new ArrayList<>()).add(entry);
+        }
+        
+        String key = PlayerHistoryIndex.normalizeName(playerName);
+        List<PlayerResult> history = new ArrayList<>();
+        for (Map.Entry<String, List<PlayerHistoryIndex.Entry>> quiz : byQuiz.entrySet()) {
+            Path filePath = QuizIdentity.resultsFile(resultsDirectory, quiz.getKey());
+            ResultTable results;
+            ResultArchive archive;
             try {
-                return objectMapper.readValue(filePath.toFile(), QuizResult.class);
+                results = objectMapper.readValue(filePath.toFile(), QuizResult.class).getResultTable();
+                archive = ResultArchive.open(filePath);
             } catch (IOException e) {
-                System.err.println("Error loading results: " + e.getMessage());
+                System.err.println("Warning: Could not read " + filePath.getFileName() + ": " + e.getMessage());
+                continue;
+            }
+            int archivedCount = archive.getArchivedCount();
+            for (PlayerHistoryIndex.Entry entry : quiz.getValue()) {
+                PlayerResult result = null;
+                if (entry.offset() >= archivedCount) {
+                    int row = entry.offset() - archivedCount;
+                    result = row < results.size() ? results.get(row) : null;
+                } else {
+                    try {
+                        result = archive.read(entry.offset());
+                    } catch (IOException e) {
+                        System.err.println("Warning: Could not read archive of " + filePath.getFileName()
+                            + ": " + e.getMessage());
+                    }
+                }
+                // Skip entries the files no longer match, e.g. after an external edit
+                if (result != null && PlayerHistoryIndex.normalizeName(result.getPlayerName()).equals(key)) {
+                    history.add(result);
+                }
+            }
+        }
+        return history;
+    }
+    
+    /**
+     * Re-validates a results file, e.g. after it was changed outside the application.
+     * 
+     * @param filePath The results file to check
+     * @return The parsed results
+     * @throws IOException If the file cannot be read or parsed
+     * @throws IllegalArgumentException If the file parses but contains invalid results
+     */
+    public QuizResult validateResultsFile(Path filePath) throws IOException {
+        QuizResult quizResult = objectMapper.readValue(filePath.toFile(), QuizResult.class);
+        
+        if (quizResult.getQuizId() == null || quizResult.getQuizId().isBlank()) {
+            throw new IllegalArgumentException("Results file has no quiz id");
+        }
+        
+        ResultTable results = quizResult.getResultTable();
+        for (int row = 0; row < results.size(); row++) {
+            if (results.getPlayerName(row) == null) {
+                throw new IllegalArgumentException("Result " + (row + 1) + " has no player name");
+            }
+            int total = results.getTotalQuestions(row);
+            int correct = results.getCorrectQuestions(row);
+            if (total < 0 || correct < 0 || correct > total) {
+                throw new IllegalArgumentException("Result " + (row + 1) + " has an invalid score");
             }
         }
         
-        return new QuizResult(quizId, quizTitle);
+        return quizResult;
     }
     
     /**
-     * Generates a quiz ID from the quiz title.
+     * Moves results files written by older versions, which were named after the first 20 letters
+     * and digits of the title, into the sharded layout. Titles that shared such a file had their
+     * results mixed; where a file's rows can be told apart by the number of questions of the known
+     * quizzes with that name, they are split up again, and the rest stays with the quiz that
+     * created the file. Results are added to any file the quiz already has in the new layout.
      * 
-     * @param title The quiz title
-     * @return A sanitized quiz ID
+     * @param knownQuizzes Quizzes whose results may be in the old files, e.g. the quiz library
+     * @return Number of old files moved
+     * @throws IOException If the results directory cannot be read or a results file cannot be written
      */
-    private String generateQuizId(String title) {
-        if (title == null || title.trim().isEmpty()) {
-            return "quiz001";
+    public int migrateLegacyResults(Collection<Quiz> knownQuizzes) throws IOException {
+        Map<String, List<Quiz>> quizzesByLegacyId = new HashMap<>();
+        for (Quiz quiz : knownQuizzes) {
+            quizzesByLegacyId.computeIfAbsent(QuizIdentity.legacyId(quiz.getTitle()), key -> new ArrayList<>()).add(quiz);
         }
         
-        String processedTitle = title.toLowerCase()
-                                     .replaceAll("[^a-z0-9]", "");
-        return processedTitle.substring(0, Math.min(processedTitle.length(), 20));
+        int migrated = 0;
+        for (Path legacyFile : QuizIdentity.listLegacyResultsFiles(resultsDirectory)) {
+            QuizResult legacy;
+            try {
+                legacy = validateResultsFile(legacyFile);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Warning: Not migrating results file " + legacyFile.getFileName() + ": " + e.getMessage());
+                continue;
+            }
+            String owner = legacy.getName() != null ? legacy.getName() : legacy.getQuizId();
+            
+            // Question count -> title, for counts that only one of the colliding quizzes has
+            Map<Integer, String> titlesByCount = new HashMap<>();
+            Set<Integer> ambiguousCounts = new HashSet<>();
+            for (Quiz quiz : quizzesByLegacyId.getOrDefault(QuizIdentity.quizIdOf(legacyFile), List.of())) {
+                String other = titlesByCount.putIfAbsent(quiz.getTotalQuestions(), quiz.getTitle());
+                if (other != null && !QuizIdentity.of(other).equals(QuizIdentity.of(quiz.getTitle()))) {
+                    ambiguousCounts.add(quiz.getTotalQuestions());
+                }
+            }
+            titlesByCount.keySet().removeAll(ambiguousCounts);
+            
+            Map<String, QuizResult> split = new LinkedHashMap<>();
+            ResultTable rows = legacy.getResultTable();
+            for (int row = 0; row < rows.size(); row++) {
+                String title = titlesByCount.getOrDefault(rows.getTotalQuestions(row), owner);
+                split.computeIfAbsent(title, key -> new QuizResult(QuizIdentity.of(key), key)).addResult(rows.get(row));
+            }
+            if (split.isEmpty()) {
+                split.put(owner, new QuizResult(QuizIdentity.of(owner), owner));
+            }
+            
+            for (Map.Entry<String, QuizResult> quiz : split.entrySet()) {
+                mergeResults(quiz.getKey(), quiz.getValue());
+            }
+            Files.delete(legacyFile);
+            migrated++;
+        }
+        return migrated;
+    }
+    
+    private void mergeResults(String quizTitle, QuizResult moved) throws IOException {
+        Path filePath = getResultsFile(quizTitle);
+        synchronized (lockFor(filePath)) {
+            QuizResult quizResult = moved;
+            if (Files.exists(filePath)) {
+                quizResult = validateResultsFile(filePath);
+                ResultTable rows = moved.getResultTable();
+                for (int row = 0; row < rows.size(); row++) {
+                    quizResult.addResult(rows.get(row));
+                }
+            }
+            writeResults(filePath, quizResult);
+            recordHistory(quizResult, quizResult, filePath);
+            // The leaderboards notice the new modification time and read the file again
+        }
+    }
+    
+    /**
+     * Gets the sync state of the results directory: its node id, version vector and journal.
+     * 
+     * @return The sync state, shared by every QuizService on the same results directory
+     * @throws IOException If the node id or journal cannot be read or created
+     */
+    public ResultSync getResultSync() throws IOException {
+        return ResultSync.forDirectory(resultsDirectory);
+    }
+    
+    /**
+     * Writes the results another node has not seen to a sync bundle.
+     * 
+     * @param peerVector The other node's version vector, from {@link ResultSync#writeVersionVector(Map, Path)};
+     *                   empty to export every result
+     * @param bundleFile The bundle to write
+     * @return Number of results exported
+     * @throws IOException If the journal cannot be read or the bundle cannot be written
+     */
+    public int exportSyncBundle(Map<String, Long> peerVector, Path bundleFile) throws IOException {
+        return getResultSync().exportBundle(peerVector, bundleFile);
+    }
+    
+    /**
+     * Adds the results of a sync bundle that are not present yet to their results files.
+     * Importing a bundle again, or results that already arrived through another node, changes nothing.
+     * The new results are recorded in the journal first, so a failed journal write fails the import
+     * before any results file changes, and then added grouped by quiz, so each results file is
+     * written once. If the import stops in between, the next QuizService on this directory, or the
+     * next import, adds the rest, leaving out results already in their results file.
+     * 
+     * @param bundleFile The bundle
+     * @return How many results were added, already present, or skipped for a gap
+     * @throws IOException If the bundle cannot be read, or a results file or the journal cannot be written
+     */
+    public ResultSync.ImportReport importSyncBundle(Path bundleFile) throws IOException {
+        ResultSync sync = getResultSync();
+        ResultSync.Bundle bundle = ResultSync.readBundle(bundleFile);
+        List<ResultSync.Entry> applied = new ArrayList<>();
+        int duplicates = 0;
+        int skipped = 0;
+        // Imports are serialized, so no result is checked by two imports before either adds it
+        synchronized (lockFor(resultsDirectory.resolve(ResultSync.JOURNAL_FILE_NAME))) {
+            finishSyncImport(sync);
+            Map<String, Long> vector = sync.getVersionVector();
+            for (ResultSync.Entry entry : bundle.entries()) {
+                long last = vector.getOrDefault(entry.nodeId(), 0L);
+                if (entry.sequence() <= last) {
+                    duplicates++;
+                } else if (entry.sequence() == last + 1) {
+                    vector.put(entry.nodeId(), entry.sequence());
+                    applied.add(entry);
+                } else {
+                    skipped++;
+                }
+            }
+            sync.recordImport(applied);
+            applySyncEntries(applied, false);
+            sync.importApplied();
+        }
+        if (skipped > 0) {
+            System.err.println("Warning: Skipped " + skipped + " results of " + bundleFile.getFileName()
+                + " that follow results not received yet");
+        }
+        return new ResultSync.ImportReport(applied.size(), duplicates, skipped);
+    }
+    
+    /**
+     * Creates the sync journal with every result already in the results directory, archived ones
+     * included. Runs from the constructor, before any save, so no result is tagged twice.
+     */
+    private int bootstrapSync() throws IOException {
+        ResultSync sync = getResultSync();
+        synchronized (lockFor(resultsDirectory.resolve(ResultSync.JOURNAL_FILE_NAME))) {
+            Map<String, ResultTable> existing = new LinkedHashMap<>();
+            for (Path file : QuizIdentity.listResultsFiles(resultsDirectory)) {
+                synchronized (lockFor(file)) {
+                    Optional<QuizResult> quizResult = readQuietly(file);
+                    if (quizResult.isEmpty()) {
+                        continue;
+                    }
+                    ResultTable rows = existing.computeIfAbsent(quizResult.get().getName(), title -> new ResultTable());
+                    for (PlayerResult archived : ResultArchive.open(file).readAll()) {
+                        rows.add(archived);
+                    }
+                    rows.addAll(quizResult.get().getResultTable());
+                }
+            }
+            return sync.bootstrap(existing);
+        }
+    }
+    
+    /**
+     * Adds the results of an interrupted import that are not in their results files yet.
+     */
+    private void finishSyncImport(ResultSync sync) throws IOException {
+        synchronized (lockFor(resultsDirectory.resolve(ResultSync.JOURNAL_FILE_NAME))) {
+            List<ResultSync.Entry> pending = sync.pendingImport();
+            if (pending.isEmpty()) {
+                sync.importApplied();
+                return;
+            }
+            applySyncEntries(pending, true);
+            sync.importApplied();
+            System.err.println("Warning: Finished an interrupted sync import of " + pending.size() + " results");
+        }
+    }
+    
+    private void applySyncEntries(List<ResultSync.Entry> entries, boolean skipPresent) throws IOException {
+        Map<String, ResultTable> byQuiz = new LinkedHashMap<>();
+        for (ResultSync.Entry entry : entries) {
+            byQuiz.computeIfAbsent(entry.quizTitle(), title -> new ResultTable()).add(entry.toResult());
+        }
+        for (Map.Entry<String, ResultTable> quiz : byQuiz.entrySet()) {
+            mergeIntoResultsFile(quiz.getKey(), quiz.getValue(), skipPresent);
+        }
+    }
+    
+    /**
+     * Gets the directory where results files are stored.
+     * 
+     * @return The results directory path
+     */
+    public Path getResultsDirectory() {
+        return resultsDirectory;
+    }
+    
+    /**
+     * Gets the file that results for a quiz are saved to.
+     * 
+     * @param quizTitle The title of the quiz
+     * @return The results file path, which may not exist yet
+     */
+    public Path getResultsFile(String quizTitle) {
+        return QuizIdentity.resultsFile(resultsDirectory, QuizIdentity.of(quizTitle));
     }
 }
@@ -0,0 +1,231 @@
+package org.example.quizzapp.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.quizzapp.model.PlayerResult;
+import org.example.quizzapp.model.QuizResult;
+import org.example.quizzapp.model.ResultTable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The cold tier of a results file: older results moved out of it into GZIP-compressed
+ * segments next to it ({@code <id>-archive-00001.json.gz}, ...), which are never changed
+ * once written. A small manifest ({@code <id>-archive.json}) holds a summary of every segment
+ * (result count, question totals, date range and its best results), so totals and the
+ * all-time top are known without decompressing anything. Segments are only read when the
+ * full history, or a result in them, is asked for.
+ *
+ * <p>Not thread-safe; {@link QuizService} appends under the lock of the results file.
+ */
+public class ResultArchive {
+
+    /**
+     * Number of best results kept in each segment summary.
+     */
+    public static final int TOP_RESULTS = 10;
+
+    private static final String MANIFEST_SUFFIX = "-archive.json";
+    private static final String SEGMENT_SUFFIX = ".json.gz";
+
+    /**
+     * Summary of one archive segment.
+     *
+     * @param fileName Name of the segment file, next to the results file
+     * @param count Number of results in the segment
+     * @param totalQuestions Sum of the questions of every result
+     * @param correctQuestions Sum of the correct answers of every result
+     * @param firstDate Completion time of the oldest result
+     * @param lastDate Completion time of the newest result
+     * @param topResults The best results, in leaderboard order
+     */
+    public record Segment(String fileName, int count, long totalQuestions, long correctQuestions,
+                          String firstDate, String lastDate, List<PlayerResult> topResults) {
+
+        /**
+         * Gets the share of all questions in the segment that were answered correctly.
+         *
+         * @return Score percentage (0.0 to 100.0)
+         */
+        @JsonIgnore
+        public double getAverageScore() {
+            return totalQuestions == 0 ? 0.0 : (double) correctQuestions / totalQuestions * 100.0;
+        }
+    }
+
+    private record Manifest(List<Segment> segments) { }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path resultsFile;
+    private final Path manifestFile;
+    private final List<Segment> segments = new ArrayList<>();
+    private int readSegment = -1;
+    private ResultTable readRows;
+
+    private ResultArchive(Path resultsFile) {
+        this.resultsFile = resultsFile;
+        this.manifestFile = resultsFile.resolveSibling(QuizIdentity.quizIdOf(resultsFile) + MANIFEST_SUFFIX);
+    }
+
+    /**
+     * Opens the archive of a results file, reading only the manifest.
+     *
+     * @param resultsFile The results file
+     * @return The archive, empty if nothing has been archived yet
+     * @throws IOException If the manifest exists but cannot be read
+     */
+    public static ResultArchive open(Path resultsFile) throws IOException {
+        ResultArchive archive = new ResultArchive(resultsFile);
+        if (Files.exists(archive.manifestFile)) {
+            archive.segments.addAll(archive.objectMapper.readValue(archive.manifestFile.toFile(), Manifest.class).segments());
+        }
+        return archive;
+    }
+
+    /**
+     * Gets the summaries of every segment, oldest first.
+     *
+     * @return The segments
+     */
+    public List<Segment> getSegments() {
+        return List.copyOf(segments);
+    }
+
+    /**
+     * Gets the number of archived results.
+     *
+     * @return The sum of all segment counts
+     */
+    public int getArchivedCount() {
+        int count = 0;
+        for (Segment segment : segments) {
+            count += segment.count();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the best archived results, from the segment summaries.
+     *
+     * @return At most {@link #TOP_RESULTS} results, in leaderboard order
+     */
+    public List<PlayerResult> getTopResults() {
+        List<PlayerResult> top = new ArrayList<>();
+        for (Segment segment : segments) {
+            top.addAll(segment.topResults());
+        }
+        top.sort(WindowedLeaderboard.RANKING);
+        return List.copyOf(top.subList(0, Math.min(top.size(), TOP_RESULTS)));
+    }
+
+    /**
+     * Writes the first results of a results file to a new segment and records it in the manifest.
+     * The caller then removes them from the results file; if that fails, they are in both.
+     *
+     * @param quizResult The contents of the results file
+     * @param count Number of leading results to archive
+     * @return The summary of the new segment
+     * @throws IOException If the segment or manifest cannot be written
+     */
+    public Segment append(QuizResult quizResult, int count) throws IOException {
+        ResultTable rows = quizResult.getResultTable();
+        if (count < 1 || count > rows.size()) {
+            throw new IllegalArgumentException("Cannot archive " + count + " of " + rows.size() + " results");
+        }
+
+        QuizResult archived = new QuizResult(quizResult.getQuizId(), quizResult.getName());
+        long totalQuestions = 0;
+        long correctQuestions = 0;
+        int first = 0;
+        int last = 0;
+        for (int row = 0; row < count; row++) {
+            archived.addResult(rows.get(row));
+            totalQuestions += rows.getTotalQuestions(row);
+            correctQuestions += rows.getCorrectQuestions(row);
+            if (rows.getEpochSecond(row) < rows.getEpochSecond(first)) {
+                first = row;
+            }
+            if (rows.getEpochSecond(row) > rows.getEpochSecond(last)) {
+                last = row;
+            }
+        }
+        List<PlayerResult> top = archived.getResultsSortedByScore();
+
+        String fileName = String.format("%s-archive-%05d%s",
+            QuizIdentity.quizIdOf(resultsFile), segments.size() + 1, SEGMENT_SUFFIX);
+        Path segmentFile = resultsFile.resolveSibling(fileName);
+        Path tempFile = segmentFile.resolveSibling(fileName + ".tmp");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempFile))) {
+            objectMapper.writeValue(out, archived);
+        }
+        Files.move(tempFile, segmentFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Segment segment = new Segment(fileName, count, totalQuestions, correctQuestions,
+            rows.get(first).getDateString(), rows.get(last).getDateString(),
+            List.copyOf(top.subList(0, Math.min(top.size(), TOP_RESULTS))));
+        segments.add(segment);
+        writeManifest();
+        return segment;
+    }
+
+    /**
+     * Reads every archived result by decompressing all segments.
+     *
+     * @return The results, oldest segment first, in file order within a segment
+     * @throws IOException If a segment cannot be read
+     */
+    public List<PlayerResult> readAll() throws IOException {
+        List<PlayerResult> results = new ArrayList<>(getArchivedCount());
+        for (Segment segment : segments) {
+            results.addAll(readSegment(segment).getResults());
+        }
+        return results;
+    }
+
+    /**
+     * Reads one archived result, decompressing only the segment that holds it.
+     * The last segment read is kept, so reading results in order decompresses each segment once.
+     *
+     * @param offset Position of the result among all archived results, oldest first
+     * @return The result
+     * @throws IOException If the segment cannot be read
+     * @throws IndexOutOfBoundsException If there is no archived result at that position
+     */
+    public PlayerResult read(int offset) throws IOException {
+        int first = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (offset >= first && offset < first + segment.count()) {
+                if (readSegment != i) {
+                    readRows = readSegment(segment).getResultTable();
+                    readSegment = i;
+                }
+                return readRows.get(offset - first);
+            }
+            first += segment.count();
+        }
+        throw new IndexOutOfBoundsException("No archived result " + offset + " of " + first);
+    }
+
+    private QuizResult readSegment(Segment segment) throws IOException {
+        Path segmentFile = resultsFile.resolveSibling(segment.fileName());
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(segmentFile))) {
+            return objectMapper.readValue(in, QuizResult.class);
+        }
+    }
+
+    private void writeManifest() throws IOException {
+        Path tempFile = manifestFile.resolveSibling(manifestFile.getFileName() + ".tmp");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(tempFile.toFile(), new Manifest(segments));
+        Files.move(tempFile, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.PlayerResult;
+
+import java.util.List;
+
+/**
+ * Storage-side view of a list of results that is read one window at a time,
+ * so the UI never has to hold every result.
+ */
+public interface ResultPageSource {
+
+    /**
+     * Gets the number of results in the view.
+     *
+     * @return The number of results
+     */
+    int size();
+
+    /**
+     * Reads a window of the view.
+     *
+     * @param offset Index of the first result
+     * @param limit Maximum number of results
+     * @return The results from the offset on, fewer at the end of the view
+     */
+    List<PlayerResult> fetch(int offset, int limit);
+}
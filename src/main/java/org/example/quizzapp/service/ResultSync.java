@@ -0,0 +1,689 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.PlayerResult;
+import org.example.quizzapp.model.ResultTable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Tracks results for syncing results directories between machines that are not networked,
+ * e.g. kiosks, by carrying bundles over on a USB stick.
+ *
+ * <p>Every results directory has a random node id ({@code .node-id}). Each result saved there
+ * is tagged with that id and the next sequence number of the node, and each result received
+ * from another node keeps its tag; all are appended to a journal ({@code .sync-journal}).
+ * For every node the highest sequence number present here forms the version vector. An export
+ * for a peer contains only the results above the peer's version vector, so a sync costs as much
+ * as the results the peer is missing, and an import skips results already present, so importing
+ * the same bundle twice changes nothing. Results travel on through third nodes, so every node
+ * eventually receives every result once. Results saved before the journal existed are tagged as
+ * results of this node when it is created, see {@link #bootstrap(Map)}.
+ *
+ * <p>Received results are journaled before they are added to the results files, and a marker
+ * ({@code .sync-pending}) names them until they are, so an import interrupted by a crash is
+ * finished from {@link #pendingImport()} instead of being received, and added, a second time.
+ *
+ * <p>All methods are synchronized; there is one instance per results directory.
+ */
+public class ResultSync {
+
+    public static final String NODE_ID_FILE_NAME = ".node-id";
+    public static final String JOURNAL_FILE_NAME = ".sync-journal";
+    public static final String PENDING_FILE_NAME = ".sync-pending";
+
+    private static final int JOURNAL_MAGIC = 0x52534A31; // "RSJ1"
+    private static final int BUNDLE_MAGIC = 0x52534231; // "RSB1"
+    private static final Map<Path, ResultSync> OPEN_SYNCS = new ConcurrentHashMap<>();
+
+    /**
+     * A result with the node it was first saved on and its sequence number there.
+     *
+     * @param nodeId The node the result was saved on
+     * @param sequence Its number among the results of that node, starting at 1
+     * @param quizTitle Title of the quiz
+     * @param playerName Name of the player
+     * @param totalQuestions Total number of questions in the quiz
+     * @param correctQuestions Number of questions answered correctly
+     * @param epochSecond Completion time, see {@link PlayerResult#getEpochSecond()}
+     */
+    public record Entry(String nodeId, long sequence, String quizTitle, String playerName,
+                        int totalQuestions, int correctQuestions, long epochSecond) {
+
+        /**
+         * Creates the result to save.
+         *
+         * @return A new player result
+         */
+        public PlayerResult toResult() {
+            return new PlayerResult(playerName, totalQuestions, correctQuestions,
+                LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC));
+        }
+    }
+
+    /**
+     * A bundle read from disk.
+     *
+     * @param sourceNodeId The node that exported it
+     * @param entries Its results, grouped by node in sequence order
+     */
+    public record Bundle(String sourceNodeId, List<Entry> entries) { }
+
+    /**
+     * Outcome of importing a bundle.
+     *
+     * @param applied Results added to the results files
+     * @param duplicates Results that were already present
+     * @param skipped Results that follow results this node has not received yet; import an
+     *                older bundle of that node first, or export again from the current version vector
+     */
+    public record ImportReport(int applied, int duplicates, int skipped) { }
+
+    private final Path journalFile;
+    private final Path pendingFile;
+    private final String nodeId;
+    // Journal offset of every entry, per node, in sequence order
+    private final Map<String, long[]> offsets = new HashMap<>();
+    private final Map<String, Integer> counts = new HashMap<>();
+    private DataOutputStream journal;
+    private long journalSize;
+
+    private ResultSync(Path directory, String nodeId) {
+        this.journalFile = directory.resolve(JOURNAL_FILE_NAME);
+        this.pendingFile = directory.resolve(PENDING_FILE_NAME);
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * Gets the sync state of a results directory, opening it on first use.
+     *
+     * @param directory The results directory
+     * @return The shared instance of that directory
+     * @throws IOException If the node id or journal cannot be read or created
+     */
+    public static ResultSync forDirectory(Path directory) throws IOException {
+        Path key = directory.toAbsolutePath().normalize();
+        try {
+            return OPEN_SYNCS.computeIfAbsent(key, path -> {
+                try {
+                    return open(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Opens the sync state of a results directory, creating a node id if it has none.
+     * Prefer {@link #forDirectory(Path)}, which shares one instance per directory.
+     *
+     * @param directory The results directory
+     * @return The sync state
+     * @throws IOException If the node id or journal cannot be read or created
+     */
+    static ResultSync open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path nodeIdFile = directory.resolve(NODE_ID_FILE_NAME);
+        if (!Files.exists(nodeIdFile)) {
+            Files.writeString(nodeIdFile, UUID.randomUUID().toString(), StandardCharsets.UTF_8);
+        }
+        String nodeId = Files.readString(nodeIdFile, StandardCharsets.UTF_8).trim();
+        if (nodeId.isEmpty()) {
+            throw new IOException("Empty node id in " + nodeIdFile);
+        }
+
+        ResultSync sync = new ResultSync(directory, nodeId);
+        if (Files.exists(sync.journalFile)) {
+            sync.replay();
+        }
+        return sync;
+    }
+
+    public synchronized String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Gets the highest sequence number present here of every node.
+     *
+     * @return Node id to sequence number, sorted by node id
+     */
+    public synchronized Map<String, Long> getVersionVector() {
+        Map<String, Long> vector = new TreeMap<>();
+        counts.forEach((node, count) -> vector.put(node, (long) count));
+        return vector;
+    }
+
+    /**
+     * Gets the number of results in the journal.
+     *
+     * @return Results of every node
+     */
+    public synchronized int size() {
+        int size = 0;
+        for (int count : counts.values()) {
+            size += count;
+        }
+        return size;
+    }
+
+    /**
+     * Records a result saved on this node.
+     *
+     * @param quizTitle Title of the quiz
+     * @param result The result
+     * @return The entry, with the next sequence number of this node
+     * @throws IOException If the journal cannot be written
+     */
+    public synchronized Entry recordLocal(String quizTitle, PlayerResult result) throws IOException {
+        Entry entry = new Entry(nodeId, counts.getOrDefault(nodeId, 0) + 1L, quizTitle, result.getPlayerName(),
+            result.getTotalQuestions(), result.getCorrectQuestions(), result.getEpochSecond());
+        append(List.of(entry));
+        return entry;
+    }
+
+    /**
+     * Records many results saved on this node, e.g. by an import, with one write to the journal.
+     *
+     * @param quizTitle Title of the quiz
+     * @param results The results, numbered in this order
+     * @throws IOException If the journal cannot be written
+     */
+    public synchronized void recordLocal(String quizTitle, ResultTable results) throws IOException {
+        List<Entry> entries = new ArrayList<>(results.size());
+        long sequence = counts.getOrDefault(nodeId, 0);
+        for (int row = 0; row < results.size(); row++) {
+            entries.add(new Entry(nodeId, ++sequence, quizTitle, results.getPlayerName(row),
+                results.getTotalQuestions(row), results.getCorrectQuestions(row), results.getEpochSecond(row)));
+        }
+        append(entries);
+    }
+
+    /**
+     * Records a result received from another node.
+     *
+     * @param entry The result
+     * @throws IOException If the journal cannot be written
+     * @throws IllegalArgumentException If it is not the next result of its node
+     */
+    public synchronized void record(Entry entry) throws IOException {
+        record(List.of(entry));
+    }
+
+    /**
+     * Creates the journal if there is none yet, tagging the results already saved here,
+     * e.g. by a version without sync, as results of this node so they reach other nodes too.
+     *
+     * @param existing Quiz title to the results saved for it
+     * @return Number of results tagged; 0 if the journal already existed
+     * @throws IOException If the journal cannot be written
+     */
+    public synchronized int bootstrap(Map<String, ResultTable> existing) throws IOException {
+        if (Files.exists(journalFile)) {
+            return 0;
+        }
+        List<Entry> entries = new ArrayList<>();
+        long sequence = counts.getOrDefault(nodeId, 0);
+        for (Map.Entry<String, ResultTable> quiz : existing.entrySet()) {
+            ResultTable results = quiz.getValue();
+            for (int row = 0; row < results.size(); row++) {
+                entries.add(new Entry(nodeId, ++sequence, quiz.getKey(), results.getPlayerName(row),
+                    results.getTotalQuestions(row), results.getCorrectQuestions(row), results.getEpochSecond(row)));
+            }
+        }
+        append(entries);
+        return entries.size();
+    }
+
+    /**
+     * Records results received from other nodes with one write to the journal.
+     * Nothing is recorded unless every result follows the ones before it.
+     *
+     * @param entries The results, in the order of each node's sequence numbers
+     * @throws IOException If the journal cannot be written
+     * @throws IllegalArgumentException If a result is not the next result of its node
+     */
+    public synchronized void record(List<Entry> entries) throws IOException {
+        checkFollows(entries);
+        append(entries);
+    }
+
+    /**
+     * Records results received from other nodes that are about to be added to the results files.
+     * Until {@link #importApplied()} is called they are listed in the pending marker, so a crash
+     * before they are all added leaves them to {@link #pendingImport()}.
+     *
+     * @param entries The results, in the order of each node's sequence numbers
+     * @throws IOException If the marker or the journal cannot be written
+     * @throws IllegalArgumentException If a result is not the next result of its node
+     */
+    public synchronized void recordImport(List<Entry> entries) throws IOException {
+        checkFollows(entries);
+        if (entries.isEmpty()) {
+            return;
+        }
+        // First and last sequence number of each node, one "nodeId first last" per line
+        Map<String, long[]> ranges = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            ranges.computeIfAbsent(entry.nodeId(), node -> new long[] {entry.sequence(), 0})[1] = entry.sequence();
+        }
+        Path tempFile = pendingFile.resolveSibling(PENDING_FILE_NAME + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, long[]> range : ranges.entrySet()) {
+                writer.write(range.getKey() + " " + range.getValue()[0] + " " + range.getValue()[1]);
+                writer.newLine();
+            }
+        }
+        Files.move(tempFile, pendingFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        append(entries);
+    }
+
+    /**
+     * Gets the results of an import that were journaled but may not all have been added to the
+     * results files, because the import was interrupted.
+     *
+     * @return The results named by the pending marker, in journal order; empty if there is none
+     * @throws IOException If the marker or the journal cannot be read
+     */
+    public synchronized List<Entry> pendingImport() throws IOException {
+        if (!Files.exists(pendingFile)) {
+            return List.of();
+        }
+        List<Entry> entries = new ArrayList<>();
+        try (RandomAccessFile in = new RandomAccessFile(journalFile.toFile(), "r")) {
+            for (String line : Files.readAllLines(pendingFile, StandardCharsets.UTF_8)) {
+                String[] range = line.trim().split(" ");
+                if (range.length != 3) {
+                    continue;
+                }
+                // Results past the version vector never reached the journal, so were not added either
+                long last = Math.min(Long.parseLong(range[2]), counts.getOrDefault(range[0], 0));
+                entries.addAll(readEntries(in, range[0], Long.parseLong(range[1]) - 1, last));
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid sync marker: " + pendingFile, e);
+        }
+        return entries;
+    }
+
+    /**
+     * Clears the pending marker once the results of an import are all in the results files.
+     *
+     * @throws IOException If the marker cannot be deleted
+     */
+    public synchronized void importApplied() throws IOException {
+        Files.deleteIfExists(pendingFile);
+    }
+
+    /**
+     * Checks whether a result is already present.
+     *
+     * @param entry The result
+     * @return Whether its sequence number is covered by the version vector
+     */
+    public synchronized boolean hasSeen(Entry entry) {
+        return entry.sequence() <= counts.getOrDefault(entry.nodeId(), 0);
+    }
+
+    /**
+     * Checks whether a result is the next one expected from its node.
+     *
+     * @param entry The result
+     * @return Whether it directly follows the version vector
+     */
+    public synchronized boolean isNext(Entry entry) {
+        return entry.sequence() == counts.getOrDefault(entry.nodeId(), 0) + 1L;
+    }
+
+    /**
+     * Writes the results a peer has not seen to a bundle.
+     *
+     * @param peerVector The peer's version vector; empty to export everything
+     * @param bundleFile The bundle to write
+     * @return Number of results exported
+     * @throws IOException If the journal cannot be read or the bundle cannot be written
+     */
+    public synchronized int exportBundle(Map<String, Long> peerVector, Path bundleFile) throws IOException {
+        if (journal != null) {
+            journal.flush();
+        }
+        // Read the missing entries first, so titles can be written once up front
+        Map<String, List<Entry>> missing = new LinkedHashMap<>();
+        Map<String, Integer> titles = new LinkedHashMap<>();
+        try (RandomAccessFile in = new RandomAccessFile(journalFile.toFile(), "r")) {
+            for (Map.Entry<String, Integer> node : new TreeMap<>(counts).entrySet()) {
+                long seen = Math.max(peerVector.getOrDefault(node.getKey(), 0L), 0L);
+                if (seen >= node.getValue()) {
+                    continue;
+                }
+                List<Entry> entries = readEntries(in, node.getKey(), seen, node.getValue());
+                for (Entry entry : entries) {
+                    titles.putIfAbsent(entry.quizTitle(), titles.size());
+                }
+                missing.put(node.getKey(), entries);
+            }
+        }
+
+        int exported = 0;
+        Path tempFile = bundleFile.resolveSibling(bundleFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(tempFile))))) {
+            out.writeInt(BUNDLE_MAGIC);
+            out.writeUTF(nodeId);
+            writeVarLong(out, titles.size());
+            for (String title : titles.keySet()) {
+                out.writeUTF(title);
+            }
+            writeVarLong(out, missing.size());
+            for (Map.Entry<String, List<Entry>> node : missing.entrySet()) {
+                List<Entry> entries = node.getValue();
+                out.writeUTF(node.getKey());
+                writeVarLong(out, entries.get(0).sequence());
+                writeVarLong(out, entries.size());
+                for (Entry entry : entries) {
+                    writeVarLong(out, titles.get(entry.quizTitle()));
+                    out.writeUTF(entry.playerName());
+                    writeVarLong(out, entry.totalQuestions());
+                    writeVarLong(out, entry.correctQuestions());
+                    out.writeLong(entry.epochSecond());
+                    exported++;
+                }
+            }
+        }
+        Files.move(tempFile, bundleFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return exported;
+    }
+
+    /**
+     * Reads a bundle.
+     *
+     * @param bundleFile The bundle
+     * @return Its results
+     * @throws IOException If the file is not a complete bundle
+     */
+    public static Bundle readBundle(Path bundleFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(bundleFile))))) {
+            if (in.readInt() != BUNDLE_MAGIC) {
+                throw new IOException("Not a sync bundle: " + bundleFile);
+            }
+            String sourceNodeId = in.readUTF();
+            String[] titles = new String[(int) readVarLong(in)];
+            for (int i = 0; i < titles.length; i++) {
+                titles[i] = in.readUTF();
+            }
+            List<Entry> entries = new ArrayList<>();
+            long nodeCount = readVarLong(in);
+            for (long n = 0; n < nodeCount; n++) {
+                String node = in.readUTF();
+                long sequence = readVarLong(in);
+                long count = readVarLong(in);
+                for (long i = 0; i < count; i++) {
+                    String title = titles[(int) readVarLong(in)];
+                    String playerName = in.readUTF();
+                    int total = (int) readVarLong(in);
+                    int correct = (int) readVarLong(in);
+                    entries.add(new Entry(node, sequence + i, title, playerName, total, correct, in.readLong()));
+                }
+            }
+            return new Bundle(sourceNodeId, entries);
+        }
+    }
+
+    /**
+     * Writes a version vector, for the peer to export against.
+     *
+     * @param vector Node id to sequence number
+     * @param file The file to write, one {@code nodeId=sequence} per line
+     * @throws IOException If the file cannot be written
+     */
+    public static void writeVersionVector(Map<String, Long> vector, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Long> node : new TreeMap<>(vector).entrySet()) {
+                writer.write(node.getKey() + "=" + node.getValue());
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Reads a version vector written by {@link #writeVersionVector(Map, Path)}.
+     *
+     * @param file The file
+     * @return Node id to sequence number
+     * @throws IOException If the file cannot be read
+     * @throws IllegalArgumentException If a line is not {@code nodeId=sequence}
+     */
+    public static Map<String, Long> readVersionVector(Path file) throws IOException {
+        Map<String, Long> vector = new TreeMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            int separator = line.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid version vector line: " + line);
+            }
+            try {
+                vector.put(line.substring(0, separator).trim(), Long.parseLong(line.substring(separator + 1).trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid version vector line: " + line);
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * Closes the journal. It is reopened when the next result is recorded.
+     *
+     * @throws IOException If the journal cannot be closed
+     */
+    public synchronized void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    private void checkFollows(List<Entry> entries) {
+        Map<String, Long> expected = new HashMap<>();
+        for (Entry entry : entries) {
+            long last = expected.computeIfAbsent(entry.nodeId(), node -> (long) counts.getOrDefault(node, 0));
+            if (entry.sequence() != last + 1) {
+                throw new IllegalArgumentException("Result " + entry.sequence() + " of node " + entry.nodeId()
+                    + " does not follow " + last);
+            }
+            expected.put(entry.nodeId(), entry.sequence());
+        }
+    }
+
+    /**
+     * Writes entries to the journal and only then counts them, so a failed write leaves
+     * the version vector as it is on disk.
+     */
+    private void append(List<Entry> entries) throws IOException {
+        DataOutputStream out = journal();
+        try {
+            for (Entry entry : entries) {
+                writeEntry(out, entry);
+            }
+            out.flush();
+        } catch (IOException e) {
+            discardUnwritten();
+            throw e;
+        }
+        for (Entry entry : entries) {
+            addOffset(entry.nodeId(), journalSize);
+            journalSize += entrySize(entry);
+        }
+    }
+
+    /**
+     * Drops whatever part of a failed write reached the journal, so the next write starts
+     * at the end of the last counted entry.
+     */
+    private void discardUnwritten() {
+        try {
+            journal.close();
+        } catch (IOException e) {
+            // The buffered rest is dropped anyway
+        }
+        journal = null;
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+            channel.truncate(journalSize);
+        } catch (IOException e) {
+            // Reopening drops a torn last record
+            System.err.println("Warning: Could not truncate " + journalFile + ": " + e.getMessage());
+        }
+    }
+
+    private List<Entry> readEntries(RandomAccessFile in, String node, long after, long last) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        long[] nodeOffsets = offsets.get(node);
+        for (long i = Math.max(after, 0); i < last; i++) {
+            in.seek(nodeOffsets[(int) i]);
+            entries.add(readEntry(in));
+        }
+        return entries;
+    }
+
+    private DataOutputStream journal() throws IOException {
+        if (journal == null) {
+            if (!Files.exists(journalFile)) {
+                try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(journalFile))) {
+                    out.writeInt(JOURNAL_MAGIC);
+                }
+                journalSize = Integer.BYTES;
+            }
+            journal = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(journalFile, StandardOpenOption.APPEND)));
+        }
+        return journal;
+    }
+
+    private void replay() throws IOException {
+        long length = Files.size(journalFile);
+        long validSize = Integer.BYTES;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalFile)))) {
+            if (length < Integer.BYTES || in.readInt() != JOURNAL_MAGIC) {
+                throw new IOException("Unsupported sync journal: " + journalFile);
+            }
+            while (validSize < length) {
+                Entry entry;
+                try {
+                    entry = readEntry(in);
+                } catch (EOFException e) {
+                    // A torn last record from a crash; the result is still in its results file
+                    System.err.println("Warning: Dropping incomplete record at the end of " + journalFile);
+                    break;
+                }
+                if (!isNext(entry)) {
+                    throw new IOException("Sync journal " + journalFile + " is out of order at " + validSize);
+                }
+                addOffset(entry.nodeId(), validSize);
+                validSize += entrySize(entry);
+            }
+        }
+        if (validSize < length) {
+            try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+                channel.truncate(validSize);
+            }
+        }
+        journalSize = validSize;
+    }
+
+    private void addOffset(String node, long offset) {
+        int count = counts.getOrDefault(node, 0);
+        long[] nodeOffsets = offsets.computeIfAbsent(node, key -> new long[16]);
+        if (count == nodeOffsets.length) {
+            nodeOffsets = Arrays.copyOf(nodeOffsets, count * 2);
+            offsets.put(node, nodeOffsets);
+        }
+        nodeOffsets[count] = offset;
+        counts.put(node, count + 1);
+    }
+
+    private static void writeEntry(DataOutput out, Entry entry) throws IOException {
+        out.writeUTF(entry.nodeId());
+        out.writeLong(entry.sequence());
+        out.writeUTF(entry.quizTitle() != null ? entry.quizTitle() : "");
+        out.writeUTF(entry.playerName() != null ? entry.playerName() : "");
+        out.writeInt(entry.totalQuestions());
+        out.writeInt(entry.correctQuestions());
+        out.writeLong(entry.epochSecond());
+    }
+
+    private static Entry readEntry(DataInput in) throws IOException {
+        return new Entry(in.readUTF(), in.readLong(), in.readUTF(), in.readUTF(),
+            in.readInt(), in.readInt(), in.readLong());
+    }
+
+    private static long entrySize(Entry entry) {
+        return utfSize(entry.nodeId()) + Long.BYTES + utfSize(entry.quizTitle()) + utfSize(entry.playerName())
+            + 2L * Integer.BYTES + Long.BYTES;
+    }
+
+    private static long utfSize(String value) {
+        // Modified UTF-8 as written by writeUTF: a 2-byte length, then 1 to 3 bytes per char
+        long size = 2;
+        if (value == null) {
+            return size;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            size += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3;
+        }
+        return size;
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
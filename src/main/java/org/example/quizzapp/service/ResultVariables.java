@@ -0,0 +1,159 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.PlayerResult;
+import org.example.quizzapp.model.Quiz;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Values of the variables a quiz can reference in completion expressions and messages,
+ * such as {@code {correctAnswers}}. Variables are resolved to slots when an expression
+ * or template is compiled, so evaluating one is an array lookup. An instance can be
+ * refilled and reused for every result.
+ */
+public class ResultVariables {
+
+    /**
+     * The variables available to completion expressions and messages.
+     */
+    public enum Variable {
+        CORRECT_ANSWERS("correctAnswers", true),
+        INCORRECT_ANSWERS("incorrectAnswers", true),
+        QUESTION_COUNT("questionCount", true),
+        SCORE("score", true),
+        PLAYER_NAME("playerName", false),
+        QUIZ_TITLE("quizTitle", false);
+
+        private static final Map<String, Variable> BY_NAME = new HashMap<>();
+
+        static {
+            for (Variable variable : values()) {
+                BY_NAME.put(variable.key.toLowerCase(Locale.ROOT), variable);
+            }
+        }
+
+        private final String key;
+        private final boolean numeric;
+
+        Variable(String key, boolean numeric) {
+            this.key = key;
+            this.numeric = numeric;
+        }
+
+        /**
+         * Looks up a variable by the name used inside braces, ignoring case.
+         *
+         * @param name The variable name
+         * @return The variable, or null if there is none with that name
+         */
+        public static Variable byName(String name) {
+            return name != null ? BY_NAME.get(name.trim().toLowerCase(Locale.ROOT)) : null;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public boolean isNumeric() {
+            return numeric;
+        }
+    }
+
+    private final double[] numbers = new double[Variable.values().length];
+    private final String[] texts = new String[Variable.values().length];
+
+    /**
+     * Creates variables for a result.
+     *
+     * @param result The player's result
+     * @param quiz The quiz that was played, may be null
+     * @return The filled variables
+     */
+    public static ResultVariables of(PlayerResult result, Quiz quiz) {
+        ResultVariables variables = new ResultVariables();
+        variables.fill(result, quiz);
+        return variables;
+    }
+
+    /**
+     * Replaces all values with those of a result.
+     *
+     * @param result The player's result
+     * @param quiz The quiz that was played, may be null
+     */
+    public void fill(PlayerResult result, Quiz quiz) {
+        fill(result.getCorrectQuestions(), result.getTotalQuestions(), result.getPlayerName(),
+            quiz != null ? quiz.getTitle() : null);
+    }
+
+    /**
+     * Replaces all values.
+     *
+     * @param correctAnswers Number of correct answers
+     * @param questionCount Number of questions asked
+     * @param playerName The player's name
+     * @param quizTitle The quiz title
+     */
+    public void fill(int correctAnswers, int questionCount, String playerName, String quizTitle) {
+        numbers[Variable.CORRECT_ANSWERS.ordinal()] = correctAnswers;
+        numbers[Variable.INCORRECT_ANSWERS.ordinal()] = questionCount - correctAnswers;
+        numbers[Variable.QUESTION_COUNT.ordinal()] = questionCount;
+        numbers[Variable.SCORE.ordinal()] = questionCount > 0 ? Math.round(100.0 * correctAnswers / questionCount) : 0;
+        texts[Variable.PLAYER_NAME.ordinal()] = playerName != null ? playerName : "";
+        texts[Variable.QUIZ_TITLE.ordinal()] = quizTitle != null ? quizTitle : "";
+    }
+
+    /**
+     * Gets the value of a numeric variable.
+     *
+     * @param variable The variable
+     * @return Its value, 0 for text variables
+     */
+    public double number(Variable variable) {
+        return numbers[variable.ordinal()];
+    }
+
+    /**
+     * Gets the value of a variable as text. Whole numbers are written without a fraction.
+     *
+     * @param variable The variable
+     * @return Its value as text
+     */
+    public String text(Variable variable) {
+        return variable.isNumeric() ? formatNumber(numbers[variable.ordinal()]) : texts[variable.ordinal()];
+    }
+
+    /**
+     * Appends the value of a variable to a builder, formatted like {@link #text(Variable)}.
+     *
+     * @param variable The variable
+     * @param target The builder
+     */
+    public void appendTo(Variable variable, StringBuilder target) {
+        if (!variable.isNumeric()) {
+            target.append(texts[variable.ordinal()]);
+            return;
+        }
+        double value = numbers[variable.ordinal()];
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            target.append((long) value);
+        } else {
+            target.append(value);
+        }
+    }
+
+    /**
+     * Formats a number the way it appears in messages: {@code 3} rather than {@code 3.0}.
+     *
+     * @param value The number
+     * @return The formatted number
+     */
+    static String formatNumber(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.ResultTable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * How many results of a quiz stay in its results file (the hot tier) before the oldest are
+ * moved to compressed archive segments (the cold tier), see {@link ResultArchive}.
+ * Results are moved once they are older than {@code maxHotAge} or more than
+ * {@code maxHotCount} newer results follow them, but only {@code segmentSize} at a time,
+ * so segments do not end up tiny.
+ *
+ * @param maxHotAge Age after which a result may be archived
+ * @param maxHotCount Number of results kept in the hot tier regardless of age
+ * @param segmentSize Minimum number of results moved into one segment
+ */
+public record RetentionPolicy(Duration maxHotAge, int maxHotCount, int segmentSize) {
+
+    /**
+     * Keeps a year, or at most 5000 results, in the hot tier.
+     */
+    public static final RetentionPolicy DEFAULT = new RetentionPolicy(Duration.ofDays(365), 5000, 1000);
+
+    public RetentionPolicy {
+        if (maxHotAge == null || maxHotAge.isNegative()) {
+            throw new IllegalArgumentException("Maximum hot age cannot be negative");
+        }
+        if (maxHotCount < 0) {
+            throw new IllegalArgumentException("Maximum hot count cannot be negative");
+        }
+        if (segmentSize < 1) {
+            throw new IllegalArgumentException("Segment size must be at least 1");
+        }
+    }
+
+    /**
+     * Counts the results at the start of a results file that this policy lets go.
+     * Results are appended as they are played, so the oldest come first.
+     *
+     * @param results The results, in file order
+     * @param now The current time
+     * @return Number of leading results that may be archived
+     */
+    public int archivableCount(ResultTable results, LocalDateTime now) {
+        long cutoff = now.minus(maxHotAge).toEpochSecond(ZoneOffset.UTC);
+        int count = Math.max(results.size() - maxHotCount, 0);
+        while (count < results.size() && results.getEpochSecond(count) < cutoff) {
+            count++;
+        }
+        return count;
+    }
+}
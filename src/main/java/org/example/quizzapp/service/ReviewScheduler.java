@@ -0,0 +1,217 @@
+package org.example.quizzapp.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Spaced-repetition schedule of one player, using the SM-2 algorithm.
+ * Each reviewed question has an easiness factor, an interval and a due time.
+ * Due questions are kept in one priority queue per quiz keyed by due time, so
+ * finding the next due question is O(log n). Rescheduled questions are pushed again
+ * and their old queue entries are discarded lazily when they reach the head.
+ */
+public class ReviewScheduler {
+
+    public static final int QUALITY_CORRECT = 4;
+    public static final int QUALITY_INCORRECT = 1;
+
+    private static final double DEFAULT_EASINESS = 2.5;
+    private static final double MIN_EASINESS = 1.3;
+
+    /**
+     * Review state of a single question.
+     */
+    public static class ReviewState {
+        private final String quizKey;
+        private final String questionName;
+        private double easiness = DEFAULT_EASINESS;
+        private int intervalDays;
+        private int repetitions;
+        private long dueEpochSecond;
+        private int version;
+
+        ReviewState(String quizKey, String questionName) {
+            this.quizKey = quizKey;
+            this.questionName = questionName;
+        }
+
+        ReviewState(String quizKey, String questionName, double easiness,
+                    int intervalDays, int repetitions, long dueEpochSecond) {
+            this(quizKey, questionName);
+            this.easiness = easiness;
+            this.intervalDays = intervalDays;
+            this.repetitions = repetitions;
+            this.dueEpochSecond = dueEpochSecond;
+        }
+
+        public String getQuizKey() {
+            return quizKey;
+        }
+
+        public String getQuestionName() {
+            return questionName;
+        }
+
+        public double getEasiness() {
+            return easiness;
+        }
+
+        public int getIntervalDays() {
+            return intervalDays;
+        }
+
+        public int getRepetitions() {
+            return repetitions;
+        }
+
+        public long getDueEpochSecond() {
+            return dueEpochSecond;
+        }
+    }
+
+    private record DueEntry(long dueEpochSecond, ReviewState state, int version) { }
+
+    private final Map<String, Map<String, ReviewState>> states = new HashMap<>();
+    private final Map<String, PriorityQueue<DueEntry>> dueQueues = new HashMap<>();
+
+    /**
+     * Records a review and reschedules the question (SM-2).
+     *
+     * @param quizKey Key of the quiz the question belongs to
+     * @param questionName Name of the question
+     * @param quality Recall quality from 0 (blackout) to 5 (perfect)
+     * @param now Time of the review
+     * @return The updated review state
+     */
+    public ReviewState record(String quizKey, String questionName, int quality, Instant now) {
+        if (quality < 0 || quality > 5) {
+            throw new IllegalArgumentException("Quality must be between 0 and 5");
+        }
+
+        ReviewState state = states.computeIfAbsent(quizKey, key -> new HashMap<>())
+                                  .computeIfAbsent(questionName, name -> new ReviewState(quizKey, name));
+
+        if (quality < 3) {
+            state.repetitions = 0;
+            state.intervalDays = 1;
+        } else {
+            state.repetitions++;
+            if (state.repetitions == 1) {
+                state.intervalDays = 1;
+            } else if (state.repetitions == 2) {
+                state.intervalDays = 6;
+            } else {
+                state.intervalDays = (int) Math.round(state.intervalDays * state.easiness);
+            }
+        }
+
+        int distance = 5 - quality;
+        state.easiness = Math.max(MIN_EASINESS, state.easiness + 0.1 - distance * (0.08 + distance * 0.02));
+        state.dueEpochSecond = now.plus(Duration.ofDays(state.intervalDays)).getEpochSecond();
+
+        schedule(state);
+        return state;
+    }
+
+    /**
+     * Removes and returns the question of a quiz that is due the earliest, if it is due.
+     *
+     * @param quizKey Key of the quiz
+     * @param now The current time
+     * @return The due review state, or null if nothing is due yet
+     */
+    public ReviewState pollDue(String quizKey, Instant now) {
+        DueEntry head = peekLive(quizKey);
+        if (head == null || head.dueEpochSecond() > now.getEpochSecond()) {
+            return null;
+        }
+        return dueQueues.get(quizKey).poll().state();
+    }
+
+    /**
+     * Removes and returns the question of a quiz that is due the earliest, due or not.
+     *
+     * @param quizKey Key of the quiz
+     * @return The earliest review state, or null if the quiz has no reviews
+     */
+    public ReviewState pollEarliest(String quizKey) {
+        DueEntry head = peekLive(quizKey);
+        return head != null ? dueQueues.get(quizKey).poll().state() : null;
+    }
+
+    /**
+     * Discards outdated queue entries and returns the current head.
+     */
+    private DueEntry peekLive(String quizKey) {
+        PriorityQueue<DueEntry> queue = dueQueues.get(quizKey);
+        if (queue == null) {
+            return null;
+        }
+        while (!queue.isEmpty() && queue.peek().version() != queue.peek().state().version) {
+            queue.poll();
+        }
+        return queue.peek();
+    }
+
+    private void schedule(ReviewState state) {
+        state.version++;
+        dueQueues.computeIfAbsent(state.quizKey,
+                key -> new PriorityQueue<>(Comparator.comparingLong(DueEntry::dueEpochSecond)))
+            .add(new DueEntry(state.dueEpochSecond, state, state.version));
+    }
+
+    /**
+     * Gets the review state of a question.
+     *
+     * @param quizKey Key of the quiz
+     * @param questionName Name of the question
+     * @return The review state, or null if the question was never reviewed
+     */
+    public ReviewState getState(String quizKey, String questionName) {
+        Map<String, ReviewState> quizStates = states.get(quizKey);
+        return quizStates != null ? quizStates.get(questionName) : null;
+    }
+
+    /**
+     * Gets the number of reviewed questions across all quizzes.
+     *
+     * @return Number of review states
+     */
+    public int size() {
+        int size = 0;
+        for (Map<String, ReviewState> quizStates : states.values()) {
+            size += quizStates.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets all review states, grouped by quiz key.
+     *
+     * @return Review states per quiz
+     */
+    Map<String, Collection<ReviewState>> getStatesByQuiz() {
+        Map<String, Collection<ReviewState>> result = new HashMap<>();
+        states.forEach((quizKey, quizStates) -> result.put(quizKey, new ArrayList<>(quizStates.values())));
+        return result;
+    }
+
+    /**
+     * Restores review states read from storage.
+     *
+     * @param restored The states to add
+     */
+    void restore(List<ReviewState> restored) {
+        for (ReviewState state : restored) {
+            states.computeIfAbsent(state.quizKey, key -> new HashMap<>()).put(state.questionName, state);
+            schedule(state);
+        }
+    }
+}
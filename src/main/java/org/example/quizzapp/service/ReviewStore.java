@@ -0,0 +1,121 @@
+package org.example.quizzapp.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores each player's spaced-repetition schedule in a compact binary file.
+ * Per review only the question name, easiness, interval, repetition count and
+ * due time are written, grouped by quiz so the quiz key is stored once.
+ */
+public class ReviewStore {
+
+    private static final String REVIEWS_DIRECTORY = "practice-reviews";
+    private static final int MAGIC = 0x53525331; // "SRS1"
+
+    private final Path directory;
+
+    public ReviewStore() {
+        this(Paths.get(REVIEWS_DIRECTORY));
+    }
+
+    public ReviewStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Loads a player's schedule.
+     *
+     * @param playerName The player's name
+     * @return The schedule, empty if the player has none yet
+     * @throws IOException If the file exists but cannot be read
+     */
+    public ReviewScheduler load(String playerName) throws IOException {
+        ReviewScheduler scheduler = new ReviewScheduler();
+        Path file = fileFor(playerName);
+        if (!Files.exists(file)) {
+            return scheduler;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a review file: " + file);
+            }
+            List<ReviewScheduler.ReviewState> states = new ArrayList<>();
+            int quizCount = in.readInt();
+            for (int q = 0; q < quizCount; q++) {
+                String quizKey = in.readUTF();
+                int itemCount = in.readInt();
+                for (int i = 0; i < itemCount; i++) {
+                    String questionName = in.readUTF();
+                    double easiness = in.readShort() / 100.0;
+                    int intervalDays = in.readInt();
+                    int repetitions = in.readShort();
+                    long due = in.readLong();
+                    states.add(new ReviewScheduler.ReviewState(
+                        quizKey, questionName, easiness, intervalDays, repetitions, due));
+                }
+            }
+            scheduler.restore(states);
+        }
+        return scheduler;
+    }
+
+    /**
+     * Saves a player's schedule, replacing the previous file atomically.
+     *
+     * @param playerName The player's name
+     * @param scheduler The schedule to save
+     * @throws IOException If the file cannot be written
+     */
+    public void save(String playerName, ReviewScheduler scheduler) throws IOException {
+        Files.createDirectories(directory);
+        Path file = fileFor(playerName);
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            Map<String, Collection<ReviewScheduler.ReviewState>> byQuiz = scheduler.getStatesByQuiz();
+            out.writeInt(MAGIC);
+            out.writeInt(byQuiz.size());
+            for (Map.Entry<String, Collection<ReviewScheduler.ReviewState>> quiz : byQuiz.entrySet()) {
+                out.writeUTF(quiz.getKey());
+                out.writeInt(quiz.getValue().size());
+                for (ReviewScheduler.ReviewState state : quiz.getValue()) {
+                    out.writeUTF(state.getQuestionName());
+                    out.writeShort((int) Math.round(state.getEasiness() * 100));
+                    out.writeInt(state.getIntervalDays());
+                    out.writeShort(state.getRepetitions());
+                    out.writeLong(state.getDueEpochSecond());
+                }
+            }
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Gets the review file of a player. The name is sanitized for the file system and
+     * suffixed with a hash so names that sanitize to the same text do not share a file.
+     */
+    private Path fileFor(String playerName) {
+        String normalized = playerName == null ? "" : playerName.trim().toLowerCase();
+        String safe = normalized.replaceAll("[^a-z0-9]", "");
+        if (safe.length() > 32) {
+            safe = safe.substring(0, 32);
+        }
+        int hash = Arrays.hashCode(normalized.getBytes(StandardCharsets.UTF_8));
+        return directory.resolve(String.format("%s-%08x.srs", safe, hash));
+    }
+}
@@ -0,0 +1,182 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.Page;
+import org.example.quizzapp.model.Question;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Settings for drawing a random subset of questions from a larger bank.
+ * Every sample is driven by a seed, so a session can be reproduced exactly
+ * by sampling again with the same seed.
+ */
+public class SamplingOptions {
+
+    private final int sampleSize;
+    private final long seed;
+    private final Map<String, Double> tagWeights = new HashMap<>();
+    private Double targetDifficulty;
+    private double difficultySpread = 1.0;
+
+    /**
+     * Creates options with a fresh random seed.
+     *
+     * @param sampleSize Number of questions to draw
+     */
+    public SamplingOptions(int sampleSize) {
+        this(sampleSize, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates options with a fixed seed.
+     *
+     * @param sampleSize Number of questions to draw
+     * @param seed Seed for the random generator
+     */
+    public SamplingOptions(int sampleSize, long seed) {
+        if (sampleSize <= 0) {
+            throw new IllegalArgumentException("Sample size must be positive");
+        }
+        this.sampleSize = sampleSize;
+        this.seed = seed;
+    }
+
+    /**
+     * Gives questions with a tag a relative weight. Untagged questions weigh 1.0;
+     * a question with several weighted tags uses the largest weight.
+     *
+     * @param tag The tag
+     * @param weight Relative weight, 0 excludes the tag
+     */
+    public void setTagWeight(String tag, double weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight cannot be negative");
+        }
+        tagWeights.put(tag.toLowerCase(), weight);
+    }
+
+    /**
+     * Prefers questions near a difficulty. The weight falls off as a Gaussian of the
+     * distance to the target; questions without a difficulty keep weight 1.0.
+     *
+     * @param targetDifficulty The preferred difficulty
+     * @param spread Standard deviation of the preference
+     */
+    public void setTargetDifficulty(double targetDifficulty, double spread) {
+        if (spread <= 0) {
+            throw new IllegalArgumentException("Spread must be positive");
+        }
+        this.targetDifficulty = targetDifficulty;
+        this.difficultySpread = spread;
+    }
+
+    /**
+     * Checks whether any weighting is configured.
+     *
+     * @return true if pages are drawn with weighted sampling
+     */
+    public boolean isWeighted() {
+        return !tagWeights.isEmpty() || targetDifficulty != null;
+    }
+
+    /**
+     * Computes the sampling weight of a page from its questions' tags and difficulty.
+     *
+     * @param page The page
+     * @return Weight, 0 if the page must never be drawn
+     */
+    public double weightOf(Page page) {
+        Question question = page.getQuestion();
+        if (question == null) {
+            return 0;
+        }
+        String[] tags = question.getTags().toArray(new String[0]);
+        return weightOf(tags, question.getDifficulty());
+    }
+
+    /**
+     * Computes the sampling weight from raw tag and difficulty values.
+     *
+     * @param tags The question tags
+     * @param difficulty The question difficulty, or null
+     * @return Weight, 0 if the question must never be drawn
+     */
+    double weightOf(String[] tags, Double difficulty) {
+        double weight = 1.0;
+        if (!tagWeights.isEmpty() && tags.length > 0) {
+            double best = -1;
+            for (String tag : tags) {
+                Double tagWeight = tagWeights.get(tag.toLowerCase());
+                if (tagWeight != null) {
+                    best = Math.max(best, tagWeight);
+                }
+            }
+            if (best >= 0) {
+                weight = best;
+            }
+        }
+        if (targetDifficulty != null && difficulty != null) {
+            double distance = (difficulty - targetDifficulty) / difficultySpread;
+            weight *= Math.exp(-0.5 * distance * distance);
+        }
+        return weight;
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the tag weights, with tags in lower case.
+     *
+     * @return The weights by tag, unmodifiable
+     */
+    public Map<String, Double> getTagWeights() {
+        return Collections.unmodifiableMap(tagWeights);
+    }
+
+    public Double getTargetDifficulty() {
+        return targetDifficulty;
+    }
+
+    public double getDifficultySpread() {
+        return difficultySpread;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SamplingOptions other)) {
+            return false;
+        }
+        return sampleSize == other.sampleSize && seed == other.seed
+            && Double.compare(difficultySpread, other.difficultySpread) == 0
+            && tagWeights.equals(other.tagWeights) && Objects.equals(targetDifficulty, other.targetDifficulty);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sampleSize, seed, tagWeights, targetDifficulty, difficultySpread);
+    }
+
+    @Override
+    public String toString() {
+        return "SamplingOptions{" +
+                "sampleSize=" + sampleSize +
+                ", seed=" + seed +
+                ", tagWeights=" + tagWeights +
+                ", targetDifficulty=" + targetDifficulty +
+                ", difficultySpread=" + difficultySpread +
+                '}';
+    }
+}
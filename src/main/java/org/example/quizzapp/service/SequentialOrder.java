@@ -0,0 +1,48 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.Page;
+import org.example.quizzapp.model.Quiz;
+
+/**
+ * Plays every page of the quiz in file order.
+ */
+public class SequentialOrder implements QuestionOrder {
+    
+    private Quiz quiz;
+    private int index = 0;
+    
+    @Override
+    public void reset(Quiz quiz) {
+        this.quiz = quiz;
+        this.index = 0;
+    }
+    
+    @Override
+    public Page getCurrentPage() {
+        if (quiz == null || index >= quiz.getTotalQuestions()) {
+            return null;
+        }
+        return quiz.getPage(index);
+    }
+    
+    @Override
+    public int getPosition() {
+        return index;
+    }
+    
+    @Override
+    public int getLength() {
+        return quiz != null ? quiz.getTotalQuestions() : 0;
+    }
+    
+    @Override
+    public void recordAnswer(boolean correct) {
+        // Fixed order does not depend on answers
+    }
+    
+    @Override
+    public boolean advance() {
+        index++;
+        return index < getLength();
+    }
+}
@@ -0,0 +1,721 @@
+package org.example.quizzapp.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary log of game session events.
+ * Every session is recorded as a stream of events (started, question shown, answer submitted,
+ * timed out, finished) that is enough to rebuild the session after a crash, to recompute its
+ * result and to audit it later.
+ *
+ * <p>Events are encoded into a memory buffer and written with one {@code fsync} per batch,
+ * every {@value #FLUSH_INTERVAL_MILLIS} ms or when the buffer fills up, so a power loss costs
+ * at most the last batch. Each record carries a CRC32; a torn record at the end of the file
+ * is dropped when the log is opened, and a damaged record before it is skipped.
+ *
+ * <p>Once a session ends and the log has grown past {@value #ROLL_BYTES} bytes, it is rolled:
+ * the file is kept as {@code sessions-<next session id>.qel} and a new one is started with the
+ * events of the sessions that are still open, so opening the log only replays recent history.
+ */
+public class SessionEventLog implements AutoCloseable {
+
+    private static final String SESSIONS_DIRECTORY = "quiz-sessions";
+    private static final String LOG_FILE_NAME = "sessions.qel";
+    private static final int MAGIC = 0x51454C31; // "QEL1"
+    private static final int HEADER_SIZE = 4;
+    static final long FLUSH_INTERVAL_MILLIS = 100;
+    private static final int MAX_BUFFERED_BYTES = 64 * 1024;
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+    static final long ROLL_BYTES = 4 * 1024 * 1024;
+
+    private static SessionEventLog instance;
+
+    /**
+     * Kind of session event.
+     */
+    public enum Type { STARTED, QUESTION_SHOWN, ANSWER_SUBMITTED, TIMED_OUT, FINISHED, ABANDONED }
+
+    /**
+     * The question order a session was played in.
+     */
+    public enum OrderKind {
+        SEQUENTIAL, ADAPTIVE, SPACED_REPETITION;
+
+        /**
+         * Gets the kind of an order.
+         *
+         * @param order The order
+         * @return Its kind
+         */
+        public static OrderKind of(QuestionOrder order) {
+            if (order instanceof AdaptiveOrder) {
+                return ADAPTIVE;
+            }
+            if (order instanceof SpacedRepetitionOrder) {
+                return SPACED_REPETITION;
+            }
+            return SEQUENTIAL;
+        }
+    }
+
+    /**
+     * What is needed to set a session up again: who played which quiz, and how.
+     * The sampling is null if the whole quiz was played; sessions logged before weights were recorded
+     * come back without them. The order is null for sessions logged before it was recorded.
+     */
+    public record SessionStart(String playerName, String quizFile, boolean practice, SamplingOptions sampling,
+                               OrderKind order) { }
+
+    /**
+     * One recorded event.
+     *
+     * @param sessionId The session it belongs to
+     * @param type The kind of event
+     * @param timeMillis Wall-clock time of the event
+     * @param position Question position in the session, or the number of answers for FINISHED
+     * @param questionName Name of the question, null for STARTED and FINISHED
+     * @param answer The submitted answer (String or Boolean), only for ANSWER_SUBMITTED
+     * @param start Session setup, only for STARTED
+     */
+    public record Event(long sessionId, Type type, long timeMillis, int position,
+                        String questionName, Object answer, SessionStart start) {
+
+        public static Event started(long sessionId, SessionStart start) {
+            return new Event(sessionId, Type.STARTED, System.currentTimeMillis(), 0, null, null, start);
+        }
+
+        public static Event of(long sessionId, Type type, int position, String questionName) {
+            return new Event(sessionId, type, System.currentTimeMillis(), position, questionName, null, null);
+        }
+
+        public static Event answered(long sessionId, int position, String questionName, Object answer) {
+            return new Event(sessionId, Type.ANSWER_SUBMITTED, System.currentTimeMillis(),
+                position, questionName, answer, null);
+        }
+    }
+
+    private final Path file;
+    private final long rollBytes;
+    private final ScheduledExecutorService flusher;
+    private final Object writeLock = new Object();
+    private FileChannel channel;
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream(MAX_BUFFERED_BYTES);
+    private final CRC32 crc = new CRC32();
+    private final Set<Long> openSessions;
+    private long nextSessionId;
+    private boolean closed;
+
+    private SessionEventLog(Path file, FileChannel channel, long nextSessionId, Set<Long> openSessions,
+                            long rollBytes) {
+        this.file = file;
+        this.channel = channel;
+        this.nextSessionId = nextSessionId;
+        this.openSessions = openSessions;
+        this.rollBytes = rollBytes;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-log-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly,
+            FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the application's session log in the default directory, opening it on first use.
+     *
+     * @return The log, or null if it cannot be opened
+     */
+    public static synchronized SessionEventLog getInstance() {
+        if (instance == null) {
+            try {
+                instance = open(Paths.get(SESSIONS_DIRECTORY, LOG_FILE_NAME));
+                Runtime.getRuntime().addShutdownHook(new Thread(instance::close));
+            } catch (IOException e) {
+                System.err.println("Warning: Could not open session log: " + e.getMessage());
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Opens a log for appending, creating it if needed.
+     * A torn record left by a crash at the end of the file is cut off.
+     *
+     * @param file The log file
+     * @return The open log
+     * @throws IOException If the file cannot be opened, is not a session log or is damaged
+     *                     in a way that cannot be skipped
+     */
+    public static SessionEventLog open(Path file) throws IOException {
+        return open(file, ROLL_BYTES);
+    }
+
+    static SessionEventLog open(Path file, long rollBytes) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path rollFile = rollFileOf(file);
+        if (!Files.exists(file) && Files.exists(rollFile)) {
+            // A roll was interrupted after the old log was kept
+            Files.move(rollFile, file, StandardCopyOption.ATOMIC_MOVE);
+        }
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long maxSessionId = rolledSessionIds(file) - 1;
+            Set<Long> openSessions = new HashSet<>();
+            long validEnd;
+            if (channel.size() == 0) {
+                channel.write(ByteBuffer.allocate(HEADER_SIZE).putInt(0, MAGIC));
+                channel.force(true);
+                validEnd = HEADER_SIZE;
+            } else {
+                long[] scan = {maxSessionId};
+                validEnd = readEvents(file, event -> {
+                    scan[0] = Math.max(scan[0], event.sessionId());
+                    trackOpen(openSessions, event);
+                });
+                maxSessionId = scan[0];
+                if (validEnd < channel.size()) {
+                    System.err.println("Warning: Dropping " + (channel.size() - validEnd)
+                        + " bytes of incomplete session events from " + file);
+                    channel.truncate(validEnd);
+                    channel.force(true);
+                }
+            }
+            channel.position(validEnd);
+            return new SessionEventLog(file, channel, maxSessionId + 1, openSessions, rollBytes);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Allocates an id for a new session.
+     *
+     * @return A session id unique within this log
+     */
+    public synchronized long newSessionId() {
+        return nextSessionId++;
+    }
+
+    /**
+     * Appends an event. It becomes durable with the next batch, or on {@link #sync()}.
+     *
+     * @param event The event
+     */
+    public void append(Event event) {
+        boolean full;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Session log is closed");
+            }
+            try {
+                writeRecord(event, buffer, crc);
+            } catch (IOException e) {
+                // Writing to a memory buffer does not fail
+                throw new IllegalStateException(e);
+            }
+            trackOpen(openSessions, event);
+            full = buffer.size() >= MAX_BUFFERED_BYTES;
+        }
+        if (full) {
+            flushQuietly();
+        }
+        if (event.type() == Type.FINISHED || event.type() == Type.ABANDONED) {
+            rollIfLarge();
+        }
+    }
+
+    private static void trackOpen(Set<Long> openSessions, Event event) {
+        switch (event.type()) {
+            case STARTED -> openSessions.add(event.sessionId());
+            case FINISHED, ABANDONED -> openSessions.remove(event.sessionId());
+            default -> { }
+        }
+    }
+
+    private void rollIfLarge() {
+        synchronized (writeLock) {
+            try {
+                if (channel.isOpen() && channel.size() >= rollBytes) {
+                    roll();
+                }
+            } catch (IOException e) {
+                System.err.println("Warning: Could not roll session log: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Keeps the current file under a numbered name and starts a new one holding the events of
+     * the sessions that are still open. Events appended meanwhile stay buffered for the new file.
+     */
+    private void roll() throws IOException {
+        sync();
+        Set<Long> stillOpen;
+        long next;
+        synchronized (this) {
+            stillOpen = new HashSet<>(openSessions);
+            next = nextSessionId;
+        }
+
+        ByteArrayOutputStream carried = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(carried);
+        header.writeInt(MAGIC);
+        CRC32 carryCrc = new CRC32();
+        IOException[] failure = new IOException[1];
+        readEvents(file, event -> {
+            if (stillOpen.contains(event.sessionId()) && failure[0] == null) {
+                try {
+                    writeRecord(event, carried, carryCrc);
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+
+        Path rollFile = rollFileOf(file);
+        try (FileChannel out = FileChannel.open(rollFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = ByteBuffer.wrap(carried.toByteArray());
+            while (bytes.hasRemaining()) {
+                out.write(bytes);
+            }
+            out.force(true);
+        }
+        channel.close();
+        try {
+            Files.move(file, rolledFile(file, next), StandardCopyOption.ATOMIC_MOVE);
+            Files.move(rollFile, file, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            // The new log, or the old one if it could not be kept
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        }
+    }
+
+    private static Path rollFileOf(Path file) {
+        return file.resolveSibling(file.getFileName() + ".roll");
+    }
+
+    private static Path rolledFile(Path file, long nextSessionId) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        return file.resolveSibling(String.format("%s-%06d%s", base, nextSessionId, extension));
+    }
+
+    /**
+     * Gets the first session id not used by any rolled file of a log, so ids stay unique across them.
+     */
+    private static long rolledSessionIds(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        Pattern rolled = Pattern.compile(Pattern.quote(dot > 0 ? name.substring(0, dot) : name) + "-(\\d+)"
+            + Pattern.quote(dot > 0 ? name.substring(dot) : ""));
+        long next = 1;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path sibling : (Iterable<Path>) files::iterator) {
+                Matcher matcher = rolled.matcher(sibling.getFileName().toString());
+                if (matcher.matches()) {
+                    next = Math.max(next, Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Writes and fsyncs every buffered event.
+     *
+     * @throws IOException If writing fails
+     */
+    public void sync() throws IOException {
+        synchronized (writeLock) {
+            ByteArrayOutputStream pending;
+            synchronized (this) {
+                if (buffer.size() == 0) {
+                    return;
+                }
+                pending = buffer;
+                buffer = new ByteArrayOutputStream(MAX_BUFFERED_BYTES);
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(pending.toByteArray());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            System.err.println("Warning: Could not write session events: " + e.getMessage());
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Writes the remaining events and closes the file.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        // Interrupting a flush in progress would close the channel and lose its batch
+        flusher.shutdown();
+        boolean interrupted = false;
+        try {
+            if (!flusher.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("Warning: Session log flusher did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            // Flush first, for the same reason, and keep the interrupt for the caller
+            interrupted = true;
+        }
+        flushQuietly();
+        synchronized (writeLock) {
+            try {
+                channel.force(true);
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Warning: Could not close session log: " + e.getMessage());
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads every intact event of a log in order.
+     *
+     * @param file The log file
+     * @param consumer Receives each event
+     * @throws IOException If the file cannot be read or is not a session log
+     */
+    public static void replay(Path file, Consumer<Event> consumer) throws IOException {
+        readEvents(file, consumer);
+    }
+
+    /**
+     * Reads every intact event of a log.
+     *
+     * @param file The log file
+     * @return The events in order
+     * @throws IOException If the file cannot be read or is not a session log
+     */
+    public static List<Event> readAll(Path file) throws IOException {
+        List<Event> events = new ArrayList<>();
+        readEvents(file, events::add);
+        return events;
+    }
+
+    // Record layout: varint body length, body, CRC32 of the body.
+    // Body: type, varlong session id, long time, varint position, then type-specific fields.
+
+    private static void writeRecord(Event event, ByteArrayOutputStream buffer, CRC32 crc) throws IOException {
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(64);
+        DataOutputStream body = new DataOutputStream(bodyBytes);
+        body.writeByte(event.type().ordinal());
+        writeVarLong(body, event.sessionId());
+        body.writeLong(event.timeMillis());
+        writeVarLong(body, event.position());
+        switch (event.type()) {
+            case STARTED -> {
+                SessionStart start = event.start();
+                body.writeUTF(start.playerName() != null ? start.playerName() : "");
+                body.writeUTF(start.quizFile() != null ? start.quizFile() : "");
+                body.writeBoolean(start.practice());
+                SamplingOptions sampling = start.sampling();
+                writeVarLong(body, sampling != null ? sampling.getSampleSize() : 0);
+                body.writeLong(sampling != null ? sampling.getSeed() : 0);
+                body.writeByte((start.order() != null ? start.order() : OrderKind.SEQUENTIAL).ordinal());
+                writeWeights(body, sampling);
+            }
+            case QUESTION_SHOWN, TIMED_OUT -> body.writeUTF(nonNull(event.questionName()));
+            case ANSWER_SUBMITTED -> {
+                body.writeUTF(nonNull(event.questionName()));
+                writeAnswer(body, event.answer());
+            }
+            case FINISHED, ABANDONED -> { }
+        }
+
+        crc.reset();
+        crc.update(bodyBytes.toByteArray());
+        DataOutputStream out = new DataOutputStream(buffer);
+        writeVarLong(out, bodyBytes.size());
+        bodyBytes.writeTo(out);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static String nonNull(String value) {
+        return value != null ? value : "";
+    }
+
+    private static void writeAnswer(DataOutputStream out, Object answer) throws IOException {
+        if (answer == null) {
+            out.writeByte(0);
+        } else if (answer instanceof Boolean b) {
+            out.writeByte(b ? 2 : 1);
+        } else {
+            out.writeByte(3);
+            out.writeUTF(answer.toString());
+        }
+    }
+
+    private static Object readAnswer(DataInputStream in) throws IOException {
+        return switch (in.readUnsignedByte()) {
+            case 0 -> null;
+            case 1 -> Boolean.FALSE;
+            case 2 -> Boolean.TRUE;
+            case 3 -> in.readUTF();
+            default -> throw new IOException("Unknown answer tag");
+        };
+    }
+
+    /**
+     * Reads every intact record. A damaged record is skipped if records follow it; one that was
+     * torn at the end of the file ends the log.
+     *
+     * @return Offset just past the last record that was read or skipped
+     * @throws IOException If the file cannot be read, is not a session log or has a damaged
+     *                     record length, after which records cannot be found again
+     */
+    private static long readEvents(Path file, Consumer<Event> consumer) throws IOException {
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 64 * 1024))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a session log: " + file);
+            }
+            long offset = HEADER_SIZE;
+            CRC32 crc = new CRC32();
+            while (true) {
+                byte[] body;
+                int lengthBytes;
+                try {
+                    int first = in.read();
+                    if (first < 0) {
+                        return offset;
+                    }
+                    long length = first & 0x7F;
+                    lengthBytes = 1;
+                    int shift = 7;
+                    int b = first;
+                    while ((b & 0x80) != 0 && shift < 35) {
+                        b = in.readUnsignedByte();
+                        length |= (long) (b & 0x7F) << shift;
+                        shift += 7;
+                        lengthBytes++;
+                    }
+                    if (length <= 0 || length > MAX_BUFFERED_BYTES) {
+                        // Space the file system allocated but the crash left unwritten reads as zeros
+                        if (first == 0 && isZeros(in)) {
+                            return offset;
+                        }
+                        throw new IOException("Session log " + file + " is damaged at byte " + offset
+                            + "; move it aside to start a new log");
+                    }
+                    body = new byte[(int) length];
+                    in.readFully(body);
+                    int expected = in.readInt();
+                    crc.reset();
+                    crc.update(body);
+                    if ((int) crc.getValue() != expected) {
+                        if (isAtEnd(in)) {
+                            return offset;
+                        }
+                        System.err.println("Warning: Skipping damaged session event at byte " + offset + " of " + file);
+                        offset += lengthBytes + body.length + 4;
+                        continue;
+                    }
+                } catch (EOFException e) {
+                    // Torn write at the end of the log
+                    return offset;
+                }
+
+                Event event;
+                try {
+                    event = decode(body);
+                } catch (IOException e) {
+                    event = null;
+                }
+                if (event != null) {
+                    consumer.accept(event);
+                } else {
+                    System.err.println("Warning: Skipping unreadable session event at byte " + offset + " of " + file);
+                }
+                offset += lengthBytes + body.length + 4;
+            }
+        }
+    }
+
+    /**
+     * Decodes a record body.
+     *
+     * @return The event, or null if its type is unknown, e.g. written by a newer version
+     */
+    private static Event decode(byte[] body) throws IOException {
+        DataInputStream record = new DataInputStream(new ByteArrayInputStream(body));
+        Type[] types = Type.values();
+        int typeIndex = record.readUnsignedByte();
+        if (typeIndex >= types.length) {
+            return null;
+        }
+        Type type = types[typeIndex];
+        long sessionId = readVarLong(record);
+        long timeMillis = record.readLong();
+        int position = (int) readVarLong(record);
+        String questionName = null;
+        Object answer = null;
+        SessionStart start = null;
+        switch (type) {
+            case STARTED -> {
+                String playerName = record.readUTF();
+                String quizFile = record.readUTF();
+                boolean practice = record.readBoolean();
+                int sampleSize = (int) readVarLong(record);
+                long seed = record.readLong();
+                OrderKind order = readOrder(record);
+                SamplingOptions sampling = sampleSize > 0 ? new SamplingOptions(sampleSize, seed) : null;
+                readWeights(record, sampling);
+                start = new SessionStart(playerName, quizFile, practice, sampling, order);
+            }
+            case QUESTION_SHOWN, TIMED_OUT -> questionName = record.readUTF();
+            case ANSWER_SUBMITTED -> {
+                questionName = record.readUTF();
+                answer = readAnswer(record);
+            }
+            case FINISHED, ABANDONED -> { }
+        }
+        return new Event(sessionId, type, timeMillis, position, questionName, answer, start);
+    }
+
+    private static boolean isAtEnd(InputStream in) throws IOException {
+        in.mark(1);
+        boolean end = in.read() < 0;
+        in.reset();
+        return end;
+    }
+
+    private static boolean isZeros(InputStream in) throws IOException {
+        in.mark(Integer.MAX_VALUE);
+        int b;
+        while ((b = in.read()) == 0) {
+            // Keep looking
+        }
+        in.reset();
+        return b < 0;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static void writeWeights(DataOutputStream out, SamplingOptions sampling) throws IOException {
+        Map<String, Double> tagWeights = sampling != null ? sampling.getTagWeights() : Map.of();
+        writeVarLong(out, tagWeights.size());
+        for (Map.Entry<String, Double> tagWeight : tagWeights.entrySet()) {
+            out.writeUTF(tagWeight.getKey());
+            out.writeDouble(tagWeight.getValue());
+        }
+        Double target = sampling != null ? sampling.getTargetDifficulty() : null;
+        out.writeBoolean(target != null);
+        if (target != null) {
+            out.writeDouble(target);
+            out.writeDouble(sampling.getDifficultySpread());
+        }
+    }
+
+    private static void readWeights(DataInputStream in, SamplingOptions sampling) throws IOException {
+        // Absent in records written before the weights were logged
+        if (in.available() == 0) {
+            return;
+        }
+        long tagCount = readVarLong(in);
+        for (long i = 0; i < tagCount; i++) {
+            String tag = in.readUTF();
+            double weight = in.readDouble();
+            if (sampling != null) {
+                sampling.setTagWeight(tag, weight);
+            }
+        }
+        if (in.readBoolean()) {
+            double target = in.readDouble();
+            double spread = in.readDouble();
+            if (sampling != null) {
+                sampling.setTargetDifficulty(target, spread);
+            }
+        }
+    }
+
+    private static OrderKind readOrder(DataInputStream in) throws IOException {
+        // Absent in records written before the order was logged
+        if (in.available() == 0) {
+            return null;
+        }
+        int index = in.readUnsignedByte();
+        OrderKind[] kinds = OrderKind.values();
+        return index < kinds.length ? kinds[index] : null;
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.PlayerResult;
+import org.example.quizzapp.model.Question;
+import org.example.quizzapp.model.Quiz;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rebuilds game sessions by replaying a {@link SessionEventLog}.
+ * Used on start-up to find sessions that were interrupted, and to recompute
+ * results from the recorded answers.
+ */
+public class SessionRecovery {
+
+    /**
+     * State of one session as far as the log recorded it.
+     */
+    public static class RecordedSession {
+        private final long sessionId;
+        private final SessionEventLog.SessionStart start;
+        private final long startedAt;
+        private final List<String> questionNames = new ArrayList<>();
+        private final List<Object> answers = new ArrayList<>();
+        private SessionEventLog.Type lastType = SessionEventLog.Type.STARTED;
+        private long lastEventAt;
+
+        RecordedSession(long sessionId, SessionEventLog.SessionStart start, long startedAt) {
+            this.sessionId = sessionId;
+            this.start = start;
+            this.startedAt = startedAt;
+            this.lastEventAt = startedAt;
+        }
+
+        void apply(SessionEventLog.Event event) {
+            switch (event.type()) {
+                case ANSWER_SUBMITTED -> {
+                    questionNames.add(event.questionName());
+                    answers.add(event.answer());
+                }
+                case TIMED_OUT -> {
+                    questionNames.add(event.questionName());
+                    answers.add(null);
+                }
+                default -> { }
+            }
+            lastType = event.type();
+            lastEventAt = event.timeMillis();
+        }
+
+        public long getSessionId() {
+            return sessionId;
+        }
+
+        public SessionEventLog.SessionStart getStart() {
+            return start;
+        }
+
+        public long getStartedAt() {
+            return startedAt;
+        }
+
+        public long getLastEventAt() {
+            return lastEventAt;
+        }
+
+        /**
+         * Gets the names of the answered questions, in the order they were answered.
+         *
+         * @return Question names
+         */
+        public List<String> getQuestionNames() {
+            return Collections.unmodifiableList(questionNames);
+        }
+
+        /**
+         * Gets the answers in the order they were given; a timeout is a null answer.
+         *
+         * @return The answers
+         */
+        public List<Object> getAnswers() {
+            return Collections.unmodifiableList(answers);
+        }
+
+        public boolean isFinished() {
+            return lastType == SessionEventLog.Type.FINISHED;
+        }
+
+        public boolean isClosed() {
+            return isFinished() || lastType == SessionEventLog.Type.ABANDONED;
+        }
+    }
+
+    /**
+     * Replays a log into the sessions it contains.
+     *
+     * @param logFile The log file
+     * @return Sessions by id, in the order they started
+     * @throws IOException If the log cannot be read
+     */
+    public static Map<Long, RecordedSession> replay(Path logFile) throws IOException {
+        Map<Long, RecordedSession> sessions = new LinkedHashMap<>();
+        SessionEventLog.replay(logFile, event -> {
+            if (event.type() == SessionEventLog.Type.STARTED) {
+                sessions.put(event.sessionId(),
+                    new RecordedSession(event.sessionId(), event.start(), event.timeMillis()));
+                return;
+            }
+            RecordedSession session = sessions.get(event.sessionId());
+            if (session != null) {
+                session.apply(event);
+            }
+        });
+        return sessions;
+    }
+
+    /**
+     * Finds sessions that were neither finished nor abandoned, e.g. because the app lost power.
+     *
+     * @param logFile The log file
+     * @return Interrupted sessions, most recent first
+     * @throws IOException If the log cannot be read
+     */
+    public static List<RecordedSession> findInterrupted(Path logFile) throws IOException {
+        List<RecordedSession> interrupted = new ArrayList<>();
+        for (RecordedSession session : replay(logFile).values()) {
+            if (!session.isClosed()) {
+                interrupted.add(session);
+            }
+        }
+        interrupted.sort(Comparator.comparingLong(RecordedSession::getLastEventAt).reversed());
+        return interrupted;
+    }
+
+    /**
+     * Recomputes the result of a session by scoring its recorded answers against a quiz.
+     * Questions are matched by name, so reordered or sampled sessions are scored correctly.
+     *
+     * @param session The recorded session
+     * @param quiz The quiz it was played on
+     * @return The recomputed result
+     */
+    public static PlayerResult recomputeResult(RecordedSession session, Quiz quiz) {
+        Map<String, Question> byName = new HashMap<>();
+        for (int i = 0; i < quiz.getTotalQuestions(); i++) {
+            Question question = quiz.getQuestion(i);
+            if (question != null) {
+                byName.putIfAbsent(question.getName(), question);
+            }
+        }
+
+        int correct = 0;
+        for (int i = 0; i < session.answers.size(); i++) {
+            Question question = byName.get(session.questionNames.get(i));
+            Object answer = session.answers.get(i);
+            if (question != null && answer != null && question.isCorrectAnswer(answer)) {
+                correct++;
+            }
+        }
+        LocalDateTime date = LocalDateTime.ofInstant(Instant.ofEpochMilli(session.lastEventAt), ZoneId.systemDefault());
+        return new PlayerResult(session.start.playerName(), session.answers.size(), correct, date);
+    }
+}
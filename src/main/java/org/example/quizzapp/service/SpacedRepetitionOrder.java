@@ -0,0 +1,167 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.Page;
+import org.example.quizzapp.model.Question;
+import org.example.quizzapp.model.Quiz;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Practice order driven by a player's spaced-repetition schedule.
+ * Questions that are due for review come first, earliest due first, followed by
+ * questions the player has never seen in quiz order. Once both run out, the
+ * questions due soonest are reviewed ahead of time. Every answer is recorded in
+ * the schedule, so the next session picks up where this one left off.
+ */
+public class SpacedRepetitionOrder implements QuestionOrder {
+
+    private final ReviewScheduler scheduler;
+    private final String quizKey;
+    private final Clock clock;
+
+    private Quiz quiz;
+    private Map<String, Integer> pageByName;
+    private final Set<Integer> asked = new HashSet<>();
+    private int newCursor;
+    private int currentItem;
+    private int position;
+    private int length;
+
+    /**
+     * Creates a spaced-repetition order using the system clock.
+     *
+     * @param scheduler The player's schedule
+     * @param quizKey Key identifying the quiz in the schedule
+     */
+    public SpacedRepetitionOrder(ReviewScheduler scheduler, String quizKey) {
+        this(scheduler, quizKey, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a spaced-repetition order.
+     *
+     * @param scheduler The player's schedule
+     * @param quizKey Key identifying the quiz in the schedule
+     * @param clock Clock used for due times
+     */
+    public SpacedRepetitionOrder(ReviewScheduler scheduler, String quizKey, Clock clock) {
+        this.scheduler = scheduler;
+        this.quizKey = quizKey;
+        this.clock = clock;
+    }
+
+    @Override
+    public void reset(Quiz quiz) {
+        if (quiz != this.quiz || pageByName == null) {
+            this.quiz = quiz;
+            this.pageByName = new HashMap<>();
+            int total = quiz != null ? quiz.getTotalQuestions() : 0;
+            for (int i = 0; i < total; i++) {
+                Question question = quiz.getQuestion(i);
+                if (question != null && question.getName() != null) {
+                    pageByName.putIfAbsent(question.getName(), i);
+                }
+            }
+        }
+
+        asked.clear();
+        newCursor = 0;
+        position = 0;
+        length = quiz != null ? quiz.getTotalQuestions() : 0;
+        currentItem = length > 0 ? pickNext() : -1;
+        if (currentItem < 0) {
+            length = 0;
+        }
+    }
+
+    /**
+     * Picks the next page: due reviews, then unseen questions, then early reviews.
+     *
+     * @return The page index, or -1 if every page was asked
+     */
+    private int pickNext() {
+        ReviewScheduler.ReviewState due;
+        while ((due = scheduler.pollDue(quizKey, clock.instant())) != null) {
+            Integer page = pageByName.get(due.getQuestionName());
+            if (page != null && asked.add(page)) {
+                return page;
+            }
+        }
+
+        int total = quiz.getTotalQuestions();
+        while (newCursor < total) {
+            int page = newCursor++;
+            Question question = quiz.getQuestion(page);
+            String name = question != null ? question.getName() : null;
+            if (name != null && scheduler.getState(quizKey, name) == null && asked.add(page)) {
+                return page;
+            }
+        }
+
+        ReviewScheduler.ReviewState early;
+        while ((early = scheduler.pollEarliest(quizKey)) != null) {
+            Integer page = pageByName.get(early.getQuestionName());
+            if (page != null && asked.add(page)) {
+                return page;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Page getCurrentPage() {
+        if (currentItem < 0 || position >= length) {
+            return null;
+        }
+        return quiz.getPage(currentItem);
+    }
+
+    @Override
+    public int getPosition() {
+        return position;
+    }
+
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public void recordAnswer(boolean correct) {
+        Page page = getCurrentPage();
+        if (page == null || page.getQuestion() == null || page.getQuestion().getName() == null) {
+            return;
+        }
+        int quality = correct ? ReviewScheduler.QUALITY_CORRECT : ReviewScheduler.QUALITY_INCORRECT;
+        scheduler.record(quizKey, page.getQuestion().getName(), quality, clock.instant());
+    }
+
+    @Override
+    public boolean advance() {
+        position++;
+        if (position >= length) {
+            currentItem = -1;
+            return false;
+        }
+        currentItem = pickNext();
+        if (currentItem < 0) {
+            // Questions without a name cannot be scheduled; end the session early
+            length = position;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the schedule this order records answers in.
+     *
+     * @return The player's schedule
+     */
+    public ReviewScheduler getScheduler() {
+        return scheduler;
+    }
+}
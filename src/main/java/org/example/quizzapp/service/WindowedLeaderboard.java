@@ -0,0 +1,287 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.PlayerResult;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Leaderboards of one quiz for today, this week and all time.
+ * Results are kept in one sorted list per day, for the days of the current week (weeks start
+ * on Monday), next to the sorted all-time list. Adding a result inserts it into its day and the
+ * all-time list; when the date changes, only the days before the new week are dropped, and the
+ * weekly board is a merge of at most seven sorted days, cached until the next change.
+ */
+public class WindowedLeaderboard {
+
+    /**
+     * The time windows a leaderboard can show.
+     */
+    public enum Period {
+        TODAY("Today"),
+        THIS_WEEK("This Week"),
+        ALL_TIME("All Time");
+
+        private final String label;
+
+        Period(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /**
+     * Orders a results view can be sorted by.
+     */
+    public enum SortKey {
+        /** Leaderboard order, see {@link #RANKING} */
+        RANK,
+        PLAYER,
+        SCORE,
+        DATE
+    }
+
+    /**
+     * Leaderboard order: highest score first, then most recent first,
+     * like {@link org.example.quizzapp.model.QuizResult#getResultsSortedByScore()}.
+     */
+    public static final Comparator<PlayerResult> RANKING = Comparator
+        .comparingDouble(PlayerResult::getScore).reversed()
+        .thenComparing(PlayerResult::getDate, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final Clock clock;
+    private final List<PlayerResult> allTime = new ArrayList<>();
+    private final TreeMap<LocalDate, List<PlayerResult>> days = new TreeMap<>();
+    private LocalDate today;
+    private LocalDate weekStart;
+    private List<PlayerResult> week;
+    private int modCount;
+    private ViewKey cachedViewKey;
+    private List<PlayerResult> cachedView;
+
+    private record ViewKey(Period period, SortKey sortKey, boolean descending, String filter, int modCount) { }
+
+    /**
+     * Creates an empty leaderboard on the system clock.
+     */
+    public WindowedLeaderboard() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates an empty leaderboard.
+     *
+     * @param clock Decides which day it is
+     */
+    public WindowedLeaderboard(Clock clock) {
+        this.clock = clock;
+        roll();
+    }
+
+    /**
+     * Creates a leaderboard holding existing results.
+     *
+     * @param results The results, in any order
+     * @param clock Decides which day it is
+     * @return The leaderboard
+     */
+    public static WindowedLeaderboard of(Collection<PlayerResult> results, Clock clock) {
+        WindowedLeaderboard leaderboard = new WindowedLeaderboard(clock);
+        // One stable sort instead of an insert per result; equal results keep their order, as with add
+        leaderboard.allTime.addAll(results);
+        leaderboard.allTime.sort(RANKING);
+        for (PlayerResult result : leaderboard.allTime) {
+            if (result.getDate() != null) {
+                LocalDate day = result.getDate().toLocalDate();
+                if (!day.isBefore(leaderboard.weekStart)) {
+                    leaderboard.days.computeIfAbsent(day, key -> new ArrayList<>()).add(result);
+                }
+            }
+        }
+        return leaderboard;
+    }
+
+    /**
+     * Adds a result to every window it falls into.
+     *
+     * @param result The result to add
+     */
+    public synchronized void add(PlayerResult result) {
+        roll();
+        insertSorted(allTime, result);
+        if (result.getDate() != null) {
+            LocalDate day = result.getDate().toLocalDate();
+            if (!day.isBefore(weekStart)) {
+                insertSorted(days.computeIfAbsent(day, key -> new ArrayList<>()), result);
+                week = null;
+            }
+        }
+        modCount++;
+    }
+
+    /**
+     * Gets the ranked results of a window.
+     *
+     * @param period The window
+     * @return The results, best first
+     */
+    public synchronized List<PlayerResult> getLeaderboard(Period period) {
+        return List.copyOf(ranked(period));
+    }
+
+    /**
+     * Gets a window-at-a-time view of a period, for tables too long to copy.
+     * In leaderboard order without a filter, the view reads the ranked lists directly, so
+     * creating it costs nothing. Otherwise the matching results are sorted once here and the
+     * view is cached until the leaderboard changes.
+     *
+     * @param period The window
+     * @param sortKey What to sort by
+     * @param descending Whether to reverse the order; leaderboard order is best first
+     * @param playerFilter Only show players whose name contains this, in any case; null or blank for all
+     * @return The view
+     */
+    public synchronized ResultPageSource query(Period period, SortKey sortKey, boolean descending,
+                                               String playerFilter) {
+        String filter = PlayerHistoryIndex.normalizeName(playerFilter);
+        if (sortKey == SortKey.RANK && !descending && filter.isEmpty()) {
+            return new ResultPageSource() {
+                @Override
+                public int size() {
+                    synchronized (WindowedLeaderboard.this) {
+                        return ranked(period).size();
+                    }
+                }
+
+                @Override
+                public List<PlayerResult> fetch(int offset, int limit) {
+                    synchronized (WindowedLeaderboard.this) {
+                        return window(ranked(period), offset, limit);
+                    }
+                }
+            };
+        }
+
+        roll();
+        ViewKey key = new ViewKey(period, sortKey, descending, filter, modCount);
+        if (!key.equals(cachedViewKey)) {
+            List<PlayerResult> view = new ArrayList<>();
+            for (PlayerResult result : ranked(period)) {
+                if (filter.isEmpty() || PlayerHistoryIndex.normalizeName(result.getPlayerName()).contains(filter)) {
+                    view.add(result);
+                }
+            }
+            Comparator<PlayerResult> order = comparator(sortKey);
+            view.sort(descending ? order.reversed() : order);
+            cachedViewKey = key;
+            cachedView = Collections.unmodifiableList(view);
+        }
+        List<PlayerResult> view = cachedView;
+        return new ResultPageSource() {
+            @Override
+            public int size() {
+                return view.size();
+            }
+
+            @Override
+            public List<PlayerResult> fetch(int offset, int limit) {
+                return window(view, offset, limit);
+            }
+        };
+    }
+
+    /**
+     * Gets the number of results on the all-time board.
+     *
+     * @return The number of results added
+     */
+    public synchronized int size() {
+        return allTime.size();
+    }
+
+    private List<PlayerResult> ranked(Period period) {
+        roll();
+        return switch (period) {
+            case TODAY -> days.getOrDefault(today, List.of());
+            case THIS_WEEK -> {
+                if (week == null) {
+                    week = merge(days.subMap(weekStart, true, today, true));
+                }
+                yield week;
+            }
+            case ALL_TIME -> allTime;
+        };
+    }
+
+    private static Comparator<PlayerResult> comparator(SortKey sortKey) {
+        return switch (sortKey) {
+            case RANK -> RANKING;
+            case PLAYER -> Comparator.comparing((PlayerResult result) -> PlayerHistoryIndex.normalizeName(result.getPlayerName()))
+                .thenComparing(RANKING);
+            case SCORE -> Comparator.comparingDouble(PlayerResult::getScore).thenComparing(RANKING);
+            case DATE -> Comparator.comparing(PlayerResult::getDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(RANKING);
+        };
+    }
+
+    private static List<PlayerResult> window(List<PlayerResult> results, int offset, int limit) {
+        int from = Math.min(Math.max(offset, 0), results.size());
+        int to = Math.min(from + Math.max(limit, 0), results.size());
+        return List.copyOf(results.subList(from, to));
+    }
+
+    private void roll() {
+        LocalDate now = LocalDate.now(clock);
+        if (!now.equals(today)) {
+            today = now;
+            weekStart = now.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            days.headMap(weekStart).clear();
+            week = null;
+            modCount++;
+        }
+    }
+
+    private static void insertSorted(List<PlayerResult> results, PlayerResult result) {
+        int index = Collections.binarySearch(results, result, RANKING);
+        results.add(index >= 0 ? index + 1 : -index - 1, result);
+    }
+
+    private static List<PlayerResult> merge(NavigableMap<LocalDate, List<PlayerResult>> buckets) {
+        record Cursor(List<PlayerResult> results, int index) {
+            PlayerResult head() {
+                return results.get(index);
+            }
+        }
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(Comparator.comparing(Cursor::head, RANKING));
+        int total = 0;
+        for (List<PlayerResult> bucket : buckets.values()) {
+            if (!bucket.isEmpty()) {
+                queue.add(new Cursor(bucket, 0));
+                total += bucket.size();
+            }
+        }
+        List<PlayerResult> merged = new ArrayList<>(total);
+        while (!queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+            merged.add(cursor.head());
+            if (cursor.index() + 1 < cursor.results().size()) {
+                queue.add(new Cursor(cursor.results(), cursor.index() + 1));
+            }
+        }
+        return Collections.unmodifiableList(merged);
+    }
+}
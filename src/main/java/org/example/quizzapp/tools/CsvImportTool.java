@@ -0,0 +1,43 @@
+package org.example.quizzapp.tools;
+
+import org.example.quizzapp.service.CsvImporter;
+import org.example.quizzapp.service.QuizService;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line entry point for importing results CSV files, e.g. from another system.
+ * Usage: {@code CsvImportTool <csv-file>... [--results-dir D]}
+ */
+public class CsvImportTool {
+
+    public static void main(String[] args) throws Exception {
+        Path resultsDirectory = Paths.get("quiz-results");
+        List<Path> csvFiles = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--results-dir") && i + 1 < args.length) {
+                resultsDirectory = Paths.get(args[++i]);
+            } else {
+                csvFiles.add(Paths.get(args[i]));
+            }
+        }
+        if (csvFiles.isEmpty()) {
+            System.err.println("Usage: CsvImportTool <csv-file>... [--results-dir D]");
+            System.exit(1);
+        }
+
+        CsvImporter importer = new CsvImporter(new QuizService(resultsDirectory));
+        for (Path csvFile : csvFiles) {
+            CsvImporter.Report report = importer.importCsv(csvFile);
+            System.out.printf("%s: %d results into %d quizzes (%d writes), %d lines rejected, %d ms, %.0f rows/min%n",
+                csvFile, report.rows(), report.quizzes(), report.writes(), report.rejected(),
+                report.elapsedMillis(), report.getRowsPerMinute());
+            for (String error : report.errors()) {
+                System.err.println("  " + error);
+            }
+        }
+    }
+}
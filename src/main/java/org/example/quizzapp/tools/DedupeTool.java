@@ -0,0 +1,78 @@
+package org.example.quizzapp.tools;
+
+import org.example.quizzapp.model.Question;
+import org.example.quizzapp.model.Quiz;
+import org.example.quizzapp.service.NearDuplicateDetector;
+import org.example.quizzapp.service.QuizService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Command line entry point for finding near-duplicate questions across a quiz library.
+ * Usage: {@code DedupeTool <library-dir> [threshold]}
+ */
+public class DedupeTool {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: DedupeTool <library-dir> [threshold]");
+            System.exit(1);
+        }
+
+        Path library = Paths.get(args[0]);
+        double threshold = args.length > 1 ? Double.parseDouble(args[1]) : NearDuplicateDetector.DEFAULT_THRESHOLD;
+        QuizService quizService = new QuizService();
+
+        List<Path> files;
+        try (Stream<Path> entries = Files.list(library)) {
+            files = entries.filter(file -> file.getFileName().toString().toLowerCase().endsWith(".json")).sorted().toList();
+        }
+
+        long start = System.nanoTime();
+        List<Quiz> quizzes = files.parallelStream().map(file -> {
+            try {
+                return quizService.loadQuiz(file.toFile());
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Skipping " + file.getFileName() + ": " + e.getMessage());
+                return null;
+            }
+        }).toList();
+
+        List<NearDuplicateDetector.QuestionRef> questions = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        for (int f = 0; f < files.size(); f++) {
+            Quiz quiz = quizzes.get(f);
+            if (quiz == null) {
+                continue;
+            }
+            for (int page = 0; page < quiz.getTotalQuestions(); page++) {
+                Question question = quiz.getQuestion(page);
+                if (question != null) {
+                    questions.add(new NearDuplicateDetector.QuestionRef(
+                        files.get(f).getFileName(), page + 1, question.getName(), question.getTitle()));
+                    texts.add(NearDuplicateDetector.comparableText(question));
+                }
+            }
+        }
+
+        List<NearDuplicateDetector.DuplicatePair> pairs =
+            new NearDuplicateDetector(threshold).findDuplicates(questions, texts);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        for (NearDuplicateDetector.DuplicatePair pair : pairs) {
+            System.out.printf("%.2f  %s  <->  %s%n", pair.similarity(), describe(pair.first()), describe(pair.second()));
+        }
+        System.out.printf("%d near-duplicate pairs among %d questions in %d files (%d ms)%n",
+            pairs.size(), questions.size(), files.size(), millis);
+    }
+
+    private static String describe(NearDuplicateDetector.QuestionRef ref) {
+        return String.format("%s page %d [%s] \"%s\"", ref.file(), ref.page(), ref.questionName(), ref.title());
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.quizzapp.tools;
+
+import org.example.quizzapp.model.Quiz;
+import org.example.quizzapp.service.LoadSimulation;
+import org.example.quizzapp.service.QuizService;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command line entry point for load testing the game engine with simulated players.
+ * Usage: {@code LoadSimulator <quiz.json> [--players N] [--concurrency C] [--accuracy A]
+ * [--think-ms M] [--seed S] [--results-dir D] [--platform-threads]}
+ */
+public class LoadSimulator {
+
+    private static final String USAGE = "Usage: LoadSimulator <quiz.json> [--players N] [--concurrency C]"
+        + " [--accuracy A] [--think-ms M] [--seed S] [--results-dir D] [--platform-threads]";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+
+        int players = 100;
+        int concurrency = 16;
+        double accuracy = 0.7;
+        long thinkMillis = 50;
+        long seed = 42;
+        Path resultsDirectory = Paths.get("load-test-results");
+        boolean virtualThreads = true;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--players" -> players = Integer.parseInt(args[++i]);
+                case "--concurrency" -> concurrency = Integer.parseInt(args[++i]);
+                case "--accuracy" -> accuracy = Double.parseDouble(args[++i]);
+                case "--think-ms" -> thinkMillis = Long.parseLong(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--results-dir" -> resultsDirectory = Paths.get(args[++i]);
+                case "--platform-threads" -> virtualThreads = false;
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.err.println(USAGE);
+                    System.exit(1);
+                }
+            }
+        }
+
+        QuizService quizService = new QuizService(resultsDirectory);
+        Quiz quiz = quizService.loadQuiz(new File(args[0]));
+        LoadSimulation.Options options = new LoadSimulation.Options(
+            players, concurrency, accuracy, thinkMillis, seed, virtualThreads);
+
+        System.out.printf("%d players, %d at a time on %s threads, %.0f%% accuracy, %d ms mean think time%n",
+            players, concurrency, virtualThreads ? "virtual" : "platform", accuracy * 100, thinkMillis);
+        LoadSimulation.Report report = new LoadSimulation(quiz, quizService, options).run();
+
+        System.out.printf("%d games, %d answers in %d ms (%.1f games/s, %.1f answers/s)%n",
+            report.games(), report.answers(), report.elapsedMillis(),
+            report.gamesPerSecond(), report.answersPerSecond());
+        System.out.println("Submit: " + report.submit());
+        System.out.println("Save:   " + report.save());
+        for (String error : report.errors()) {
+            System.out.println("Error: " + error);
+        }
+        for (String problem : report.integrityProblems()) {
+            System.out.println("Integrity: " + problem);
+        }
+        System.out.println(report.isIntact()
+            ? "Results file " + quizService.getResultsFile(quiz.getTitle()) + " is intact"
+            : "Results file check FAILED");
+        if (!report.isIntact()) {
+            System.exit(2);
+        }
+    }
+}
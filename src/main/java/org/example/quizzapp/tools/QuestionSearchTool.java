@@ -0,0 +1,39 @@
+package org.example.quizzapp.tools;
+
+import org.example.quizzapp.service.QuestionSearchIndex;
+import org.example.quizzapp.service.QuizLibraryIndex;
+import org.example.quizzapp.service.QuizService;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Command line entry point for searching the questions of a quiz library.
+ * Usage: {@code QuestionSearchTool <library-dir> <query>...}
+ */
+public class QuestionSearchTool {
+
+    private static final int MAX_HITS = 20;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: QuestionSearchTool <library-dir> <query>...");
+            System.exit(1);
+        }
+
+        Path library = Paths.get(args[0]);
+        String query = String.join(" ", Arrays.copyOfRange(args, 1, args.length));
+
+        QuizLibraryIndex libraryIndex = new QuizLibraryIndex(library, new QuizService());
+        long start = System.nanoTime();
+        int changed = libraryIndex.refresh();
+        long refreshMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("Index up to date (%d files updated, %d ms)%n", changed, refreshMillis);
+
+        for (QuestionSearchIndex.SearchHit hit : libraryIndex.search(query, MAX_HITS)) {
+            System.out.printf("%6.2f  %s  [%s] %s%n",
+                hit.score(), hit.file().getFileName(), hit.questionName(), hit.title());
+        }
+    }
+}
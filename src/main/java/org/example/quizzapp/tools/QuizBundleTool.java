@@ -0,0 +1,31 @@
+package org.example.quizzapp.tools;
+
+import org.example.quizzapp.service.QuizBundle;
+import org.example.quizzapp.service.QuizBundleCompiler;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command line entry point for compiling quiz JSON files into binary bundles.
+ * Usage: {@code QuizBundleTool <quiz.json>...}
+ */
+public class QuizBundleTool {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: QuizBundleTool <quiz.json>...");
+            System.exit(1);
+        }
+
+        QuizBundleCompiler compiler = new QuizBundleCompiler();
+        for (String arg : args) {
+            Path jsonFile = Paths.get(arg);
+            long start = System.nanoTime();
+            Path bundleFile = compiler.compile(jsonFile);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.out.printf("%s -> %s (%d pages, %d ms)%n",
+                jsonFile, bundleFile, QuizBundle.open(bundleFile).getPageCount(), millis);
+        }
+    }
+}
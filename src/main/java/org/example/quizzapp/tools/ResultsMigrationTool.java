@@ -0,0 +1,46 @@
+package org.example.quizzapp.tools;
+
+import org.example.quizzapp.model.Quiz;
+import org.example.quizzapp.service.QuizService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Command line entry point for moving results files of older versions into the sharded layout.
+ * Usage: {@code ResultsMigrationTool <results-dir> [library-dir]}
+ */
+public class ResultsMigrationTool {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: ResultsMigrationTool <results-dir> [library-dir]");
+            System.exit(1);
+        }
+
+        QuizService quizService = new QuizService(Paths.get(args[0]));
+        List<Quiz> quizzes = new ArrayList<>();
+        if (args.length > 1) {
+            List<Path> files;
+            try (Stream<Path> entries = Files.list(Paths.get(args[1]))) {
+                files = entries.filter(file -> file.getFileName().toString().toLowerCase().endsWith(".json")).sorted().toList();
+            }
+            for (Path file : files) {
+                try {
+                    quizzes.add(quizService.loadQuiz(file.toFile()));
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Skipping " + file.getFileName() + ": " + e.getMessage());
+                }
+            }
+        }
+
+        int migrated = quizService.migrateLegacyResults(quizzes);
+        System.out.printf("Moved %d results files into %s (%d known quizzes)%n",
+            migrated, quizService.getResultsDirectory(), quizzes.size());
+    }
+}
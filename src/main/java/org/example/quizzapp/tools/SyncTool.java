@@ -0,0 +1,54 @@
+package org.example.quizzapp.tools;
+
+import org.example.quizzapp.service.QuizService;
+import org.example.quizzapp.service.ResultSync;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Command line entry point for syncing results directories of machines that are not networked.
+ * Usage:
+ * <ul>
+ *   <li>{@code SyncTool vector <results-dir> <vector-file>} writes what this node has</li>
+ *   <li>{@code SyncTool export <results-dir> <bundle-file> [peer-vector-file]} writes what the peer is missing</li>
+ *   <li>{@code SyncTool import <results-dir> <bundle-file>...} adds the results of bundles</li>
+ * </ul>
+ */
+public class SyncTool {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3 || !(args[0].equals("vector") || args[0].equals("export") || args[0].equals("import"))) {
+            System.err.println("Usage: SyncTool vector <results-dir> <vector-file>");
+            System.err.println("       SyncTool export <results-dir> <bundle-file> [peer-vector-file]");
+            System.err.println("       SyncTool import <results-dir> <bundle-file>...");
+            System.exit(1);
+        }
+
+        QuizService quizService = new QuizService(Paths.get(args[1]));
+        ResultSync sync = quizService.getResultSync();
+        switch (args[0]) {
+            case "vector" -> {
+                ResultSync.writeVersionVector(sync.getVersionVector(), Paths.get(args[2]));
+                System.out.printf("Node %s has %d results from %d nodes%n",
+                    sync.getNodeId(), sync.size(), sync.getVersionVector().size());
+            }
+            case "export" -> {
+                Map<String, Long> peerVector = args.length > 3 ? ResultSync.readVersionVector(Paths.get(args[3])) : Map.of();
+                long start = System.nanoTime();
+                int exported = quizService.exportSyncBundle(peerVector, Paths.get(args[2]));
+                System.out.printf("Exported %d results to %s (%d ms)%n",
+                    exported, args[2], (System.nanoTime() - start) / 1_000_000);
+            }
+            default -> {
+                for (int i = 2; i < args.length; i++) {
+                    Path bundleFile = Paths.get(args[i]);
+                    ResultSync.ImportReport report = quizService.importSyncBundle(bundleFile);
+                    System.out.printf("%s: %d added, %d already present, %d skipped%n",
+                        bundleFile, report.applied(), report.duplicates(), report.skipped());
+                }
+            }
+        }
+    }
+}
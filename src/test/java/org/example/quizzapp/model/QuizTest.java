@@ -127,4 +127,17 @@ class QuizTest {
         assertTrue(result.contains("Test Quiz"));
         assertTrue(result.contains("1 pages"));
     }
+    
+    @Test
+    void testPagesAreReadOnlyViews() {
+        quiz.addPage(page1);
+        
+        List<Page> pages = quiz.getPages();
+        assertThrows(UnsupportedOperationException.class, () -> pages.add(page2));
+        assertThrows(UnsupportedOperationException.class, () -> page1.getElements().clear());
+        
+        // The view follows later changes instead of being a snapshot
+        quiz.addPage(page2);
+        assertEquals(2, pages.size());
+    }
 }
@@ -0,0 +1,60 @@
+package org.example.quizzapp.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Unit tests for the column-oriented result store.
+ */
+class ResultTableTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2026, 10, 1, 12, 30, 15);
+
+    @Test
+    void testRowsAreReadBackAsCopies() {
+        ResultTable table = new ResultTable();
+        for (int i = 0; i < 40; i++) {
+            table.add(new PlayerResult("player" + (i % 3), 10, i % 11, DATE.plusMinutes(i)));
+        }
+
+        assertEquals(40, table.size());
+        assertEquals(3, table.getDistinctNameCount());
+        assertEquals("player1", table.getPlayerName(37));
+        assertEquals(4, table.getCorrectQuestions(37));
+        assertEquals(DATE.plusMinutes(37), table.get(37).getDate());
+
+        PlayerResult view = table.get(5);
+        view.setCorrectQuestions(0);
+        assertEquals(5, table.getCorrectQuestions(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.get(40));
+    }
+
+    @Test
+    void testJsonFormatIsUnchanged() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        QuizResult quizResult = new QuizResult("geography", "Geography");
+        quizResult.addResult(new PlayerResult("Alice", 4, 3, DATE));
+        quizResult.addResult(new PlayerResult("Bob", 4, 1, DATE.plusDays(1)));
+
+        JsonNode result = mapper.readTree(mapper.writeValueAsString(quizResult)).get("results").get(0);
+        assertEquals("Alice", result.get("playerName").asText());
+        assertEquals(4, result.get("totalQuestions").asInt());
+        assertEquals(3, result.get("correctQuestions").asInt());
+        assertEquals("2026-10-01T12:30:15", result.get("date").asText());
+        assertEquals(75.0, result.get("score").asDouble());
+        assertEquals("3/4 (75.0%)", result.get("scoreString").asText());
+        assertEquals("75%", result.get("scorePercentage").asText());
+
+        QuizResult read = mapper.readValue(mapper.writeValueAsString(quizResult), QuizResult.class);
+        List<PlayerResult> results = read.getResults();
+        assertEquals(2, read.getResultCount());
+        assertEquals("Bob", results.get(1).getPlayerName());
+        assertEquals(DATE.plusDays(1), results.get(1).getDate());
+        assertEquals("Alice", read.getResultsSortedByScore().get(0).getPlayerName());
+    }
+}
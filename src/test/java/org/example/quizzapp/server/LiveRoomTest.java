@@ -0,0 +1,145 @@
+package org.example.quizzapp.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.quizzapp.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for live rooms and their event fan-out.
+ */
+class LiveRoomTest {
+
+    private ScheduledExecutorService scheduler;
+    private EventBroadcaster broadcaster;
+    private LiveRoom room;
+
+    @BeforeEach
+    void setUp() {
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Live Quiz");
+        quiz.addPage(new Page(30, List.of(new BooleanQuestion("q1", "Is Java typed?", "Yes", "No", true, true))));
+        quiz.addPage(new Page(30, List.of(new RadioGroupQuestion("q2", "Best language?", "none",
+            List.of("Java", "COBOL"), "Java", true))));
+
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        broadcaster = new EventBroadcaster(new ObjectMapper());
+        room = new LiveRoom("ABC123", quiz, scheduler, broadcaster);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void testBroadcastSharesEncodedBytes() throws Exception {
+        EventBroadcaster.Connection first = broadcaster.subscribe();
+        EventBroadcaster.Connection second = broadcaster.subscribe();
+
+        byte[] sent = broadcaster.broadcast("countdown", Map.of("remaining", 5));
+
+        assertSame(sent, first.poll(1, TimeUnit.SECONDS));
+        assertSame(sent, second.poll(1, TimeUnit.SECONDS));
+        assertEquals("event: countdown\ndata: {\"remaining\":5}\n\n", new String(sent, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testEveryParticipantSeesTheSameQuestion() throws Exception {
+        EventBroadcaster.Connection first = broadcaster.subscribe();
+        EventBroadcaster.Connection second = broadcaster.subscribe();
+        room.join("Alice");
+        room.join("Bob");
+        first.poll(1, TimeUnit.SECONDS);
+        second.poll(1, TimeUnit.SECONDS);
+
+        assertTrue(room.nextQuestion());
+        byte[] question = first.poll(1, TimeUnit.SECONDS);
+        assertSame(question, second.poll(1, TimeUnit.SECONDS));
+
+        String text = new String(question, StandardCharsets.UTF_8);
+        assertTrue(text.startsWith("event: question\n"));
+        assertTrue(text.contains("\"title\":\"Is Java typed?\""));
+        assertFalse(text.contains("correctAnswer"));
+        assertEquals(LiveRoom.Phase.QUESTION, room.getPhase());
+    }
+
+    @Test
+    void testJoinsAreAnnouncedTogether() throws Exception {
+        EventBroadcaster.Connection connection = broadcaster.subscribe();
+        for (int i = 0; i < 2 * EventBroadcaster.MAX_PENDING_EVENTS; i++) {
+            room.join("player" + i);
+        }
+
+        byte[] event = connection.poll(1, TimeUnit.SECONDS);
+        assertEquals("event: participants\ndata: {\"participants\":" + 2 * EventBroadcaster.MAX_PENDING_EVENTS
+            + "}\n\n", new String(event, StandardCharsets.UTF_8));
+        assertTrue(connection.isOpen());
+        assertNull(connection.poll(2 * LiveRoom.PARTICIPANTS_BROADCAST_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testAnswersAreScoredOnceAndRanked() {
+        String alice = room.join("Alice");
+        String bob = room.join("Bob");
+        String carol = room.join("Carol");
+
+        room.nextQuestion();
+        assertTrue(room.submitAnswer(bob, "Yes"));
+        assertFalse(room.submitAnswer(bob, "No"), "second answer to the same question is rejected");
+        assertTrue(room.submitAnswer(alice, "No"));
+        assertFalse(room.submitAnswer("unknown", "Yes"));
+
+        room.nextQuestion();
+        assertTrue(room.submitAnswer(bob, "Java"));
+        assertTrue(room.submitAnswer(carol, "Java"));
+
+        List<LiveRoom.Standing> standings = room.getLeaderboard(LiveRoom.LEADERBOARD_SIZE);
+        assertEquals("Bob", standings.get(0).name());
+        assertEquals(2, standings.get(0).score());
+        assertEquals("Carol", standings.get(1).name());
+        assertEquals("Alice", standings.get(2).name());
+        assertEquals(0, standings.get(2).score());
+
+        assertFalse(room.nextQuestion());
+        assertEquals(LiveRoom.Phase.FINISHED, room.getPhase());
+        assertFalse(room.submitAnswer(alice, "Java"));
+    }
+
+    @Test
+    void testFinishingClosesStreamsAndNotifiesOnce() throws Exception {
+        EventBroadcaster.Connection connection = broadcaster.subscribe();
+        AtomicInteger finished = new AtomicInteger();
+        room.setOnFinished(finished::incrementAndGet);
+
+        room.nextQuestion();
+        room.nextQuestion();
+        assertFalse(room.nextQuestion());
+        assertFalse(room.nextQuestion());
+
+        assertEquals(1, finished.get());
+        assertFalse(connection.isOpen());
+        assertEquals(0, broadcaster.getConnectionCount());
+    }
+
+    @Test
+    void testSlowConsumerIsDisconnected() {
+        EventBroadcaster.Connection slow = broadcaster.subscribe();
+        for (int i = 0; i <= EventBroadcaster.MAX_PENDING_EVENTS; i++) {
+            broadcaster.broadcast("countdown", i);
+        }
+
+        assertFalse(slow.isOpen());
+        assertEquals(0, broadcaster.getConnectionCount());
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.quizzapp.server;
+
+import org.example.quizzapp.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+/**
+ * Unit tests for the HTTP endpoint of live rooms.
+ */
+class RoomServerTest {
+
+    private RoomServer server;
+    private LiveRoom room;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Live Quiz");
+        quiz.addPage(new Page(30, List.of(new BooleanQuestion("q1", "Is Java typed?", "Yes", "No", true, true))));
+        server = new RoomServer(0);
+        server.start();
+        room = server.createRoom(quiz);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void testJoinRequiresAName() throws Exception {
+        assertEquals(400, join("{}").statusCode());
+        assertEquals(400, join("{\"name\": \"  \"}").statusCode());
+        assertEquals(400, join("{\"name\": 42}").statusCode());
+        assertEquals(0, room.getParticipantCount());
+
+        HttpResponse<String> joined = join("{\"name\": \"Alice\"}");
+        assertEquals(200, joined.statusCode());
+        assertTrue(joined.body().contains("\"participant\""));
+        assertEquals("Alice", room.getLeaderboard(1).get(0).name());
+    }
+
+    private HttpResponse<String> join(String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + server.getPort() + "/rooms/" + room.getCode() + "/join"))
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
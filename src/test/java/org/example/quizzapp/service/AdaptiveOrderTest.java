@@ -0,0 +1,123 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit tests for adaptive question selection.
+ */
+class AdaptiveOrderTest {
+    
+    @Test
+    void testIndexMatchesLinearScan() {
+        Random random = new Random(1);
+        int size = 5000;
+        double[] difficulty = new double[size];
+        double[] discrimination = new double[size];
+        for (int i = 0; i < size; i++) {
+            difficulty[i] = random.nextGaussian() * 1.5;
+            discrimination[i] = 0.5 * (1 + random.nextInt(4)); // 0.5, 1.0, 1.5 or 2.0
+        }
+        
+        AdaptiveOrder.ItemIndex index = AdaptiveOrder.ItemIndex.build(difficulty, discrimination);
+        boolean[] used = new boolean[size];
+        
+        for (int step = 0; step < 200; step++) {
+            double theta = random.nextGaussian();
+            int expected = bestByLinearScan(difficulty, discrimination, used, theta);
+            int actual = index.take(theta);
+            assertEquals(expected, actual, "step " + step);
+            used[actual] = true;
+        }
+    }
+    
+    @Test
+    void testStrongPlayerGetsHarderQuestions() {
+        Quiz bank = calibratedBank(200);
+        AdaptiveOrder order = new AdaptiveOrder(15, 0);
+        order.reset(bank);
+        
+        double firstDifficulty = order.getCurrentPage().getQuestion().getDifficulty();
+        Set<String> asked = new HashSet<>();
+        do {
+            assertTrue(asked.add(order.getCurrentPage().getQuestion().getName()), "Question repeated");
+            order.recordAnswer(true);
+        } while (order.advance());
+        
+        assertEquals(15, asked.size());
+        assertEquals(15, order.getLength());
+        assertTrue(order.getAbilityEstimate() > 1.0);
+        assertTrue(order.getStandardError() < 1.0);
+        assertTrue(firstDifficulty < order.getAbilityEstimate());
+    }
+    
+    @Test
+    void testStopsEarlyWhenPreciseEnough() {
+        AdaptiveOrder order = new AdaptiveOrder(100, 0.5);
+        order.reset(calibratedBank(200));
+        
+        int answered = 0;
+        boolean correct = true;
+        do {
+            order.recordAnswer(correct);
+            correct = !correct;
+            answered++;
+        } while (order.advance());
+        
+        assertTrue(answered < 100);
+        assertEquals(answered, order.getLength());
+        assertNull(order.getCurrentPage());
+    }
+    
+    @Test
+    void testGameManagerUsesAdaptiveOrder() {
+        GameManager gameManager = GameManager.getInstance();
+        gameManager.loadQuiz(calibratedBank(50));
+        gameManager.setQuestionOrder(new AdaptiveOrder(5, 0));
+        
+        assertEquals(5, gameManager.getTotalQuestions());
+        int asked = 0;
+        while (gameManager.getCurrentQuestion() != null) {
+            gameManager.submitAnswer(true);
+            asked++;
+            gameManager.nextQuestion();
+        }
+        assertEquals(5, asked);
+        assertEquals(5, gameManager.getScore());
+        assertTrue(gameManager.isQuizComplete());
+    }
+    
+    private Quiz calibratedBank(int size) {
+        Quiz bank = new Quiz("Calibrated", "Rated questions");
+        for (int i = 0; i < size; i++) {
+            BooleanQuestion question = new BooleanQuestion("q" + i, "Question " + i, "True", "False", true, true);
+            question.setDifficulty(-3.0 + 6.0 * i / size);
+            question.setDiscrimination(1.0);
+            bank.addPage(new Page(10, Arrays.asList(question)));
+        }
+        return bank;
+    }
+    
+    private int bestByLinearScan(double[] difficulty, double[] discrimination, boolean[] used, double theta) {
+        int best = -1;
+        double bestInformation = -1;
+        for (int i = 0; i < difficulty.length; i++) {
+            if (used[i]) {
+                continue;
+            }
+            double p = 1.0 / (1.0 + Math.exp(-discrimination[i] * (theta - difficulty[i])));
+            double information = discrimination[i] * discrimination[i] * p * (1 - p);
+            if (information > bestInformation) {
+                bestInformation = information;
+                best = i;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Unit tests for compiled completion expressions.
+ */
+class CompletionEvaluatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testExpressions() {
+        ResultVariables variables = new ResultVariables();
+        variables.fill(3, 4, "Alice", "Java Basics");
+
+        assertTrue(test("{correctAnswers} == 3", variables));
+        assertTrue(test("{correctAnswers} = 3 and {incorrectAnswers} <> 0", variables));
+        assertTrue(test("{correctAnswers} / {questionCount} >= 0.75", variables));
+        assertTrue(test("{score} > 70 && !({score} > 80)", variables));
+        assertTrue(test("-{correctAnswers} + 5 * 2 == 7", variables));
+        assertTrue(test("{playerName} = 'alice' or false", variables));
+        assertTrue(test("{quizTitle} contains \"basics\"", variables));
+        assertTrue(test("{QuestionCount} % 2 == 0", variables));
+        assertFalse(test("not ({correctAnswers} < {questionCount})", variables));
+        assertFalse(test("{playerName} notcontains 'lic'", variables));
+    }
+
+    @Test
+    void testInvalidExpressionsAreRejectedAtCompileTime() {
+        for (String invalid : Arrays.asList("", "{unknown} == 1", "{correctAnswers} ==", "(1 == 1",
+                "{playerName} > 3", "1 == 1 1", "{correctAnswers == 1", "'open == 1", "1 # 2")) {
+            assertThrows(IllegalArgumentException.class, () -> ExpressionCompiler.compile(invalid), invalid);
+        }
+    }
+
+    @Test
+    void testFirstMatchingConditionWins() throws Exception {
+        Quiz quiz = new QuizService().loadQuiz(new File("sample-quiz.json"));
+        CompletionEvaluator evaluator = CompletionEvaluator.forQuiz(quiz);
+        assertSame(evaluator, CompletionEvaluator.forQuiz(quiz));
+        assertEquals(2, evaluator.size());
+
+        PlayerResult none = new PlayerResult("Bob", 3, 0, LocalDateTime.now());
+        PlayerResult all = new PlayerResult("Bob", 3, 3, LocalDateTime.now());
+        PlayerResult some = new PlayerResult("Bob", 3, 2, LocalDateTime.now());
+        assertTrue(evaluator.selectHtml(ResultVariables.of(none, quiz)).contains("none of your answers"));
+        assertTrue(evaluator.selectHtml(ResultVariables.of(all, quiz)).contains("Excellent"));
+        assertNull(evaluator.selectHtml(ResultVariables.of(some, quiz)));
+    }
+
+    @Test
+    void testUnsupportedConditionFallsBackToCompletedHtml() throws Exception {
+        File quizFile = tempDir.resolve("unsupported-condition.json").toFile();
+        String json = Files.readString(Paths.get("sample-quiz.json"))
+            .replace("{correctAnswers} == 0", "iif({correctAnswers} == 0, true, false)");
+        Files.writeString(quizFile.toPath(), json);
+
+        Quiz quiz = new QuizService().loadQuiz(quizFile);
+        CompletionEvaluator evaluator = CompletionEvaluator.forQuiz(quiz);
+        assertEquals(1, evaluator.size());
+        PlayerResult none = new PlayerResult("Bob", 3, 0, LocalDateTime.now());
+        assertEquals("You got 0 out of 3 correct.",
+            evaluator.selectTemplate(ResultVariables.of(none, quiz)).render(ResultVariables.of(none, quiz)));
+    }
+
+    private boolean test(String expression, ResultVariables variables) {
+        return ExpressionCompiler.compile(expression).test(variables);
+    }
+}
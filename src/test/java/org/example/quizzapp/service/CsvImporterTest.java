@@ -0,0 +1,99 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.PlayerResult;
+import org.example.quizzapp.model.QuizResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Unit tests for importing results from CSV files.
+ */
+class CsvImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2026, 10, 1, 12, 0, 30);
+
+    @Test
+    void testExportedFileImportsUnchanged() throws Exception {
+        QuizService source = new QuizService(tempDir.resolve("source"));
+        source.saveResult("Capitals; Europe", new PlayerResult("Alice \"Ace\" A.", 5, 4, DATE));
+        source.saveResult("Capitals; Europe", new PlayerResult("Bob;B", 5, 2, DATE.plusMinutes(1)));
+        Path csv = tempDir.resolve("capitals.csv");
+        new CsvExporter().exportToCsv(source.loadResults("Capitals; Europe"), csv);
+
+        QuizService target = new QuizService(tempDir.resolve("target"));
+        CsvImporter.Report report = new CsvImporter(target).importCsv(csv);
+        assertEquals(2, report.rows());
+        assertEquals(0, report.rejected());
+        assertEquals(1, report.writes());
+
+        QuizResult imported = target.loadResults("Capitals; Europe");
+        assertEquals(List.of("Alice \"Ace\" A.", "Bob;B"),
+            imported.getResults().stream().map(PlayerResult::getPlayerName).toList());
+        assertEquals(DATE.plusMinutes(1), imported.getResults().get(1).getDate());
+        assertEquals(2, imported.getResults().get(1).getCorrectQuestions());
+        assertEquals(2, target.getResultSync().size());
+    }
+
+    @Test
+    void testLargeFileIsWrittenInBatchesInDateOrder() throws Exception {
+        QuizService quizService = new QuizService(tempDir.resolve("results"));
+        quizService.saveResult("Quiz A", new PlayerResult("existing", 4, 4, DATE.plusMinutes(500)));
+
+        List<String> lines = new ArrayList<>();
+        lines.add("quizId;quizName;playerName;totalQuestions;correctQuestions;date");
+        for (int i = 999; i >= 0; i--) {
+            lines.add("1;Quiz " + (i % 2 == 0 ? "A" : "B") + ";player" + i + ";4;" + (i % 5)
+                + ";" + DATE.plusMinutes(i).format(PlayerResult.DATE_FORMAT));
+        }
+        lines.add("1;Quiz A;broken;4;5;2026-10-01T12:00:00");
+        lines.add("1;Quiz A;broken;4;2;yesterday");
+        lines.add("1;Quiz A;broken;4");
+        Path csv = tempDir.resolve("bulk.csv");
+        Files.write(csv, lines);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            CsvImporter.Report report = new CsvImporter(quizService, pool, 300, 4096).importCsv(csv);
+            assertEquals(1000, report.rows());
+            assertEquals(3, report.rejected());
+            assertEquals(3, report.errors().size());
+            assertEquals(2, report.quizzes());
+            assertTrue(report.writes() >= 4, "expected several batches but got " + report.writes());
+        } finally {
+            pool.shutdown();
+        }
+
+        List<PlayerResult> quizA = quizService.loadResults("Quiz A").getResults();
+        assertEquals(501, quizA.size());
+        for (int i = 1; i < quizA.size(); i++) {
+            assertFalse(quizA.get(i).getDate().isBefore(quizA.get(i - 1).getDate()), "row " + i + " out of order");
+        }
+        assertEquals(500, quizService.loadResults("Quiz B").getResultCount());
+    }
+
+    @Test
+    void testParseHandlesWindowsLineEndingsAndQuotes() {
+        String csv = "\uFEFFquizId;quizName;playerName;totalQuestions;correctQuestions;date\r\n"
+            + "7;History;\"Carol \"\"C\"\"; Jr.\";3;3;2026-10-01T12:00:30\r\n"
+            + "\r\n"
+            + "7;;Dave;3;1;2026-10-01T12:01:30\r\n";
+        CsvImporter.ParsedBlock parsed = CsvImporter.parse(csv.getBytes(StandardCharsets.UTF_8), true);
+        assertEquals(0, parsed.rejected);
+        assertEquals("Carol \"C\"; Jr.", parsed.byQuiz.get("History").getPlayerName(0));
+        assertEquals(DATE, parsed.byQuiz.get("History").get(0).getDate());
+        // Without a quiz name the id stands in for it
+        assertEquals("Dave", parsed.byQuiz.get("7").getPlayerName(0));
+    }
+}
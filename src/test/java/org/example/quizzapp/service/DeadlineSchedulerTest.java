@@ -0,0 +1,96 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the timing wheel and the question timers built on it.
+ */
+class DeadlineSchedulerTest {
+
+    private DeadlineScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new DeadlineScheduler(5, TimeUnit.MILLISECONDS, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void testRunsTasksAfterTheirDelay() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+        // 100 ms is several turns of an 8-bucket wheel with 5 ms ticks
+        scheduler.schedule(100, TimeUnit.MILLISECONDS, done::countDown);
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void testCancelledTasksNeverRun() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch later = new CountDownLatch(1);
+        DeadlineScheduler.Deadline cancelled = scheduler.schedule(30, TimeUnit.MILLISECONDS, runs::incrementAndGet);
+        scheduler.schedule(60, TimeUnit.MILLISECONDS, later::countDown);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertTrue(later.await(2, TimeUnit.SECONDS));
+        assertEquals(0, runs.get());
+        assertTrue(cancelled.isCancelled());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    void testTimesOutManySessions() throws Exception {
+        Quiz quiz = new Quiz();
+        quiz.addPage(new Page(1, List.of(new BooleanQuestion("q1", "First?", "Yes", "No", true, true))));
+        quiz.addPage(new Page(0, List.of(new BooleanQuestion("q2", "Second?", "Yes", "No", true, true))));
+
+        int sessionCount = 2000;
+        CountDownLatch timedOut = new CountDownLatch(sessionCount);
+        List<GameManager> sessions = new ArrayList<>();
+        List<QuestionTimer> timers = new ArrayList<>();
+        for (int i = 0; i < sessionCount; i++) {
+            GameManager session = GameManager.newSession();
+            session.loadQuiz(quiz);
+            QuestionTimer timer = new QuestionTimer(session, scheduler, Runnable::run, hasNext -> timedOut.countDown());
+            timer.start();
+            sessions.add(session);
+            timers.add(timer);
+        }
+
+        // Half the players answer in time
+        for (int i = 0; i < sessionCount; i += 2) {
+            timers.get(i).cancel();
+            sessions.get(i).submitAnswer(true);
+            sessions.get(i).nextQuestion();
+            timedOut.countDown();
+        }
+
+        assertTrue(timedOut.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < sessionCount; i++) {
+            GameManager session = sessions.get(i);
+            assertEquals(1, session.getCurrentQuestionIndex());
+            assertEquals(i % 2 == 0 ? 1 : 0, session.getScore());
+            // The second page has no time limit, so nothing is armed for it
+            assertFalse(timers.get(i).isRunning());
+        }
+        assertNull(sessions.get(1).getPlayerAnswers().get(0));
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.file.Paths;
 import java.util.Arrays;
 
 /**
@@ -215,4 +216,50 @@ class GameManagerTest {
         assertTrue(gameManager.getAnswerCorrectness().get(0)); // Correct
         assertTrue(gameManager.getAnswerCorrectness().get(1)); // Correct
     }
+    
+    @Test
+    void testReloadedQuizIsSwappedInBetweenGames() {
+        testQuiz.setSourceFile(Paths.get("quiz.json"));
+        gameManager.loadQuiz(testQuiz);
+        
+        Quiz reloaded = new Quiz("Test Quiz v2", "Edited on disk");
+        reloaded.setSourceFile(Paths.get("quiz.json"));
+        reloaded.addPage(testQuiz.getPage(0));
+        
+        assertTrue(gameManager.offerReloadedQuiz(reloaded));
+        assertSame(testQuiz, gameManager.getCurrentQuiz()); // Running game is untouched
+        
+        gameManager.resetGame();
+        assertSame(reloaded, gameManager.getCurrentQuiz());
+        assertEquals(1, gameManager.getTotalQuestions());
+    }
+    
+    @Test
+    void testReloadedQuizFromOtherFileIsIgnored() {
+        testQuiz.setSourceFile(Paths.get("quiz.json"));
+        gameManager.loadQuiz(testQuiz);
+        
+        Quiz other = new Quiz("Other", "Different file");
+        other.setSourceFile(Paths.get("other.json"));
+        
+        assertFalse(gameManager.offerReloadedQuiz(other));
+        gameManager.resetGame();
+        assertSame(testQuiz, gameManager.getCurrentQuiz());
+    }
+    
+    @Test
+    void testPracticeOrderEndsWithPractice() {
+        gameManager.loadQuiz(testQuiz);
+        gameManager.setPracticeMode(true);
+        gameManager.setQuestionOrder(new SpacedRepetitionOrder(new ReviewScheduler(), testQuiz.getTitle()));
+        
+        gameManager.resetGame(); // Play again starts a ranked game
+        assertFalse(gameManager.isPracticeMode());
+        assertInstanceOf(SequentialOrder.class, gameManager.getQuestionOrder());
+        
+        gameManager.setPracticeMode(true);
+        gameManager.setQuestionOrder(new AdaptiveOrder());
+        gameManager.setPracticeMode(false);
+        assertInstanceOf(SequentialOrder.class, gameManager.getQuestionOrder());
+    }
 }
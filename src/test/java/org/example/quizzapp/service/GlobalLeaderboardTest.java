@@ -0,0 +1,96 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.PlayerResult;
+import org.example.quizzapp.model.QuizResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit tests for the overall ranking across quizzes.
+ */
+class GlobalLeaderboardTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    @Test
+    void testCountsBestAttemptPerQuiz() {
+        QuizResult geography = quiz("geography",
+            result("Alice", 10, 6, 0), result("alice", 10, 9, 1), result("Bob", 10, 8, 2));
+        QuizResult history = quiz("history",
+            result("Bob", 5, 5, 3), result("Carol", 5, 4, 4), result("ALICE ", 5, 4, 5));
+
+        GlobalLeaderboard leaderboard = GlobalLeaderboard.build(Map.of("geography", geography, "history", history));
+        List<GlobalLeaderboard.Standing> standings = leaderboard.getStandings(10);
+
+        assertEquals(3, standings.size());
+        assertEquals(new GlobalLeaderboard.Standing(1, "ALICE ", 2, 13, 15), standings.get(0));
+        assertEquals(new GlobalLeaderboard.Standing(1, "Bob", 2, 13, 15), standings.get(1));
+        assertEquals(new GlobalLeaderboard.Standing(3, "Carol", 1, 4, 5), standings.get(2));
+        assertEquals(1, leaderboard.getStandings(1).size());
+    }
+
+    @Test
+    void testIncrementalUpdatesMatchRebuild() {
+        Random random = new Random(3);
+        Map<String, QuizResult> quizzes = new HashMap<>();
+        GlobalLeaderboard incremental = GlobalLeaderboard.build(Map.of());
+        for (int i = 0; i < 500; i++) {
+            String quizId = "quiz" + random.nextInt(8);
+            PlayerResult result = result("player" + random.nextInt(40), 10, random.nextInt(11), i);
+            quizzes.computeIfAbsent(quizId, id -> new QuizResult(id, id)).addResult(result);
+            incremental.add(quizId, result);
+        }
+        assertEquals(GlobalLeaderboard.build(quizzes).getStandings(100), incremental.getStandings(100));
+
+        incremental.removeQuiz("quiz3");
+        quizzes.remove("quiz3");
+        incremental.replaceQuiz("quiz5", List.of(result("player1", 10, 10, 900)));
+        quizzes.put("quiz5", quiz("quiz5", result("player1", 10, 10, 900)));
+        assertEquals(GlobalLeaderboard.build(quizzes).getStandings(100), incremental.getStandings(100));
+    }
+
+    @Test
+    void testSavedResultsUpdateRankingAndExport() throws Exception {
+        QuizService quizService = new QuizService(tempDir);
+        quizService.saveResult("Geography", result("Alice", 4, 2, 0));
+        quizService.saveResult("History", result("Bob", 4, 3, 1));
+        GlobalLeaderboard leaderboard = quizService.getGlobalLeaderboard();
+        assertEquals("Bob", leaderboard.getStandings(1).get(0).playerName());
+
+        quizService.saveResult("History", result("Alice", 4, 4, 2));
+        assertSame(leaderboard, new QuizService(tempDir).getGlobalLeaderboard());
+        assertEquals(new GlobalLeaderboard.Standing(1, "Alice", 2, 6, 8), leaderboard.getStandings(1).get(0));
+
+        Path csv = tempDir.resolve("season.csv");
+        new CsvExporter().exportStandingsToCsv(leaderboard.getStandings(10), csv);
+        assertEquals(List.of(
+            "rank;playerName;quizzesPlayed;totalQuestions;correctQuestions;score",
+            "1;Alice;2;8;6;75",
+            "2;Bob;1;4;3;75"
+        ), Files.readAllLines(csv));
+    }
+
+    private static QuizResult quiz(String quizId, PlayerResult... results) {
+        QuizResult quizResult = new QuizResult(quizId, quizId);
+        for (PlayerResult result : results) {
+            quizResult.addResult(result);
+        }
+        return quizResult;
+    }
+
+    private static PlayerResult result(String name, int total, int correct, int minutes) {
+        return new PlayerResult(name, total, correct, DATE.plusMinutes(minutes));
+    }
+}
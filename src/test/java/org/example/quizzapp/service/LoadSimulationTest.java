@@ -0,0 +1,59 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.Quiz;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.nio.file.Path;
+
+/**
+ * Unit tests for the headless load simulation.
+ */
+class LoadSimulationTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testConcurrentBotsKeepResultsFileIntact() throws Exception {
+        QuizService quizService = new QuizService(tempDir);
+        Quiz quiz = quizService.loadQuiz(new File("sample-quiz.json"));
+        LoadSimulation.Options options = new LoadSimulation.Options(60, 16, 0.5, 0, 7, true);
+
+        LoadSimulation.Report first = new LoadSimulation(quiz, quizService, options).run();
+        LoadSimulation.Report second = new LoadSimulation(quiz, quizService,
+            new LoadSimulation.Options(20, 4, 1.0, 1, 7, false)).run();
+
+        assertTrue(first.isIntact(), () -> first.errors() + " " + first.integrityProblems());
+        assertTrue(second.isIntact(), () -> second.errors() + " " + second.integrityProblems());
+        assertEquals(60, first.games());
+        assertEquals(180, first.answers());
+        assertEquals(180, first.submit().count());
+        assertEquals(20, second.save().count());
+        assertEquals(80, quizService.loadResults(quiz.getTitle()).getResults().size());
+    }
+
+    @Test
+    void testPercentilesUseNearestRank() {
+        long[] nanos = new long[100];
+        for (int i = 0; i < nanos.length; i++) {
+            nanos[i] = (100 - i) * 1_000_000L;
+        }
+
+        LoadSimulation.Latency latency = LoadSimulation.percentiles(nanos);
+
+        assertEquals(100, latency.count());
+        assertEquals(50.0, latency.p50());
+        assertEquals(90.0, latency.p90());
+        assertEquals(99.0, latency.p99());
+        assertEquals(100.0, latency.max());
+    }
+
+    @Test
+    void testRejectsInvalidOptions() {
+        assertThrows(IllegalArgumentException.class, () -> new LoadSimulation.Options(0, 1, 0.5, 0, 1, true));
+        assertThrows(IllegalArgumentException.class, () -> new LoadSimulation.Options(1, 1, 1.5, 0, 1, true));
+    }
+}
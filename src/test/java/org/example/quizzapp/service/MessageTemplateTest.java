@@ -0,0 +1,69 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.time.LocalDateTime;
+
+/**
+ * Unit tests for precompiled completion message templates.
+ */
+class MessageTemplateTest {
+
+    @Test
+    void testStripsHtmlAndFillsPlaceholders() {
+        MessageTemplate template = MessageTemplate.compile(
+            "<h4>You got <b>{correctAnswers}</b> out of <b>{questionCount}</b> correct.</h4>", true);
+        ResultVariables variables = new ResultVariables();
+        variables.fill(2, 3, "Alice", "Java Basics");
+
+        assertEquals("You got 2 out of 3 correct.", template.render(variables));
+        assertEquals(5, template.getSegmentCount());
+    }
+
+    @Test
+    void testSupportsAllVariablesAndKeepsUnknownBraces() {
+        MessageTemplate template = MessageTemplate.compile(
+            "{playerName}: {score}% on {quizTitle}, {incorrectAnswers} wrong {unknown} {", false);
+        ResultVariables variables = new ResultVariables();
+        variables.fill(3, 4, "Alice", "Java Basics");
+
+        assertEquals("Alice: 75% on Java Basics, 1 wrong {unknown} {", template.render(variables));
+    }
+
+    @Test
+    void testKeepsHtmlWhenNotStripping() {
+        MessageTemplate template = MessageTemplate.compile("  <b>{correctAnswers}</b>  ", false);
+        ResultVariables variables = new ResultVariables();
+        variables.fill(1, 1, "Bob", "Quiz");
+
+        assertEquals("  <b>1</b>  ", template.render(variables));
+    }
+
+    @Test
+    void testRendersIntoReusedBuilder() {
+        MessageTemplate template = MessageTemplate.compile("{correctAnswers}/{questionCount}", true);
+        ResultVariables variables = new ResultVariables();
+        StringBuilder builder = new StringBuilder();
+
+        for (int correct = 0; correct <= 3; correct++) {
+            builder.setLength(0);
+            variables.fill(correct, 3, "Bob", "Quiz");
+            assertEquals(correct + "/3", template.renderTo(variables, builder).toString());
+        }
+    }
+
+    @Test
+    void testEvaluatorFallsBackToCompletedHtml() throws Exception {
+        Quiz quiz = new QuizService().loadQuiz(new File("sample-quiz.json"));
+        CompletionEvaluator evaluator = CompletionEvaluator.forQuiz(quiz);
+
+        ResultVariables none = ResultVariables.of(new PlayerResult("Bob", 3, 0, LocalDateTime.now()), quiz);
+        ResultVariables some = ResultVariables.of(new PlayerResult("Bob", 3, 2, LocalDateTime.now()), quiz);
+        assertEquals("Unfortunately, none of your answers are correct. Please try again.",
+            evaluator.selectTemplate(none).render(none));
+        assertEquals("You got 2 out of 3 correct.", evaluator.selectTemplate(some).render(some));
+    }
+}
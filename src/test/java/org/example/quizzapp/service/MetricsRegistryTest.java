@@ -0,0 +1,89 @@
+package org.example.quizzapp.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for the metrics registry and its Prometheus output.
+ */
+class MetricsRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRendersPrometheusTextFormat() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("quiz_answers_total", "Answers submitted").add(3);
+        registry.gauge("quiz_live_rooms", "Open live rooms", () -> 2);
+        MetricsRegistry.Histogram sizes = registry.histogram("quiz_results_file_bytes", "Size",
+            new double[] {100, 1000});
+        sizes.observe(50);
+        sizes.observe(500);
+        sizes.observe(5000);
+
+        String text = registry.scrape();
+        assertTrue(text.contains("# HELP quiz_answers_total Answers submitted\n"
+            + "# TYPE quiz_answers_total counter\nquiz_answers_total 3\n"));
+        assertTrue(text.contains("# TYPE quiz_live_rooms gauge\nquiz_live_rooms 2\n"));
+        assertTrue(text.contains("quiz_results_file_bytes_bucket{le=\"100\"} 1\n"
+            + "quiz_results_file_bytes_bucket{le=\"1000\"} 2\n"
+            + "quiz_results_file_bytes_bucket{le=\"+Inf\"} 3\n"
+            + "quiz_results_file_bytes_sum 5550\n"
+            + "quiz_results_file_bytes_count 3\n"));
+    }
+
+    @Test
+    void testCountsFromManyThreads() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.Counter counter = registry.counter("hits_total", "Hits");
+        MetricsRegistry.Histogram timer = registry.timer("work_seconds", "Work");
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    long start = System.nanoTime();
+                    counter.increment();
+                    timer.observeSince(start);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, counter.get());
+        assertEquals(80_000, timer.getCount());
+        assertSame(counter, registry.counter("hits_total", "Hits"));
+    }
+
+    @Test
+    void testRejectsConflictingAndInvalidNames() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("games_total", "Games");
+
+        assertThrows(IllegalArgumentException.class, () -> registry.timer("games_total", "Games"));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("bad name", "Bad"));
+    }
+
+    @Test
+    void testWritesSnapshotFile() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("games_total", "Games").increment();
+        Path file = tempDir.resolve("metrics").resolve("metrics.prom");
+
+        registry.writeSnapshot(file);
+
+        assertEquals(registry.scrape(), Files.readString(file));
+        assertFalse(Files.exists(file.resolveSibling("metrics.prom.tmp")));
+    }
+}
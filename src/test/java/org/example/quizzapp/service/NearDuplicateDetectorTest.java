@@ -0,0 +1,95 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit tests for near-duplicate question detection.
+ */
+class NearDuplicateDetectorTest {
+
+    @Test
+    void testComparableTextIncludesChoicesAndLabels() {
+        RadioGroupQuestion radio = new RadioGroupQuestion("q1", "Which keyword?", "random",
+            Arrays.asList("extends", "Implements"), "extends", true);
+        BooleanQuestion bool = new BooleanQuestion("q2", "Java is typed.", "Yes", "No", true, true);
+
+        assertEquals("which keyword extends implements", NearDuplicateDetector.comparableText(radio));
+        assertEquals("java is typed yes no", NearDuplicateDetector.comparableText(bool));
+    }
+
+    @Test
+    void testFindsRewordedCopiesOnly() {
+        List<String> texts = Arrays.asList(
+            "which keyword is used to inherit a class in java extends implements super inherits",
+            "which keyword is used to inherit from a class in java extends implements super inherits",
+            "which company originally developed java microsoft sun microsystems apple google",
+            "java is a statically typed programming language true false");
+
+        List<NearDuplicateDetector.DuplicatePair> pairs =
+            new NearDuplicateDetector(0.6).findDuplicates(refs(texts.size()), texts);
+
+        assertEquals(1, pairs.size());
+        assertEquals("q0", pairs.get(0).first().questionName());
+        assertEquals("q1", pairs.get(0).second().questionName());
+        assertTrue(pairs.get(0).similarity() >= 0.6);
+    }
+
+    @Test
+    void testFindsPlantedDuplicatesInLargeBank() {
+        Random random = new Random(3);
+        int size = 20000;
+        List<String> texts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int w = 0; w < 12; w++) {
+                text.append(randomWord(random)).append(' ');
+            }
+            texts.add(text.toString().trim());
+        }
+        // Plant 50 copies that differ only in a trailing word
+        Set<Long> planted = new HashSet<>();
+        for (int p = 0; p < 50; p++) {
+            int original = p * 7;
+            int copy = size - 1 - p;
+            texts.set(copy, texts.get(original) + " again");
+            planted.add(((long) original << 32) | copy);
+        }
+
+        List<NearDuplicateDetector.QuestionRef> refs = refs(size);
+        List<NearDuplicateDetector.DuplicatePair> pairs = new NearDuplicateDetector(0.7).findDuplicates(refs, texts);
+
+        int found = 0;
+        for (NearDuplicateDetector.DuplicatePair pair : pairs) {
+            long key = ((long) pair.first().page() << 32) | pair.second().page();
+            if (planted.contains(key)) {
+                found++;
+            }
+        }
+        assertTrue(found >= 48, "Found only " + found + " planted duplicates");
+        assertTrue(pairs.size() < 100, "Too many false positives: " + pairs.size());
+    }
+
+    private String randomWord(Random random) {
+        // A vocabulary of roughly 10k short words
+        int word = random.nextInt(10000);
+        return Integer.toString(word * 7919 % 100003, 36);
+    }
+    
+    private List<NearDuplicateDetector.QuestionRef> refs(int size) {
+        List<NearDuplicateDetector.QuestionRef> refs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            refs.add(new NearDuplicateDetector.QuestionRef(Paths.get("bank.json"), i, "q" + i, "Question " + i));
+        }
+        return refs;
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.quizzapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.quizzapp.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Unit tests for paging quiz questions in from the JSON file.
+ */
+class PagedQuizSourceTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testPagedQuizMatchesFullParse() throws IOException {
+        Path quizFile = Paths.get("sample-quiz.json");
+        Quiz full = new QuizService().parseQuizJson(quizFile.toFile());
+        Quiz paged = PagedQuizSource.open(quizFile, new ObjectMapper(), 1).toQuiz();
+        
+        assertEquals(full.getTitle(), paged.getTitle());
+        assertEquals(full.getCompletedHtml(), paged.getCompletedHtml());
+        assertEquals(full.getCompletedHtmlOnCondition().size(), paged.getCompletedHtmlOnCondition().size());
+        assertEquals(full.getTotalQuestions(), paged.getTotalQuestions());
+        
+        // Read backwards with a one-page cache so every access goes back to the file
+        for (int i = full.getTotalQuestions() - 1; i >= 0; i--) {
+            assertEquals(full.getQuestion(i).getName(), paged.getQuestion(i).getName());
+            assertEquals(full.getQuestion(i).getCorrectAnswer(), paged.getQuestion(i).getCorrectAnswer());
+            assertEquals(full.getPage(i).getTimeLimit(), paged.getPage(i).getTimeLimit());
+        }
+    }
+    
+    @Test
+    void testEmptyPageIsRejected() throws IOException {
+        Path quizFile = tempDir.resolve("empty-page.json");
+        Files.writeString(quizFile, "{\"title\":\"T\",\"pages\":[{\"timeLimit\":5,\"elements\":[]}]}");
+        
+        assertThrows(IllegalArgumentException.class, () -> PagedQuizSource.open(quizFile, new ObjectMapper()));
+    }
+    
+    @Test
+    void testChangedFileKeepsContentItWasOpenedWith() throws IOException {
+        Path quizFile = tempDir.resolve("quiz.json");
+        Files.copy(Paths.get("sample-quiz.json"), quizFile);
+        Quiz paged = PagedQuizSource.open(quizFile, new ObjectMapper(), 1).toQuiz();
+        String firstName = paged.getQuestion(0).getName();
+        
+        // Edited during a game: the running quiz must keep reading the old version
+        Files.writeString(quizFile, "{\"title\":\"Edited\",\"pages\":[]}");
+        
+        for (int i = paged.getTotalQuestions() - 1; i >= 0; i--) {
+            assertNotNull(paged.getQuestion(i));
+        }
+        assertEquals(firstName, paged.getQuestion(0).getName());
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.PlayerResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Unit tests for the paged results list and the leaderboard queries behind it.
+ */
+class PagedResultListTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    private WindowedLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new WindowedLeaderboard(Clock.systemDefaultZone());
+        for (int i = 0; i < 10_000; i++) {
+            leaderboard.add(new PlayerResult("player" + i, 100, i % 101, DATE.plusSeconds(i)));
+        }
+    }
+
+    @Test
+    void testReadsOnlyTheVisiblePages() {
+        PagedResultList list = new PagedResultList(leaderboard.query(
+            WindowedLeaderboard.Period.ALL_TIME, WindowedLeaderboard.SortKey.RANK, false, null));
+
+        assertEquals(10_000, list.size());
+        assertEquals(0, list.getFetchCount());
+        assertEquals(100, list.get(0).getCorrectQuestions());
+        assertEquals(1, list.getFetchCount());
+        list.get(50);
+        assertEquals(1, list.getFetchCount());
+        // Three quarters into a page, the next one is fetched ahead
+        list.get(80);
+        assertEquals(2, list.getFetchCount());
+        list.get(150);
+        assertEquals(2, list.getFetchCount());
+        list.get(250);
+        assertEquals(3, list.getFetchCount());
+        assertEquals(leaderboard.getLeaderboard(WindowedLeaderboard.Period.ALL_TIME).get(9_999), list.get(9_999));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(10_000));
+    }
+
+    @Test
+    void testSortsAndFiltersInTheLeaderboard() {
+        PagedResultList byName = new PagedResultList(leaderboard.query(
+            WindowedLeaderboard.Period.ALL_TIME, WindowedLeaderboard.SortKey.PLAYER, true, null));
+        assertEquals("player9999", byName.get(0).getPlayerName());
+
+        PagedResultList byDate = new PagedResultList(leaderboard.query(
+            WindowedLeaderboard.Period.ALL_TIME, WindowedLeaderboard.SortKey.DATE, false, null));
+        assertEquals("player0", byDate.get(0).getPlayerName());
+
+        PagedResultList filtered = new PagedResultList(leaderboard.query(
+            WindowedLeaderboard.Period.ALL_TIME, WindowedLeaderboard.SortKey.SCORE, false, " PLAYER99"), 10);
+        assertEquals(111, filtered.size());
+        assertEquals("player9999", filtered.get(0).getPlayerName());
+        assertEquals(0, filtered.get(0).getCorrectQuestions());
+    }
+}
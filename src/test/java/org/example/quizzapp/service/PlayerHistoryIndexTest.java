@@ -0,0 +1,114 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.PlayerResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for the per-player history index.
+ */
+class PlayerHistoryIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private QuizService quizService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        quizService = new QuizService(tempDir);
+        quizService.saveResult("Geography", new PlayerResult("Alice", 5, 4, LocalDateTime.now()));
+        quizService.saveResult("Geography", new PlayerResult("Bob", 5, 2, LocalDateTime.now()));
+        quizService.saveResult("History", new PlayerResult("  ALICE ", 3, 3, LocalDateTime.now()));
+        quizService.saveResult("History", new PlayerResult("Alicia", 3, 1, LocalDateTime.now()));
+    }
+
+    @Test
+    void testFindsPlayerAcrossQuizzes() throws Exception {
+        PlayerHistoryIndex index = quizService.getPlayerHistory();
+
+        List<PlayerHistoryIndex.Entry> entries = index.find("alice");
+        assertEquals(2, entries.size());
+        assertEquals("Geography", entries.get(0).quizName());
+        assertEquals(0, entries.get(0).offset());
+        assertEquals(0, entries.get(1).offset());
+
+        List<PlayerResult> history = quizService.loadPlayerHistory("Alice");
+        assertEquals(List.of(4, 3), history.stream().map(PlayerResult::getCorrectQuestions).toList());
+        assertEquals(List.of("  ALICE ", "Alicia"), index.completeNames("ali", 10));
+        assertEquals(List.of("Bob"), index.completeNames("B", 10));
+        assertEquals(3, index.getPlayerCount());
+    }
+
+    @Test
+    void testReopenReplaysJournalAndCatchesUpWithFiles() throws Exception {
+        quizService.getPlayerHistory().close();
+        Path indexFile = tempDir.resolve(PlayerHistoryIndex.INDEX_FILE_NAME);
+        assertTrue(Files.exists(indexFile));
+
+        PlayerHistoryIndex reopened = PlayerHistoryIndex.open(tempDir, quizService::validateResultsFile);
+        assertEquals(4, reopened.size());
+        assertEquals(2, reopened.find("ALICE").size());
+
+        // Removed outside the application
+        Files.delete(quizService.getResultsFile("History"));
+        reopened.close();
+        reopened = PlayerHistoryIndex.open(tempDir, quizService::validateResultsFile);
+        assertEquals(2, reopened.size());
+        assertEquals(1, reopened.find("alice").size());
+        assertTrue(reopened.find("Alicia").isEmpty());
+        reopened.close();
+    }
+
+    @Test
+    void testRecoversFromTornOrMissingIndex() throws Exception {
+        quizService.getPlayerHistory().close();
+        Path indexFile = tempDir.resolve(PlayerHistoryIndex.INDEX_FILE_NAME);
+        byte[] bytes = Files.readAllBytes(indexFile);
+        Files.write(indexFile, Arrays.copyOf(bytes, bytes.length - 5));
+
+        PlayerHistoryIndex torn = PlayerHistoryIndex.open(tempDir, quizService::validateResultsFile);
+        assertEquals(4, torn.size());
+        torn.close();
+
+        Files.delete(indexFile);
+        PlayerHistoryIndex rebuilt = PlayerHistoryIndex.open(tempDir, quizService::validateResultsFile);
+        assertEquals(4, rebuilt.size());
+        assertEquals(1, rebuilt.find("bob").size());
+        rebuilt.rebuild();
+        assertEquals(4, rebuilt.size());
+        rebuilt.close();
+    }
+
+    @Test
+    void testArchivedResultsStayInHistory() throws Exception {
+        quizService.setRetentionPolicy("Capitals", new RetentionPolicy(Duration.ofDays(3650), 10, 5));
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 22; i++) {
+            String playerName = i % 2 == 0 ? "Carol" : "Dave";
+            quizService.saveResult("Capitals", new PlayerResult(playerName, 10, i % 10, now.minusMinutes(22 - i)));
+        }
+        assertEquals(10, quizService.getResultArchive("Capitals").getArchivedCount());
+
+        assertEquals(11, quizService.getPlayerHistory().find("carol").size());
+        List<Integer> expected = List.of(0, 2, 4, 6, 8, 0, 2, 4, 6, 8, 0);
+        assertEquals(expected, quizService.loadPlayerHistory("Carol").stream()
+            .map(PlayerResult::getCorrectQuestions).toList());
+
+        // A rebuilt index reads the archived names back from the segments
+        quizService.getPlayerHistory().close();
+        Files.delete(tempDir.resolve(PlayerHistoryIndex.INDEX_FILE_NAME));
+        assertEquals(11, quizService.getPlayerHistory().find("Dave").size());
+        assertEquals(expected, quizService.loadPlayerHistory("Carol").stream()
+            .map(PlayerResult::getCorrectQuestions).toList());
+    }
+}
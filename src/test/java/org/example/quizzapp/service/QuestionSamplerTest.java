@@ -0,0 +1,115 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Unit tests for the QuestionSampler service class.
+ */
+class QuestionSamplerTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private Quiz bank;
+    private QuestionSampler sampler;
+    
+    @BeforeEach
+    void setUp() {
+        bank = new Quiz("Bank", "A large question bank");
+        for (int i = 0; i < 100; i++) {
+            BooleanQuestion question = new BooleanQuestion("q" + i, "Question " + i, "True", "False", true, true);
+            question.setTags(Arrays.asList(i % 2 == 0 ? "even" : "odd"));
+            question.setDifficulty((double) (i % 5));
+            bank.addPage(new Page(10, Arrays.asList(question)));
+        }
+        sampler = new QuestionSampler();
+    }
+    
+    @Test
+    void testSampleSizeAndOrder() {
+        Quiz sample = sampler.sample(bank, new SamplingOptions(10, 42));
+        
+        assertEquals(10, sample.getTotalQuestions());
+        assertEquals("Bank", sample.getTitle());
+        
+        List<Integer> indexes = questionNumbers(sample);
+        List<Integer> sorted = new ArrayList<>(indexes);
+        sorted.sort(null);
+        assertEquals(sorted, indexes); // Bank order is kept
+        assertEquals(10, new HashSet<>(indexes).size()); // No duplicates
+    }
+    
+    @Test
+    void testSameSeedReproducesSession() {
+        Quiz first = sampler.sample(bank, new SamplingOptions(10, 7));
+        Quiz second = sampler.sample(bank, new SamplingOptions(10, 7));
+        Quiz other = sampler.sample(bank, new SamplingOptions(10, 8));
+        
+        assertEquals(questionNumbers(first), questionNumbers(second));
+        assertNotEquals(questionNumbers(first), questionNumbers(other));
+    }
+    
+    @Test
+    void testSampleLargerThanBankReturnsWholeBank() {
+        Quiz sample = sampler.sample(bank, new SamplingOptions(500, 1));
+        assertEquals(100, sample.getTotalQuestions());
+    }
+    
+    @Test
+    void testZeroTagWeightExcludesQuestions() {
+        SamplingOptions options = new SamplingOptions(20, 3);
+        options.setTagWeight("odd", 0);
+        
+        Set<Integer> drawn = new HashSet<>(questionNumbers(sampler.sample(bank, options)));
+        
+        assertEquals(20, drawn.size());
+        assertTrue(drawn.stream().allMatch(i -> i % 2 == 0));
+    }
+    
+    @Test
+    void testStreamingMatchesInMemorySampling() throws IOException {
+        Path bankFile = tempDir.resolve("bank.json");
+        StringBuilder json = new StringBuilder("{\"title\":\"Bank\",\"pages\":[");
+        for (int i = 0; i < bank.getTotalQuestions(); i++) {
+            Question question = bank.getQuestion(i);
+            json.append(i == 0 ? "" : ",")
+                .append("{\"timeLimit\":10,\"elements\":[{\"type\":\"boolean\",\"name\":\"").append(question.getName())
+                .append("\",\"title\":\"").append(question.getTitle())
+                .append("\",\"labelTrue\":\"True\",\"labelFalse\":\"False\",\"correctAnswer\":true")
+                .append(",\"tags\":[\"").append(question.getTags().get(0))
+                .append("\"],\"difficulty\":").append(question.getDifficulty()).append("}]}");
+        }
+        Files.writeString(bankFile, json.append("]}"));
+        
+        SamplingOptions uniform = new SamplingOptions(15, 99);
+        assertEquals(questionNumbers(sampler.sample(bank, uniform)),
+                     questionNumbers(sampler.sample(bankFile, uniform)));
+        
+        SamplingOptions weighted = new SamplingOptions(15, 99);
+        weighted.setTargetDifficulty(4, 1.0);
+        weighted.setTagWeight("odd", 3);
+        assertEquals(questionNumbers(sampler.sample(bank, weighted)),
+                     questionNumbers(sampler.sample(bankFile, weighted)));
+    }
+    
+    private List<Integer> questionNumbers(Quiz quiz) {
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < quiz.getTotalQuestions(); i++) {
+            numbers.add(Integer.parseInt(quiz.getQuestion(i).getName().substring(1)));
+        }
+        return numbers;
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for the question search index.
+ */
+class QuestionSearchIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testTokenize() {
+        assertEquals(Arrays.asList("what", "s", "java", "17", "über"),
+            QuestionSearchIndex.tokenize("What's Java-17?  Über"));
+        assertTrue(QuestionSearchIndex.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void testRanksMatchesAndSupportsPrefixes() {
+        QuestionSearchIndex index = new QuestionSearchIndex();
+        index.indexFile(tempDir.resolve("languages.json"), quiz(
+            new RadioGroupQuestion("q1", "Which language runs on the JVM?", "random",
+                Arrays.asList("Kotlin", "Swift"), "Kotlin", true),
+            new BooleanQuestion("q2", "Polymorphism allows overriding methods", "Yes", "No", true, true),
+            new RadioGroupQuestion("q3", "Which keyword declares a constant in Java?", "random",
+                Arrays.asList("final", "const"), "final", true)));
+
+        List<QuestionSearchIndex.SearchHit> hits = index.search("kotlin", 10);
+        assertEquals(1, hits.size());
+        assertEquals("q1", hits.get(0).questionName());
+
+        assertEquals("q2", index.search("poly*", 10).get(0).questionName());
+        assertEquals("q2", index.search("yes", 10).get(0).questionName());
+        assertTrue(index.search("nothing", 10).isEmpty());
+
+        // Rarer terms outweigh common ones
+        hits = index.search("which constant", 10);
+        assertEquals(2, hits.size());
+        assertEquals("q3", hits.get(0).questionName());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void testLibraryIsUpdatedIncrementallyAndPersisted() throws IOException {
+        Path java = tempDir.resolve("java.json");
+        Files.copy(Paths.get("sample-quiz.json"), java);
+        Files.writeString(tempDir.resolve("broken.json"), "{ not json");
+
+        QuizLibraryIndex library = new QuizLibraryIndex(tempDir, new QuizService());
+        assertEquals(2, library.refresh());
+        assertEquals("q1", library.search("microsystems", 5).get(0).questionName());
+        assertTrue(Files.exists(tempDir.resolve(QuizLibraryIndex.INDEX_FILE_NAME)));
+
+        // A fresh instance reads the stored index and re-parses nothing
+        QuizLibraryIndex reopened = new QuizLibraryIndex(tempDir, new QuizService());
+        assertEquals(0, reopened.refresh());
+        assertEquals("q3", reopened.search("inherit*", 5).get(0).questionName());
+
+        Files.writeString(java, Files.readString(java).replace("Microsoft", "Oracle"));
+        Files.setLastModifiedTime(java, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+        assertEquals(1, reopened.refresh());
+        assertTrue(reopened.search("microsoft", 5).isEmpty());
+        assertEquals("q1", reopened.search("oracle", 5).get(0).questionName());
+
+        Files.delete(java);
+        assertEquals(1, reopened.refresh());
+        assertTrue(reopened.search("java", 5).isEmpty());
+    }
+
+    @Test
+    void testReindexingManyTimesKeepsResultsConsistent() throws IOException {
+        QuestionSearchIndex index = new QuestionSearchIndex();
+        Path file = tempDir.resolve("bank.json");
+        for (int round = 0; round < 30; round++) {
+            BooleanQuestion[] questions = new BooleanQuestion[100];
+            for (int i = 0; i < questions.length; i++) {
+                questions[i] = new BooleanQuestion("q" + i, "Round" + round + " question number" + i,
+                    "True", "False", true, true);
+            }
+            index.indexFile(file, quiz(questions));
+        }
+        assertEquals(100, index.size());
+        assertTrue(index.search("round3", 10).isEmpty());
+        assertEquals(10, index.search("round29", 10).size());
+
+        Path stored = tempDir.resolve("index.qsi");
+        index.save(stored);
+        QuestionSearchIndex loaded = QuestionSearchIndex.load(stored);
+        assertEquals(100, loaded.size());
+        assertEquals("q42", loaded.search("number42", 1).get(0).questionName());
+    }
+
+    private Quiz quiz(Question... questions) {
+        Quiz quiz = new Quiz("Library quiz", "Indexed");
+        for (Question question : questions) {
+            quiz.addPage(new Page(10, Arrays.asList(question)));
+        }
+        return quiz;
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for compiling and loading quiz bundles.
+ */
+class QuizBundleTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private Path quizFile;
+    private QuizService quizService;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        quizFile = tempDir.resolve("sample-quiz.json");
+        Files.copy(Paths.get("sample-quiz.json"), quizFile);
+        quizService = new QuizService();
+    }
+    
+    @Test
+    void testBundleMatchesJson() throws IOException {
+        Quiz fromJson = quizService.parseQuizJson(quizFile.toFile());
+        Path bundleFile = new QuizBundleCompiler(quizService).compile(quizFile);
+        Quiz fromBundle = QuizBundle.open(bundleFile).toQuiz();
+        
+        assertEquals(fromJson.getTitle(), fromBundle.getTitle());
+        assertEquals(fromJson.getCompletedHtml(), fromBundle.getCompletedHtml());
+        assertEquals(fromJson.getTotalQuestions(), fromBundle.getTotalQuestions());
+        
+        for (int i = 0; i < fromJson.getTotalQuestions(); i++) {
+            Question expected = fromJson.getQuestion(i);
+            Question actual = fromBundle.getQuestion(i);
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getTitle(), actual.getTitle());
+            assertEquals(expected.getCorrectAnswer(), actual.getCorrectAnswer());
+            assertEquals(fromJson.getPage(i).getTimeLimit(), fromBundle.getPage(i).getTimeLimit());
+            assertTrue(actual.isCorrectAnswer(expected.getCorrectAnswer()));
+        }
+    }
+    
+    @Test
+    void testLoadQuizUsesCurrentBundle() throws IOException {
+        new QuizBundleCompiler(quizService).compile(quizFile);
+        
+        Quiz quiz = quizService.loadQuiz(quizFile.toFile());
+        
+        assertEquals("Java Basics Quiz", quiz.getTitle());
+        assertEquals(quizFile.toAbsolutePath().normalize(), quiz.getSourceFile());
+        assertEquals(3, quiz.getTotalQuestions());
+        assertEquals("q2", quiz.getQuestion(1).getName());
+    }
+    
+    @Test
+    void testStaleBundleIsIgnored() throws IOException {
+        Path bundleFile = new QuizBundleCompiler(quizService).compile(quizFile);
+        String edited = Files.readString(quizFile).replace("Java Basics Quiz", "Java Basics Quiz v2");
+        Files.writeString(quizFile, edited);
+        
+        assertFalse(QuizBundle.open(bundleFile).isCompiledFrom(quizFile));
+        assertEquals("Java Basics Quiz v2", quizService.loadQuiz(quizFile.toFile()).getTitle());
+    }
+    
+    @Test
+    void testTooManyChoicesAreRejected() {
+        List<String> choices = new ArrayList<>();
+        for (int i = 0; i <= Short.MAX_VALUE; i++) {
+            choices.add("choice " + i);
+        }
+        Quiz quiz = new Quiz("Huge", null);
+        quiz.addPage(new Page(10, List.of(new RadioGroupQuestion("q1", "Pick one", "none", choices, "choice 0", true))));
+        
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> new QuizBundleCompiler(quizService).encode(quiz, new byte[32]));
+        assertTrue(e.getMessage().contains("choices in question q1"));
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.PlayerResult;
+import org.example.quizzapp.model.Quiz;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for watching quiz and results files for external changes.
+ */
+class QuizFileWatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    private QuizService quizService;
+    private QuizFileWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        quizService = new QuizService(tempDir.resolve("results"));
+        watcher = new QuizFileWatcher(quizService, 200);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        watcher.close();
+    }
+
+    @Test
+    void testEditedQuizIsReloadedOnceAndInvalidEditIsReported() throws Exception {
+        Path quizFile = tempDir.resolve("sample-quiz.json");
+        Files.copy(Paths.get("sample-quiz.json"), quizFile);
+        String json = Files.readString(quizFile);
+        List<Quiz> reloaded = new CopyOnWriteArrayList<>();
+        CountDownLatch reloadedLatch = new CountDownLatch(1);
+        CountDownLatch failed = new CountDownLatch(1);
+        watcher.setOnQuizReloaded((path, quiz) -> {
+            reloaded.add(quiz);
+            reloadedLatch.countDown();
+        });
+        watcher.setOnQuizReloadFailed((path, e) -> failed.countDown());
+        watcher.watchQuiz(quizFile);
+
+        // An editor saving several times in quick succession is one change
+        for (int version = 1; version <= 3; version++) {
+            Files.writeString(quizFile, json.replace("Java Basics Quiz", "Java Basics Quiz v" + version));
+        }
+        assertTrue(reloadedLatch.await(10, TimeUnit.SECONDS), "the edit should be reloaded");
+        Thread.sleep(600);
+        assertEquals(1, reloaded.size());
+        assertEquals("Java Basics Quiz v3", reloaded.get(0).getTitle());
+
+        Files.writeString(quizFile, "{ not json");
+        assertTrue(failed.await(10, TimeUnit.SECONDS), "the invalid edit should be reported");
+        assertEquals(1, reloaded.size());
+    }
+
+    @Test
+    void testEditedResultsInShardDirectoriesAreRevalidated() throws Exception {
+        quizService.saveResult("Geography", new PlayerResult("Alice", 5, 4, LocalDateTime.now()));
+        Set<Path> reported = ConcurrentHashMap.newKeySet();
+        CountDownLatch invalid = new CountDownLatch(2);
+        watcher.setOnResultsInvalid((path, e) -> {
+            if (reported.add(path)) {
+                invalid.countDown();
+            }
+        });
+        watcher.watchResults(quizService.getResultsDirectory());
+
+        // An existing shard, and one that is created after watching started
+        Files.writeString(quizService.getResultsFile("Geography"), "{ not json");
+        Path newShardFile = quizService.getResultsFile("History");
+        Files.createDirectories(newShardFile.getParent());
+        Files.writeString(newShardFile, "{ not json");
+
+        assertTrue(invalid.await(10, TimeUnit.SECONDS), "both edited results files should be reported");
+        assertEquals(Set.of(quizService.getResultsFile("Geography").toAbsolutePath(), newShardFile.toAbsolutePath()),
+            reported);
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.quizzapp.service;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.quizzapp.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for the custom Flight Recorder events.
+ */
+class QuizFlightEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testBundledSettingsEnableQuizEvents() throws Exception {
+        Map<String, String> settings = QuizFlightEvents.bundledSettings();
+
+        assertEquals("true", settings.get("org.example.quizzapp.QuizLoad#enabled"));
+        assertEquals("true", settings.get("org.example.quizzapp.AnswerSubmit#enabled"));
+        assertEquals("0 ms", settings.get("org.example.quizzapp.ResultSave#threshold"));
+    }
+
+    @Test
+    void testRecordsQuizOperations() throws Exception {
+        Path output = tempDir.resolve("quiz.jfr");
+        try (Recording recording = new Recording(QuizFlightEvents.bundledSettings())) {
+            recording.start();
+
+            Quiz quiz = new QuizService().loadQuiz(new File("sample-quiz.json"));
+            GameManager session = GameManager.newSession();
+            session.loadQuiz(quiz);
+            session.submitAnswer(quiz.getQuestion(0).getCorrectAnswer());
+            session.nextQuestion();
+            session.timeOut();
+            new CsvExporter().exportToCsv(new QuizResult("quiz", "Quiz"), tempDir.resolve("export.csv"));
+
+            recording.stop();
+            recording.dump(output);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(output);
+        RecordedEvent load = find(events, "org.example.quizzapp.QuizLoad");
+        assertTrue(load.getString("file").endsWith("sample-quiz.json"));
+        assertEquals(3, load.getInt("pages"));
+        assertTrue(load.getLong("bytes") > 0);
+
+        List<RecordedEvent> answers = events.stream()
+            .filter(e -> e.getEventType().getName().equals("org.example.quizzapp.AnswerSubmit"))
+            .toList();
+        assertEquals(2, answers.size());
+        assertTrue(answers.stream().anyMatch(e -> e.getBoolean("correct") && !e.getBoolean("timedOut")));
+        assertTrue(answers.stream().anyMatch(e -> !e.getBoolean("correct") && e.getBoolean("timedOut")));
+
+        assertEquals(0, find(events, "org.example.quizzapp.CsvExport").getInt("rows"));
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+            .filter(e -> e.getEventType().getName().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("No " + name + " event recorded"));
+    }
+}
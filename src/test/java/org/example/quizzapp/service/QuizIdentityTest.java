@@ -0,0 +1,98 @@
+package org.example.quizzapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.quizzapp.model.Page;
+import org.example.quizzapp.model.PlayerResult;
+import org.example.quizzapp.model.Quiz;
+import org.example.quizzapp.model.QuizResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Unit tests for quiz ids and the sharded results layout.
+ */
+class QuizIdentityTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    @Test
+    void testTitlesNoLongerShareResultsFiles() throws Exception {
+        String first = "World Capitals of Europe - Part 1";
+        String second = "World Capitals of Europe - Part 2";
+        assertEquals(QuizIdentity.legacyId(first), QuizIdentity.legacyId(second));
+        assertNotEquals(QuizIdentity.of(first), QuizIdentity.of(second));
+        assertEquals(QuizIdentity.of(first), QuizIdentity.of("  world capitals of EUROPE -  part 1"));
+        assertEquals(32, QuizIdentity.of(first).length());
+        // Existing results files are named after these ids, so they must stay the same
+        assertEquals("bf8e5ca0b2d5abd3393eb6d13e8bdfc8", QuizIdentity.of(" \uFF27eography\t"));
+
+        QuizService quizService = new QuizService(tempDir);
+        quizService.saveResult(first, new PlayerResult("Alice", 5, 4, DATE));
+        quizService.saveResult(second, new PlayerResult("Bob", 8, 2, DATE));
+
+        String id = QuizIdentity.of(first);
+        Path file = quizService.getResultsFile(first);
+        assertEquals(tempDir.resolve(id.substring(0, 2)).resolve(id.substring(2, 4)).resolve(id + "-results.json"), file);
+        assertEquals(List.of(file, quizService.getResultsFile(second)).stream().sorted().toList(),
+            QuizIdentity.listResultsFiles(tempDir));
+        assertEquals(1, quizService.loadResults(first).getResultCount());
+        assertEquals("Bob", quizService.loadResults(second).getResults().get(0).getPlayerName());
+        assertNotEquals(quizService.loadResults(first).getNumericId(), quizService.loadResults(second).getNumericId());
+    }
+
+    @Test
+    void testMigrationSplitsMergedLegacyFiles() throws Exception {
+        String first = "World Capitals of Europe - Part 1";
+        String second = "World Capitals of Europe - Part 2";
+        QuizResult legacy = new QuizResult(QuizIdentity.legacyId(first), first);
+        legacy.addResult(new PlayerResult("Alice", 5, 4, DATE));
+        legacy.addResult(new PlayerResult("Bob", 8, 2, DATE));
+        legacy.addResult(new PlayerResult("Carol", 3, 3, DATE));
+
+        QuizService quizService = new QuizService(tempDir);
+        quizService.saveResult(first, new PlayerResult("Dave", 5, 5, DATE));
+        // Copied in after startup, e.g. from another machine
+        Path legacyFile = tempDir.resolve(QuizIdentity.legacyId(first) + "-results.json");
+        new ObjectMapper().writeValue(legacyFile.toFile(), legacy);
+        assertEquals(1, quizService.migrateLegacyResults(List.of(quiz(first, 5), quiz(second, 8))));
+
+        assertFalse(Files.exists(legacyFile));
+        assertEquals(List.of("Dave", "Alice", "Carol"), quizService.loadResults(first).getResults().stream()
+            .map(PlayerResult::getPlayerName).toList());
+        assertEquals(List.of("Bob"), quizService.loadResults(second).getResults().stream()
+            .map(PlayerResult::getPlayerName).toList());
+        assertEquals(QuizIdentity.of(second), quizService.loadResults(second).getQuizId());
+        assertEquals(2, quizService.loadPlayerHistory("alice").size() + quizService.loadPlayerHistory("bob").size());
+        assertEquals(0, quizService.migrateLegacyResults(List.of()));
+    }
+
+    @Test
+    void testLegacyFilesAreMovedAtStartup() throws Exception {
+        QuizResult legacy = new QuizResult(QuizIdentity.legacyId("Java Basics Quiz"), "Java Basics Quiz");
+        legacy.addResult(new PlayerResult("Alice", 3, 2, DATE));
+        Path legacyFile = tempDir.resolve(QuizIdentity.legacyId("Java Basics Quiz") + "-results.json");
+        new ObjectMapper().writeValue(legacyFile.toFile(), legacy);
+
+        QuizService quizService = new QuizService(tempDir);
+        assertFalse(Files.exists(legacyFile));
+        assertEquals(1, quizService.loadResults("Java Basics Quiz").getResultCount());
+        assertEquals(1, quizService.loadPlayerHistory("alice").size());
+    }
+
+    private static Quiz quiz(String title, int questions) {
+        Quiz quiz = new Quiz(title, "");
+        for (int i = 0; i < questions; i++) {
+            quiz.addPage(new Page());
+        }
+        return quiz;
+    }
+}
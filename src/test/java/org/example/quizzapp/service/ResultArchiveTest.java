@@ -0,0 +1,78 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.PlayerResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Unit tests for moving old results to compressed archive segments.
+ */
+class ResultArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSavesRollOldestResultsIntoSegments() throws Exception {
+        QuizService quizService = new QuizService(tempDir);
+        quizService.setRetentionPolicy("Geography", new RetentionPolicy(Duration.ofDays(3650), 10, 5));
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 22; i++) {
+            int correct = i == 3 ? 10 : i % 10;
+            quizService.saveResult("Geography", new PlayerResult("player" + i, 10, correct, now.minusMinutes(22 - i)));
+        }
+
+        // 5 results were due after the 15th save and 5 more after the 20th
+        ResultArchive archive = quizService.getResultArchive("Geography");
+        assertEquals(List.of(5, 5), archive.getSegments().stream().map(ResultArchive.Segment::count).toList());
+        assertEquals(10, archive.getArchivedCount());
+        ResultArchive.Segment first = archive.getSegments().get(0);
+        assertEquals(50, first.totalQuestions());
+        assertEquals(17, first.correctQuestions());
+        assertEquals(now.minusMinutes(22).format(PlayerResult.DATE_FORMAT), first.firstDate());
+        assertTrue(Files.exists(quizService.getResultsFile("Geography").resolveSibling(first.fileName())));
+
+        assertEquals(12, quizService.loadResults("Geography").getResultCount());
+        List<PlayerResult> history = quizService.loadResultHistory("Geography").getResults();
+        assertEquals(22, history.size());
+        assertEquals("player0", history.get(0).getPlayerName());
+        assertEquals("player21", history.get(21).getPlayerName());
+
+        // The best archived result is still on top of the all-time board
+        assertEquals("player3", archive.getTopResults().get(0).getPlayerName());
+        List<PlayerResult> allTime = quizService.getLeaderboard("Geography").getLeaderboard(WindowedLeaderboard.Period.ALL_TIME);
+        assertEquals("player3", allTime.get(0).getPlayerName());
+        assertEquals(12 + ResultArchive.TOP_RESULTS, allTime.size());
+    }
+
+    @Test
+    void testArchivingByAgeOnRequest() throws Exception {
+        QuizService quizService = new QuizService(tempDir);
+        quizService.setDefaultRetentionPolicy(new RetentionPolicy(Duration.ofDays(30), 1000, 100));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 6; i++) {
+            quizService.saveResult("History", new PlayerResult("player" + i, 4, i % 5, now.minusDays(65 - i * 10)));
+        }
+        assertEquals(6, quizService.loadResults("History").getResultCount());
+        assertEquals(0, quizService.getResultArchive("History").getArchivedCount());
+
+        // 65, 55, 45 and 35 days old
+        assertEquals(4, quizService.archiveResults("History"));
+        assertEquals(List.of("player4", "player5"), quizService.loadResults("History").getResults().stream()
+            .map(PlayerResult::getPlayerName).toList());
+        assertEquals(0, quizService.archiveResults("History"));
+        assertEquals(6, quizService.loadResultHistory("History").getResultCount());
+        assertEquals(List.of("player4"), quizService.loadPlayerHistory("player4").stream()
+            .map(PlayerResult::getPlayerName).toList());
+        // Archived results are read back from their segment
+        assertEquals(List.of(3), quizService.loadPlayerHistory("player3").stream()
+            .map(PlayerResult::getCorrectQuestions).toList());
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.PlayerResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for syncing results between results directories with bundles.
+ */
+class ResultSyncTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2026, 10, 1, 12, 0, 30);
+
+    @Test
+    void testDeltaBundlesMergeIdempotently() throws Exception {
+        QuizService kioskA = new QuizService(tempDir.resolve("a"));
+        QuizService kioskB = new QuizService(tempDir.resolve("b"));
+        kioskA.saveResult("Geography", new PlayerResult("Alice", 5, 4, DATE));
+        kioskA.saveResult("History", new PlayerResult("Bob", 3, 1, DATE.plusMinutes(1)));
+        kioskB.saveResult("Geography", new PlayerResult("Carol", 5, 5, DATE.plusMinutes(2)));
+
+        Path vectorB = tempDir.resolve("b.vector");
+        ResultSync.writeVersionVector(kioskB.getResultSync().getVersionVector(), vectorB);
+        Path bundle = tempDir.resolve("a-to-b.rsb");
+        assertEquals(2, kioskA.exportSyncBundle(ResultSync.readVersionVector(vectorB), bundle));
+        assertEquals(new ResultSync.ImportReport(2, 0, 0), kioskB.importSyncBundle(bundle));
+        assertEquals(new ResultSync.ImportReport(0, 2, 0), kioskB.importSyncBundle(bundle));
+
+        List<PlayerResult> geography = kioskB.loadResults("Geography").getResults();
+        // Merged by completion time, so the oldest results stay first for the retention policy
+        assertEquals(List.of("Alice", "Carol"), geography.stream().map(PlayerResult::getPlayerName).toList());
+        assertEquals(DATE, geography.get(0).getDate());
+        assertEquals(1, kioskB.loadResults("History").getResultCount());
+
+        // B now has everything A has, so only A's next result goes out
+        kioskA.saveResult("History", new PlayerResult("Dave", 3, 3, DATE.plusMinutes(3)));
+        assertEquals(1, kioskA.exportSyncBundle(kioskB.getResultSync().getVersionVector(), bundle));
+        assertEquals(2, ResultSync.readBundle(bundle).entries().get(0).sequence() - 1);
+        assertEquals(new ResultSync.ImportReport(1, 0, 0), kioskB.importSyncBundle(bundle));
+    }
+
+    @Test
+    void testResultsTravelThroughThirdNodes() throws Exception {
+        QuizService kioskA = new QuizService(tempDir.resolve("a"));
+        QuizService kioskB = new QuizService(tempDir.resolve("b"));
+        QuizService kioskC = new QuizService(tempDir.resolve("c"));
+        for (int i = 0; i < 20; i++) {
+            kioskA.saveResult("Geography", new PlayerResult("player" + i, 5, i % 6, DATE.plusMinutes(i)));
+        }
+        Path bundle = tempDir.resolve("bundle.rsb");
+        kioskA.exportSyncBundle(Map.of(), bundle);
+        kioskB.importSyncBundle(bundle);
+
+        // C got half of A's results earlier, so B's bundle only needs to carry the rest
+        Path partial = tempDir.resolve("partial.rsb");
+        kioskA.exportSyncBundle(Map.of(), partial);
+        String nodeA = kioskA.getResultSync().getNodeId();
+        kioskB.exportSyncBundle(Map.of(nodeA, 10L), bundle);
+        assertEquals(new ResultSync.ImportReport(0, 0, 10), kioskC.importSyncBundle(bundle));
+        kioskC.importSyncBundle(partial);
+        assertEquals(new ResultSync.ImportReport(0, 10, 0), kioskC.importSyncBundle(bundle));
+        assertEquals(20, kioskC.loadResults("Geography").getResultCount());
+        assertEquals(Map.of(nodeA, 20L), kioskC.getResultSync().getVersionVector());
+    }
+
+    @Test
+    void testInterruptedImportIsFinishedOnceAtStartup() throws Exception {
+        QuizService kioskA = new QuizService(tempDir.resolve("a"));
+        kioskA.saveResult("Geography", new PlayerResult("Alice", 5, 4, DATE));
+        kioskA.saveResult("Geography", new PlayerResult("Bob", 5, 2, DATE.plusMinutes(1)));
+        kioskA.saveResult("History", new PlayerResult("Carol", 3, 3, DATE.plusMinutes(2)));
+        Path bundle = tempDir.resolve("bundle.rsb");
+        kioskA.exportSyncBundle(Map.of(), bundle);
+
+        // The import stops after journaling the results and saving the first of them
+        Path directoryB = tempDir.resolve("b");
+        QuizService kioskB = new QuizService(directoryB);
+        List<ResultSync.Entry> entries = ResultSync.readBundle(bundle).entries();
+        kioskB.getResultSync().recordImport(entries);
+        kioskB.saveResult("Geography", entries.get(0).toResult());
+        assertTrue(Files.exists(directoryB.resolve(ResultSync.PENDING_FILE_NAME)));
+
+        QuizService restarted = new QuizService(directoryB);
+        assertFalse(Files.exists(directoryB.resolve(ResultSync.PENDING_FILE_NAME)));
+        assertEquals(List.of("Alice", "Bob"), restarted.loadResults("Geography").getResults().stream()
+            .map(PlayerResult::getPlayerName).toList());
+        assertEquals(1, restarted.loadResults("History").getResultCount());
+        assertEquals(new ResultSync.ImportReport(0, 3, 0), restarted.importSyncBundle(bundle));
+    }
+
+    @Test
+    void testResultsSavedBeforeSyncAreTaggedOnce() throws Exception {
+        QuizService before = new QuizService(tempDir.resolve("old"));
+        before.saveResult("Geography", new PlayerResult("Alice", 5, 4, DATE));
+        before.saveResult("Geography", new PlayerResult("Bob", 5, 2, DATE.plusMinutes(1)));
+        // A results directory of a version without sync: the results files only
+        Path upgraded = tempDir.resolve("upgraded");
+        Path resultsFile = before.getResultsFile("Geography");
+        Path copy = upgraded.resolve(tempDir.resolve("old").relativize(resultsFile));
+        Files.createDirectories(copy.getParent());
+        Files.copy(resultsFile, copy);
+
+        QuizService kiosk = new QuizService(upgraded);
+        String node = kiosk.getResultSync().getNodeId();
+        assertEquals(Map.of(node, 2L), kiosk.getResultSync().getVersionVector());
+        kiosk.saveResult("Geography", new PlayerResult("Carol", 5, 5, DATE.plusMinutes(2)));
+        assertEquals(Map.of(node, 3L), new QuizService(upgraded).getResultSync().getVersionVector());
+
+        Path bundle = tempDir.resolve("bundle.rsb");
+        QuizService peer = new QuizService(tempDir.resolve("peer"));
+        kiosk.exportSyncBundle(peer.getResultSync().getVersionVector(), bundle);
+        assertEquals(new ResultSync.ImportReport(3, 0, 0), peer.importSyncBundle(bundle));
+        assertEquals(3, peer.loadResults("Geography").getResultCount());
+    }
+
+    @Test
+    void testJournalSurvivesReopenAndTornRecord() throws Exception {
+        Path directory = tempDir.resolve("a");
+        ResultSync sync = ResultSync.open(directory);
+        sync.recordLocal("Geography", new PlayerResult("Alice", 5, 4, DATE));
+        sync.recordLocal("Geography", new PlayerResult("Bob", 5, 2, DATE));
+        sync.close();
+        Path journal = directory.resolve(ResultSync.JOURNAL_FILE_NAME);
+        long size = Files.size(journal);
+        Files.write(journal, new byte[] {0, 9, (byte) 'x'}, StandardOpenOption.APPEND);
+
+        ResultSync reopened = ResultSync.open(directory);
+        assertEquals(sync.getNodeId(), reopened.getNodeId());
+        assertEquals(Map.of(sync.getNodeId(), 2L), reopened.getVersionVector());
+        assertEquals(size, Files.size(journal));
+        ResultSync.Entry next = reopened.recordLocal("History", new PlayerResult("Carol", 3, 3, DATE));
+        assertEquals(3, next.sequence());
+
+        Path bundle = tempDir.resolve("bundle.rsb");
+        assertEquals(1, reopened.exportBundle(Map.of(sync.getNodeId(), 2L), bundle));
+        assertEquals(List.of(next), ResultSync.readBundle(bundle).entries());
+    }
+
+    @Test
+    void testBatchRecordRejectsGapsWithoutWriting() throws Exception {
+        ResultSync sync = ResultSync.open(tempDir.resolve("a"));
+        ResultSync.Entry first = new ResultSync.Entry("node-b", 1, "Geography", "Alice", 5, 4, 0);
+        ResultSync.Entry third = new ResultSync.Entry("node-b", 3, "Geography", "Bob", 5, 2, 0);
+        assertThrows(IllegalArgumentException.class, () -> sync.record(List.of(first, third)));
+        assertEquals(0, sync.size());
+
+        ResultSync.Entry second = new ResultSync.Entry("node-b", 2, "History", "Carol", 3, 3, 0);
+        sync.record(List.of(first, second, third));
+        assertEquals(Map.of("node-b", 3L), sync.getVersionVector());
+        sync.close();
+        assertEquals(Map.of("node-b", 3L), ResultSync.open(tempDir.resolve("a")).getVersionVector());
+    }
+}
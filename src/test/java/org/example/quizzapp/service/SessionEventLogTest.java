@@ -0,0 +1,290 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Unit tests for the session event log and crash recovery.
+ */
+class SessionEventLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Quiz createQuiz() {
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Recovery Quiz");
+        quiz.addPage(new Page(30, List.of(new BooleanQuestion("q1", "First?", "Yes", "No", true, true))));
+        quiz.addPage(new Page(30, List.of(new RadioGroupQuestion("q2", "Second?", "none",
+            List.of("A", "B"), "B", true))));
+        quiz.addPage(new Page(30, List.of(new BooleanQuestion("q3", "Third?", "Yes", "No", false, true))));
+        return quiz;
+    }
+
+    @Test
+    void testRoundTripsEveryEventType() throws Exception {
+        Path file = tempDir.resolve("sessions.qel");
+        SamplingOptions sampling = new SamplingOptions(5, 42L);
+        sampling.setTagWeight("Loops", 2.5);
+        sampling.setTagWeight("syntax", 0);
+        sampling.setTargetDifficulty(3, 0.5);
+        try (SessionEventLog log = SessionEventLog.open(file)) {
+            long id = log.newSessionId();
+            log.append(SessionEventLog.Event.started(id,
+                new SessionEventLog.SessionStart("Alice", "/quizzes/java.json", true, sampling,
+                    SessionEventLog.OrderKind.SPACED_REPETITION)));
+            log.append(SessionEventLog.Event.of(id, SessionEventLog.Type.QUESTION_SHOWN, 0, "q1"));
+            log.append(SessionEventLog.Event.answered(id, 0, "q1", true));
+            log.append(SessionEventLog.Event.answered(id, 1, "q2", "B"));
+            log.append(SessionEventLog.Event.of(id, SessionEventLog.Type.TIMED_OUT, 2, "q3"));
+            log.append(SessionEventLog.Event.of(id, SessionEventLog.Type.FINISHED, 3, null));
+        }
+
+        List<SessionEventLog.Event> events = SessionEventLog.readAll(file);
+        assertEquals(6, events.size());
+        assertEquals(new SessionEventLog.SessionStart("Alice", "/quizzes/java.json", true, sampling,
+            SessionEventLog.OrderKind.SPACED_REPETITION), events.get(0).start());
+        assertEquals(Boolean.TRUE, events.get(2).answer());
+        assertEquals("B", events.get(3).answer());
+        assertEquals(SessionEventLog.Type.TIMED_OUT, events.get(4).type());
+        assertEquals("q3", events.get(4).questionName());
+        assertEquals(SessionEventLog.Type.FINISHED, events.get(5).type());
+    }
+
+    @Test
+    void testDropsTornRecordAndKeepsAppending() throws Exception {
+        Path file = tempDir.resolve("sessions.qel");
+        try (SessionEventLog log = SessionEventLog.open(file)) {
+            long id = log.newSessionId();
+            log.append(SessionEventLog.Event.started(id, new SessionEventLog.SessionStart("Bob", "", false, null,
+                SessionEventLog.OrderKind.SEQUENTIAL)));
+            log.append(SessionEventLog.Event.answered(id, 0, "q1", "Yes"));
+        }
+        long intactSize = Files.size(file);
+        // A record whose body was only partly written before power was lost
+        Files.write(file, new byte[] {20, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (SessionEventLog log = SessionEventLog.open(file)) {
+            assertEquals(intactSize, Files.size(file));
+            assertEquals(2, log.newSessionId());
+            log.append(SessionEventLog.Event.of(1, SessionEventLog.Type.FINISHED, 1, null));
+        }
+        assertEquals(3, SessionEventLog.readAll(file).size());
+    }
+
+    @Test
+    void testSkipsDamagedRecordBeforeLaterSessions() throws Exception {
+        Path file = tempDir.resolve("sessions.qel");
+        try (SessionEventLog log = SessionEventLog.open(file)) {
+            log.append(SessionEventLog.Event.started(log.newSessionId(), new SessionEventLog.SessionStart(
+                "Dave", "", false, null, SessionEventLog.OrderKind.SEQUENTIAL)));
+            log.sync();
+            log.append(SessionEventLog.Event.started(log.newSessionId(), new SessionEventLog.SessionStart(
+                "Erin", "", false, null, SessionEventLog.OrderKind.SEQUENTIAL)));
+        }
+        // Flip a byte in the first record's player name
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[20] ^= 0x01;
+        Files.write(file, bytes);
+
+        try (SessionEventLog log = SessionEventLog.open(file)) {
+            assertEquals(bytes.length, Files.size(file), "nothing after the damaged record is cut off");
+            assertEquals(3, log.newSessionId());
+        }
+        List<SessionEventLog.Event> events = SessionEventLog.readAll(file);
+        assertEquals(1, events.size());
+        assertEquals("Erin", events.get(0).start().playerName());
+    }
+
+    @Test
+    void testRollsLogKeepingOpenSessions() throws Exception {
+        Path file = tempDir.resolve("sessions.qel");
+        long open;
+        try (SessionEventLog log = SessionEventLog.open(file, 200)) {
+            open = log.newSessionId();
+            log.append(SessionEventLog.Event.started(open, new SessionEventLog.SessionStart(
+                "Frank", "", false, null, SessionEventLog.OrderKind.SEQUENTIAL)));
+            for (int i = 0; i < 5; i++) {
+                long id = log.newSessionId();
+                log.append(SessionEventLog.Event.started(id, new SessionEventLog.SessionStart(
+                    "Player " + i, "", false, null, SessionEventLog.OrderKind.SEQUENTIAL)));
+                log.append(SessionEventLog.Event.answered(id, 0, "q1", "A"));
+                log.sync();
+                log.append(SessionEventLog.Event.of(id, SessionEventLog.Type.FINISHED, 1, null));
+            }
+        }
+
+        try (var rolled = Files.list(tempDir)) {
+            assertTrue(rolled.anyMatch(path -> path.getFileName().toString().matches("sessions-\\d{6}\\.qel")));
+        }
+        List<SessionEventLog.Event> events = SessionEventLog.readAll(file);
+        assertEquals(open, events.get(0).sessionId(), "the open session is carried over");
+        assertTrue(events.size() < 16);
+        try (SessionEventLog log = SessionEventLog.open(file)) {
+            assertEquals(7, log.newSessionId(), "ids are not reused after rolling");
+        }
+    }
+
+    @Test
+    void testCloseWritesBufferedEventsEvenWhenInterrupted() throws Exception {
+        Path file = tempDir.resolve("sessions.qel");
+        SessionEventLog log = SessionEventLog.open(file);
+        long id = log.newSessionId();
+        log.append(SessionEventLog.Event.started(id, new SessionEventLog.SessionStart("Carol", "", false, null,
+            SessionEventLog.OrderKind.SEQUENTIAL)));
+        log.append(SessionEventLog.Event.of(id, SessionEventLog.Type.FINISHED, 0, null));
+
+        Thread.currentThread().interrupt();
+        log.close();
+        assertTrue(Thread.interrupted(), "the interrupt is kept for the caller");
+        assertEquals(2, SessionEventLog.readAll(file).size());
+    }
+
+    @Test
+    void testResumesInterruptedSession() throws Exception {
+        Path file = tempDir.resolve("sessions.qel");
+        Quiz quiz = createQuiz();
+        try (SessionEventLog log = SessionEventLog.open(file)) {
+            GameManager session = GameManager.newSession();
+            session.loadQuiz(quiz);
+            session.setPlayerName("Carol");
+            session.startRecording(log);
+            session.submitAnswer(true);
+            session.nextQuestion();
+            session.timeOut();
+            session.nextQuestion();
+            // Power is lost here: no finish, and the log is never closed cleanly
+            log.sync();
+        }
+
+        List<SessionRecovery.RecordedSession> interrupted = SessionRecovery.findInterrupted(file);
+        assertEquals(1, interrupted.size());
+        SessionRecovery.RecordedSession recorded = interrupted.get(0);
+        assertEquals("Carol", recorded.getStart().playerName());
+        assertEquals(List.of("q1", "q2"), recorded.getQuestionNames());
+
+        try (SessionEventLog log = SessionEventLog.open(file)) {
+            GameManager resumed = GameManager.newSession();
+            resumed.loadQuiz(quiz);
+            assertEquals(2, resumed.resumeRecording(recorded, log));
+            assertEquals("Carol", resumed.getPlayerName());
+            assertEquals(2, resumed.getCurrentQuestionIndex());
+            assertEquals(1, resumed.getScore());
+
+            resumed.submitAnswer(false);
+            resumed.nextQuestion();
+            resumed.finishRecording();
+        }
+
+        assertTrue(SessionRecovery.findInterrupted(file).isEmpty());
+        SessionRecovery.RecordedSession finished = SessionRecovery.replay(file).get(recorded.getSessionId());
+        PlayerResult result = SessionRecovery.recomputeResult(finished, quiz);
+        assertEquals(3, result.getTotalQuestions());
+        assertEquals(2, result.getCorrectQuestions());
+    }
+
+    @Test
+    void testResumesSpacedRepetitionSessionInItsOrder() throws Exception {
+        Path file = tempDir.resolve("sessions.qel");
+        Quiz quiz = createQuiz();
+        try (SessionEventLog log = SessionEventLog.open(file)) {
+            GameManager session = GameManager.newSession();
+            session.loadQuiz(quiz);
+            session.setPracticeMode(true);
+            session.setQuestionOrder(new SpacedRepetitionOrder(reviewSchedule(), quiz.getTitle()));
+            session.setPlayerName("Dave");
+            session.startRecording(log);
+            // q3 is due, so it comes first
+            session.submitAnswer(false);
+            session.nextQuestion();
+            log.sync();
+        }
+
+        SessionRecovery.RecordedSession recorded = SessionRecovery.findInterrupted(file).get(0);
+        assertEquals(SessionEventLog.OrderKind.SPACED_REPETITION, recorded.getStart().order());
+        assertEquals(List.of("q3"), recorded.getQuestionNames());
+
+        try (SessionEventLog log = SessionEventLog.open(file)) {
+            GameManager resumed = GameManager.newSession();
+            resumed.loadQuiz(quiz);
+            resumed.setPracticeMode(true);
+            // The schedule as saved before the session, like ReviewStore would load it
+            resumed.setQuestionOrder(new SpacedRepetitionOrder(reviewSchedule(), quiz.getTitle()));
+            assertEquals(1, resumed.resumeRecording(recorded, log));
+            assertEquals("q1", resumed.getCurrentQuestion().getName());
+        }
+    }
+
+    @Test
+    void testResumesWeightedSampleWithTheSameQuestions() throws Exception {
+        Path file = tempDir.resolve("sessions.qel");
+        Quiz bank = new Quiz("Weighted Bank", "");
+        for (int i = 0; i < 40; i++) {
+            BooleanQuestion question = new BooleanQuestion("q" + i, "Question " + i, "Yes", "No", true, true);
+            question.setTags(List.of(i % 4 == 0 ? "rare" : "common"));
+            question.setDifficulty((double) (i % 5));
+            bank.addPage(new Page(30, List.of(question)));
+        }
+        SamplingOptions sampling = new SamplingOptions(5, 11);
+        sampling.setTagWeight("rare", 50);
+        sampling.setTargetDifficulty(4, 1.0);
+        try (SessionEventLog log = SessionEventLog.open(file)) {
+            GameManager session = GameManager.newSession();
+            session.loadQuiz(bank, sampling);
+            session.setPlayerName("Gina");
+            session.startRecording(log);
+            for (int i = 0; i < 3; i++) {
+                session.submitAnswer(true);
+                session.nextQuestion();
+            }
+            log.sync();
+        }
+
+        SessionRecovery.RecordedSession recorded = SessionRecovery.findInterrupted(file).get(0);
+        assertEquals(sampling, recorded.getStart().sampling());
+        try (SessionEventLog log = SessionEventLog.open(file)) {
+            GameManager resumed = GameManager.newSession();
+            resumed.loadQuiz(bank, recorded.getStart().sampling());
+            assertEquals(3, resumed.resumeRecording(recorded, log));
+        }
+    }
+
+    private static ReviewScheduler reviewSchedule() {
+        ReviewScheduler scheduler = new ReviewScheduler();
+        scheduler.record("Recovery Quiz", "q3", ReviewScheduler.QUALITY_INCORRECT,
+            Instant.now().minus(Duration.ofDays(2)));
+        return scheduler;
+    }
+
+    @Test
+    void testReplaysManyEvents() throws Exception {
+        Path file = tempDir.resolve("sessions.qel");
+        int sessions = 1000;
+        int answersPerSession = 50;
+        try (SessionEventLog log = SessionEventLog.open(file)) {
+            for (int s = 0; s < sessions; s++) {
+                long id = log.newSessionId();
+                log.append(SessionEventLog.Event.started(id,
+                    new SessionEventLog.SessionStart("Player " + s, "quiz.json", false, null,
+                        SessionEventLog.OrderKind.SEQUENTIAL)));
+                for (int a = 0; a < answersPerSession; a++) {
+                    log.append(SessionEventLog.Event.answered(id, a, "q" + a, a % 2 == 0));
+                }
+            }
+        }
+
+        int[] count = new int[1];
+        SessionEventLog.replay(file, event -> count[0]++);
+        assertEquals(sessions * (answersPerSession + 1), count[0]);
+        assertEquals(sessions, SessionRecovery.findInterrupted(file).size());
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for the spaced-repetition schedule and practice order.
+ */
+class SpacedRepetitionOrderTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Test
+    void testSm2Intervals() {
+        ReviewScheduler scheduler = new ReviewScheduler();
+
+        assertEquals(1, scheduler.record("quiz", "q1", 4, START).getIntervalDays());
+        assertEquals(6, scheduler.record("quiz", "q1", 4, START).getIntervalDays());
+        ReviewScheduler.ReviewState state = scheduler.record("quiz", "q1", 4, START);
+        assertEquals(15, state.getIntervalDays());
+        assertEquals(2.5, state.getEasiness(), 1e-9);
+
+        state = scheduler.record("quiz", "q1", 1, START);
+        assertEquals(0, state.getRepetitions());
+        assertEquals(1, state.getIntervalDays());
+        assertEquals(1.96, state.getEasiness(), 1e-9);
+        assertEquals(1, scheduler.size());
+    }
+
+    @Test
+    void testPollsEarliestDueAndSkipsRescheduledEntries() {
+        ReviewScheduler scheduler = new ReviewScheduler();
+        scheduler.record("quiz", "a", 4, START);
+        scheduler.record("quiz", "b", 4, START.plusSeconds(60));
+        scheduler.record("quiz", "a", 4, START); // a is now due in 6 days
+
+        Instant later = START.plus(Duration.ofDays(2));
+        assertEquals("b", scheduler.pollDue("quiz", later).getQuestionName());
+        assertNull(scheduler.pollDue("quiz", later));
+        assertEquals("a", scheduler.pollEarliest("quiz").getQuestionName());
+        assertNull(scheduler.pollEarliest("quiz"));
+        assertNull(scheduler.pollDue("other", later));
+    }
+
+    @Test
+    void testDueQuestionsComeBeforeNewOnes() {
+        Quiz quiz = quiz(5);
+        ReviewScheduler scheduler = new ReviewScheduler();
+        scheduler.record("Practice", "q3", 1, START);
+        scheduler.record("Practice", "q1", 4, START.plus(Duration.ofDays(10)));
+
+        SpacedRepetitionOrder order = new SpacedRepetitionOrder(scheduler, "Practice",
+            Clock.fixed(START.plus(Duration.ofDays(2)), ZoneOffset.UTC));
+        order.reset(quiz);
+
+        List<String> asked = new ArrayList<>();
+        do {
+            asked.add(order.getCurrentPage().getQuestion().getName());
+            order.recordAnswer(true);
+        } while (order.advance());
+
+        assertEquals(Arrays.asList("q3", "q0", "q2", "q4", "q1"), asked);
+        assertEquals(5, order.getLength());
+        assertEquals(5, scheduler.size());
+    }
+
+    @Test
+    void testStoreRoundTrip(@TempDir Path tempDir) throws Exception {
+        ReviewStore store = new ReviewStore(tempDir);
+        ReviewScheduler scheduler = new ReviewScheduler();
+        for (int i = 0; i < 1000; i++) {
+            scheduler.record("quiz" + (i % 3), "q" + i, i % 5, START.plusSeconds(i));
+        }
+        store.save("Alice", scheduler);
+
+        ReviewScheduler loaded = store.load("Alice");
+        assertEquals(1000, loaded.size());
+        ReviewScheduler.ReviewState original = scheduler.getState("quiz1", "q7");
+        ReviewScheduler.ReviewState restored = loaded.getState("quiz1", "q7");
+        assertEquals(original.getIntervalDays(), restored.getIntervalDays());
+        assertEquals(original.getRepetitions(), restored.getRepetitions());
+        assertEquals(original.getDueEpochSecond(), restored.getDueEpochSecond());
+        assertEquals(original.getEasiness(), restored.getEasiness(), 0.005);
+
+        assertEquals(0, store.load("Bob").size());
+    }
+
+    private Quiz quiz(int size) {
+        Quiz quiz = new Quiz("Practice", "Practice questions");
+        for (int i = 0; i < size; i++) {
+            BooleanQuestion question = new BooleanQuestion("q" + i, "Question " + i, "True", "False", true, true);
+            quiz.addPage(new Page(10, Arrays.asList(question)));
+        }
+        return quiz;
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.quizzapp.service;
+
+import org.example.quizzapp.model.PlayerResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Unit tests for the today / this week / all-time leaderboards.
+ */
+class WindowedLeaderboardTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * A clock the test can move forward.
+     */
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(LocalDateTime time) {
+            set(time);
+        }
+
+        void set(LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    // Wednesday
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 14, 12, 0);
+
+    @Test
+    void testSplitsResultsIntoWindows() {
+        MutableClock clock = new MutableClock(NOW);
+        WindowedLeaderboard leaderboard = WindowedLeaderboard.of(List.of(
+            result("old", 5, NOW.minusDays(30)),
+            result("sunday", 4, NOW.minusDays(3)),
+            result("monday", 2, NOW.minusDays(2)),
+            result("today", 3, NOW.minusHours(1)),
+            result("today-best", 5, NOW.minusHours(2))
+        ), clock);
+
+        assertEquals(List.of("today-best", "today"), names(leaderboard, WindowedLeaderboard.Period.TODAY));
+        assertEquals(List.of("today-best", "today", "monday"), names(leaderboard, WindowedLeaderboard.Period.THIS_WEEK));
+        assertEquals(List.of("today-best", "old", "sunday", "today", "monday"),
+            names(leaderboard, WindowedLeaderboard.Period.ALL_TIME));
+    }
+
+    @Test
+    void testRollsForwardWithTheClock() {
+        MutableClock clock = new MutableClock(NOW);
+        WindowedLeaderboard leaderboard = new WindowedLeaderboard(clock);
+        leaderboard.add(result("wednesday", 3, NOW));
+        assertEquals(1, leaderboard.getLeaderboard(WindowedLeaderboard.Period.THIS_WEEK).size());
+
+        clock.set(NOW.plusDays(1));
+        assertTrue(leaderboard.getLeaderboard(WindowedLeaderboard.Period.TODAY).isEmpty());
+        assertEquals(List.of("wednesday"), names(leaderboard, WindowedLeaderboard.Period.THIS_WEEK));
+
+        clock.set(NOW.plusDays(5));
+        leaderboard.add(result("monday", 1, NOW.plusDays(5)));
+        assertEquals(List.of("monday"), names(leaderboard, WindowedLeaderboard.Period.THIS_WEEK));
+        assertEquals(List.of("monday"), names(leaderboard, WindowedLeaderboard.Period.TODAY));
+        assertEquals(2, leaderboard.size());
+    }
+
+    @Test
+    void testSavedResultsUpdateSharedLeaderboard() throws Exception {
+        QuizService quizService = new QuizService(tempDir);
+        quizService.saveResult("Geography", new PlayerResult("Alice", 4, 2, LocalDateTime.now()));
+        WindowedLeaderboard leaderboard = quizService.getLeaderboard("Geography");
+
+        quizService.saveResult("Geography", new PlayerResult("Bob", 4, 4, LocalDateTime.now()));
+
+        assertSame(leaderboard, new QuizService(tempDir).getLeaderboard("Geography"));
+        assertEquals(List.of("Bob", "Alice"), names(leaderboard, WindowedLeaderboard.Period.ALL_TIME));
+    }
+
+    private static PlayerResult result(String name, int correct, LocalDateTime date) {
+        return new PlayerResult(name, 5, correct, date);
+    }
+
+    private static List<String> names(WindowedLeaderboard leaderboard, WindowedLeaderboard.Period period) {
+        return leaderboard.getLeaderboard(period).stream().map(PlayerResult::getPlayerName).toList();
+    }
+}